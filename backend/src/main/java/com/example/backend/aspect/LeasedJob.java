@@ -0,0 +1,30 @@
+package com.example.backend.aspect;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a scheduled method on at most one node per lease, using the {@code scheduler_lease} table.
+ *
+ * <p>With {@code partitions > 1} the job is split into that many tenant partitions; each node
+ * claims up to its fair share per run and the method filters its work with {@link
+ * com.example.backend.util.ScheduledJobContext#owns(String)}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LeasedJob {
+    String name();
+
+    /** Upper bound on a run; a crashed node's lease is reclaimable after this (ISO-8601). */
+    String leaseFor() default "PT10M";
+
+    /**
+     * Minimum time the lease stays taken after the run started, so nodes whose trigger fires a
+     * little later (clock skew, busy scheduler) do not repeat the run (ISO-8601).
+     */
+    String holdAtLeast() default "PT30S";
+
+    int partitions() default 1;
+}
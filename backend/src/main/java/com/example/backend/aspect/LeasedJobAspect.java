@@ -0,0 +1,119 @@
+package com.example.backend.aspect;
+
+import com.example.backend.service.SchedulerLeaseService;
+import com.example.backend.service.SchedulerLeaseService.Lease;
+import com.example.backend.util.ScheduledJobContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps {@link LeasedJob} methods: takes the job (or partition) leases before the method's own
+ * transaction starts, skips the run when another node holds them, and records per-job run metrics.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class LeasedJobAspect {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeasedJobAspect.class);
+
+    private final SchedulerLeaseService leaseService;
+    private final MeterRegistry registry;
+
+    public LeasedJobAspect(SchedulerLeaseService leaseService, MeterRegistry registry) {
+        this.leaseService = leaseService;
+        this.registry = registry;
+    }
+
+    @Around("@annotation(leasedJob)")
+    public Object runWithLease(ProceedingJoinPoint joinPoint, LeasedJob leasedJob)
+            throws Throwable {
+        if (!leaseService.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        String job = leasedJob.name();
+        int partitions = Math.max(1, leasedJob.partitions());
+        Duration leaseFor = Duration.parse(leasedJob.leaseFor());
+        Duration holdAtLeast = Duration.parse(leasedJob.holdAtLeast());
+
+        List<Lease> leases;
+        try {
+            if (partitions > 1) {
+                leases = leaseService.claimPartitions(job, partitions, leaseFor);
+            } else {
+                leases = leaseService.tryAcquire(job, job, leaseFor).map(List::of).orElse(List.of());
+            }
+        } catch (Exception e) {
+            logger.warn("Could not acquire lease for job {}, skipping run: {}", job, e.getMessage());
+            runs(job, "lease_error").increment();
+            return null;
+        }
+
+        if (leases.isEmpty()) {
+            logger.debug("Job {} is held by another node, skipping run", job);
+            runs(job, "skipped").increment();
+            return null;
+        }
+
+        Set<Integer> owned =
+                leases.stream()
+                        .map(lease -> partitionOf(lease.name()))
+                        .collect(Collectors.toSet());
+        ScheduledJobContext.begin(partitions, owned);
+
+        boolean success = false;
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            long items = ScheduledJobContext.end();
+            String outcome = success ? "success" : "failure";
+            Timer.builder("scheduled_job_duration")
+                    .tag("job", job)
+                    .tag("outcome", outcome)
+                    .description("Wall-clock duration of leased scheduled job runs")
+                    .register(registry)
+                    .record(Duration.ofNanos(System.nanoTime() - start));
+            DistributionSummary.builder("scheduled_job_items")
+                    .tag("job", job)
+                    .description("Items processed per leased scheduled job run")
+                    .register(registry)
+                    .record(items);
+            runs(job, outcome).increment();
+
+            for (Lease lease : leases) {
+                leaseService.release(lease, holdAtLeast, success);
+            }
+        }
+    }
+
+    private Counter runs(String job, String result) {
+        return Counter.builder("scheduled_job_runs_total")
+                .tag("job", job)
+                .tag("result", result)
+                .description("Leased scheduled job runs by result")
+                .register(registry);
+    }
+
+    private static int partitionOf(String leaseName) {
+        int separator = leaseName.lastIndexOf('#');
+        return separator < 0 ? 0 : Integer.parseInt(leaseName.substring(separator + 1));
+    }
+}
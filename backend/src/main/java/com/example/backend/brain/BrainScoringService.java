@@ -8,7 +8,10 @@
 import com.example.backend.repository.AnnonceRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,14 +27,17 @@ public class BrainScoringService {
     private final BrainClientService brainClientService;
     private final AnnonceRepository annonceRepository;
     private final ObjectMapper objectMapper;
+    private final NearDuplicateIndex nearDuplicateIndex;
 
     public BrainScoringService(
             BrainClientService brainClientService,
             AnnonceRepository annonceRepository,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            NearDuplicateIndex nearDuplicateIndex) {
         this.brainClientService = brainClientService;
         this.annonceRepository = annonceRepository;
         this.objectMapper = objectMapper;
+        this.nearDuplicateIndex = nearDuplicateIndex;
     }
 
     @Async("brainTaskExecutor")
@@ -93,20 +99,34 @@ public void triggerDuplicateCheckAsync(Long annonceId) {
                 return;
             }
 
-            List<Annonce> recentAnnonces =
-                    annonceRepository.findTop50ByOrgIdOrderByCreatedAtDesc(annonce.getOrgId());
-
-            List<DupliAnnonceDto> dupliDtos =
-                    recentAnnonces.stream()
-                            .map(
-                                    a ->
-                                            new DupliAnnonceDto(
-                                                    a.getId(),
-                                                    a.getTitle(),
-                                                    a.getDescription() != null
-                                                            ? a.getDescription()
-                                                            : ""))
-                            .toList();
+            List<NearDuplicateIndex.Candidate> candidates =
+                    nearDuplicateIndex.findCandidates(
+                            annonce.getOrgId(),
+                            annonceId,
+                            annonce.getTitle(),
+                            annonce.getDescription());
+            if (candidates.isEmpty()) {
+                return;
+            }
+
+            List<Long> candidateIds =
+                    candidates.stream().map(NearDuplicateIndex.Candidate::annonceId).toList();
+            Map<Long, Annonce> candidatesById = new HashMap<>();
+            for (Annonce candidate : annonceRepository.findAllById(candidateIds)) {
+                candidatesById.put(candidate.getId(), candidate);
+            }
+
+            List<DupliAnnonceDto> dupliDtos = new ArrayList<>(candidatesById.size() + 1);
+            dupliDtos.add(toDupliDto(annonce));
+            for (Long candidateId : candidateIds) {
+                Annonce candidate = candidatesById.get(candidateId);
+                if (candidate == null) {
+                    // Deleted by another node since the index last synced
+                    nearDuplicateIndex.remove(annonce.getOrgId(), candidateId);
+                } else {
+                    dupliDtos.add(toDupliDto(candidate));
+                }
+            }
 
             if (dupliDtos.size() < 2) {
                 return;
@@ -152,6 +172,17 @@ public void triggerDuplicateCheckAsync(Long annonceId) {
         }
     }
 
+    public void removeFromDuplicateIndex(String orgId, Long annonceId) {
+        nearDuplicateIndex.remove(orgId, annonceId);
+    }
+
+    private static DupliAnnonceDto toDupliDto(Annonce annonce) {
+        return new DupliAnnonceDto(
+                annonce.getId(),
+                annonce.getTitle(),
+                annonce.getDescription() != null ? annonce.getDescription() : "");
+    }
+
     @Async("brainTaskExecutor")
     @Transactional
     public void triggerFraudAsync(Long annonceId) {
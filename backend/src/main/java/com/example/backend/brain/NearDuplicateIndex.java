@@ -0,0 +1,357 @@
+package com.example.backend.brain;
+
+import com.example.backend.repository.AnnonceRepository;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-tenant near-duplicate index over annonce title and description.
+ *
+ * <p>Each listing is reduced to a 64-slot MinHash signature over character 5-shingles of its
+ * normalized text and bucketed by LSH into 16 bands of 4 rows; two listings share a bucket with
+ * high probability once their Jaccard similarity exceeds ~0.5. A query touches 16 buckets and
+ * compares signatures only for the listings found there, so it stays sub-millisecond regardless
+ * of catalog size. Signatures are plain {@code int[]}; buckets hold {@code long[]} id lists.
+ *
+ * <p>A tenant's index is built from the database on first use and kept current by the saves that
+ * go through {@link #findCandidates}, plus a delta sync on {@code updated_at} every {@code
+ * brain.dupli.index.sync-interval} for writes handled by other replicas.
+ */
+@Component
+public class NearDuplicateIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(NearDuplicateIndex.class);
+
+    static final int NUM_HASHES = 64;
+    static final int BANDS = 16;
+    static final int ROWS = NUM_HASHES / BANDS;
+    private static final int SHINGLE_LENGTH = 5;
+    private static final long MERSENNE_PRIME = (1L << 31) - 1;
+    private static final long SIGNATURE_SEED = 0x5DEECE66DL;
+
+    private final AnnonceRepository annonceRepository;
+    private final long[] coefficientA = new long[NUM_HASHES];
+    private final long[] coefficientB = new long[NUM_HASHES];
+    private final Map<String, TenantIndex> tenants = new ConcurrentHashMap<>();
+
+    @Value("${brain.dupli.index.min-similarity:0.5}")
+    private double minSimilarity = 0.5;
+
+    @Value("${brain.dupli.index.max-candidates:20}")
+    private int maxCandidates = 20;
+
+    @Value("${brain.dupli.index.sync-interval:PT1M}")
+    private Duration syncInterval = Duration.ofMinutes(1);
+
+    public NearDuplicateIndex(AnnonceRepository annonceRepository) {
+        this.annonceRepository = annonceRepository;
+        // Fixed seed: signatures must be comparable across restarts and replicas
+        SplittableRandom random = new SplittableRandom(SIGNATURE_SEED);
+        for (int i = 0; i < NUM_HASHES; i++) {
+            coefficientA[i] = 1 + random.nextLong(MERSENNE_PRIME - 1);
+            coefficientB[i] = random.nextLong(MERSENNE_PRIME);
+        }
+    }
+
+    /**
+     * Indexes (or re-indexes) the listing and returns the ids of other listings of the tenant whose
+     * estimated similarity reaches {@code brain.dupli.index.min-similarity}, most similar first.
+     */
+    public List<Candidate> findCandidates(
+            String orgId, Long annonceId, String title, String description) {
+        if (orgId == null || annonceId == null) {
+            return List.of();
+        }
+        TenantIndex index = tenantIndex(orgId);
+        int[] signature = signature(text(title, description));
+        if (signature == null) {
+            index.remove(annonceId);
+            return List.of();
+        }
+        index.upsert(annonceId, signature);
+        return index.query(annonceId, signature, minSimilarity, maxCandidates);
+    }
+
+    public void remove(String orgId, Long annonceId) {
+        TenantIndex index = orgId != null ? tenants.get(orgId) : null;
+        if (index != null && annonceId != null) {
+            index.remove(annonceId);
+        }
+    }
+
+    public void evictTenant(String orgId) {
+        tenants.remove(orgId);
+    }
+
+    public int size(String orgId) {
+        TenantIndex index = tenants.get(orgId);
+        return index != null ? index.size() : 0;
+    }
+
+    /** MinHash signature of the text, or {@code null} when it has no indexable characters. */
+    int[] signature(String normalizedText) {
+        if (normalizedText == null || normalizedText.isEmpty()) {
+            return null;
+        }
+
+        int[] signature = new int[NUM_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        int shingles = Math.max(1, normalizedText.length() - SHINGLE_LENGTH + 1);
+        for (int start = 0; start < shingles; start++) {
+            int end = Math.min(normalizedText.length(), start + SHINGLE_LENGTH);
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + normalizedText.charAt(i);
+            }
+            long shingle = mix(hash) & 0xFFFFFFFFL;
+            for (int h = 0; h < NUM_HASHES; h++) {
+                int value = (int) ((coefficientA[h] * shingle + coefficientB[h]) % MERSENNE_PRIME);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    static double estimateSimilarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    static String text(String title, String description) {
+        String raw = (title != null ? title : "") + " " + (description != null ? description : "");
+        String stripped =
+                Normalizer.normalize(raw, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        return stripped.toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}]+", " ")
+                .trim();
+    }
+
+    private TenantIndex tenantIndex(String orgId) {
+        TenantIndex index = tenants.computeIfAbsent(orgId, this::build);
+        if (index.syncDue(syncInterval)) {
+            sync(orgId, index);
+        }
+        return index;
+    }
+
+    private TenantIndex build(String orgId) {
+        long start = System.nanoTime();
+        TenantIndex index = new TenantIndex(LocalDateTime.now());
+        List<Object[]> rows = annonceRepository.findDuplicateIndexRows(orgId);
+        for (Object[] row : rows) {
+            index(index, row);
+        }
+        log.info(
+                "Built near-duplicate index for org {}: {} listings in {} ms",
+                orgId,
+                index.size(),
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+        return index;
+    }
+
+    private void sync(String orgId, TenantIndex index) {
+        LocalDateTime since = index.beginSync(syncInterval);
+        if (since == null) {
+            return;
+        }
+        try {
+            for (Object[] row : annonceRepository.findDuplicateIndexRowsUpdatedSince(orgId, since)) {
+                index(index, row);
+            }
+        } catch (Exception e) {
+            log.warn("Near-duplicate index sync failed for org {}: {}", orgId, e.getMessage());
+            index.abortSync(since);
+        }
+    }
+
+    private void index(TenantIndex index, Object[] row) {
+        Long id = (Long) row[0];
+        int[] signature = signature(text((String) row[1], (String) row[2]));
+        if (signature != null) {
+            index.upsert(id, signature);
+        }
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        int hash = 1;
+        for (int r = band * ROWS; r < (band + 1) * ROWS; r++) {
+            hash = 31 * hash + signature[r];
+        }
+        return ((long) band << 32) | (mix(hash) & 0xFFFFFFFFL);
+    }
+
+    public record Candidate(Long annonceId, double similarity) {}
+
+    private static final class TenantIndex {
+
+        /** Overlap between consecutive delta syncs, covering commit-time vs updated_at skew. */
+        private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, int[]> signatures = new HashMap<>();
+        private final Map<Long, IdBucket> buckets = new HashMap<>();
+        private LocalDateTime syncedAt;
+
+        private TenantIndex(LocalDateTime syncedAt) {
+            this.syncedAt = syncedAt;
+        }
+
+        synchronized boolean syncDue(Duration interval) {
+            return syncedAt.plus(interval).isBefore(LocalDateTime.now());
+        }
+
+        /**
+         * Advances the sync watermark and returns the lower bound to fetch from, or null when
+         * another thread already started this round.
+         */
+        synchronized LocalDateTime beginSync(Duration interval) {
+            if (!syncDue(interval)) {
+                return null;
+            }
+            LocalDateTime since = syncedAt.minus(SYNC_OVERLAP);
+            syncedAt = LocalDateTime.now();
+            return since;
+        }
+
+        synchronized void abortSync(LocalDateTime since) {
+            syncedAt = since;
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return signatures.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void upsert(Long id, int[] signature) {
+            lock.writeLock().lock();
+            try {
+                int[] previous = signatures.put(id, signature);
+                if (previous != null) {
+                    if (Arrays.equals(previous, signature)) {
+                        return;
+                    }
+                    unbucket(id, previous);
+                }
+                for (int band = 0; band < BANDS; band++) {
+                    buckets.computeIfAbsent(bandKey(signature, band), k -> new IdBucket())
+                            .add(id);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long id) {
+            lock.writeLock().lock();
+            try {
+                int[] previous = signatures.remove(id);
+                if (previous != null) {
+                    unbucket(id, previous);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<Candidate> query(Long selfId, int[] signature, double minSimilarity, int limit) {
+            lock.readLock().lock();
+            try {
+                Set<Long> seen = new HashSet<>();
+                List<Candidate> candidates = new ArrayList<>();
+                for (int band = 0; band < BANDS; band++) {
+                    IdBucket bucket = buckets.get(bandKey(signature, band));
+                    if (bucket == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < bucket.size; i++) {
+                        long id = bucket.ids[i];
+                        if (id == selfId || !seen.add(id)) {
+                            continue;
+                        }
+                        double similarity = estimateSimilarity(signature, signatures.get(id));
+                        if (similarity >= minSimilarity) {
+                            candidates.add(new Candidate(id, similarity));
+                        }
+                    }
+                }
+                candidates.sort(Comparator.comparingDouble(Candidate::similarity).reversed());
+                return candidates.size() > limit
+                        ? List.copyOf(candidates.subList(0, limit))
+                        : candidates;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void unbucket(Long id, int[] signature) {
+            for (int band = 0; band < BANDS; band++) {
+                long key = bandKey(signature, band);
+                IdBucket bucket = buckets.get(key);
+                if (bucket != null && bucket.remove(id) && bucket.size == 0) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    /** Unordered growable list of listing ids sharing one LSH band value. */
+    private static final class IdBucket {
+        private long[] ids = new long[2];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        boolean remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.backend.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Encodes cache values of a known type, so entries carry no class names: the reader supplies the
+ * type. Payloads above the compression threshold are deflated. Every entry starts with one header
+ * byte recording the format and compression, so an entry written by another codec is rejected
+ * (and read as a miss by the cache error handler) rather than misread.
+ */
+public final class CacheCodec {
+
+    public enum Format {
+        JSON,
+        SMILE
+    }
+
+    private static final int COMPRESSED = 0x80;
+
+    private final Format format;
+    private final ObjectMapper mapper;
+    private final int compressionThreshold;
+
+    /**
+     * @param mapper the mapper writing {@code format}, e.g. backed by a {@code SmileFactory}
+     * @param compressionThreshold payload size in bytes from which entries are deflated; zero or
+     *     less disables compression
+     */
+    public CacheCodec(Format format, ObjectMapper mapper, int compressionThreshold) {
+        this.format = format;
+        this.mapper = mapper;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    public Format format() {
+        return format;
+    }
+
+    public byte[] encode(Object value) throws IOException {
+        byte[] payload = mapper.writeValueAsBytes(value);
+        boolean compress = compressionThreshold > 0 && payload.length >= compressionThreshold;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(payload.length / 2 + 16);
+        out.write(format.ordinal() | (compress ? COMPRESSED : 0));
+        if (compress) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (DeflaterOutputStream deflating = new DeflaterOutputStream(out, deflater)) {
+                deflating.write(payload);
+            } finally {
+                deflater.end();
+            }
+        } else {
+            out.write(payload);
+        }
+        return out.toByteArray();
+    }
+
+    public <T> T decode(byte[] bytes, JavaType type) throws IOException {
+        int header = bytes[0] & 0xFF;
+        if ((header & ~COMPRESSED) != format.ordinal()) {
+            throw new IOException(
+                    "Cache entry was not written as " + format + " (header " + header + ")");
+        }
+        InputStream in = new ByteArrayInputStream(bytes, 1, bytes.length - 1);
+        if ((header & COMPRESSED) != 0) {
+            in = new InflaterInputStream(in);
+        }
+        try (InputStream payload = in) {
+            return mapper.readValue(payload, type);
+        }
+    }
+
+    /** A Redis value serializer reading and writing values of the given type with this codec. */
+    public RedisSerializer<Object> serializerFor(JavaType type) {
+        return new RedisSerializer<>() {
+            @Override
+            public byte[] serialize(Object value) {
+                if (value == null) {
+                    return new byte[0];
+                }
+                try {
+                    return encode(value);
+                } catch (IOException e) {
+                    throw new SerializationException("Could not encode cache value", e);
+                }
+            }
+
+            @Override
+            public Object deserialize(byte[] bytes) {
+                if (bytes == null || bytes.length == 0) {
+                    return null;
+                }
+                try {
+                    return decode(bytes, type);
+                } catch (IOException e) {
+                    throw new SerializationException("Could not decode cache value", e);
+                }
+            }
+        };
+    }
+}
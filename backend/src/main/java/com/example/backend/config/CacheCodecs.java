@@ -0,0 +1,56 @@
+package com.example.backend.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.util.Locale;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Chooses the codec of each cache: {@code cache.redis.codec.<cache>} ({@code json} or {@code
+ * smile}), falling back to {@code cache.redis.codec.default}.
+ */
+@Component
+public class CacheCodecs {
+
+    private final Environment environment;
+    private final CacheCodec.Format defaultFormat;
+    private final CacheCodec json;
+    private final CacheCodec smile;
+
+    public CacheCodecs(
+            Environment environment,
+            @Value("${cache.redis.codec.default:smile}") String defaultFormat,
+            @Value("${cache.redis.compression-threshold:2048}") int compressionThreshold) {
+        this.environment = environment;
+        this.defaultFormat = parse(defaultFormat);
+        this.json =
+                new CacheCodec(
+                        CacheCodec.Format.JSON, mapper(new ObjectMapper()), compressionThreshold);
+        this.smile =
+                new CacheCodec(
+                        CacheCodec.Format.SMILE,
+                        mapper(new ObjectMapper(new SmileFactory())),
+                        compressionThreshold);
+    }
+
+    public CacheCodec codecFor(String cacheName) {
+        String configured = environment.getProperty("cache.redis.codec." + cacheName);
+        CacheCodec.Format format = configured != null ? parse(configured) : defaultFormat;
+        return format == CacheCodec.Format.SMILE ? smile : json;
+    }
+
+    private static CacheCodec.Format parse(String format) {
+        return CacheCodec.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+    }
+
+    // Cached values must read back as written, so the API mapper's date formatting is not used
+    private static ObjectMapper mapper(ObjectMapper mapper) {
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return mapper;
+    }
+}
@@ -1,8 +1,18 @@
 package com.example.backend.config;
 
+import com.example.backend.dto.AgentPerformanceResponse;
+import com.example.backend.dto.AnnonceResponse;
+import com.example.backend.dto.DossierResponse;
+import com.example.backend.dto.FunnelAnalysisResponse;
+import com.example.backend.dto.OrganizationSettingsResponse;
+import com.example.backend.dto.PipelineSummaryResponse;
+import com.example.backend.dto.RevenueForecastResponse;
+import com.example.backend.dto.SystemConfigResponse;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import java.time.Duration;
 import java.util.HashMap;
@@ -23,6 +33,7 @@
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
@@ -55,7 +66,8 @@ public RedisConnectionFactory redisConnectionFactory() {
             name = "cache.redis.enabled",
             havingValue = "true",
             matchIfMissing = true)
-    public CacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager redisCacheManager(
+            RedisConnectionFactory connectionFactory, CacheCodecs cacheCodecs) {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
         objectMapper.activateDefaultTyping(
@@ -97,6 +109,21 @@ public CacheManager redisCacheManager(RedisConnectionFactory connectionFactory)
                 "organizationSettings", defaultConfig.entryTtl(Duration.ofHours(6)));
         cacheConfigurations.put("systemConfig", defaultConfig.entryTtl(Duration.ofHours(12)));
 
+        // Caches of a known value type use their codec, without class names in the payload
+        for (Map.Entry<String, JavaType> valueType :
+                cacheValueTypes(objectMapper.getTypeFactory()).entrySet()) {
+            String cacheName = valueType.getKey();
+            RedisSerializer<Object> valueSerializer =
+                    cacheCodecs.codecFor(cacheName).serializerFor(valueType.getValue());
+            cacheConfigurations.put(
+                    cacheName,
+                    cacheConfigurations
+                            .getOrDefault(cacheName, defaultConfig)
+                            .serializeValuesWith(
+                                    RedisSerializationContext.SerializationPair.fromSerializer(
+                                            valueSerializer)));
+        }
+
         return RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigurations)
@@ -104,6 +131,36 @@ public CacheManager redisCacheManager(RedisConnectionFactory connectionFactory)
                 .build();
     }
 
+    /**
+     * The value type of each cache, taken from the return type of its {@code @Cacheable} methods.
+     * Caches missing here keep the generic serializer with embedded class names.
+     */
+    static Map<String, JavaType> cacheValueTypes(TypeFactory types) {
+        JavaType funnelStages =
+                types.constructMapType(
+                        Map.class, String.class, FunnelAnalysisResponse.FunnelStageMetrics.class);
+        Map<String, JavaType> valueTypes = new HashMap<>();
+        valueTypes.put("annonce", types.constructType(AnnonceResponse.class));
+        valueTypes.put("dossier", types.constructType(DossierResponse.class));
+        valueTypes.put("pipelineSummary", types.constructType(PipelineSummaryResponse.class));
+        valueTypes.put("funnelAnalysis", types.constructType(FunnelAnalysisResponse.class));
+        valueTypes.put("conversionFunnelBySource", funnelStages);
+        valueTypes.put("conversionFunnelByPeriod", funnelStages);
+        valueTypes.put("agentPerformance", types.constructType(AgentPerformanceResponse.class));
+        valueTypes.put(
+                "agentMetricsDetailed",
+                types.constructType(AgentPerformanceResponse.AgentMetrics.class));
+        valueTypes.put("revenueForecast", types.constructType(RevenueForecastResponse.class));
+        valueTypes.put("revenueProjections", types.constructType(RevenueForecastResponse.class));
+        valueTypes.put(
+                "userPreferences",
+                types.constructMapType(Map.class, String.class, Object.class));
+        valueTypes.put(
+                "organizationSettings", types.constructType(OrganizationSettingsResponse.class));
+        valueTypes.put("systemConfig", types.constructType(SystemConfigResponse.class));
+        return valueTypes;
+    }
+
     @Bean
     @Override
     public CacheErrorHandler errorHandler() {
@@ -0,0 +1,116 @@
+package com.example.backend.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Monthly partition maintenance for the append-mostly tables converted by migration V155.
+ *
+ * <p>Partitions are created {@code monthsAhead} months in advance for every partitioned table.
+ * Retention only runs with {@code retentionEnabled}: a partition is retired once its whole range
+ * is older than its table's {@code retentionMonths}, counted in whole months before the current
+ * one. Tables without a policy, or with {@code retentionMonths} 0, are kept forever.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "partitioning")
+public class PartitioningConfig {
+
+    public enum RetentionAction {
+        /** Detach the partition and leave it as a standalone table for the DBA. */
+        DETACH,
+        /** Export the partition as gzipped NDJSON to file storage, then drop it. */
+        ARCHIVE,
+        /** Detach and drop the partition. */
+        DROP
+    }
+
+    private boolean enabled = true;
+    private int monthsAhead = 3;
+    private boolean retentionEnabled = false;
+    private String archivePath = "archive/partitions";
+    private Map<String, RetentionPolicy> tables = defaultPolicies();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMonthsAhead() {
+        return monthsAhead;
+    }
+
+    public void setMonthsAhead(int monthsAhead) {
+        this.monthsAhead = monthsAhead;
+    }
+
+    public boolean isRetentionEnabled() {
+        return retentionEnabled;
+    }
+
+    public void setRetentionEnabled(boolean retentionEnabled) {
+        this.retentionEnabled = retentionEnabled;
+    }
+
+    public String getArchivePath() {
+        return archivePath;
+    }
+
+    public void setArchivePath(String archivePath) {
+        this.archivePath = archivePath;
+    }
+
+    public Map<String, RetentionPolicy> getTables() {
+        return tables;
+    }
+
+    public void setTables(Map<String, RetentionPolicy> tables) {
+        this.tables = tables;
+    }
+
+    private static Map<String, RetentionPolicy> defaultPolicies() {
+        Map<String, RetentionPolicy> policies = new LinkedHashMap<>();
+        policies.put("outbound_message", new RetentionPolicy(24, RetentionAction.ARCHIVE));
+        policies.put("outbound_attempt", new RetentionPolicy(24, RetentionAction.DROP));
+        policies.put("message", new RetentionPolicy(36, RetentionAction.ARCHIVE));
+        policies.put("audit_event", new RetentionPolicy(84, RetentionAction.ARCHIVE));
+        policies.put("activity", new RetentionPolicy(36, RetentionAction.ARCHIVE));
+        policies.put("api_usage", new RetentionPolicy(25, RetentionAction.DROP));
+        policies.put("webhook_delivery", new RetentionPolicy(6, RetentionAction.DROP));
+        policies.put("inbound_message", new RetentionPolicy(12, RetentionAction.DROP));
+        policies.put("notification", new RetentionPolicy(12, RetentionAction.DROP));
+        return policies;
+    }
+
+    public static class RetentionPolicy {
+        private int retentionMonths;
+        private RetentionAction action = RetentionAction.DETACH;
+
+        public RetentionPolicy() {}
+
+        public RetentionPolicy(int retentionMonths, RetentionAction action) {
+            this.retentionMonths = retentionMonths;
+            this.action = action;
+        }
+
+        public int getRetentionMonths() {
+            return retentionMonths;
+        }
+
+        public void setRetentionMonths(int retentionMonths) {
+            this.retentionMonths = retentionMonths;
+        }
+
+        public RetentionAction getAction() {
+            return action;
+        }
+
+        public void setAction(RetentionAction action) {
+            this.action = action;
+        }
+    }
+}
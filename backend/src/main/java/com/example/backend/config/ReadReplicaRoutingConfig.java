@@ -0,0 +1,113 @@
+package com.example.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Splits the application data source into a primary and a read replica pool.
+ *
+ * <p>The primary pool is built from the usual {@code spring.datasource} settings and the replica
+ * pool from {@code datasource.replica}, whose {@code hikari} block defaults to nothing, so size it
+ * explicitly. Both register their Hikari metrics under their pool name ({@code
+ * hikaricp_connections_active{pool="replica"}} and so on). The data source everything else sees
+ * routes {@code @Transactional(readOnly = true)} work to the replica, see {@link
+ * ReplicaRoutingDataSource}.
+ *
+ * <p>Hibernate is switched to releasing connections after each transaction: with open-in-view it
+ * would otherwise keep the first transaction's connection, and so its pool, for the whole request.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(
+            DataSourceProperties properties, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource =
+                properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        dataSource.setMetricRegistry(meterRegistry);
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${datasource.replica.url}") String url,
+            @Value("${datasource.replica.username:}") String username,
+            @Value("${datasource.replica.password:}") String password,
+            MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+        dataSource.setPassword(password.isEmpty() ? properties.determinePassword() : password);
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        dataSource.setMetricRegistry(meterRegistry);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicationLagMonitor replicationLagMonitor(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${datasource.replica.max-lag:PT5S}") Duration maxLag,
+            @Value("${datasource.replica.lag-check-interval:PT1S}") Duration checkInterval,
+            MeterRegistry meterRegistry) {
+        ReplicationLagMonitor monitor =
+                new ReplicationLagMonitor(
+                        primaryDataSource,
+                        replicaDataSource,
+                        maxLag,
+                        checkInterval,
+                        meterRegistry,
+                        Clock.systemUTC());
+        monitor.refresh();
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicationLagMonitor replicationLagMonitor,
+            @Value("${datasource.replica.read-your-writes:true}") boolean readYourWrites,
+            MeterRegistry meterRegistry) {
+        ReplicaRoutingDataSource routing =
+                new ReplicaRoutingDataSource(
+                        primaryDataSource,
+                        replicaDataSource,
+                        replicationLagMonitor,
+                        readYourWrites,
+                        meterRegistry);
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties ->
+                properties.put(
+                        AvailableSettings.CONNECTION_HANDLING,
+                        PhysicalConnectionHandlingMode
+                                .DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
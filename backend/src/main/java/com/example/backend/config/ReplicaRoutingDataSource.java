@@ -0,0 +1,134 @@
+package com.example.backend.config;
+
+import com.example.backend.util.ReplicaRoutingContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary.
+ *
+ * <p>The decision is taken when a connection is first needed, so this must sit behind a {@link
+ * org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction's read-only
+ * flag is only published after the transaction manager has asked for its connection. Reads fall
+ * back to the primary while the {@link ReplicationLagMonitor} reports the replica as lagging or
+ * unreachable, or when it has not yet replayed the writes the current request must see. Work
+ * outside a transaction always goes to the primary.
+ *
+ * <p>The WAL position of a request's write is read on the transaction's own connection right after
+ * its commit, before Hibernate or the transaction manager release it, so it covers the commit
+ * record and never needs a second primary connection.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReplicationLagMonitor lagMonitor;
+    private final boolean readYourWrites;
+    private final Counter writes;
+    private final Counter replicaReads;
+    private final Counter laggingReads;
+    private final Counter pinnedReads;
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            DataSource replica,
+            ReplicationLagMonitor lagMonitor,
+            boolean readYourWrites,
+            MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+
+        this.writes = routingCounter(meterRegistry, Target.PRIMARY, "read_write");
+        this.replicaReads = routingCounter(meterRegistry, Target.REPLICA, "read_only");
+        this.laggingReads = routingCounter(meterRegistry, Target.PRIMARY, "replica_unavailable");
+        this.pinnedReads = routingCounter(meterRegistry, Target.PRIMARY, "read_your_writes");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return capturesCommitLsn() ? recordingCommitLsn(connection) : connection;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            return Target.PRIMARY;
+        }
+        if (!lagMonitor.isReplicaUsable(0L)) {
+            laggingReads.increment();
+            return Target.PRIMARY;
+        }
+        if (readYourWrites && !lagMonitor.isReplicaUsable(ReplicaRoutingContext.getRequiredLsn())) {
+            pinnedReads.increment();
+            return Target.PRIMARY;
+        }
+        replicaReads.increment();
+        return Target.REPLICA;
+    }
+
+    private boolean capturesCommitLsn() {
+        return readYourWrites
+                && ReplicaRoutingContext.isBound()
+                && TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    /** Publishes the primary's WAL position each time the request's write transaction commits. */
+    private Connection recordingCommitLsn(Connection connection) {
+        return (Connection)
+                Proxy.newProxyInstance(
+                        Connection.class.getClassLoader(),
+                        new Class<?>[] {Connection.class},
+                        (proxy, method, args) -> {
+                            if ("equals".equals(method.getName())) {
+                                return proxy == args[0];
+                            }
+                            if ("hashCode".equals(method.getName())) {
+                                return System.identityHashCode(proxy);
+                            }
+                            Object result = invoke(connection, method, args);
+                            if ("commit".equals(method.getName())) {
+                                long lsn = lagMonitor.currentLsn(connection);
+                                ReplicaRoutingContext.recordWrite(lsn);
+                            }
+                            return result;
+                        });
+    }
+
+    private static Object invoke(Connection connection, Method method, Object[] args)
+            throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static Counter routingCounter(
+            MeterRegistry meterRegistry, Target target, String reason) {
+        return Counter.builder("datasource_routing_total")
+                .description("Connections handed out by the read/write routing data source")
+                .tag("target", target.name().toLowerCase(Locale.ROOT))
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.backend.config;
+
+import com.example.backend.util.ReplicaRoutingContext;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Polls how far the read replica trails the primary.
+ *
+ * <p>On PostgreSQL the replica is caught up when its replayed WAL position has reached the
+ * primary's current one; otherwise its lag is the age of the last replayed transaction. Other
+ * databases (the H2 stand-ins used in tests) have no WAL and are always reported caught up. The
+ * replica is usable while its lag stays within {@code datasource.replica.max-lag} and the last
+ * successful check is recent; a failed check makes it unusable until the next one succeeds.
+ */
+public class ReplicationLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationLagMonitor.class);
+
+    private static final String CURRENT_LSN_SQL = "SELECT pg_current_wal_lsn()::text";
+    private static final String REPLAY_SQL =
+            "SELECT CASE WHEN pg_is_in_recovery() THEN pg_last_wal_replay_lsn()"
+                    + " ELSE pg_current_wal_lsn() END::text,"
+                    + " EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())";
+
+    /** Result of the last check; {@code replayLsn} is {@link Long#MAX_VALUE} without a WAL. */
+    record Snapshot(boolean reachable, Duration lag, long replayLsn, Instant checkedAt) {}
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Duration maxLag;
+    private final Duration staleAfter;
+    private final Clock clock;
+    private volatile Snapshot snapshot;
+    private volatile Boolean walAvailable;
+
+    public ReplicationLagMonitor(
+            DataSource primary,
+            DataSource replica,
+            Duration maxLag,
+            Duration checkInterval,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.staleAfter = maxLag.plus(checkInterval.multipliedBy(2));
+        this.clock = clock;
+        this.snapshot = new Snapshot(false, Duration.ZERO, 0L, Instant.EPOCH);
+
+        Gauge.builder(
+                        "datasource_replica_lag_seconds",
+                        this,
+                        m -> m.snapshot.lag().toMillis() / 1e3)
+                .description("Replay lag of the read replica behind the primary")
+                .register(meterRegistry);
+        Gauge.builder("datasource_replica_available", this, m -> m.isReplicaUsable(0L) ? 1 : 0)
+                .description("1 while read-only transactions may be routed to the replica")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${datasource.replica.lag-check-interval:PT1S}",
+            initialDelayString = "${datasource.replica.lag-check-interval:PT1S}")
+    public void refresh() {
+        Snapshot previous = snapshot;
+        Snapshot current;
+        try {
+            current = check();
+        } catch (SQLException | RuntimeException e) {
+            current = new Snapshot(false, previous.lag(), previous.replayLsn(), clock.instant());
+            if (previous.reachable()) {
+                log.warn("Read replica check failed, routing reads to the primary", e);
+            }
+        }
+        snapshot = current;
+        if (current.reachable() && isLagging(current) != isLagging(previous)) {
+            log.info(
+                    "Read replica lag {} ms, replica reads {}",
+                    current.lag().toMillis(),
+                    isLagging(current) ? "suspended" : "resumed");
+        }
+    }
+
+    /**
+     * Whether a read-only transaction may run on the replica: the replica is reachable, recently
+     * checked, within the lag bound and has replayed at least {@code requiredLsn}.
+     */
+    public boolean isReplicaUsable(long requiredLsn) {
+        Snapshot current = snapshot;
+        return current.reachable()
+                && !isLagging(current)
+                && current.checkedAt().plus(staleAfter).isAfter(clock.instant())
+                && current.replayLsn() >= requiredLsn;
+    }
+
+    /** The primary's current WAL position, or {@code 0} when the primary has no WAL. */
+    public long currentPrimaryLsn() {
+        if (Boolean.FALSE.equals(walAvailable)) {
+            return 0L;
+        }
+        try (Connection connection = primary.getConnection()) {
+            return currentLsn(connection);
+        } catch (SQLException e) {
+            log.debug("Could not read the primary WAL position", e);
+            return 0L;
+        }
+    }
+
+    /**
+     * The WAL position as seen on an already open primary connection, or {@code 0} when the
+     * database has no WAL or the query fails.
+     */
+    public long currentLsn(Connection connection) {
+        if (Boolean.FALSE.equals(walAvailable)) {
+            return 0L;
+        }
+        try {
+            return hasWal(connection) ? queryLsn(connection, CURRENT_LSN_SQL) : 0L;
+        } catch (SQLException e) {
+            log.debug("Could not read the primary WAL position", e);
+            return 0L;
+        }
+    }
+
+    Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    void update(Snapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    private Snapshot check() throws SQLException {
+        Instant now = clock.instant();
+        // Primary first: if the replica has replayed this far it is caught up, whatever its age
+        long primaryLsn = currentPrimaryLsn();
+        try (Connection connection = replica.getConnection()) {
+            if (!hasWal(connection)) {
+                return new Snapshot(true, Duration.ZERO, Long.MAX_VALUE, now);
+            }
+            try (Statement statement = connection.createStatement();
+                    ResultSet rs = statement.executeQuery(REPLAY_SQL)) {
+                rs.next();
+                long replayLsn = ReplicaRoutingContext.parseLsn(rs.getString(1));
+                if (replayLsn >= primaryLsn) {
+                    return new Snapshot(true, Duration.ZERO, replayLsn, now);
+                }
+                double ageSeconds = rs.getDouble(2);
+                Duration lag =
+                        rs.wasNull()
+                                ? maxLag.plusSeconds(1)
+                                : Duration.ofMillis(Math.round(ageSeconds * 1000));
+                return new Snapshot(true, lag, replayLsn, now);
+            }
+        }
+    }
+
+    private boolean isLagging(Snapshot snapshot) {
+        return snapshot.lag().compareTo(maxLag) > 0;
+    }
+
+    private boolean hasWal(Connection connection) throws SQLException {
+        Boolean known = walAvailable;
+        if (known == null) {
+            known =
+                    "PostgreSQL"
+                            .equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+            walAvailable = known;
+        }
+        return known;
+    }
+
+    private static long queryLsn(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(sql)) {
+            return rs.next() ? ReplicaRoutingContext.parseLsn(rs.getString(1)) : 0L;
+        }
+    }
+}
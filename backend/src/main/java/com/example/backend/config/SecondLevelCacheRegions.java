@@ -0,0 +1,35 @@
+package com.example.backend.config;
+
+import java.util.List;
+
+/**
+ * Hibernate second-level cache regions of the read-mostly reference tables. Each region is sized
+ * and expired in {@code hibernate-l2-cache.conf}; entity regions hold rows by id, query regions
+ * hold the id lists of the cacheable lookups, keyed by their parameters only, so a cacheable
+ * lookup on a tenant table must take the org id as a parameter.
+ */
+public final class SecondLevelCacheRegions {
+
+    public static final String REFERENTIAL = "referential";
+    public static final String REFERENTIAL_QUERIES = "referential-queries";
+    public static final String WORKFLOW_DEFINITION = "workflow-definition";
+    public static final String WORKFLOW_DEFINITION_QUERIES = "workflow-definition-queries";
+    public static final String WHATSAPP_TEMPLATE = "whatsapp-template";
+    public static final String WHATSAPP_TEMPLATE_VARIABLES = "whatsapp-template-variables";
+    public static final String TEMPLATE_VARIABLE = "template-variable";
+    public static final String WHATSAPP_TEMPLATE_QUERIES = "whatsapp-template-queries";
+
+    /** Entity and collection regions. */
+    public static final List<String> DOMAIN_REGIONS =
+            List.of(
+                    REFERENTIAL,
+                    WORKFLOW_DEFINITION,
+                    WHATSAPP_TEMPLATE,
+                    WHATSAPP_TEMPLATE_VARIABLES,
+                    TEMPLATE_VARIABLE);
+
+    public static final List<String> QUERY_REGIONS =
+            List.of(REFERENTIAL_QUERIES, WORKFLOW_DEFINITION_QUERIES, WHATSAPP_TEMPLATE_QUERIES);
+
+    private SecondLevelCacheRegions() {}
+}
@@ -208,6 +208,7 @@ public CorsConfigurationSource corsConfigurationSource() {
                         "Content-Type",
                         "X-Org-Id",
                         "X-Correlation-Id",
+                        "X-Read-After-Lsn",
                         "X-XSRF-TOKEN"));
         configuration.setExposedHeaders(
                 List.of(
@@ -217,6 +218,7 @@ public CorsConfigurationSource corsConfigurationSource() {
                         "Retry-After",
                         "X-RateLimit-Limit-Type",
                         "X-RateLimit-Retry-After",
+                        "X-Write-Lsn",
                         "X-XSRF-TOKEN"));
 
         configuration.setMaxAge(3600L);
@@ -1,9 +1,13 @@
 package com.example.backend.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -12,9 +16,13 @@
 public class WebConfig implements WebMvcConfigurer {
 
     private final ObjectProvider<HibernateFilterInterceptor> interceptorProvider;
+    private final ObjectProvider<ObjectMapper> objectMapperProvider;
 
-    public WebConfig(ObjectProvider<HibernateFilterInterceptor> interceptorProvider) {
+    public WebConfig(
+            ObjectProvider<HibernateFilterInterceptor> interceptorProvider,
+            ObjectProvider<ObjectMapper> objectMapperProvider) {
         this.interceptorProvider = interceptorProvider;
+        this.objectMapperProvider = objectMapperProvider;
     }
 
     @Override
@@ -25,6 +33,27 @@ public void addInterceptors(InterceptorRegistry registry) {
         }
     }
 
+    /**
+     * Lets internal clients read responses as Smile by sending {@code Accept:
+     * application/x-jackson-smile}. The builder orders the Smile converter after the JSON one, so
+     * requests accepting any type still get JSON.
+     *
+     * <p>The Jackson 2 Smile converter is deprecated for removal in favour of the Jackson 3 one,
+     * but this application still configures a Jackson 2 {@link ObjectMapper} (see {@link
+     * JacksonConfig}); Smile responses must share its date and enum settings with JSON ones. Move
+     * to {@code JacksonSmileHttpMessageConverter} together with that mapper.
+     */
+    @Override
+    @SuppressWarnings("removal")
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        ObjectMapper objectMapper =
+                objectMapperProvider.getIfAvailable(
+                        () -> new ObjectMapper().findAndRegisterModules());
+        builder.withSmileConverter(
+                new MappingJackson2SmileHttpMessageConverter(
+                        objectMapper.copyWith(new SmileFactory())));
+    }
+
     @Configuration
     @Profile({"local", "e2e"})
     public static class LocalCorsConfig implements WebMvcConfigurer {
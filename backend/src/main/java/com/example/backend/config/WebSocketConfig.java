@@ -1,18 +1,65 @@
 package com.example.backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+/**
+ * STOMP over WebSocket. By default an in-memory broker serves a single node; with {@code
+ * collaboration.broker.relay.enabled=true} destinations are relayed to an external STOMP broker
+ * (RabbitMQ with the STOMP plugin, ActiveMQ) so that clients connected to different replicas see
+ * each other's messages, and user destinations and the user registry are broadcast between nodes.
+ */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final boolean relayEnabled;
+    private final String relayHost;
+    private final int relayPort;
+    private final String relayLogin;
+    private final String relayPasscode;
+    private final String relayVirtualHost;
+    private final long relayHeartbeatMillis;
+
+    public WebSocketConfig(
+            @Value("${collaboration.broker.relay.enabled:false}") boolean relayEnabled,
+            @Value("${collaboration.broker.relay.host:localhost}") String relayHost,
+            @Value("${collaboration.broker.relay.port:61613}") int relayPort,
+            @Value("${collaboration.broker.relay.login:guest}") String relayLogin,
+            @Value("${collaboration.broker.relay.passcode:guest}") String relayPasscode,
+            @Value("${collaboration.broker.relay.virtual-host:/}") String relayVirtualHost,
+            @Value("${collaboration.broker.relay.heartbeat-ms:10000}") long relayHeartbeatMillis) {
+        this.relayEnabled = relayEnabled;
+        this.relayHost = relayHost;
+        this.relayPort = relayPort;
+        this.relayLogin = relayLogin;
+        this.relayPasscode = relayPasscode;
+        this.relayVirtualHost = relayVirtualHost;
+        this.relayHeartbeatMillis = relayHeartbeatMillis;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic", "/queue");
+        if (relayEnabled) {
+            config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    .setVirtualHost(relayVirtualHost)
+                    .setSystemHeartbeatSendInterval(relayHeartbeatMillis)
+                    .setSystemHeartbeatReceiveInterval(relayHeartbeatMillis)
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    .setUserRegistryBroadcast("/topic/simp-user-registry");
+        } else {
+            config.enableSimpleBroker("/topic", "/queue");
+        }
         config.setApplicationDestinationPrefixes("/app");
         config.setUserDestinationPrefix("/user");
     }
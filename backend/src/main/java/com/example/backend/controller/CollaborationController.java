@@ -33,6 +33,17 @@ public void joinDossier(
         collaborationService.handleUserJoined(dossierId, userId, username);
     }
 
+    @MessageMapping("/dossier/{dossierId}/heartbeat")
+    public void heartbeat(
+            @DestinationVariable Long dossierId,
+            @Payload Map<String, String> payload,
+            Principal principal) {
+        String userId = payload.getOrDefault("userId", "anonymous");
+        String username = payload.getOrDefault("username", "Anonymous User");
+
+        collaborationService.heartbeat(dossierId, userId, username);
+    }
+
     @MessageMapping("/dossier/{dossierId}/leave")
     public void leaveDossier(
             @DestinationVariable Long dossierId,
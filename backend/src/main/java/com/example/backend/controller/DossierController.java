@@ -4,6 +4,9 @@
 import com.example.backend.dto.BulkOperationResponse;
 import com.example.backend.dto.DossierBulkAssignRequest;
 import com.example.backend.dto.DossierCreateRequest;
+import com.example.backend.dto.DossierFacetCountRequest;
+import com.example.backend.dto.DossierFacetCountResponse;
+import com.example.backend.dto.DossierFilterCountResponse;
 import com.example.backend.dto.DossierFilterRequest;
 import com.example.backend.dto.DossierLeadPatchRequest;
 import com.example.backend.dto.DossierResponse;
@@ -27,6 +30,7 @@
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -415,6 +419,61 @@ public ResponseEntity<Long> countAdvancedFilter(
         return ResponseEntity.ok(count);
     }
 
+    @PostMapping("/advanced-filter/slice")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PRO')")
+    @Operation(
+            summary = "Advanced filter dossiers without total count",
+            description =
+                    "Same filters as /advanced-filter, newest first, returning a slice that only"
+                            + " tells whether a next page exists instead of running a full count")
+    @ApiResponses(
+            value = {
+                @ApiResponse(
+                        responseCode = "200",
+                        description = "Dossiers filtered successfully",
+                        content = @Content(schema = @Schema(implementation = Slice.class)))
+            })
+    public ResponseEntity<Slice<DossierResponse>> advancedFilterSlice(
+            @Valid @RequestBody DossierFilterRequest filterRequest) {
+        return ResponseEntity.ok(advancedFilterService.filterDossierSlice(filterRequest));
+    }
+
+    @PostMapping("/advanced-filter/count-estimate")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PRO')")
+    @Operation(
+            summary = "Estimate dossier count with advanced filters",
+            description =
+                    "Returns a count capped at dossier.filter.count.cap (exact=false above it),"
+                            + " cached briefly per tenant and filter")
+    @ApiResponses(
+            value = {
+                @ApiResponse(responseCode = "200", description = "Count estimated successfully")
+            })
+    public ResponseEntity<DossierFilterCountResponse> estimateAdvancedFilterCount(
+            @Valid @RequestBody DossierFilterRequest filterRequest) {
+        return ResponseEntity.ok(advancedFilterService.estimateCount(filterRequest));
+    }
+
+    @PostMapping("/advanced-filter/facets")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PRO')")
+    @Operation(
+            summary = "Count dossier facets and preset badges",
+            description =
+                    "Returns the base filter total, the count of each saved filter preset and the"
+                            + " count per value of each requested facet field, in one query")
+    @ApiResponses(
+            value = {
+                @ApiResponse(responseCode = "200", description = "Counts retrieved successfully"),
+                @ApiResponse(
+                        responseCode = "400",
+                        description = "A facet field is not an enumerated attribute",
+                        content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            })
+    public ResponseEntity<DossierFacetCountResponse> countFacets(
+            @RequestBody DossierFacetCountRequest request) {
+        return ResponseEntity.ok(advancedFilterService.countFacets(request));
+    }
+
     private Pageable createPageable(int page, int size, String sort) {
         String[] sortParams = sort.split(",");
         String property = sortParams[0];
@@ -177,16 +177,20 @@ public ResponseEntity<List<LeadPriorityResponse>> getPriorityQueue(
         LeadScoringConfig config = configRepository.findActiveConfig(orgId).orElse(null);
         int threshold = config != null ? config.getAutoQualificationThreshold() : 70;
 
+        List<Dossier> scoredLeads =
+                highPriorityLeads.stream()
+                        .filter(dossier -> scoreMap.containsKey(dossier.getId()))
+                        .collect(Collectors.toList());
+        List<DossierResponse> dossierResponses = dossierMapper.toResponses(scoredLeads);
+
         List<LeadPriorityResponse> responses = new ArrayList<>();
-        for (Dossier dossier : highPriorityLeads) {
-            LeadScore score = scoreMap.get(dossier.getId());
-            if (score != null) {
-                LeadPriorityResponse response = new LeadPriorityResponse();
-                response.setDossier(dossierMapper.toResponse(dossier));
-                response.setScore(leadScoreMapper.toResponse(score));
-                response.setUrgencyLevel(determineUrgencyLevel(score.getTotalScore(), threshold));
-                responses.add(response);
-            }
+        for (int i = 0; i < scoredLeads.size(); i++) {
+            LeadScore score = scoreMap.get(scoredLeads.get(i).getId());
+            LeadPriorityResponse response = new LeadPriorityResponse();
+            response.setDossier(dossierResponses.get(i));
+            response.setScore(leadScoreMapper.toResponse(score));
+            response.setUrgencyLevel(determineUrgencyLevel(score.getTotalScore(), threshold));
+            responses.add(response);
         }
 
         responses.sort(
@@ -4,6 +4,7 @@
 import com.example.backend.dto.AnnonceUpdateRequest;
 import com.example.backend.dto.v2.AnnonceMapperV2;
 import com.example.backend.dto.v2.AnnonceResponseV2;
+import com.example.backend.dto.v2.SparseFieldset;
 import com.example.backend.entity.Annonce;
 import com.example.backend.entity.enums.AnnonceStatus;
 import com.example.backend.service.AnnonceService;
@@ -16,6 +17,7 @@
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -146,6 +148,56 @@ public ResponseEntity<Page<AnnonceResponseV2>> list(
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(params = "fields")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PRO')")
+    @Operation(
+            summary = "List selected annonce fields",
+            description =
+                    "Same as the list endpoint, but only selects and returns the requested"
+                            + " top-level fields. Photos, rules and metadata are only read when"
+                            + " asked for.")
+    @ApiResponses(
+            value = {
+                @ApiResponse(responseCode = "200", description = "Annonces retrieved successfully"),
+                @ApiResponse(responseCode = "400", description = "Unknown field requested")
+            })
+    public ResponseEntity<Page<Map<String, Object>>> listFields(
+            @Parameter(
+                            description =
+                                    "Comma-separated response fields, e.g. title,status,pricing")
+                    @RequestParam
+                    String fields,
+            @Parameter(description = "Filter by annonce status") @RequestParam(required = false)
+                    AnnonceStatus status,
+            @Parameter(description = "Search query to filter annonces")
+                    @RequestParam(required = false)
+                    String q,
+            @Parameter(description = "Filter by city") @RequestParam(required = false) String city,
+            @Parameter(description = "Filter by type") @RequestParam(required = false) String type,
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0")
+                    int page,
+            @Parameter(description = "Page size (min=1, default=20)")
+                    @RequestParam(defaultValue = "20")
+                    int size,
+            @Parameter(description = "Sort criteria in format: property(,asc|desc)")
+                    @RequestParam(defaultValue = "id,asc")
+                    String sort) {
+
+        if (page < 0) {
+            throw new IllegalArgumentException("Page number must be at least 0");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+
+        SparseFieldset fieldset = SparseFieldset.parse(fields, AnnonceMapperV2.FIELD_ATTRIBUTES);
+        Pageable pageable = createPageable(page, size, sort);
+        Page<Map<String, Object>> rows =
+                annonceService.findAttributes(
+                        status, q, city, type, fieldset.attributes(), pageable);
+        return ResponseEntity.ok(rows.map(row -> annonceMapperV2.toFields(row, fieldset)));
+    }
+
     @GetMapping("/cities")
     @PreAuthorize("hasAnyRole('ADMIN', 'PRO')")
     @Operation(
@@ -4,6 +4,7 @@
 import com.example.backend.dto.DossierStatusPatchRequest;
 import com.example.backend.dto.v2.DossierMapperV2;
 import com.example.backend.dto.v2.DossierResponseV2;
+import com.example.backend.dto.v2.SparseFieldset;
 import com.example.backend.entity.Dossier;
 import com.example.backend.entity.enums.DossierStatus;
 import com.example.backend.service.DossierService;
@@ -15,6 +16,7 @@
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.util.Map;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -136,6 +138,52 @@ public ResponseEntity<Page<DossierResponseV2>> list(
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(params = "fields")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PRO')")
+    @Operation(
+            summary = "List selected dossier fields",
+            description =
+                    "Same as the list endpoint, but only selects and returns the requested"
+                            + " top-level fields. Parties are only loaded when asked for.")
+    @ApiResponses(
+            value = {
+                @ApiResponse(responseCode = "200", description = "Dossiers retrieved successfully"),
+                @ApiResponse(responseCode = "400", description = "Unknown field requested")
+            })
+    public ResponseEntity<Page<Map<String, Object>>> listFields(
+            @Parameter(description = "Comma-separated response fields, e.g. lead,status,audit")
+                    @RequestParam
+                    String fields,
+            @Parameter(description = "Filter by dossier status") @RequestParam(required = false)
+                    DossierStatus status,
+            @Parameter(description = "Filter by lead phone number") @RequestParam(required = false)
+                    String leadPhone,
+            @Parameter(description = "Filter by annonce ID") @RequestParam(required = false)
+                    Long annonceId,
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0")
+                    int page,
+            @Parameter(description = "Page size (min=1, default=20)")
+                    @RequestParam(defaultValue = "20")
+                    int size,
+            @Parameter(description = "Sort criteria in format: property(,asc|desc)")
+                    @RequestParam(defaultValue = "id,asc")
+                    String sort) {
+
+        if (page < 0) {
+            throw new IllegalArgumentException("Page number must be at least 0");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+
+        SparseFieldset fieldset = SparseFieldset.parse(fields, DossierMapperV2.FIELD_ATTRIBUTES);
+        Pageable pageable = createPageable(page, size, sort);
+        Page<Map<String, Object>> rows =
+                dossierService.findAttributes(
+                        status, leadPhone, annonceId, fieldset.attributes(), pageable);
+        return ResponseEntity.ok(dossierMapperV2.toFields(rows, fieldset));
+    }
+
     @PatchMapping("/{id}/status")
     @PreAuthorize("hasAnyRole('ADMIN', 'PRO')")
     @Operation(
@@ -0,0 +1,37 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+public class DossierFacetCountRequest {
+
+    private DossierFilterRequest baseFilter;
+    private List<Long> presetIds;
+    private List<String> facetFields;
+
+    /** Filter every count is restricted to; null counts across all dossiers. */
+    public DossierFilterRequest getBaseFilter() {
+        return baseFilter;
+    }
+
+    public void setBaseFilter(DossierFilterRequest baseFilter) {
+        this.baseFilter = baseFilter;
+    }
+
+    /** Saved filter presets to count, e.g. the badges of the pipeline view. */
+    public List<Long> getPresetIds() {
+        return presetIds;
+    }
+
+    public void setPresetIds(List<Long> presetIds) {
+        this.presetIds = presetIds;
+    }
+
+    /** Enumerated dossier attributes (status, source) to count per value. */
+    public List<String> getFacetFields() {
+        return facetFields;
+    }
+
+    public void setFacetFields(List<String> facetFields) {
+        this.facetFields = facetFields;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.backend.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class DossierFacetCountResponse {
+
+    private long total;
+    private Map<Long, Long> presets = new LinkedHashMap<>();
+    private Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+
+    public DossierFacetCountResponse() {}
+
+    public DossierFacetCountResponse(
+            long total, Map<Long, Long> presets, Map<String, Map<String, Long>> facets) {
+        this.total = total;
+        this.presets = presets;
+        this.facets = facets;
+    }
+
+    /** Dossiers matching the base filter. */
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    /** Count per accessible preset id, within the base filter. */
+    public Map<Long, Long> getPresets() {
+        return presets;
+    }
+
+    public void setPresets(Map<Long, Long> presets) {
+        this.presets = presets;
+    }
+
+    /** Count per facet field and value, within the base filter. */
+    public Map<String, Map<String, Long>> getFacets() {
+        return facets;
+    }
+
+    public void setFacets(Map<String, Map<String, Long>> facets) {
+        this.facets = facets;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.backend.dto;
+
+public class DossierFilterCountResponse {
+    private long count;
+    private boolean exact;
+
+    public DossierFilterCountResponse() {}
+
+    public DossierFilterCountResponse(long count, boolean exact) {
+        this.count = count;
+        this.exact = exact;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    /** False when {@link #getCount()} is only a lower bound (the count was capped). */
+    public boolean isExact() {
+        return exact;
+    }
+
+    public void setExact(boolean exact) {
+        this.exact = exact;
+    }
+}
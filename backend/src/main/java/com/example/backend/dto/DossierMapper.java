@@ -1,11 +1,21 @@
 package com.example.backend.dto;
 
+import com.example.backend.entity.Annonce;
 import com.example.backend.entity.Dossier;
 import com.example.backend.entity.PartiePrenanteEntity;
 import com.example.backend.entity.enums.DossierSource;
 import com.example.backend.entity.enums.DossierStatus;
 import com.example.backend.repository.AnnonceRepository;
+import com.example.backend.repository.PartiePrenanteRepository;
+import com.example.backend.util.BatchLoader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -13,11 +23,15 @@ public class DossierMapper {
 
     private final PartiePrenanteMapper partiePrenanteMapper;
     private final AnnonceRepository annonceRepository;
+    private final PartiePrenanteRepository partiePrenanteRepository;
 
     public DossierMapper(
-            PartiePrenanteMapper partiePrenanteMapper, AnnonceRepository annonceRepository) {
+            PartiePrenanteMapper partiePrenanteMapper,
+            AnnonceRepository annonceRepository,
+            PartiePrenanteRepository partiePrenanteRepository) {
         this.partiePrenanteMapper = partiePrenanteMapper;
         this.annonceRepository = annonceRepository;
+        this.partiePrenanteRepository = partiePrenanteRepository;
     }
 
     public Dossier toEntity(DossierCreateRequest request) {
@@ -77,16 +91,71 @@ public Dossier toEntityWithoutParties(DossierCreateRequest request) {
     }
 
     public DossierResponse toResponse(Dossier dossier) {
+        String annonceTitle =
+                dossier.getAnnonceId() != null
+                        ? annonceRepository
+                                .findById(dossier.getAnnonceId())
+                                .map(Annonce::getTitle)
+                                .orElse(null)
+                        : null;
+        return toResponse(dossier, annonceTitle, dossier.getParties());
+    }
+
+    /**
+     * Maps a list of dossiers with a fixed number of queries: the annonce titles and the parties of
+     * all dossiers are each loaded in one batch rather than once per dossier.
+     */
+    public List<DossierResponse> toResponses(List<Dossier> dossiers) {
+        if (dossiers.isEmpty()) {
+            return List.of();
+        }
+        BatchLoader<Long, String> annonceTitles = BatchLoader.of(this::loadAnnonceTitles);
+        BatchLoader<Long, List<PartiePrenanteEntity>> parties = BatchLoader.of(this::loadParties);
+        for (Dossier dossier : dossiers) {
+            annonceTitles.register(dossier.getAnnonceId());
+            if (!Hibernate.isInitialized(dossier.getParties())) {
+                parties.register(dossier.getId());
+            }
+        }
+        return dossiers.stream()
+                .map(
+                        dossier ->
+                                toResponse(
+                                        dossier,
+                                        annonceTitles.get(dossier.getAnnonceId()),
+                                        Hibernate.isInitialized(dossier.getParties())
+                                                ? dossier.getParties()
+                                                : parties.getOrDefault(dossier.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    public Page<DossierResponse> toResponses(Page<Dossier> dossiers) {
+        return new PageImpl<>(
+                toResponses(dossiers.getContent()),
+                dossiers.getPageable(),
+                dossiers.getTotalElements());
+    }
+
+    private Map<Long, String> loadAnnonceTitles(Set<Long> annonceIds) {
+        Map<Long, String> titles = new HashMap<>();
+        for (Object[] row : annonceRepository.findSummariesByIdIn(annonceIds)) {
+            titles.put((Long) row[0], (String) row[1]);
+        }
+        return titles;
+    }
+
+    private Map<Long, List<PartiePrenanteEntity>> loadParties(Set<Long> dossierIds) {
+        return partiePrenanteRepository.findByDossierIdIn(dossierIds).stream()
+                .collect(Collectors.groupingBy(party -> party.getDossier().getId()));
+    }
+
+    private DossierResponse toResponse(
+            Dossier dossier, String annonceTitle, List<PartiePrenanteEntity> parties) {
         DossierResponse response = new DossierResponse();
         response.setId(dossier.getId());
         response.setOrgId(dossier.getOrgId());
         response.setAnnonceId(dossier.getAnnonceId());
-
-        if (dossier.getAnnonceId() != null) {
-            annonceRepository
-                    .findById(dossier.getAnnonceId())
-                    .ifPresent(annonce -> response.setAnnonceTitle(annonce.getTitle()));
-        }
+        response.setAnnonceTitle(annonceTitle);
 
         response.setLeadPhone(dossier.getLeadPhone());
         response.setLeadEmail(dossier.getLeadEmail());
@@ -109,9 +178,9 @@ public DossierResponse toResponse(Dossier dossier) {
         response.setCreatedBy(dossier.getCreatedBy());
         response.setUpdatedBy(dossier.getUpdatedBy());
 
-        if (dossier.getParties() != null) {
+        if (parties != null) {
             response.setParties(
-                    dossier.getParties().stream()
+                    parties.stream()
                             .map(partiePrenanteMapper::toResponse)
                             .collect(Collectors.toList()));
         }
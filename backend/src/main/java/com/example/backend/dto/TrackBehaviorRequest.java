@@ -1,10 +1,16 @@
 package com.example.backend.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 public class TrackBehaviorRequest {
-    @NotBlank private String actionType;
+    @NotBlank
+    @Size(max = 100)
+    private String actionType;
+
+    @Size(max = 100)
     private String contextType;
+
     private Long contextId;
 
     public String getActionType() {
@@ -3,12 +3,35 @@
 import com.example.backend.entity.Annonce;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.stereotype.Component;
 
 @Component
 public class AnnonceMapperV2 {
 
+    /** Response fields a list request can select with {@code fields=}, and their attributes. */
+    public static final Map<String, List<String>> FIELD_ATTRIBUTES =
+            Map.ofEntries(
+                    Map.entry("id", List.of("id")),
+                    Map.entry("orgId", List.of("orgId")),
+                    Map.entry("title", List.of("title")),
+                    Map.entry("description", List.of("description")),
+                    Map.entry("category", List.of("category")),
+                    Map.entry("type", List.of("type")),
+                    Map.entry("status", List.of("status")),
+                    Map.entry("location", List.of("address", "city")),
+                    Map.entry("details", List.of("surface")),
+                    Map.entry("pricing", List.of("price", "currency", "surface")),
+                    Map.entry("photos", List.of("photos")),
+                    Map.entry("rules", List.of("rulesJson")),
+                    Map.entry("metadata", List.of("meta")),
+                    Map.entry(
+                            "audit", List.of("createdAt", "updatedAt", "createdBy", "updatedBy")));
+
     public AnnonceResponseV2 toResponse(Annonce annonce) {
         AnnonceResponseV2 response = new AnnonceResponseV2();
         response.setId(annonce.getId());
@@ -31,33 +54,85 @@ public AnnonceResponseV2 toResponse(Annonce annonce) {
         details.setSurface(annonce.getSurface());
         response.setDetails(details);
 
+        response.setPricing(
+                pricing(annonce.getPrice(), annonce.getCurrency(), annonce.getSurface()));
+        response.setAudit(
+                audit(
+                        annonce.getCreatedAt(),
+                        annonce.getUpdatedAt(),
+                        annonce.getCreatedBy(),
+                        annonce.getUpdatedBy()));
+
+        return response;
+    }
+
+    /**
+     * Builds the JSON object of a list row holding only the requested fields, from the attributes
+     * selected for them. Nested objects have the same shape as in {@link #toResponse}.
+     */
+    public Map<String, Object> toFields(Map<String, Object> row, SparseFieldset fieldset) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        for (String field : fieldset.fields()) {
+            switch (field) {
+                case "rules" -> json.put(field, row.get("rulesJson"));
+                case "metadata" -> json.put(field, row.get("meta"));
+                case "location" -> {
+                    AnnonceResponseV2.LocationInfoV2 location =
+                            new AnnonceResponseV2.LocationInfoV2();
+                    location.setAddress((String) row.get("address"));
+                    location.setCity((String) row.get("city"));
+                    json.put(field, location);
+                }
+                case "details" -> {
+                    AnnonceResponseV2.PropertyDetailsV2 details =
+                            new AnnonceResponseV2.PropertyDetailsV2();
+                    details.setSurface((Double) row.get("surface"));
+                    json.put(field, details);
+                }
+                case "pricing" ->
+                        json.put(
+                                field,
+                                pricing(
+                                        (BigDecimal) row.get("price"),
+                                        (String) row.get("currency"),
+                                        (Double) row.get("surface")));
+                case "audit" ->
+                        json.put(
+                                field,
+                                audit(
+                                        (LocalDateTime) row.get("createdAt"),
+                                        (LocalDateTime) row.get("updatedAt"),
+                                        (String) row.get("createdBy"),
+                                        (String) row.get("updatedBy")));
+                default -> json.put(field, row.get(field));
+            }
+        }
+        return json;
+    }
+
+    private AnnonceResponseV2.PricingInfoV2 pricing(
+            BigDecimal price, String currency, Double surface) {
         AnnonceResponseV2.PricingInfoV2 pricing = new AnnonceResponseV2.PricingInfoV2();
-        pricing.setAmount(annonce.getPrice());
-        pricing.setCurrency(annonce.getCurrency());
-        if (annonce.getPrice() != null
-                && annonce.getSurface() != null
-                && annonce.getSurface() > 0) {
-            BigDecimal pricePerSqm =
-                    annonce.getPrice()
-                            .divide(
-                                    BigDecimal.valueOf(annonce.getSurface()),
-                                    2,
-                                    RoundingMode.HALF_UP);
-            pricing.setPricePerSqm(pricePerSqm);
+        pricing.setAmount(price);
+        pricing.setCurrency(currency);
+        if (price != null && surface != null && surface > 0) {
+            pricing.setPricePerSqm(
+                    price.divide(BigDecimal.valueOf(surface), 2, RoundingMode.HALF_UP));
         }
-        response.setPricing(pricing);
+        return pricing;
+    }
 
+    private AnnonceResponseV2.AuditInfoV2 audit(
+            LocalDateTime createdAt, LocalDateTime updatedAt, String createdBy, String updatedBy) {
         AnnonceResponseV2.AuditInfoV2 audit = new AnnonceResponseV2.AuditInfoV2();
-        if (annonce.getCreatedAt() != null) {
-            audit.setCreatedAt(annonce.getCreatedAt().atZone(ZoneOffset.UTC).toInstant());
+        if (createdAt != null) {
+            audit.setCreatedAt(createdAt.atZone(ZoneOffset.UTC).toInstant());
         }
-        if (annonce.getUpdatedAt() != null) {
-            audit.setUpdatedAt(annonce.getUpdatedAt().atZone(ZoneOffset.UTC).toInstant());
+        if (updatedAt != null) {
+            audit.setUpdatedAt(updatedAt.atZone(ZoneOffset.UTC).toInstant());
         }
-        audit.setCreatedBy(annonce.getCreatedBy());
-        audit.setUpdatedBy(annonce.getUpdatedBy());
-        response.setAudit(audit);
-
-        return response;
+        audit.setCreatedBy(createdBy);
+        audit.setUpdatedBy(updatedBy);
+        return audit;
     }
 }
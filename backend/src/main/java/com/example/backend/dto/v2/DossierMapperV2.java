@@ -1,21 +1,58 @@
 package com.example.backend.dto.v2;
 
 import com.example.backend.entity.Dossier;
+import com.example.backend.entity.PartiePrenanteEntity;
+import com.example.backend.entity.enums.DossierStatus;
 import com.example.backend.repository.AnnonceRepository;
+import com.example.backend.repository.PartiePrenanteRepository;
+import com.example.backend.util.BatchLoader;
+import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Component;
 
 @Component
 public class DossierMapperV2 {
 
+    /**
+     * Response fields a list request can select with {@code fields=}, and their attributes. The
+     * annonce summary and the parties are loaded for the whole page in one query each.
+     */
+    public static final Map<String, List<String>> FIELD_ATTRIBUTES =
+            Map.ofEntries(
+                    Map.entry("id", List.of("id")),
+                    Map.entry("orgId", List.of("orgId")),
+                    Map.entry("annonce", List.of("annonceId")),
+                    Map.entry("lead", List.of("leadPhone", "leadName", "leadSource")),
+                    Map.entry("notes", List.of("notes")),
+                    Map.entry("status", List.of("status")),
+                    Map.entry("caseType", List.of("caseType")),
+                    Map.entry("statusCode", List.of("statusCode", "status")),
+                    Map.entry("lossReason", List.of("lossReason")),
+                    Map.entry("wonReason", List.of("wonReason")),
+                    Map.entry("score", List.of("score")),
+                    Map.entry("source", List.of("source")),
+                    Map.entry("parties", List.of()),
+                    Map.entry(
+                            "audit", List.of("createdAt", "updatedAt", "createdBy", "updatedBy")));
+
     private final PartiePrenanteMapperV2 partiePrenanteMapper;
     private final AnnonceRepository annonceRepository;
+    private final PartiePrenanteRepository partiePrenanteRepository;
 
     public DossierMapperV2(
-            PartiePrenanteMapperV2 partiePrenanteMapper, AnnonceRepository annonceRepository) {
+            PartiePrenanteMapperV2 partiePrenanteMapper,
+            AnnonceRepository annonceRepository,
+            PartiePrenanteRepository partiePrenanteRepository) {
         this.partiePrenanteMapper = partiePrenanteMapper;
         this.annonceRepository = annonceRepository;
+        this.partiePrenanteRepository = partiePrenanteRepository;
     }
 
     public DossierResponseV2 toResponse(Dossier dossier) {
@@ -63,16 +100,12 @@ public DossierResponseV2 toResponse(Dossier dossier) {
                             .collect(Collectors.toList()));
         }
 
-        DossierResponseV2.AuditInfoV2 audit = new DossierResponseV2.AuditInfoV2();
-        if (dossier.getCreatedAt() != null) {
-            audit.setCreatedAt(dossier.getCreatedAt().atZone(ZoneOffset.UTC).toInstant());
-        }
-        if (dossier.getUpdatedAt() != null) {
-            audit.setUpdatedAt(dossier.getUpdatedAt().atZone(ZoneOffset.UTC).toInstant());
-        }
-        audit.setCreatedBy(dossier.getCreatedBy());
-        audit.setUpdatedBy(dossier.getUpdatedBy());
-        response.setAudit(audit);
+        response.setAudit(
+                audit(
+                        dossier.getCreatedAt(),
+                        dossier.getUpdatedAt(),
+                        dossier.getCreatedBy(),
+                        dossier.getUpdatedBy()));
 
         if (dossier.getActivities() != null) {
             response.setRecentActivities(
@@ -98,4 +131,108 @@ public DossierResponseV2 toResponse(Dossier dossier) {
 
         return response;
     }
+
+    /**
+     * Builds the JSON objects of a page of list rows holding only the requested fields, from the
+     * attributes selected for them. Nested objects have the same shape as in {@link #toResponse}.
+     */
+    public Page<Map<String, Object>> toFields(
+            Page<Map<String, Object>> rows, SparseFieldset fieldset) {
+        BatchLoader<Long, Object[]> annonces = BatchLoader.of(this::loadAnnonceSummaries);
+        BatchLoader<Long, List<PartiePrenanteEntity>> parties = BatchLoader.of(this::loadParties);
+        for (Map<String, Object> row : rows) {
+            if (fieldset.includes("annonce")) {
+                annonces.register((Long) row.get("annonceId"));
+            }
+            if (fieldset.includes("parties")) {
+                parties.register((Long) row.get("id"));
+            }
+        }
+        return rows.map(row -> toFields(row, fieldset, annonces, parties));
+    }
+
+    private Map<String, Object> toFields(
+            Map<String, Object> row,
+            SparseFieldset fieldset,
+            BatchLoader<Long, Object[]> annonces,
+            BatchLoader<Long, List<PartiePrenanteEntity>> parties) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        for (String field : fieldset.fields()) {
+            switch (field) {
+                case "annonce" -> {
+                    Long annonceId = (Long) row.get("annonceId");
+                    DossierResponseV2.AnnonceInfoV2 annonceInfo = null;
+                    if (annonceId != null) {
+                        annonceInfo = new DossierResponseV2.AnnonceInfoV2();
+                        annonceInfo.setId(annonceId);
+                        Object[] summary = annonces.get(annonceId);
+                        if (summary != null) {
+                            annonceInfo.setTitle((String) summary[1]);
+                            annonceInfo.setCity((String) summary[2]);
+                        }
+                    }
+                    json.put(field, annonceInfo);
+                }
+                case "lead" -> {
+                    DossierResponseV2.LeadInfoV2 leadInfo = new DossierResponseV2.LeadInfoV2();
+                    leadInfo.setPhone((String) row.get("leadPhone"));
+                    leadInfo.setName((String) row.get("leadName"));
+                    leadInfo.setSource((String) row.get("leadSource"));
+                    json.put(field, leadInfo);
+                }
+                case "statusCode" -> {
+                    DossierStatus status = (DossierStatus) row.get("status");
+                    Object statusCode = row.get("statusCode");
+                    json.put(
+                            field,
+                            statusCode != null
+                                    ? statusCode
+                                    : (status != null ? status.name() : null));
+                }
+                case "parties" ->
+                        json.put(
+                                field,
+                                parties.getOrDefault((Long) row.get("id"), List.of()).stream()
+                                        .map(partiePrenanteMapper::toResponse)
+                                        .collect(Collectors.toList()));
+                case "audit" ->
+                        json.put(
+                                field,
+                                audit(
+                                        (LocalDateTime) row.get("createdAt"),
+                                        (LocalDateTime) row.get("updatedAt"),
+                                        (String) row.get("createdBy"),
+                                        (String) row.get("updatedBy")));
+                default -> json.put(field, row.get(field));
+            }
+        }
+        return json;
+    }
+
+    private Map<Long, Object[]> loadAnnonceSummaries(Set<Long> annonceIds) {
+        Map<Long, Object[]> summaries = new HashMap<>();
+        for (Object[] row : annonceRepository.findSummariesByIdIn(annonceIds)) {
+            summaries.put((Long) row[0], row);
+        }
+        return summaries;
+    }
+
+    private Map<Long, List<PartiePrenanteEntity>> loadParties(Set<Long> dossierIds) {
+        return partiePrenanteRepository.findByDossierIdIn(dossierIds).stream()
+                .collect(Collectors.groupingBy(party -> party.getDossier().getId()));
+    }
+
+    private DossierResponseV2.AuditInfoV2 audit(
+            LocalDateTime createdAt, LocalDateTime updatedAt, String createdBy, String updatedBy) {
+        DossierResponseV2.AuditInfoV2 audit = new DossierResponseV2.AuditInfoV2();
+        if (createdAt != null) {
+            audit.setCreatedAt(createdAt.atZone(ZoneOffset.UTC).toInstant());
+        }
+        if (updatedAt != null) {
+            audit.setUpdatedAt(updatedAt.atZone(ZoneOffset.UTC).toInstant());
+        }
+        audit.setCreatedBy(createdBy);
+        audit.setUpdatedBy(updatedBy);
+        return audit;
+    }
 }
@@ -0,0 +1,65 @@
+package com.example.backend.dto.v2;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The top-level fields of a V2 response a client asked for with {@code fields=}, and the entity
+ * attributes the database query has to select to produce them. The {@code id} is always included.
+ */
+public final class SparseFieldset {
+
+    private final Set<String> fields;
+    private final Set<String> attributes;
+
+    private SparseFieldset(Set<String> fields, Set<String> attributes) {
+        this.fields = fields;
+        this.attributes = attributes;
+    }
+
+    /**
+     * Parses a comma-separated field list against the catalog of a resource, which maps each
+     * response field to the entity attributes it is built from.
+     *
+     * @throws IllegalArgumentException if a field is not in the catalog
+     */
+    public static SparseFieldset parse(String fields, Map<String, List<String>> catalog) {
+        Set<String> selected = new LinkedHashSet<>();
+        selected.add("id");
+        Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .forEach(selected::add);
+
+        Set<String> attributes = new LinkedHashSet<>();
+        for (String field : selected) {
+            List<String> fieldAttributes = catalog.get(field);
+            if (fieldAttributes == null) {
+                String expected =
+                        catalog.keySet().stream().sorted().collect(Collectors.joining(", "));
+                throw new IllegalArgumentException(
+                        "Unknown field '" + field + "', expected one of: " + expected);
+            }
+            attributes.addAll(fieldAttributes);
+        }
+        return new SparseFieldset(
+                Collections.unmodifiableSet(selected), Collections.unmodifiableSet(attributes));
+    }
+
+    public Set<String> fields() {
+        return fields;
+    }
+
+    public Set<String> attributes() {
+        return attributes;
+    }
+
+    public boolean includes(String field) {
+        return fields.contains(field);
+    }
+}
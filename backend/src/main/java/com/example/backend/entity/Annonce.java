@@ -2,8 +2,10 @@
 
 import com.example.backend.entity.enums.AnnonceStatus;
 import com.example.backend.entity.enums.AnnonceType;
+import com.example.backend.service.PropertyMatchIndexListener;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,7 +17,7 @@
 @Entity
 @Table(name = "annonce")
 @Filter(name = "orgIdFilter", condition = "org_id = :orgId")
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, PropertyMatchIndexListener.class})
 public class Annonce extends BaseEntity {
 
     @Id
@@ -79,6 +81,9 @@ public class Annonce extends BaseEntity {
     @Column(name = "fraud_statut", length = 20)
     private String fraudStatut;
 
+    @Column(name = "yield_adjusted_at")
+    private LocalDateTime yieldAdjustedAt;
+
     public Long getId() {
         return id;
     }
@@ -222,4 +227,12 @@ public String getFraudStatut() {
     public void setFraudStatut(String fraudStatut) {
         this.fraudStatut = fraudStatut;
     }
+
+    public LocalDateTime getYieldAdjustedAt() {
+        return yieldAdjustedAt;
+    }
+
+    public void setYieldAdjustedAt(LocalDateTime yieldAdjustedAt) {
+        this.yieldAdjustedAt = yieldAdjustedAt;
+    }
 }
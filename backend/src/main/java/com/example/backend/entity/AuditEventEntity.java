@@ -14,7 +14,11 @@
 public class AuditEventEntity extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_event_seq")
+    @SequenceGenerator(
+            name = "audit_event_seq",
+            sequenceName = "audit_event_seq",
+            allocationSize = 50)
     @Column(name = "id", updatable = false, nullable = false)
     private Long id;
 
@@ -3,6 +3,7 @@
 import com.example.backend.entity.enums.ConsentementChannel;
 import com.example.backend.entity.enums.ConsentementStatus;
 import com.example.backend.entity.enums.ConsentementType;
+import com.example.backend.service.CurrentConsentListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -13,6 +14,7 @@
 @Entity
 @Table(name = "consentement")
 @Filter(name = "orgIdFilter", condition = "org_id = :orgId")
+@EntityListeners(CurrentConsentListener.class)
 public class ConsentementEntity extends BaseEntity {
 
     @Id
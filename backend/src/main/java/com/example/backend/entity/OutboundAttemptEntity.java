@@ -1,6 +1,7 @@
 package com.example.backend.entity;
 
 import com.example.backend.entity.enums.OutboundAttemptStatus;
+import com.example.backend.observability.OutboundMessageTransitionListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -11,6 +12,7 @@
 @Entity
 @Table(name = "outbound_attempt")
 @Filter(name = "orgIdFilter", condition = "org_id = :orgId")
+@EntityListeners(OutboundMessageTransitionListener.class)
 public class OutboundAttemptEntity extends BaseEntity {
 
     @Id
@@ -42,6 +44,8 @@ public class OutboundAttemptEntity extends BaseEntity {
     @Column(name = "next_retry_at")
     private LocalDateTime nextRetryAt;
 
+    @Transient private OutboundAttemptStatus persistedStatus;
+
     public Long getId() {
         return id;
     }
@@ -105,4 +109,12 @@ public LocalDateTime getNextRetryAt() {
     public void setNextRetryAt(LocalDateTime nextRetryAt) {
         this.nextRetryAt = nextRetryAt;
     }
+
+    public OutboundAttemptStatus persistedStatus() {
+        return persistedStatus;
+    }
+
+    public void markPersistedState() {
+        this.persistedStatus = status;
+    }
 }
@@ -2,6 +2,7 @@
 
 import com.example.backend.entity.enums.MessageChannel;
 import com.example.backend.entity.enums.OutboundMessageStatus;
+import com.example.backend.observability.OutboundMessageTransitionListener;
 import jakarta.persistence.*;
 import java.util.Map;
 import org.hibernate.annotations.Filter;
@@ -17,10 +18,15 @@
                     columnNames = {"org_id", "idempotency_key"})
         })
 @Filter(name = "orgIdFilter", condition = "org_id = :orgId")
+@EntityListeners(OutboundMessageTransitionListener.class)
 public class OutboundMessageEntity extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbound_message_seq")
+    @SequenceGenerator(
+            name = "outbound_message_seq",
+            sequenceName = "outbound_message_seq",
+            allocationSize = 50)
     @Column(name = "id", updatable = false, nullable = false)
     private Long id;
 
@@ -87,6 +93,13 @@ public class OutboundMessageEntity extends BaseEntity {
     @Column(name = "read_at")
     private java.time.LocalDateTime readAt;
 
+    /** Status, attempt count and read flag as last loaded from or flushed to the database. */
+    @Transient private OutboundMessageStatus persistedStatus;
+
+    @Transient private int persistedAttemptCount;
+
+    @Transient private boolean persistedRead;
+
     public Long getId() {
         return id;
     }
@@ -254,4 +267,22 @@ public java.time.LocalDateTime getReadAt() {
     public void setReadAt(java.time.LocalDateTime readAt) {
         this.readAt = readAt;
     }
+
+    public OutboundMessageStatus persistedStatus() {
+        return persistedStatus;
+    }
+
+    public int persistedAttemptCount() {
+        return persistedAttemptCount;
+    }
+
+    public boolean persistedRead() {
+        return persistedRead;
+    }
+
+    public void markPersistedState() {
+        this.persistedStatus = status;
+        this.persistedAttemptCount = attemptCount != null ? attemptCount : 0;
+        this.persistedRead = readAt != null;
+    }
 }
@@ -1,6 +1,9 @@
 package com.example.backend.entity;
 
+import com.example.backend.config.SecondLevelCacheRegions;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Filter;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -9,6 +12,8 @@
         name = "referential",
         uniqueConstraints = @UniqueConstraint(columnNames = {"org_id", "category", "code"}))
 @Filter(name = "orgIdFilter", condition = "org_id = :orgId")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheRegions.REFERENTIAL)
 @EntityListeners(AuditingEntityListener.class)
 public class ReferentialEntity extends BaseEntity {
 
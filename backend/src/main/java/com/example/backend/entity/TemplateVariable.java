@@ -1,13 +1,20 @@
 package com.example.backend.entity;
 
+import com.example.backend.config.SecondLevelCacheRegions;
 import com.example.backend.entity.enums.ComponentType;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Filter;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
 @Table(name = "template_variable")
 @Filter(name = "orgIdFilter", condition = "org_id = :orgId")
+@Cacheable
+@Cache(
+        usage = CacheConcurrencyStrategy.READ_WRITE,
+        region = SecondLevelCacheRegions.TEMPLATE_VARIABLE)
 @EntityListeners(AuditingEntityListener.class)
 public class TemplateVariable extends BaseEntity {
 
@@ -1,11 +1,13 @@
 package com.example.backend.entity;
 
+import com.example.backend.service.WhatsAppProviderConfigListener;
 import jakarta.persistence.*;
 import org.hibernate.annotations.Filter;
 
 @Entity
 @Table(name = "whatsapp_provider_config")
 @Filter(name = "orgIdFilter", condition = "org_id = :orgId")
+@EntityListeners(WhatsAppProviderConfigListener.class)
 public class WhatsAppProviderConfig extends BaseEntity {
 
     @Id
@@ -1,11 +1,14 @@
 package com.example.backend.entity;
 
+import com.example.backend.config.SecondLevelCacheRegions;
 import com.example.backend.entity.enums.TemplateCategory;
 import com.example.backend.entity.enums.TemplateStatus;
 import jakarta.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Filter;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
@@ -16,6 +19,10 @@
         name = "whatsapp_template",
         uniqueConstraints = @UniqueConstraint(columnNames = {"org_id", "name", "language"}))
 @Filter(name = "orgIdFilter", condition = "org_id = :orgId")
+@Cacheable
+@Cache(
+        usage = CacheConcurrencyStrategy.READ_WRITE,
+        region = SecondLevelCacheRegions.WHATSAPP_TEMPLATE)
 @EntityListeners(AuditingEntityListener.class)
 public class WhatsAppTemplate extends BaseEntity {
 
@@ -45,6 +52,9 @@ public class WhatsAppTemplate extends BaseEntity {
     @Column(name = "components", columnDefinition = "jsonb")
     private List<Map<String, Object>> components;
 
+    @Cache(
+            usage = CacheConcurrencyStrategy.READ_WRITE,
+            region = SecondLevelCacheRegions.WHATSAPP_TEMPLATE_VARIABLES)
     @OneToMany(
             mappedBy = "template",
             cascade = CascadeType.ALL,
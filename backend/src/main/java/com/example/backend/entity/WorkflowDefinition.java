@@ -1,10 +1,13 @@
 package com.example.backend.entity;
 
+import com.example.backend.config.SecondLevelCacheRegions;
 import jakarta.persistence.*;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Filter;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
@@ -13,6 +16,10 @@
 @Entity
 @Table(name = "workflow_definition")
 @Filter(name = "orgIdFilter", condition = "org_id = :orgId")
+@Cacheable
+@Cache(
+        usage = CacheConcurrencyStrategy.READ_WRITE,
+        region = SecondLevelCacheRegions.WORKFLOW_DEFINITION)
 @EntityListeners(AuditingEntityListener.class)
 public class WorkflowDefinition extends BaseEntity {
 
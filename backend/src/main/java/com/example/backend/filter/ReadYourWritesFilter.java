@@ -0,0 +1,48 @@
+package com.example.backend.filter;
+
+import com.example.backend.util.ReplicaRoutingContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Session LSN pinning for replica reads.
+ *
+ * <p>Responses to requests that committed a write carry {@value #WRITE_LSN_HEADER}; a client that
+ * sends it back as {@value #READ_AFTER_LSN_HEADER} only gets read from a replica that has replayed
+ * that write, and from the primary until then.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String WRITE_LSN_HEADER = "X-Write-Lsn";
+    public static final String READ_AFTER_LSN_HEADER = "X-Read-After-Lsn";
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long requiredLsn = ReplicaRoutingContext.parseLsn(request.getHeader(READ_AFTER_LSN_HEADER));
+        ReplicaRoutingContext.bind(
+                requiredLsn,
+                lsn -> {
+                    if (!response.isCommitted()) {
+                        response.setHeader(WRITE_LSN_HEADER, lsn);
+                    }
+                });
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingContext.clear();
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package com.example.backend.observability;
 
+import com.example.backend.aspect.LeasedJob;
+import com.example.backend.entity.OutboundAttemptEntity;
 import com.example.backend.entity.OutboundMessageEntity;
 import com.example.backend.entity.WhatsAppSessionWindow;
 import com.example.backend.entity.enums.MessageChannel;
 import com.example.backend.entity.enums.OutboundMessageStatus;
-import com.example.backend.repository.OutboundAttemptRepository;
 import com.example.backend.repository.OutboundMessageRepository;
 import com.example.backend.repository.WhatsAppRateLimitRepository;
 import com.example.backend.repository.WhatsAppSessionWindowRepository;
@@ -13,31 +14,64 @@
 import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Outbound queue gauges and delivery SLA histograms.
+ *
+ * <p>Queue depths are kept as in-memory (status, channel) counters moved by {@link
+ * OutboundMessageTransitionListener} on every flushed insert, status change or delete, so scraping
+ * never touches {@code outbound_message}. Each replica only observes its own writes, and bulk JPQL
+ * updates bypass the listener, so the counters are periodically reset from a single grouped query
+ * by one leased job: active statuses every {@code outbound.metrics.reconcile-interval-ms} over the
+ * partial index, every status every {@code outbound.metrics.full-reconcile-interval-ms}. Only the
+ * node running that job publishes the queue gauges, so there is one authoritative set; a node
+ * withdraws its gauges when it has not reconciled for two intervals. Latencies are recorded once,
+ * after the commit of the transition that completes each stage, so rolled-back sends are never
+ * counted.
+ */
 @Service
 public class OutboundMessageMetricsService {
 
     private static final Logger logger =
             LoggerFactory.getLogger(OutboundMessageMetricsService.class);
 
+    private static final OutboundMessageStatus[] STATUSES = OutboundMessageStatus.values();
+    private static final MessageChannel[] CHANNELS = MessageChannel.values();
+    private static final Set<OutboundMessageStatus> ACTIVE_STATUSES =
+            EnumSet.of(
+                    OutboundMessageStatus.QUEUED,
+                    OutboundMessageStatus.SENDING,
+                    OutboundMessageStatus.FAILED,
+                    OutboundMessageStatus.THROTTLED);
+
     private final OutboundMessageRepository outboundMessageRepository;
-    private final OutboundAttemptRepository outboundAttemptRepository;
     private final WhatsAppRateLimitRepository whatsAppRateLimitRepository;
     private final WhatsAppSessionWindowRepository whatsAppSessionWindowRepository;
     private final MeterRegistry registry;
+    private final long reconcileIntervalMillis;
+    private final long fullReconcileIntervalMillis;
+
+    /** Message counts indexed by [status ordinal][channel ordinal]. */
+    private final AtomicLong[][] depth = newMatrix();
+
+    /** Messages with at least one attempt, indexed like {@link #depth}. */
+    private final AtomicLong[][] retriedDepth = newMatrix();
 
-    private final Map<String, AtomicLong> queueDepthByStatus = new ConcurrentHashMap<>();
-    private final Map<String, AtomicLong> queueDepthByChannel = new ConcurrentHashMap<>();
-    private final Map<String, AtomicLong> retryCountsByChannel = new ConcurrentHashMap<>();
     private final Map<String, DistributionSummary> latencySummaries = new ConcurrentHashMap<>();
     private final Map<String, DistributionSummary> sendLatencyHistograms =
             new ConcurrentHashMap<>();
@@ -45,8 +79,6 @@ public class OutboundMessageMetricsService {
             new ConcurrentHashMap<>();
     private final Map<String, DistributionSummary> readLatencyHistograms =
             new ConcurrentHashMap<>();
-    private final AtomicLong deadLetterQueueSize = new AtomicLong(0);
-    private final AtomicLong totalQueuedMessages = new AtomicLong(0);
     private final AtomicLong whatsappQuotaUsed = new AtomicLong(0);
     private final AtomicLong whatsappQuotaLimit = new AtomicLong(1000);
     private final AtomicLong whatsappQuotaRemaining = new AtomicLong(1000);
@@ -54,50 +86,88 @@ public class OutboundMessageMetricsService {
             new ConcurrentHashMap<>();
     private final AtomicLong stuckSendingMessagesCount = new AtomicLong(0);
 
+    /** Queue gauges while this node is the one reconciling; empty otherwise. */
+    private final List<Gauge> queueGauges = new ArrayList<>();
+
+    private volatile long reconciledAt;
+    private long fullReconciledAt;
+
     public OutboundMessageMetricsService(
             OutboundMessageRepository outboundMessageRepository,
-            OutboundAttemptRepository outboundAttemptRepository,
             WhatsAppRateLimitRepository whatsAppRateLimitRepository,
             WhatsAppSessionWindowRepository whatsAppSessionWindowRepository,
-            MeterRegistry registry) {
+            MeterRegistry registry,
+            @Value("${outbound.metrics.reconcile-interval-ms:60000}") long reconcileIntervalMillis,
+            @Value("${outbound.metrics.full-reconcile-interval-ms:3600000}")
+                    long fullReconcileIntervalMillis) {
 
         this.outboundMessageRepository = outboundMessageRepository;
-        this.outboundAttemptRepository = outboundAttemptRepository;
         this.whatsAppRateLimitRepository = whatsAppRateLimitRepository;
         this.whatsAppSessionWindowRepository = whatsAppSessionWindowRepository;
         this.registry = registry;
+        this.reconcileIntervalMillis = reconcileIntervalMillis;
+        this.fullReconcileIntervalMillis = fullReconcileIntervalMillis;
         initializeGauges();
     }
 
-    private void initializeGauges() {
-        for (OutboundMessageStatus status : OutboundMessageStatus.values()) {
-            String statusKey = status.name().toLowerCase();
-            AtomicLong gauge = new AtomicLong(0);
-            queueDepthByStatus.put(statusKey, gauge);
-
-            Gauge.builder("outbound_message_queue_depth", gauge, AtomicLong::get)
-                    .tag("status", statusKey)
-                    .description("Number of outbound messages by status")
-                    .register(registry);
+    private synchronized void publishQueueGauges() {
+        if (!queueGauges.isEmpty()) {
+            return;
         }
-
-        for (MessageChannel channel : MessageChannel.values()) {
+        for (OutboundMessageStatus status : STATUSES) {
+            queueGauges.add(
+                    Gauge.builder(
+                                    "outbound_message_queue_depth",
+                                    this,
+                                    m -> m.depthByStatus(status))
+                            .tag("status", status.name().toLowerCase())
+                            .description("Number of outbound messages by status")
+                            .register(registry));
+        }
+        for (MessageChannel channel : CHANNELS) {
             String channelKey = channel.name().toLowerCase();
+            queueGauges.add(
+                    Gauge.builder(
+                                    "outbound_message_queue_depth_by_channel",
+                                    this,
+                                    m -> m.depth(OutboundMessageStatus.QUEUED, channel))
+                            .tag("channel", channelKey)
+                            .tag("status", "queued")
+                            .description("Number of queued outbound messages by channel")
+                            .register(registry));
+            queueGauges.add(
+                    Gauge.builder(
+                                    "outbound_message_retry_count",
+                                    this,
+                                    m -> m.retriedByChannel(channel))
+                            .tag("channel", channelKey)
+                            .description("Number of messages with retry attempts by channel")
+                            .register(registry));
+        }
+        queueGauges.add(
+                Gauge.builder(
+                                "outbound_message_dead_letter_queue_size",
+                                this,
+                                OutboundMessageMetricsService::deadLetterQueueSize)
+                        .description("Number of permanently failed messages in dead letter queue")
+                        .register(registry));
+        queueGauges.add(
+                Gauge.builder(
+                                "outbound_message_total_queued",
+                                this,
+                                OutboundMessageMetricsService::totalQueuedMessages)
+                        .description("Total number of queued messages across all channels")
+                        .register(registry));
+    }
 
-            AtomicLong queueGauge = new AtomicLong(0);
-            queueDepthByChannel.put(channelKey, queueGauge);
-            Gauge.builder("outbound_message_queue_depth_by_channel", queueGauge, AtomicLong::get)
-                    .tag("channel", channelKey)
-                    .tag("status", "queued")
-                    .description("Number of queued outbound messages by channel")
-                    .register(registry);
+    private synchronized void withdrawQueueGauges() {
+        queueGauges.forEach(registry::remove);
+        queueGauges.clear();
+    }
 
-            AtomicLong retryGauge = new AtomicLong(0);
-            retryCountsByChannel.put(channelKey, retryGauge);
-            Gauge.builder("outbound_message_retry_count", retryGauge, AtomicLong::get)
-                    .tag("channel", channelKey)
-                    .description("Number of messages with retry attempts by channel")
-                    .register(registry);
+    private void initializeGauges() {
+        for (MessageChannel channel : CHANNELS) {
+            String channelKey = channel.name().toLowerCase();
 
             DistributionSummary summary =
                     DistributionSummary.builder("outbound_message_delivery_latency_seconds")
@@ -149,17 +219,6 @@ private void initializeGauges() {
                     .register(registry);
         }
 
-        Gauge.builder(
-                        "outbound_message_dead_letter_queue_size",
-                        deadLetterQueueSize,
-                        AtomicLong::get)
-                .description("Number of permanently failed messages in dead letter queue")
-                .register(registry);
-
-        Gauge.builder("outbound_message_total_queued", totalQueuedMessages, AtomicLong::get)
-                .description("Total number of queued messages across all channels")
-                .register(registry);
-
         Gauge.builder("whatsapp_quota_used", whatsappQuotaUsed, AtomicLong::get)
                 .description("WhatsApp API quota used in current window")
                 .register(registry);
@@ -179,137 +238,227 @@ private void initializeGauges() {
         logger.info("Initialized outbound message metrics gauges and histograms");
     }
 
-    @Scheduled(fixedDelayString = "${outbound.metrics.update-interval-ms:10000}")
-    public void updateMetrics() {
-        try {
+    /**
+     * Resets the in-flight and dead-letter cells from one grouped query over the active-status
+     * partial index, correcting drift from bulk updates, rolled-back transactions and writes made
+     * by other replicas. The terminal statuses, which only ever grow between runs, are included
+     * once per full interval and on the first run after this node takes the job over. Then
+     * publishes the queue gauges from this node.
+     *
+     * <p>The lease is held for one default interval: nodes whose triggers fall in between find it
+     * taken, while the holder's own next run, one full delay after this one started, finds it free
+     * again, so the job stays on one node. Keep {@code holdAtLeast} equal to {@code
+     * outbound.metrics.reconcile-interval-ms} when changing it.
+     */
+    @LeasedJob(name = "outbound-metrics-reconcile", leaseFor = "PT5M", holdAtLeast = "PT1M")
+    @Scheduled(fixedDelayString = "${outbound.metrics.reconcile-interval-ms:60000}")
+    public void reconcileQueues() {
+        long now = System.currentTimeMillis();
+        boolean full =
+                now - fullReconciledAt >= fullReconcileIntervalMillis
+                        || now - reconciledAt > 2 * reconcileIntervalMillis;
+        if (!reconcile(full ? EnumSet.allOf(OutboundMessageStatus.class) : ACTIVE_STATUSES)) {
+            return;
+        }
+        if (full) {
+            fullReconciledAt = now;
+        }
+        reconciledAt = now;
+        publishQueueGauges();
+    }
 
-            updateQueueDepthMetrics();
-            updateLatencyMetrics();
-            updateWhatsAppQuotaMetrics();
-            updateSessionWindowExpirationMetrics();
-            updateSLALatencyHistograms();
+    /** Withdraws this node's queue gauges once another node has taken over the reconcile. */
+    @Scheduled(fixedDelayString = "${outbound.metrics.reconcile-interval-ms:60000}")
+    public void withdrawStaleQueueGauges() {
+        if (System.currentTimeMillis() - reconciledAt > 2 * reconcileIntervalMillis) {
+            withdrawQueueGauges();
+        }
+    }
 
-            logger.debug(
-                    "Updated outbound message metrics: totalQueued={}, deadLetter={}, whatsappQuotaUsed={}/{}, stuckSending={}",
-                    totalQueuedMessages.get(),
-                    deadLetterQueueSize.get(),
-                    whatsappQuotaUsed.get(),
-                    whatsappQuotaLimit.get(),
-                    stuckSendingMessagesCount.get());
-
-            for (OutboundMessageStatus status : OutboundMessageStatus.values()) {
-                String statusKey = status.name().toLowerCase();
-                long count = outboundMessageRepository.countByStatus(status);
-                AtomicLong gauge = queueDepthByStatus.get(statusKey);
-                if (gauge != null) {
-                    gauge.set(count);
-                }
+    @Scheduled(fixedDelayString = "${outbound.metrics.update-interval-ms:60000}")
+    public void updateWhatsAppMetrics() {
+        updateWhatsAppQuotaMetrics();
+        updateSessionWindowExpirationMetrics();
+
+        logger.debug(
+                "Updated outbound message metrics: totalQueued={}, deadLetter={}, whatsappQuotaUsed={}/{}, stuckSending={}",
+                totalQueuedMessages(),
+                deadLetterQueueSize(),
+                whatsappQuotaUsed.get(),
+                whatsappQuotaLimit.get(),
+                stuckSendingMessagesCount.get());
+    }
 
-                if (status == OutboundMessageStatus.QUEUED) {
-                    totalQueuedMessages.set(count);
-                } else if (status == OutboundMessageStatus.FAILED) {
-                    deadLetterQueueSize.set(count);
-                }
-            }
+    /**
+     * Applies a flushed message write to the counters and records, once the transaction commits,
+     * the stage latency the write completed. Called by {@link OutboundMessageTransitionListener}
+     * before the entity snapshot is refreshed, so {@code persistedStatus()} still holds the previous
+     * state ({@code null} on insert).
+     */
+    public void onMessageTransition(OutboundMessageEntity message) {
+        MessageChannel channel = message.getChannel();
+        OutboundMessageStatus from = message.persistedStatus();
+        OutboundMessageStatus to = message.getStatus();
+        boolean wasRetried = from != null && message.persistedAttemptCount() > 0;
+        boolean isRetried = message.getAttemptCount() != null && message.getAttemptCount() > 0;
+
+        if (channel != null && (from != to || wasRetried != isRetried)) {
+            adjust(from, channel, wasRetried, -1);
+            adjust(to, channel, isRetried, 1);
+        }
+        if (channel == null) {
+            return;
+        }
 
-            for (MessageChannel channel : MessageChannel.values()) {
-                String channelKey = channel.name().toLowerCase();
+        String channelKey = channel.name().toLowerCase();
+        if (to == OutboundMessageStatus.SENT && from != OutboundMessageStatus.SENT) {
+            recordStageLatency(
+                    sendLatencyHistograms.get(channelKey),
+                    message.getCreatedAt(),
+                    message.getSentAt());
+        }
+        if (to == OutboundMessageStatus.DELIVERED && from != OutboundMessageStatus.DELIVERED) {
+            recordStageLatency(
+                    deliveredLatencyHistograms.get(channelKey),
+                    message.getCreatedAt(),
+                    message.getDeliveredAt());
+        }
+        if (message.getReadAt() != null && !message.persistedRead()) {
+            recordStageLatency(
+                    readLatencyHistograms.get(channelKey),
+                    message.getCreatedAt(),
+                    message.getReadAt());
+        }
+    }
 
-                long queuedCount =
-                        outboundMessageRepository.countByStatusAndChannel(
-                                OutboundMessageStatus.QUEUED, channel);
-                AtomicLong queueGauge = queueDepthByChannel.get(channelKey);
-                if (queueGauge != null) {
-                    queueGauge.set(queuedCount);
-                }
+    public void onMessageRemoved(OutboundMessageEntity message) {
+        OutboundMessageStatus status = message.persistedStatus();
+        if (status != null && message.getChannel() != null) {
+            adjust(status, message.getChannel(), message.persistedAttemptCount() > 0, -1);
+        }
+    }
+
+    /**
+     * Records, once the transaction commits, provider round-trip latency for an attempt that has
+     * just completed successfully.
+     */
+    public void onAttemptSucceeded(OutboundAttemptEntity attempt) {
+        MessageChannel channel = attempt.getOutboundMessage().getChannel();
+        if (channel == null) {
+            return;
+        }
+        LocalDateTime completedAt =
+                attempt.getUpdatedAt() != null ? attempt.getUpdatedAt() : LocalDateTime.now();
+        recordStageLatency(
+                latencySummaries.get(channel.name().toLowerCase()),
+                attempt.getCreatedAt(),
+                completedAt);
+    }
+
+    private boolean reconcile(Set<OutboundMessageStatus> statuses) {
+        try {
+            long[][] counts = new long[STATUSES.length][CHANNELS.length];
+            long[][] retried = new long[STATUSES.length][CHANNELS.length];
+
+            for (Object[] row :
+                    outboundMessageRepository.countByStatusInGroupByStatusAndChannel(statuses)) {
+                OutboundMessageStatus status = (OutboundMessageStatus) row[0];
+                MessageChannel channel = (MessageChannel) row[1];
+                counts[status.ordinal()][channel.ordinal()] = ((Number) row[2]).longValue();
+                retried[status.ordinal()][channel.ordinal()] =
+                        row[3] != null ? ((Number) row[3]).longValue() : 0L;
+            }
 
-                long retryCount =
-                        outboundMessageRepository.countByChannelAndAttemptCountGreaterThan(
-                                channel, 0);
-                AtomicLong retryGauge = retryCountsByChannel.get(channelKey);
-                if (retryGauge != null) {
-                    retryGauge.set(retryCount);
+            for (OutboundMessageStatus status : statuses) {
+                for (MessageChannel channel : CHANNELS) {
+                    depth[status.ordinal()][channel.ordinal()].set(
+                            counts[status.ordinal()][channel.ordinal()]);
+                    retriedDepth[status.ordinal()][channel.ordinal()].set(
+                            retried[status.ordinal()][channel.ordinal()]);
                 }
             }
 
             logger.debug(
-                    "Updated outbound message metrics: totalQueued={}, deadLetter={}",
-                    totalQueuedMessages.get(),
-                    deadLetterQueueSize.get());
-
+                    "Reconciled outbound queue gauges for {}: totalQueued={}, deadLetter={}",
+                    statuses,
+                    totalQueuedMessages(),
+                    deadLetterQueueSize());
+            return true;
         } catch (Exception e) {
-            logger.error("Error updating outbound message metrics", e);
+            logger.error("Error reconciling outbound message queue metrics", e);
+            return false;
         }
     }
 
-    private void updateQueueDepthMetrics() {
-        for (OutboundMessageStatus status : OutboundMessageStatus.values()) {
-            String statusKey = status.name().toLowerCase();
-            long count = outboundMessageRepository.countByStatus(status);
-            AtomicLong gauge = queueDepthByStatus.get(statusKey);
-            if (gauge != null) {
-                gauge.set(count);
-            }
-
-            if (status == OutboundMessageStatus.QUEUED) {
-                totalQueuedMessages.set(count);
-            } else if (status == OutboundMessageStatus.FAILED) {
-                deadLetterQueueSize.set(count);
-            }
+    private void adjust(
+            OutboundMessageStatus status, MessageChannel channel, boolean retried, long delta) {
+        if (status == null) {
+            return;
+        }
+        depth[status.ordinal()][channel.ordinal()].addAndGet(delta);
+        if (retried) {
+            retriedDepth[status.ordinal()][channel.ordinal()].addAndGet(delta);
         }
+    }
 
-        for (MessageChannel channel : MessageChannel.values()) {
-            String channelKey = channel.name().toLowerCase();
+    private long depthByStatus(OutboundMessageStatus status) {
+        long total = 0;
+        for (AtomicLong cell : depth[status.ordinal()]) {
+            total += cell.get();
+        }
+        return Math.max(0, total);
+    }
 
-            long queuedCount =
-                    outboundMessageRepository.countByStatusAndChannel(
-                            OutboundMessageStatus.QUEUED, channel);
-            AtomicLong queueGauge = queueDepthByChannel.get(channelKey);
-            if (queueGauge != null) {
-                queueGauge.set(queuedCount);
-            }
+    private long depth(OutboundMessageStatus status, MessageChannel channel) {
+        return Math.max(0, depth[status.ordinal()][channel.ordinal()].get());
+    }
 
-            long retryCount =
-                    outboundMessageRepository.countByChannelAndAttemptCountGreaterThan(channel, 0);
-            AtomicLong retryGauge = retryCountsByChannel.get(channelKey);
-            if (retryGauge != null) {
-                retryGauge.set(retryCount);
-            }
+    private long retriedByChannel(MessageChannel channel) {
+        long total = 0;
+        for (AtomicLong[] row : retriedDepth) {
+            total += row[channel.ordinal()].get();
         }
+        return Math.max(0, total);
     }
 
-    private void updateLatencyMetrics() {
-        LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
-
-        for (MessageChannel channel : MessageChannel.values()) {
-            String channelKey = channel.name().toLowerCase();
+    private long totalQueuedMessages() {
+        return depthByStatus(OutboundMessageStatus.QUEUED);
+    }
 
-            try {
-                List<Double> latencies =
-                        outboundAttemptRepository.findDeliveryLatencies(channel, oneHourAgo);
-                DistributionSummary summary = latencySummaries.get(channelKey);
+    private long deadLetterQueueSize() {
+        return depthByStatus(OutboundMessageStatus.FAILED);
+    }
 
-                if (summary != null && !latencies.isEmpty()) {
-                    for (Double latency : latencies) {
-                        summary.record(latency);
-                    }
-                    logger.debug(
-                            "Recorded {} latency samples for channel {}",
-                            latencies.size(),
-                            channelKey);
-                }
-            } catch (Exception e) {
-                logger.debug(
-                        "Error updating latency metrics for channel {}: {}",
-                        channelKey,
-                        e.getMessage());
-            }
+    /**
+     * Records {@code to - from} after the current transaction commits, or at once outside one; a
+     * rolled-back transition leaves the histogram untouched, whereas the queue counters it moved
+     * are corrected by the next reconcile.
+     */
+    private static void recordStageLatency(
+            DistributionSummary summary, LocalDateTime from, LocalDateTime to) {
+        if (summary == null || from == null || to == null) {
+            return;
+        }
+        long seconds = Duration.between(from, to).getSeconds();
+        if (seconds < 0) {
+            return;
         }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            summary.record(seconds);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        summary.record(seconds);
+                    }
+                });
     }
 
     private void updateWhatsAppQuotaMetrics() {
         try {
-            whatsAppRateLimitRepository.findAll().stream()
+            whatsAppRateLimitRepository.findAll(PageRequest.of(0, 1)).stream()
                     .findFirst()
                     .ifPresent(
                             rateLimit -> {
@@ -332,7 +481,7 @@ private void updateSessionWindowExpirationMetrics() {
             List<WhatsAppSessionWindow> activeWindows =
                     whatsAppSessionWindowRepository.findActiveWindows(now);
 
-            for (MessageChannel channel : MessageChannel.values()) {
+            for (MessageChannel channel : CHANNELS) {
                 String channelKey = channel.name().toLowerCase();
                 AtomicLong expirationGauge = sessionWindowExpirationSeconds.get(channelKey);
 
@@ -372,59 +521,6 @@ private void updateSessionWindowExpirationMetrics() {
         }
     }
 
-    private void updateSLALatencyHistograms() {
-        try {
-            LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
-
-            for (MessageChannel channel : MessageChannel.values()) {
-                String channelKey = channel.name().toLowerCase();
-
-                List<OutboundMessageEntity> recentMessages =
-                        outboundMessageRepository.findByChannelAndCreatedAtAfter(
-                                channel, oneHourAgo, PageRequest.of(0, 1000));
-
-                DistributionSummary sendLatency = sendLatencyHistograms.get(channelKey);
-                DistributionSummary deliveredLatency = deliveredLatencyHistograms.get(channelKey);
-                DistributionSummary readLatency = readLatencyHistograms.get(channelKey);
-
-                for (OutboundMessageEntity msg : recentMessages) {
-                    if (msg.getSentAt() != null && sendLatency != null) {
-                        long seconds =
-                                Duration.between(msg.getCreatedAt(), msg.getSentAt()).getSeconds();
-                        if (seconds >= 0) {
-                            sendLatency.record(seconds);
-                        }
-                    }
-
-                    if (msg.getDeliveredAt() != null && deliveredLatency != null) {
-                        long seconds =
-                                Duration.between(msg.getCreatedAt(), msg.getDeliveredAt())
-                                        .getSeconds();
-                        if (seconds >= 0) {
-                            deliveredLatency.record(seconds);
-                        }
-                    }
-
-                    if (msg.getReadAt() != null && readLatency != null) {
-                        long seconds =
-                                Duration.between(msg.getCreatedAt(), msg.getReadAt()).getSeconds();
-                        if (seconds >= 0) {
-                            readLatency.record(seconds);
-                        }
-                    }
-                }
-
-                logger.debug(
-                        "Updated SLA latency histograms for channel {}: {} messages processed",
-                        channelKey,
-                        recentMessages.size());
-            }
-
-        } catch (Exception e) {
-            logger.debug("Error updating SLA latency histograms: {}", e.getMessage());
-        }
-    }
-
     @Scheduled(fixedDelayString = "${outbound.metrics.stuck-check-interval-ms:60000}")
     public void checkStuckSendingMessages() {
         try {
@@ -444,4 +540,14 @@ public void checkStuckSendingMessages() {
             logger.error("Error checking stuck SENDING messages", e);
         }
     }
+
+    private static AtomicLong[][] newMatrix() {
+        AtomicLong[][] matrix = new AtomicLong[STATUSES.length][CHANNELS.length];
+        for (AtomicLong[] row : matrix) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = new AtomicLong();
+            }
+        }
+        return matrix;
+    }
 }
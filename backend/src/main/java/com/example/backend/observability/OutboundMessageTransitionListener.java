@@ -0,0 +1,65 @@
+package com.example.backend.observability;
+
+import com.example.backend.entity.OutboundAttemptEntity;
+import com.example.backend.entity.OutboundMessageEntity;
+import com.example.backend.entity.enums.OutboundAttemptStatus;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA listener feeding {@link OutboundMessageMetricsService} from outbound message and attempt
+ * state changes, so queue gauges move with each flush and latencies are recorded once, when the
+ * transition happens. Instantiated by Hibernate through the Spring bean container; the metrics
+ * service is resolved lazily because it is absent from JPA slice tests.
+ */
+public class OutboundMessageTransitionListener {
+
+    private final ObjectProvider<OutboundMessageMetricsService> metricsServiceProvider;
+
+    public OutboundMessageTransitionListener(
+            ObjectProvider<OutboundMessageMetricsService> metricsServiceProvider) {
+        this.metricsServiceProvider = metricsServiceProvider;
+    }
+
+    @PostLoad
+    public void onLoad(Object entity) {
+        if (entity instanceof OutboundMessageEntity message) {
+            message.markPersistedState();
+        } else if (entity instanceof OutboundAttemptEntity attempt) {
+            attempt.markPersistedState();
+        }
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onWrite(Object entity) {
+        OutboundMessageMetricsService metrics = metricsServiceProvider.getIfAvailable();
+
+        if (entity instanceof OutboundMessageEntity message) {
+            if (metrics != null) {
+                metrics.onMessageTransition(message);
+            }
+            message.markPersistedState();
+        } else if (entity instanceof OutboundAttemptEntity attempt) {
+            if (metrics != null
+                    && attempt.getStatus() == OutboundAttemptStatus.SUCCESS
+                    && attempt.persistedStatus() != OutboundAttemptStatus.SUCCESS
+                    && Hibernate.isInitialized(attempt.getOutboundMessage())) {
+                metrics.onAttemptSucceeded(attempt);
+            }
+            attempt.markPersistedState();
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        OutboundMessageMetricsService metrics = metricsServiceProvider.getIfAvailable();
+        if (metrics != null && entity instanceof OutboundMessageEntity message) {
+            metrics.onMessageRemoved(message);
+        }
+    }
+}
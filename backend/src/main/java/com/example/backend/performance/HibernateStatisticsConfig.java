@@ -26,4 +26,11 @@ public HibernateStatisticsLogger hibernateStatisticsLogger(
 
         return new HibernateStatisticsLogger(entityManagerFactory);
     }
+
+    @Bean
+    public SecondLevelCacheMetrics secondLevelCacheMetrics(
+            EntityManagerFactory entityManagerFactory) {
+        return new SecondLevelCacheMetrics(
+                entityManagerFactory.unwrap(SessionFactory.class).getStatistics());
+    }
 }
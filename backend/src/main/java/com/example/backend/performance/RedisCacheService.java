@@ -1,7 +1,9 @@
 package com.example.backend.performance;
 
+import com.example.backend.config.CacheCodecs;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -11,7 +13,10 @@
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -21,7 +26,9 @@ public class RedisCacheService {
     private static final Logger logger = LoggerFactory.getLogger(RedisCacheService.class);
 
     private final StringRedisTemplate redisTemplate;
+    private final RedisTemplate<String, byte[]> binaryTemplate;
     private final ObjectMapper objectMapper;
+    private final CacheCodecs cacheCodecs;
 
     @Value("${cache.ttl.annonce:900}")
     private long annonceTtl;
@@ -40,18 +47,33 @@ public class RedisCacheService {
 
     public RedisCacheService(
             @Autowired(required = false) StringRedisTemplate redisTemplate,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            CacheCodecs cacheCodecs) {
         this.redisTemplate = redisTemplate;
+        this.binaryTemplate =
+                redisTemplate != null ? binaryTemplate(redisTemplate.getConnectionFactory()) : null;
         this.objectMapper = objectMapper;
+        this.cacheCodecs = cacheCodecs;
+    }
+
+    // Lists are the largest values, so they go through the cache codec rather than JSON strings
+    private static RedisTemplate<String, byte[]> binaryTemplate(
+            RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(RedisSerializer.string());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        return template;
     }
 
     public <T> void cacheActiveAnnonces(List<T> annonces) {
         try {
             String key = "active_annonces:list";
-            String json = objectMapper.writeValueAsString(annonces);
-            redisTemplate.opsForValue().set(key, json, activeAnnoncesTtl, TimeUnit.SECONDS);
+            byte[] value = cacheCodecs.codecFor("activeAnnonces").encode(annonces);
+            binaryTemplate.opsForValue().set(key, value, activeAnnoncesTtl, TimeUnit.SECONDS);
             logger.debug("Cached active annonces with TTL {}s", activeAnnoncesTtl);
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             logger.error("Failed to cache active annonces", e);
         }
     }
@@ -59,15 +81,17 @@ public <T> void cacheActiveAnnonces(List<T> annonces) {
     public <T> Optional<List<T>> getActiveAnnonces(Class<T> clazz) {
         try {
             String key = "active_annonces:list";
-            String json = redisTemplate.opsForValue().get(key);
-            if (json != null) {
+            byte[] value = binaryTemplate.opsForValue().get(key);
+            if (value != null) {
                 logger.debug("Cache hit for active annonces");
                 List<T> result =
-                        objectMapper.readValue(
-                                json,
-                                objectMapper
-                                        .getTypeFactory()
-                                        .constructCollectionType(List.class, clazz));
+                        cacheCodecs
+                                .codecFor("activeAnnonces")
+                                .decode(
+                                        value,
+                                        objectMapper
+                                                .getTypeFactory()
+                                                .constructCollectionType(List.class, clazz));
                 return Optional.of(result);
             }
         } catch (Exception e) {
@@ -145,10 +169,10 @@ public void invalidateDossier(Long id) {
     public <T> void cacheReferentialData(String type, List<T> data) {
         try {
             String key = "referential:" + type;
-            String json = objectMapper.writeValueAsString(data);
-            redisTemplate.opsForValue().set(key, json, referentialTtl, TimeUnit.SECONDS);
+            byte[] value = cacheCodecs.codecFor("referential").encode(data);
+            binaryTemplate.opsForValue().set(key, value, referentialTtl, TimeUnit.SECONDS);
             logger.debug("Cached referential data '{}' with TTL {}s", type, referentialTtl);
-        } catch (JsonProcessingException e) {
+        } catch (IOException e) {
             logger.error("Failed to cache referential data '{}'", type, e);
         }
     }
@@ -156,15 +180,17 @@ public <T> void cacheReferentialData(String type, List<T> data) {
     public <T> Optional<List<T>> getReferentialData(String type, Class<T> clazz) {
         try {
             String key = "referential:" + type;
-            String json = redisTemplate.opsForValue().get(key);
-            if (json != null) {
+            byte[] value = binaryTemplate.opsForValue().get(key);
+            if (value != null) {
                 logger.debug("Cache hit for referential data '{}'", type);
                 List<T> result =
-                        objectMapper.readValue(
-                                json,
-                                objectMapper
-                                        .getTypeFactory()
-                                        .constructCollectionType(List.class, clazz));
+                        cacheCodecs
+                                .codecFor("referential")
+                                .decode(
+                                        value,
+                                        objectMapper
+                                                .getTypeFactory()
+                                                .constructCollectionType(List.class, clazz));
                 return Optional.of(result);
             }
         } catch (Exception e) {
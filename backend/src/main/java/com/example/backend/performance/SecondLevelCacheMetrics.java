@@ -0,0 +1,100 @@
+package com.example.backend.performance;
+
+import com.example.backend.config.SecondLevelCacheRegions;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Hit ratio, hits, misses and size of each curated second-level cache region, tagged with the
+ * region and whether it holds entities and collections ({@code domain}) or query results.
+ *
+ * <p>The counts are those of the current statistics window, which {@link
+ * HibernateStatisticsLogger} resets every five minutes, so the ratio reflects recent traffic.
+ */
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheMetrics(Statistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : SecondLevelCacheRegions.DOMAIN_REGIONS) {
+            bind(registry, region, "domain", this::domainRegion);
+        }
+        for (String region : SecondLevelCacheRegions.QUERY_REGIONS) {
+            bind(registry, region, "query", statistics::getQueryRegionStatistics);
+        }
+    }
+
+    private void bind(
+            MeterRegistry registry,
+            String region,
+            String type,
+            Function<String, CacheRegionStatistics> lookup) {
+        gauge(registry, "hibernate_l2_region_hit_ratio", region, type, lookup, this::hitRatio);
+        gauge(
+                registry,
+                "hibernate_l2_region_hits",
+                region,
+                type,
+                lookup,
+                CacheRegionStatistics::getHitCount);
+        gauge(
+                registry,
+                "hibernate_l2_region_misses",
+                region,
+                type,
+                lookup,
+                CacheRegionStatistics::getMissCount);
+        gauge(
+                registry,
+                "hibernate_l2_region_size",
+                region,
+                type,
+                lookup,
+                CacheRegionStatistics::getElementCountInMemory);
+    }
+
+    private void gauge(
+            MeterRegistry registry,
+            String name,
+            String region,
+            String type,
+            Function<String, CacheRegionStatistics> lookup,
+            ToDoubleFunction<CacheRegionStatistics> value) {
+        Gauge.builder(
+                        name,
+                        statistics,
+                        stats -> {
+                            CacheRegionStatistics regionStats = lookup.apply(region);
+                            return regionStats != null
+                                    ? value.applyAsDouble(regionStats)
+                                    : Double.NaN;
+                        })
+                .tag("region", region)
+                .tag("type", type)
+                .register(registry);
+    }
+
+    private CacheRegionStatistics domainRegion(String region) {
+        try {
+            return statistics.getDomainDataRegionStatistics(region);
+        } catch (IllegalArgumentException e) {
+            // Region not built, e.g. with the second-level cache disabled
+            return null;
+        }
+    }
+
+    private double hitRatio(CacheRegionStatistics stats) {
+        long requests = stats.getHitCount() + stats.getMissCount();
+        return requests > 0 ? (double) stats.getHitCount() / requests : Double.NaN;
+    }
+}
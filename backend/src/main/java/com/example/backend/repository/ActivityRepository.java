@@ -16,15 +16,17 @@ public interface ActivityRepository extends JpaRepository<ActivityEntity, Long>
 
     Page<ActivityEntity> findByDossierIdOrderByCreatedAtDesc(Long dossierId, Pageable pageable);
 
+    Page<ActivityEntity> findByDossierId(Long dossierId, Pageable pageable);
+
     @Query(
-            "SELECT a FROM ActivityEntity a WHERE a.dossier.id = :dossierId AND a.visibility = :visibility ORDER BY a.createdAt DESC")
+            "SELECT a FROM ActivityEntity a WHERE a.dossier.id = :dossierId AND a.visibility = :visibility")
     Page<ActivityEntity> findByDossierIdAndVisibility(
             @Param("dossierId") Long dossierId,
             @Param("visibility") ActivityVisibility visibility,
             Pageable pageable);
 
     @Query(
-            "SELECT a FROM ActivityEntity a WHERE a.dossier.id = :dossierId AND a.createdAt BETWEEN :startDate AND :endDate ORDER BY a.createdAt DESC")
+            "SELECT a FROM ActivityEntity a WHERE a.dossier.id = :dossierId AND a.createdAt BETWEEN :startDate AND :endDate")
     Page<ActivityEntity> findByDossierIdAndCreatedAtBetween(
             @Param("dossierId") Long dossierId,
             @Param("startDate") LocalDateTime startDate,
@@ -32,7 +34,7 @@ Page<ActivityEntity> findByDossierIdAndCreatedAtBetween(
             Pageable pageable);
 
     @Query(
-            "SELECT a FROM ActivityEntity a WHERE a.dossier.id = :dossierId AND a.visibility = :visibility AND a.createdAt BETWEEN :startDate AND :endDate ORDER BY a.createdAt DESC")
+            "SELECT a FROM ActivityEntity a WHERE a.dossier.id = :dossierId AND a.visibility = :visibility AND a.createdAt BETWEEN :startDate AND :endDate")
     Page<ActivityEntity> findByDossierIdAndVisibilityAndCreatedAtBetween(
             @Param("dossierId") Long dossierId,
             @Param("visibility") ActivityVisibility visibility,
@@ -46,4 +48,16 @@ List<ActivityEntity> findByDossierIdAndVisibilityOrderByCreatedAtDesc(
             @Param("dossierId") Long dossierId, @Param("visibility") ActivityVisibility visibility);
 
     void deleteByDossier_Id(Long dossierId);
+
+    // Keyset batches for the cold archive, in id order
+    @Query(
+            "SELECT a FROM ActivityEntity a WHERE a.orgId = :orgId AND a.createdAt < :before"
+                    + " AND a.id > :afterId ORDER BY a.id")
+    List<ActivityEntity> findArchivable(
+            @Param("orgId") String orgId,
+            @Param("before") LocalDateTime before,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    List<ActivityEntity> findByOrgId(String orgId);
 }
@@ -3,8 +3,10 @@
 import com.example.backend.entity.Annonce;
 import com.example.backend.entity.enums.AnnonceStatus;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -21,8 +23,51 @@
 
     List<Annonce> findTop50ByOrgIdOrderByCreatedAtDesc(String orgId);
 
+    @Query("SELECT a.id, a.title, a.city FROM Annonce a WHERE a.id IN :ids")
+    List<Object[]> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT a.id, a.title, a.description FROM Annonce a WHERE a.orgId = :orgId")
+    List<Object[]> findDuplicateIndexRows(@Param("orgId") String orgId);
+
+    @Query(
+            "SELECT a.id, a.title, a.description FROM Annonce a"
+                    + " WHERE a.orgId = :orgId AND a.updatedAt >= :since")
+    List<Object[]> findDuplicateIndexRowsUpdatedSince(
+            @Param("orgId") String orgId, @Param("since") LocalDateTime since);
+
     List<Annonce> findByStatusAndOrgId(AnnonceStatus status, String orgId);
 
+    @Query(
+            "SELECT a.id, a.title, a.city, a.type, a.price, a.surface FROM Annonce a"
+                    + " WHERE a.orgId = :orgId AND a.status = :status")
+    List<Object[]> findMatchIndexRows(
+            @Param("orgId") String orgId, @Param("status") AnnonceStatus status);
+
+    @Query(
+            "SELECT a.id, a.title, a.city, a.type, a.price, a.surface, a.status FROM Annonce a"
+                    + " WHERE a.orgId = :orgId AND a.updatedAt >= :since")
+    List<Object[]> findMatchIndexRowsUpdatedSince(
+            @Param("orgId") String orgId, @Param("since") LocalDateTime since);
+
+    @Query(
+            "SELECT a.id, a.title, a.city, a.type, a.price, a.surface, a.orgId FROM Annonce a"
+                    + " WHERE a.status = :status AND a.createdAt >= :since")
+    List<Object[]> findMatchIndexRowsCreatedSince(
+            @Param("status") AnnonceStatus status, @Param("since") LocalDateTime since);
+
+    @Query("SELECT DISTINCT a.orgId FROM Annonce a WHERE a.status = :status")
+    List<String> findDistinctOrgIdsByStatus(@Param("status") AnnonceStatus status);
+
+    /** Keyset page of a tenant's listings in the given status, ordered by id. */
+    @Query(
+            "SELECT a FROM Annonce a WHERE a.orgId = :orgId AND a.status = :status"
+                    + " AND a.id > :afterId ORDER BY a.id")
+    List<Annonce> findPageByOrgIdAndStatus(
+            @Param("orgId") String orgId,
+            @Param("status") AnnonceStatus status,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
     @Query("SELECT DISTINCT a.city FROM Annonce a WHERE a.city IS NOT NULL ORDER BY a.city")
     List<String> findDistinctCities();
 
@@ -2,6 +2,7 @@
 
 import com.example.backend.entity.AppointmentEntity;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -50,4 +51,7 @@ List<AppointmentEntity> findAppointmentsForAdditionalReminder(
             @Param("status") com.example.backend.entity.enums.AppointmentStatus status,
             @Param("windowStart") LocalDateTime windowStart,
             @Param("windowEnd") LocalDateTime windowEnd);
+
+    @Query("SELECT a FROM AppointmentEntity a LEFT JOIN FETCH a.dossier WHERE a.id IN :ids")
+    List<AppointmentEntity> findAllWithDossierByIdIn(@Param("ids") Collection<Long> ids);
 }
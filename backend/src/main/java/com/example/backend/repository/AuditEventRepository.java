@@ -2,6 +2,8 @@
 
 import com.example.backend.entity.AuditEventEntity;
 import com.example.backend.entity.enums.AuditEntityType;
+import java.time.LocalDateTime;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -49,4 +51,16 @@ Page<AuditEventEntity> findByOrgIdAndEntityTypeAndEntityId(
     """)
     Page<AuditEventEntity> findByOrgIdAndDossierId(
             @Param("orgId") String orgId, @Param("dossierId") Long dossierId, Pageable pageable);
+
+    // Keyset batches for the cold archive, in id order
+    @Query(
+            "SELECT a FROM AuditEventEntity a WHERE a.orgId = :orgId AND a.createdAt < :before"
+                    + " AND a.id > :afterId ORDER BY a.id")
+    List<AuditEventEntity> findArchivable(
+            @Param("orgId") String orgId,
+            @Param("before") LocalDateTime before,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    List<AuditEventEntity> findByOrgId(String orgId);
 }
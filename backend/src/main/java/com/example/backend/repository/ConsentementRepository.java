@@ -5,10 +5,13 @@
 import com.example.backend.entity.enums.ConsentementStatus;
 import com.example.backend.entity.enums.ConsentementType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -34,4 +37,17 @@ List<ConsentementEntity> findByStatusAndExpiresAtBefore(
 
     List<ConsentementEntity> findByStatusAndExpiresAtBetween(
             ConsentementStatus status, LocalDateTime start, LocalDateTime end);
+
+    /** Newest consent of each dossier for the channel and type, read through current_consent. */
+    @Query(
+            value =
+                    "SELECT c.* FROM consentement c"
+                            + " JOIN current_consent cc ON cc.consentement_id = c.id"
+                            + " WHERE cc.channel = :channel AND cc.consent_type = :consentType"
+                            + " AND cc.dossier_id IN (:dossierIds)",
+            nativeQuery = true)
+    List<ConsentementEntity> findCurrentByDossierIds(
+            @Param("dossierIds") Collection<Long> dossierIds,
+            @Param("channel") String channel,
+            @Param("consentType") String consentType);
 }
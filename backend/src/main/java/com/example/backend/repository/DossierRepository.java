@@ -4,6 +4,7 @@
 import com.example.backend.entity.enums.DossierStatus;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -42,6 +43,13 @@ List<Dossier> findByLeadEmailAndOrgIdAndStatusNotIn(
             @Param("orgId") String orgId,
             @Param("excludedStatuses") List<DossierStatus> excludedStatuses);
 
+    @Query(
+            "SELECT d.id, d.annonceId FROM Dossier d WHERE d.orgId = :orgId"
+                    + " AND d.annonceId IS NOT NULL AND d.status NOT IN :excludedStatuses")
+    List<Object[]> findOpenDossierReferences(
+            @Param("orgId") String orgId,
+            @Param("excludedStatuses") List<DossierStatus> excludedStatuses);
+
     @Query("SELECT d FROM Dossier d LEFT JOIN FETCH d.parties WHERE d.id = :id")
     java.util.Optional<Dossier> findByIdWithParties(@Param("id") Long id);
 
@@ -71,6 +79,20 @@ default java.util.Optional<Dossier> findByIdWithAllRelations(Long id) {
     Long countByAnnonceIdAndCreatedAtAfter(
             @Param("annonceId") Long annonceId, @Param("startDate") LocalDateTime startDate);
 
+    /**
+     * Dossiers created per listing since {@code monthStart}: rows of (annonceId, count since
+     * {@code weekStart}, count since {@code monthStart}).
+     */
+    @Query(
+            "SELECT d.annonceId, SUM(CASE WHEN d.createdAt >= :weekStart THEN 1 ELSE 0 END),"
+                    + " COUNT(d) FROM Dossier d"
+                    + " WHERE d.annonceId IN :annonceIds AND d.createdAt >= :monthStart"
+                    + " GROUP BY d.annonceId")
+    List<Object[]> countRecentByAnnonceIds(
+            @Param("annonceIds") Collection<Long> annonceIds,
+            @Param("weekStart") LocalDateTime weekStart,
+            @Param("monthStart") LocalDateTime monthStart);
+
     Long countByStatusIn(List<DossierStatus> statuses);
 
     @Query("SELECT COUNT(d) FROM Dossier d WHERE d.status = :status AND d.createdAt >= :startDate")
@@ -123,6 +145,12 @@ Long countByStatusInAndCreatedAtBetween(
     Long countByStatusInAndOrgId(
             @Param("statuses") List<DossierStatus> statuses, @Param("orgId") String orgId);
 
+    @Query("SELECT DISTINCT d.orgId FROM Dossier d")
+    List<String> findDistinctOrgIds();
+
+    @Query("SELECT DISTINCT d.orgId FROM Dossier d WHERE d.status = :status")
+    List<String> findDistinctOrgIdsByStatus(@Param("status") DossierStatus status);
+
     default Long getPendingCount() {
         return countByStatusIn(Arrays.asList(DossierStatus.NEW, DossierStatus.QUALIFIED));
     }
@@ -1,6 +1,7 @@
 package com.example.backend.repository;
 
 import com.example.backend.entity.FilterPresetEntity;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -32,4 +33,12 @@ List<FilterPresetEntity> findByFilterTypeAndCreatedBy(
             @Param("filterType") String filterType,
             @Param("userId") String userId,
             @Param("orgId") String orgId);
+
+    @Query(
+            "SELECT f FROM FilterPresetEntity f WHERE f.id IN :ids AND f.orgId = :orgId"
+                    + " AND (f.isShared = true OR f.isPredefined = true OR f.createdBy = :userId)")
+    List<FilterPresetEntity> findAccessibleByIds(
+            @Param("ids") Collection<Long> ids,
+            @Param("orgId") String orgId,
+            @Param("userId") String userId);
 }
@@ -15,4 +15,21 @@ Long countActivitiesByAnnonceIdAndCreatedAtAfter(
             @org.springframework.data.repository.query.Param("annonceId") Long annonceId,
             @org.springframework.data.repository.query.Param("startDate")
                     java.time.LocalDateTime startDate);
+
+    /**
+     * Activities per listing since {@code monthStart}: rows of (annonceId, count since {@code
+     * weekStart}, count since {@code monthStart}).
+     */
+    @org.springframework.data.jpa.repository.Query(
+            "SELECT d.annonceId, SUM(CASE WHEN a.createdAt >= :weekStart THEN 1 ELSE 0 END),"
+                    + " COUNT(a) FROM LeadActivity a JOIN a.dossier d"
+                    + " WHERE d.annonceId IN :annonceIds AND a.createdAt >= :monthStart"
+                    + " GROUP BY d.annonceId")
+    List<Object[]> countRecentByAnnonceIds(
+            @org.springframework.data.repository.query.Param("annonceIds")
+                    java.util.Collection<Long> annonceIds,
+            @org.springframework.data.repository.query.Param("weekStart")
+                    java.time.LocalDateTime weekStart,
+            @org.springframework.data.repository.query.Param("monthStart")
+                    java.time.LocalDateTime monthStart);
 }
@@ -1,6 +1,8 @@
 package com.example.backend.repository;
 
 import com.example.backend.entity.LeadScore;
+import com.example.backend.entity.enums.DossierStatus;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Pageable;
@@ -24,4 +26,20 @@ public interface LeadScoreRepository extends JpaRepository<LeadScore, Long> {
             "SELECT ls FROM LeadScore ls WHERE ls.totalScore >= :minScore AND ls.orgId = :orgId ORDER BY ls.totalScore DESC")
     List<LeadScore> findByMinScoreAndOrgId(
             @Param("minScore") Integer minScore, @Param("orgId") String orgId);
+
+    /**
+     * The organization's best-scored dossiers in the given statuses, as {@code [Dossier,
+     * totalScore]} rows ordered by score; reads {@code idx_lead_score_total_score} and stops
+     * after the page.
+     */
+    @Query(
+            "SELECT d, ls.totalScore FROM LeadScore ls JOIN Dossier d ON d.id = ls.dossierId"
+                    + " WHERE ls.orgId = :orgId AND ls.totalScore >= :minScore"
+                    + " AND d.status IN :statuses"
+                    + " ORDER BY ls.totalScore DESC, ls.dossierId DESC")
+    List<Object[]> findTopScoredDossiers(
+            @Param("orgId") String orgId,
+            @Param("minScore") Integer minScore,
+            @Param("statuses") Collection<DossierStatus> statuses,
+            Pageable pageable);
 }
@@ -1,7 +1,9 @@
 package com.example.backend.repository;
 
 import com.example.backend.entity.LeadScoringConfig;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,4 +16,11 @@ public interface LeadScoringConfigRepository extends JpaRepository<LeadScoringCo
     Optional<LeadScoringConfig> findActiveConfig(@Param("orgId") String orgId);
 
     Optional<LeadScoringConfig> findByConfigNameAndOrgId(String configName, String orgId);
+
+    /** Active configs ordered by organization, for keyset paging over tenants. */
+    @Query(
+            "SELECT c FROM LeadScoringConfig c WHERE c.isActive = true AND c.orgId > :afterOrgId"
+                    + " ORDER BY c.orgId")
+    List<LeadScoringConfig> findActiveConfigsAfter(
+            @Param("afterOrgId") String afterOrgId, Pageable pageable);
 }
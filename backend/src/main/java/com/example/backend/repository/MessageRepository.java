@@ -54,4 +54,16 @@ Page<MessageEntity> findByDossierIdWithFilters(
             Pageable pageable);
 
     boolean existsByProviderMessageId(String providerMessageId);
+
+    // Keyset batches for the cold archive, in id order
+    @Query(
+            "SELECT m FROM MessageEntity m WHERE m.orgId = :orgId AND m.createdAt < :before"
+                    + " AND m.id > :afterId ORDER BY m.id")
+    List<MessageEntity> findArchivable(
+            @Param("orgId") String orgId,
+            @Param("before") LocalDateTime before,
+            @Param("afterId") Long afterId,
+            Pageable pageable);
+
+    List<MessageEntity> findByOrgId(String orgId);
 }
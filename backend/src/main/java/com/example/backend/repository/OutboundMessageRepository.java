@@ -4,6 +4,7 @@
 import com.example.backend.entity.enums.MessageChannel;
 import com.example.backend.entity.enums.OutboundMessageStatus;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -19,6 +20,9 @@ public interface OutboundMessageRepository extends JpaRepository<OutboundMessage
     Optional<OutboundMessageEntity> findByOrgIdAndIdempotencyKey(
             String orgId, String idempotencyKey);
 
+    List<OutboundMessageEntity> findByOrgIdAndIdempotencyKeyIn(
+            String orgId, Collection<String> idempotencyKeys);
+
     List<OutboundMessageEntity> findByDossierId(Long dossierId);
 
     Page<OutboundMessageEntity> findByDossierId(Long dossierId, Pageable pageable);
@@ -35,6 +39,25 @@ List<OutboundMessageEntity> findStaleMessages(
             @Param("beforeTime") LocalDateTime beforeTime,
             Pageable pageable);
 
+    @Query(
+            "SELECT om FROM OutboundMessageEntity om WHERE om.status = :status AND om.attemptCount < om.maxAttempts AND om.orgId IN :orgIds ORDER BY om.createdAt ASC")
+    List<OutboundMessageEntity> findPendingMessagesForOrgs(
+            @Param("status") OutboundMessageStatus status,
+            @Param("orgIds") Collection<String> orgIds,
+            Pageable pageable);
+
+    @Query(
+            "SELECT om FROM OutboundMessageEntity om WHERE om.status = :status AND om.updatedAt < :beforeTime AND om.orgId IN :orgIds ORDER BY om.updatedAt ASC")
+    List<OutboundMessageEntity> findStaleMessagesForOrgs(
+            @Param("status") OutboundMessageStatus status,
+            @Param("beforeTime") LocalDateTime beforeTime,
+            @Param("orgIds") Collection<String> orgIds,
+            Pageable pageable);
+
+    @Query("SELECT DISTINCT om.orgId FROM OutboundMessageEntity om WHERE om.status IN :statuses")
+    List<String> findDistinctOrgIdsByStatusIn(
+            @Param("statuses") Collection<OutboundMessageStatus> statuses);
+
     Optional<OutboundMessageEntity> findByProviderMessageId(String providerMessageId);
 
     long countByStatusAndOrgId(OutboundMessageStatus status, String orgId);
@@ -69,6 +92,11 @@ long countByChannelAndStatusAndCreatedAtAfter(
             "SELECT om.channel, COUNT(om) FROM OutboundMessageEntity om WHERE om.status = :status GROUP BY om.channel")
     List<Object[]> countByStatusGroupByChannel(@Param("status") OutboundMessageStatus status);
 
+    @Query(
+            "SELECT om.status, om.channel, COUNT(om), SUM(CASE WHEN om.attemptCount > 0 THEN 1 ELSE 0 END) FROM OutboundMessageEntity om WHERE om.status IN :statuses GROUP BY om.status, om.channel")
+    List<Object[]> countByStatusInGroupByStatusAndChannel(
+            @Param("statuses") Collection<OutboundMessageStatus> statuses);
+
     @Query(
             "SELECT om.channel, COUNT(om) FROM OutboundMessageEntity om WHERE om.status = :status AND om.createdAt >= :afterTime GROUP BY om.channel")
     List<Object[]> countByStatusAndCreatedAtAfterGroupByChannel(
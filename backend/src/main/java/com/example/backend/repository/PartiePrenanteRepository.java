@@ -1,6 +1,7 @@
 package com.example.backend.repository;
 
 import com.example.backend.entity.PartiePrenanteEntity;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -11,6 +12,10 @@
 public interface PartiePrenanteRepository extends JpaRepository<PartiePrenanteEntity, Long> {
     List<PartiePrenanteEntity> findByDossierId(Long dossierId);
 
+    @Query(
+            "SELECT p FROM PartiePrenanteEntity p WHERE p.dossier.id IN :dossierIds ORDER BY p.id")
+    List<PartiePrenanteEntity> findByDossierIdIn(@Param("dossierIds") Collection<Long> dossierIds);
+
     @Query(
             "SELECT p FROM PartiePrenanteEntity p WHERE LOWER(p.email) = LOWER(:email) AND p.orgId = :orgId")
     List<PartiePrenanteEntity> findByEmailAndOrgId(
@@ -1,9 +1,13 @@
 package com.example.backend.repository;
 
+import com.example.backend.config.SecondLevelCacheRegions;
 import com.example.backend.entity.ReferentialEntity;
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -13,8 +17,25 @@ public interface ReferentialRepository extends JpaRepository<ReferentialEntity,
 
     List<ReferentialEntity> findByCategoryAndIsActiveTrueOrderByDisplayOrderAsc(String category);
 
+    // Cacheable lookups name the tenant as a parameter: the query cache key does not carry the
+    // tenant filter's value, so a filtered-only query would serve one org's ids to another
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(
+                name = HibernateHints.HINT_CACHE_REGION,
+                value = SecondLevelCacheRegions.REFERENTIAL_QUERIES)
+    })
+    List<ReferentialEntity> findByOrgIdAndCategoryAndIsActiveTrueOrderByDisplayOrderAsc(
+            String orgId, String category);
+
     Optional<ReferentialEntity> findByCategoryAndCode(String category, String code);
 
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(
+                name = HibernateHints.HINT_CACHE_REGION,
+                value = SecondLevelCacheRegions.REFERENTIAL_QUERIES)
+    })
     Optional<ReferentialEntity> findByOrgIdAndCategoryAndCode(
             String orgId, String category, String code);
 
@@ -3,6 +3,7 @@
 import com.example.backend.entity.UserBehaviorPattern;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -20,6 +21,12 @@ Optional<UserBehaviorPattern> findByOrgIdAndUserIdAndActionTypeAndContextTypeAnd
     List<UserBehaviorPattern> findTopPatternsByUser(
             @Param("orgId") String orgId, @Param("userId") String userId);
 
+    @Query(
+            "SELECT ubp FROM UserBehaviorPattern ubp WHERE ubp.orgId = :orgId AND ubp.userId = :userId "
+                    + "ORDER BY ubp.frequencyCount DESC, ubp.lastPerformedAt DESC")
+    List<UserBehaviorPattern> findTopPatternsByUser(
+            @Param("orgId") String orgId, @Param("userId") String userId, Pageable pageable);
+
     @Query(
             "SELECT ubp FROM UserBehaviorPattern ubp WHERE ubp.orgId = :orgId AND ubp.userId = :userId "
                     + "AND ubp.contextType = :contextType ORDER BY ubp.frequencyCount DESC")
@@ -1,11 +1,15 @@
 package com.example.backend.repository;
 
+import com.example.backend.config.SecondLevelCacheRegions;
 import com.example.backend.entity.WhatsAppTemplate;
 import com.example.backend.entity.enums.TemplateStatus;
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -18,6 +22,17 @@ public interface WhatsAppTemplateRepository extends JpaRepository<WhatsAppTempla
 
     Optional<WhatsAppTemplate> findByNameAndLanguage(String name, String language);
 
+    // Cacheable lookups name the tenant as a parameter: the query cache key does not carry the
+    // tenant filter's value, so a filtered-only query would serve one org's template to another
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(
+                name = HibernateHints.HINT_CACHE_REGION,
+                value = SecondLevelCacheRegions.WHATSAPP_TEMPLATE_QUERIES)
+    })
+    Optional<WhatsAppTemplate> findByOrgIdAndNameAndLanguage(
+            String orgId, String name, String language);
+
     Optional<WhatsAppTemplate> findByWhatsAppTemplateId(String whatsAppTemplateId);
 
     Optional<WhatsAppTemplate> findByMetaSubmissionId(String metaSubmissionId);
@@ -1,11 +1,15 @@
 package com.example.backend.repository;
 
+import com.example.backend.config.SecondLevelCacheRegions;
 import com.example.backend.entity.WorkflowDefinition;
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -14,11 +18,23 @@
         extends JpaRepository<WorkflowDefinition, Long>,
                 JpaSpecificationExecutor<WorkflowDefinition> {
 
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(
+                name = HibernateHints.HINT_CACHE_REGION,
+                value = SecondLevelCacheRegions.WORKFLOW_DEFINITION_QUERIES)
+    })
     @Query(
             "SELECT wd FROM WorkflowDefinition wd WHERE wd.orgId = :orgId AND wd.caseType = :caseType AND wd.isActive = true AND wd.isPublished = true ORDER BY wd.version DESC")
     Optional<WorkflowDefinition> findActiveWorkflowByCaseType(
             @Param("orgId") String orgId, @Param("caseType") String caseType);
 
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(
+                name = HibernateHints.HINT_CACHE_REGION,
+                value = SecondLevelCacheRegions.WORKFLOW_DEFINITION_QUERIES)
+    })
     @Query(
             "SELECT wd FROM WorkflowDefinition wd WHERE wd.orgId = :orgId AND wd.caseType = :caseType AND wd.isActive = true")
     List<WorkflowDefinition> findByCaseType(
@@ -15,9 +15,12 @@
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,16 +31,19 @@ public class ActivityService {
     private final DossierRepository dossierRepository;
     private final ActivityMapper activityMapper;
     private final UserService userService;
+    private final ColdArchiveReader coldArchiveReader;
 
     public ActivityService(
             ActivityRepository activityRepository,
             DossierRepository dossierRepository,
             ActivityMapper activityMapper,
-            UserService userService) {
+            UserService userService,
+            ColdArchiveReader coldArchiveReader) {
         this.activityRepository = activityRepository;
         this.dossierRepository = dossierRepository;
         this.activityMapper = activityMapper;
         this.userService = userService;
+        this.coldArchiveReader = coldArchiveReader;
     }
 
     @Transactional
@@ -128,31 +134,100 @@ public Page<ActivityResponse> list(
                 throw new EntityNotFoundException("Dossier not found with id: " + dossierId);
             }
 
-            Page<ActivityEntity> activities;
-
-            if (visibility != null && startDate != null && endDate != null) {
-                activities =
-                        activityRepository.findByDossierIdAndVisibilityAndCreatedAtBetween(
-                                dossierId, visibility, startDate, endDate, pageable);
-            } else if (visibility != null) {
-                activities =
-                        activityRepository.findByDossierIdAndVisibility(
-                                dossierId, visibility, pageable);
-            } else if (startDate != null && endDate != null) {
-                activities =
-                        activityRepository.findByDossierIdAndCreatedAtBetween(
-                                dossierId, startDate, endDate, pageable);
-            } else {
-                activities =
-                        activityRepository.findByDossierIdOrderByCreatedAtDesc(dossierId, pageable);
+            // Dates only filter when both are given, as for the hot rows
+            boolean dated = startDate != null && endDate != null;
+            List<ActivityResponse> archived =
+                    coldArchiveReader.activities(
+                            orgId,
+                            dossierId,
+                            visibility,
+                            dated ? startDate : null,
+                            dated ? endDate : null);
+            // Hot rows are read in the order the archived records are merged on
+            Pageable ordered = newestFirstByDefault(pageable);
+            Page<ActivityResponse> page =
+                    ColdArchiveReader.concat(
+                            ordered,
+                            archived,
+                            ColdArchiveReader.newestFirst(ordered),
+                            hotPageable ->
+                                    enrichWithUserNames(
+                                            findHot(
+                                                    dossierId,
+                                                    visibility,
+                                                    startDate,
+                                                    endDate,
+                                                    hotPageable)));
+            if (!archived.isEmpty()) {
+                resolveMissingUserNames(page.getContent());
             }
-
-            return enrichWithUserNames(activities);
+            return page;
         }
 
         return Page.empty(pageable);
     }
 
+    private Page<ActivityEntity> findHot(
+            Long dossierId,
+            ActivityVisibility visibility,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Pageable pageable) {
+        Page<ActivityEntity> activities;
+
+        if (visibility != null && startDate != null && endDate != null) {
+            activities =
+                    activityRepository.findByDossierIdAndVisibilityAndCreatedAtBetween(
+                            dossierId, visibility, startDate, endDate, pageable);
+        } else if (visibility != null) {
+            activities =
+                    activityRepository.findByDossierIdAndVisibility(
+                            dossierId, visibility, pageable);
+        } else if (startDate != null && endDate != null) {
+            activities =
+                    activityRepository.findByDossierIdAndCreatedAtBetween(
+                            dossierId, startDate, endDate, pageable);
+        } else {
+            activities = activityRepository.findByDossierId(dossierId, pageable);
+        }
+
+        return activities;
+    }
+
+    private static Pageable newestFirstByDefault(Pageable pageable) {
+        if (pageable.getSort().isSorted()) {
+            return pageable;
+        }
+        Sort newestFirst = Sort.by(Sort.Direction.DESC, "createdAt");
+        return pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), newestFirst)
+                : Pageable.unpaged(newestFirst);
+    }
+
+    // Archived activities come without the author's display name
+    private void resolveMissingUserNames(List<ActivityResponse> responses) {
+        List<String> userIds =
+                responses.stream()
+                        .filter(response -> response.getCreatedByName() == null)
+                        .map(ActivityResponse::getCreatedBy)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .toList();
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Map<String, String> displayNames = userService.getUserDisplayNames(userIds);
+        for (ActivityResponse response : responses) {
+            if (response.getCreatedByName() == null && response.getCreatedBy() != null) {
+                String displayName = displayNames.get(response.getCreatedBy());
+                response.setCreatedByName(
+                        displayName != null
+                                ? displayName
+                                : userService.getUserDisplayName(response.getCreatedBy()));
+            }
+        }
+    }
+
     private Page<ActivityResponse> enrichWithUserNames(Page<ActivityEntity> activities) {
         List<ActivityEntity> content = activities.getContent();
 
@@ -12,8 +12,10 @@
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Transactional(readOnly = true)
 public class AdvancedAnalyticsService {
 
     private static final Logger logger = LoggerFactory.getLogger(AdvancedAnalyticsService.class);
@@ -17,7 +17,9 @@
 import jakarta.persistence.EntityNotFoundException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -38,18 +40,21 @@ public class AnnonceService {
     @Nullable private final SearchService searchService;
     private final MetricsService metricsService;
     @Nullable private final BrainScoringService brainScoringService;
+    private final ProjectionQueryService projectionQueryService;
 
     public AnnonceService(
             AnnonceRepository annonceRepository,
             AnnonceMapper annonceMapper,
             @Autowired(required = false) @Nullable SearchService searchService,
             MetricsService metricsService,
-            @Autowired(required = false) @Nullable BrainScoringService brainScoringService) {
+            @Autowired(required = false) @Nullable BrainScoringService brainScoringService,
+            ProjectionQueryService projectionQueryService) {
         this.annonceRepository = annonceRepository;
         this.annonceMapper = annonceMapper;
         this.searchService = searchService;
         this.metricsService = metricsService;
         this.brainScoringService = brainScoringService;
+        this.projectionQueryService = projectionQueryService;
     }
 
     public AnnonceMapper getAnnonceMapper() {
@@ -260,6 +265,9 @@ public void delete(Long id) {
         }
 
         annonceRepository.delete(annonce);
+        if (brainScoringService != null) {
+            brainScoringService.removeFromDuplicateIndex(orgId, id);
+        }
     }
 
     @Transactional
@@ -374,6 +382,24 @@ public Annonce findEntityById(Long id) {
     @Transactional(readOnly = true)
     public Page<Annonce> findAll(
             AnnonceStatus status, String q, String city, String type, Pageable pageable) {
+        return annonceRepository.findAll(listSpecification(status, q, city, type), pageable);
+    }
+
+    /** Same filters as {@link #findAll}, selecting only the given attributes of each annonce. */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findAttributes(
+            AnnonceStatus status,
+            String q,
+            String city,
+            String type,
+            Collection<String> attributes,
+            Pageable pageable) {
+        return projectionQueryService.findPage(
+                Annonce.class, listSpecification(status, q, city, type), attributes, pageable);
+    }
+
+    private Specification<Annonce> listSpecification(
+            AnnonceStatus status, String q, String city, String type) {
         Specification<Annonce> spec = (root, query, criteriaBuilder) -> criteriaBuilder.conjunction();
 
         if (status != null) {
@@ -422,6 +448,6 @@ public Page<Annonce> findAll(
             }
         }
 
-        return annonceRepository.findAll(spec, pageable);
+        return spec;
     }
 }
@@ -5,9 +5,13 @@
 import com.example.backend.entity.AppointmentReminderMetricsEntity;
 import com.example.backend.repository.AppointmentReminderMetricsRepository;
 import com.example.backend.util.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.sql.Date;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -21,10 +25,73 @@
 public class AppointmentReminderMetricsService {
 
     private final AppointmentReminderMetricsRepository metricsRepository;
+    private final MeterRegistry meterRegistry;
 
     public AppointmentReminderMetricsService(
-            AppointmentReminderMetricsRepository metricsRepository) {
+            AppointmentReminderMetricsRepository metricsRepository, MeterRegistry meterRegistry) {
         this.metricsRepository = metricsRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** Records one row per reminder queued by a dispatch batch, with a single saveAll. */
+    @Transactional
+    public void recordRemindersSent(List<SentReminder> reminders) {
+        if (reminders.isEmpty()) {
+            return;
+        }
+        List<AppointmentReminderMetricsEntity> rows = new ArrayList<>(reminders.size());
+        for (SentReminder reminder : reminders) {
+            AppointmentReminderMetricsEntity metrics = new AppointmentReminderMetricsEntity();
+            metrics.setOrgId(reminder.appointment().getOrgId());
+            metrics.setAppointment(reminder.appointment());
+            metrics.setChannel(reminder.channel());
+            metrics.setTemplateCode(reminder.templateCode());
+            metrics.setAgentId(reminder.appointment().getAssignedTo());
+            metrics.setStatus("SENT");
+            metrics.setSentAt(reminder.sentAt());
+            metrics.setNoShowOccurred(false);
+            metrics.setReminderStrategy(reminder.reminderStrategy());
+            metrics.setNoShowProbability(reminder.noShowProbability());
+            rows.add(metrics);
+        }
+        metricsRepository.saveAll(rows);
+    }
+
+    /** Time between a reminder work item falling due and its message being queued. */
+    public void recordDispatchLatency(String kind, Duration latency) {
+        Timer.builder("appointment_reminder_dispatch_latency")
+                .description("Delay between a reminder falling due and its message being queued")
+                .tag("kind", kind)
+                .register(meterRegistry)
+                .record(latency.isNegative() ? Duration.ZERO : latency);
+    }
+
+    /**
+     * Counts reminders that were not sent twice: {@code source} is {@code claim} when another
+     * node claimed the work item first and {@code idempotency_key} when the message was already
+     * queued.
+     */
+    public void recordDuplicatesSuppressed(String kind, String source, int count) {
+        if (count > 0) {
+            Counter.builder("appointment_reminder_duplicates_suppressed_total")
+                    .description("Reminders suppressed because they were already being sent")
+                    .tag("kind", kind)
+                    .tag("source", source)
+                    .register(meterRegistry)
+                    .increment(count);
+        }
+    }
+
+    /** Counts dispatched work items by outcome (SENT, SKIPPED, FAILED). */
+    public void recordDispatchOutcome(String kind, String outcome, int count) {
+        if (count > 0) {
+            Counter.builder("appointment_reminder_work_items_total")
+                    .description("Reminder work items processed, by outcome")
+                    .tag("kind", kind)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment(count);
+        }
     }
 
     @Transactional
@@ -346,4 +413,13 @@ public void recordFailure(Long metricsId, String failedReason) {
                             metricsRepository.save(metrics);
                         });
     }
+
+    /** A reminder queued by the scheduler, as recorded in {@code appointment_reminder_metrics}. */
+    public record SentReminder(
+            AppointmentEntity appointment,
+            String channel,
+            String templateCode,
+            String reminderStrategy,
+            Double noShowProbability,
+            LocalDateTime sentAt) {}
 }
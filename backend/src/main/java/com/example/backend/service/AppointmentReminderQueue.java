@@ -0,0 +1,345 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.AppointmentEntity;
+import com.example.backend.entity.enums.AppointmentStatus;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Precomputed appointment reminders ({@code appointment_reminder_work_item}).
+ *
+ * <p>Each SCHEDULED appointment has one work item per {@link ReminderKind}, due at the
+ * appointment start minus the kind's offset. Items are written when the appointment is booked or
+ * changed ({@link #schedule}), claimed in batches by the reminder scheduler ({@link #claim}) and
+ * closed with their outcome ({@link #complete}). A claim is a conditional UPDATE on the item's
+ * status, so when several nodes race for the same item exactly one of them gets it; the others
+ * see an update count of 0 and drop it. A claim that is never completed (node crash, rolled back
+ * batch) becomes claimable again once {@code appointment.reminder.claim-ttl} has passed.
+ */
+@Component
+public class AppointmentReminderQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppointmentReminderQueue.class);
+
+    private static final String STATUS_SENT = "SENT";
+    private static final String STATUS_SKIPPED = "SKIPPED";
+    private static final String STATUS_FAILED = "FAILED";
+
+    private static final String CLAIMABLE =
+            "(status = 'PENDING' OR (status = 'CLAIMED' AND claimed_until < ?))";
+
+    private static final String RESCHEDULE_SQL =
+            "UPDATE appointment_reminder_work_item SET appointment_start = ?, due_at = ?,"
+                    + " offset_minutes = ?, status = 'PENDING', claimed_by = NULL,"
+                    + " claimed_until = NULL, attempts = 0, last_error = NULL, sent_at = NULL,"
+                    + " updated_at = ? WHERE appointment_id = ? AND reminder_kind = ?"
+                    + " AND (appointment_start <> ? OR status IN ('CANCELLED', 'EXPIRED'))";
+    private static final String INSERT_SQL =
+            "INSERT INTO appointment_reminder_work_item (org_id, appointment_id, reminder_kind,"
+                    + " offset_minutes, appointment_start, due_at, status, attempts, created_at,"
+                    + " updated_at) SELECT a.org_id, a.id, ?, ?, ?, ?, 'PENDING', 0, ?, ?"
+                    + " FROM appointment a WHERE a.id = ? AND NOT EXISTS (SELECT 1 FROM"
+                    + " appointment_reminder_work_item w WHERE w.appointment_id = a.id"
+                    + " AND w.reminder_kind = ?)";
+    private static final String CANCEL_SQL =
+            "UPDATE appointment_reminder_work_item SET status = 'CANCELLED', updated_at = ?"
+                    + " WHERE appointment_id = ? AND status IN ('PENDING', 'CLAIMED')";
+    private static final String UNSCHEDULED_SQL =
+            "SELECT a.id, a.org_id, a.start_time FROM appointment a"
+                    + " WHERE a.status = ? AND a.reminder_sent = ?"
+                    + " AND a.start_time BETWEEN ? AND ? AND NOT EXISTS (SELECT 1 FROM"
+                    + " appointment_reminder_work_item w WHERE w.appointment_id = a.id"
+                    + " AND w.reminder_kind = ?)";
+    private static final String EXPIRE_SQL =
+            "UPDATE appointment_reminder_work_item SET status = 'EXPIRED', updated_at = ?"
+                    + " WHERE reminder_kind = ? AND "
+                    + CLAIMABLE
+                    + " AND (due_at < ? OR appointment_start <= ? OR attempts >= ?)";
+    private static final String CANDIDATES_SQL =
+            "SELECT id, org_id, appointment_id, appointment_start, due_at"
+                    + " FROM appointment_reminder_work_item WHERE reminder_kind = ?"
+                    + " AND due_at <= ? AND "
+                    + CLAIMABLE
+                    + " ORDER BY due_at LIMIT ?";
+    private static final String CLAIM_SQL =
+            "UPDATE appointment_reminder_work_item SET status = 'CLAIMED', claimed_by = ?,"
+                    + " claimed_until = ?, attempts = attempts + 1, updated_at = ?"
+                    + " WHERE id = ? AND "
+                    + CLAIMABLE;
+    private static final String COMPLETE_SQL =
+            "UPDATE appointment_reminder_work_item SET status = ?, last_error = ?, sent_at = ?,"
+                    + " claimed_until = NULL, updated_at = ? WHERE id = ? AND status = 'CLAIMED'";
+
+    /** The 24-hour reminder, and the extra one sent shortly before at-risk appointments. */
+    public enum ReminderKind {
+        STANDARD,
+        AGGRESSIVE
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String ownerId;
+    private final int standardOffsetMinutes;
+    private final int aggressiveOffsetMinutes;
+    private final Duration claimTtl;
+    private final Duration maxLateness;
+    private final int maxAttempts;
+
+    public AppointmentReminderQueue(
+            JdbcTemplate jdbcTemplate,
+            SchedulerLeaseService leaseService,
+            @Value("${appointment.reminder.hours-ahead:24}") int hoursAhead,
+            @Value("${appointment.reminder.aggressive-hours-ahead:2}") int aggressiveHoursAhead,
+            @Value("${appointment.reminder.claim-ttl:PT5M}") Duration claimTtl,
+            @Value("${appointment.reminder.max-lateness:PT30M}") Duration maxLateness,
+            @Value("${appointment.reminder.max-attempts:3}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ownerId = leaseService.getNodeId();
+        this.standardOffsetMinutes = hoursAhead * 60;
+        this.aggressiveOffsetMinutes = aggressiveHoursAhead * 60;
+        this.claimTtl = claimTtl;
+        this.maxLateness = maxLateness;
+        this.maxAttempts = maxAttempts;
+    }
+
+    public int offsetMinutes(ReminderKind kind) {
+        return kind == ReminderKind.AGGRESSIVE ? aggressiveOffsetMinutes : standardOffsetMinutes;
+    }
+
+    /**
+     * Creates or refreshes the appointment's work items. A changed start time re-arms items that
+     * were already sent or cancelled; an appointment that is no longer SCHEDULED has its open
+     * items cancelled. Must run in the transaction that saves the appointment.
+     */
+    public void schedule(AppointmentEntity appointment) {
+        if (appointment.getId() == null) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        if (appointment.getStatus() != AppointmentStatus.SCHEDULED
+                || appointment.getStartTime() == null) {
+            jdbcTemplate.update(CANCEL_SQL, now, appointment.getId());
+            return;
+        }
+
+        LocalDateTime startTime = startOf(appointment.getStartTime());
+        Timestamp start = Timestamp.valueOf(startTime);
+        for (ReminderKind kind : ReminderKind.values()) {
+            int offset = offsetMinutes(kind);
+            Timestamp dueAt = Timestamp.valueOf(startTime.minusMinutes(offset));
+            int updated =
+                    jdbcTemplate.update(
+                            RESCHEDULE_SQL,
+                            start,
+                            dueAt,
+                            offset,
+                            now,
+                            appointment.getId(),
+                            kind.name(),
+                            start);
+            if (updated == 0) {
+                jdbcTemplate.update(
+                        INSERT_SQL,
+                        kind.name(),
+                        offset,
+                        start,
+                        dueAt,
+                        now,
+                        now,
+                        appointment.getId(),
+                        kind.name());
+            }
+        }
+    }
+
+    /**
+     * Creates the missing work items of {@code kind} for SCHEDULED appointments starting inside
+     * the window, e.g. appointments written without going through {@link AppointmentService}.
+     * Only appointments of organizations accepted by {@code ownsOrg} are seeded. Returns the
+     * number of items created.
+     */
+    public int seedWindow(
+            ReminderKind kind,
+            boolean reminderSent,
+            LocalDateTime windowStart,
+            LocalDateTime windowEnd,
+            Predicate<String> ownsOrg) {
+        List<Object[]> unscheduled =
+                jdbcTemplate.query(
+                        UNSCHEDULED_SQL,
+                        (rs, rowNum) ->
+                                new Object[] {
+                                    rs.getLong("id"),
+                                    rs.getString("org_id"),
+                                    rs.getTimestamp("start_time").toLocalDateTime()
+                                },
+                        AppointmentStatus.SCHEDULED.name(),
+                        reminderSent,
+                        Timestamp.valueOf(windowStart),
+                        Timestamp.valueOf(windowEnd),
+                        kind.name());
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int offset = offsetMinutes(kind);
+        List<Object[]> inserts = new ArrayList<>();
+        for (Object[] row : unscheduled) {
+            if (!ownsOrg.test((String) row[1])) {
+                continue;
+            }
+            LocalDateTime start = startOf((LocalDateTime) row[2]);
+            inserts.add(
+                    new Object[] {
+                        kind.name(),
+                        offset,
+                        Timestamp.valueOf(start),
+                        Timestamp.valueOf(start.minusMinutes(offset)),
+                        now,
+                        now,
+                        row[0],
+                        kind.name()
+                    });
+        }
+        if (inserts.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        logger.debug("Seeded {} {} reminder work items", inserts.size(), kind);
+        return inserts.size();
+    }
+
+    /**
+     * Claims up to {@code limit} items of {@code kind} that are due by {@code horizon}, for
+     * organizations accepted by {@code ownsOrg}. Items that are too late, whose appointment
+     * already started or that ran out of attempts are expired first. Items another node claimed
+     * between the read and the claim are counted in {@link ClaimResult#conflicts()}.
+     */
+    public ClaimResult claim(
+            ReminderKind kind,
+            LocalDateTime now,
+            LocalDateTime horizon,
+            int limit,
+            Predicate<String> ownsOrg) {
+        Timestamp nowTs = Timestamp.valueOf(now);
+        jdbcTemplate.update(
+                EXPIRE_SQL,
+                nowTs,
+                kind.name(),
+                nowTs,
+                Timestamp.valueOf(now.minus(maxLateness)),
+                nowTs,
+                maxAttempts);
+
+        // Over-fetch so that items of organizations owned by other nodes do not starve ours
+        List<WorkItem> candidates =
+                jdbcTemplate.query(
+                        CANDIDATES_SQL,
+                        (rs, rowNum) ->
+                                new WorkItem(
+                                        rs.getLong("id"),
+                                        rs.getString("org_id"),
+                                        rs.getLong("appointment_id"),
+                                        kind,
+                                        rs.getTimestamp("appointment_start").toLocalDateTime(),
+                                        rs.getTimestamp("due_at").toLocalDateTime()),
+                        kind.name(),
+                        Timestamp.valueOf(horizon),
+                        nowTs,
+                        limit * 4);
+
+        List<WorkItem> owned = new ArrayList<>();
+        for (WorkItem candidate : candidates) {
+            if (owned.size() < limit && ownsOrg.test(candidate.orgId())) {
+                owned.add(candidate);
+            }
+        }
+        if (owned.isEmpty()) {
+            return new ClaimResult(List.of(), 0);
+        }
+
+        Timestamp claimedUntil =
+                Timestamp.valueOf(now.plus(claimTtl).truncatedTo(ChronoUnit.MILLIS));
+        List<Object[]> claims = new ArrayList<>(owned.size());
+        for (WorkItem item : owned) {
+            claims.add(new Object[] {ownerId, claimedUntil, nowTs, item.id(), nowTs});
+        }
+        int[] updated = jdbcTemplate.batchUpdate(CLAIM_SQL, claims);
+
+        List<WorkItem> claimed = new ArrayList<>(owned.size());
+        for (int i = 0; i < owned.size(); i++) {
+            if (updated[i] == 1) {
+                claimed.add(owned.get(i));
+            }
+        }
+        return new ClaimResult(claimed, owned.size() - claimed.size());
+    }
+
+    /** Closes claimed items with their outcome, in one batch. */
+    public void complete(Map<Long, Outcome> outcomes) {
+        if (outcomes.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> updates = new ArrayList<>(outcomes.size());
+        outcomes.forEach(
+                (id, outcome) ->
+                        updates.add(
+                                new Object[] {
+                                    outcome.status(),
+                                    truncate(outcome.error()),
+                                    STATUS_SENT.equals(outcome.status()) ? now : null,
+                                    now,
+                                    id
+                                }));
+        jdbcTemplate.batchUpdate(COMPLETE_SQL, updates);
+    }
+
+    /**
+     * The appointment start as stored on its work items: whole seconds, so that it compares equal
+     * to the entity value whatever fractional precision the database keeps.
+     */
+    public static LocalDateTime startOf(LocalDateTime startTime) {
+        return startTime.truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+
+    /** A claimed reminder. */
+    public record WorkItem(
+            long id,
+            String orgId,
+            long appointmentId,
+            ReminderKind kind,
+            LocalDateTime appointmentStart,
+            LocalDateTime dueAt) {}
+
+    /** Items claimed by this node, and how many were lost to a concurrent claim. */
+    public record ClaimResult(List<WorkItem> items, int conflicts) {}
+
+    /** Final status of a claimed item, with the reason when it was not sent. */
+    public record Outcome(String status, String error) {
+
+        public static Outcome sent() {
+            return new Outcome(STATUS_SENT, null);
+        }
+
+        public static Outcome skipped(String reason) {
+            return new Outcome(STATUS_SKIPPED, reason);
+        }
+
+        public static Outcome failed(String reason) {
+            return new Outcome(STATUS_FAILED, reason);
+        }
+    }
+}
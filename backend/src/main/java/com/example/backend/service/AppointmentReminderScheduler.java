@@ -1,5 +1,6 @@
 package com.example.backend.service;
 
+import com.example.backend.aspect.LeasedJob;
 import com.example.backend.entity.AppointmentEntity;
 import com.example.backend.entity.enums.ActivityType;
 import com.example.backend.entity.enums.AppointmentStatus;
@@ -8,24 +9,50 @@
 import com.example.backend.entity.enums.ReminderStrategy;
 import com.example.backend.repository.AppointmentRepository;
 import com.example.backend.repository.AppointmentReminderMetricsRepository;
+import com.example.backend.service.AppointmentReminderMetricsService.SentReminder;
+import com.example.backend.service.AppointmentReminderQueue.ClaimResult;
+import com.example.backend.service.AppointmentReminderQueue.Outcome;
+import com.example.backend.service.AppointmentReminderQueue.ReminderKind;
+import com.example.backend.service.AppointmentReminderQueue.WorkItem;
+import com.example.backend.service.OutboundMessageService.BatchDraft;
+import com.example.backend.service.OutboundMessageService.BatchOutcome;
+import com.example.backend.service.OutboundMessageService.ChannelCandidate;
+import com.example.backend.util.CompiledTemplate;
+import com.example.backend.util.ScheduledJobContext;
 import com.example.backend.util.TenantContext;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.server.ResponseStatusException;
-
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Sends appointment reminders from precomputed work items ({@link AppointmentReminderQueue}).
+ *
+ * <p>Each run seeds items for appointments of its window that have none yet, then claims due
+ * items in batches of {@code appointment.reminder.batch-size}. A batch loads its appointments and
+ * dossiers in one query, renders the bodies of each template once for the whole batch, queues all
+ * messages through {@link OutboundMessageService#createOutboundMessages} and closes the items, in
+ * one transaction. Channels are still tried in the appointment's order, falling back on missing
+ * contact info or consent. A claimed item is processed by one node only, and the idempotency key
+ * (appointment, start time, channel) keeps a retried batch from queuing a message twice.
+ */
 @Service
 public class AppointmentReminderScheduler {
 
@@ -37,6 +64,7 @@ public class AppointmentReminderScheduler {
 
     private static final String DEFAULT_TEMPLATE_CODE = "appointment_reminder";
     private static final List<String> DEFAULT_CHANNELS = Arrays.asList("WHATSAPP", "SMS", "EMAIL");
+    private static final String AGGRESSIVE_SUBJECT = "Rappel urgent de rendez-vous";
 
     private final AppointmentRepository appointmentRepository;
     private final OutboundMessageService outboundMessageService;
@@ -47,16 +75,19 @@ public class AppointmentReminderScheduler {
     private final AppointmentReminderMetricsService metricsService;
     private final AppointmentReminderMetricsRepository metricsRepository;
     private final WhatsAppTemplateService whatsAppTemplateService;
+    private final TemplateRenderEngine templateRenderEngine;
+    private final AppointmentReminderQueue reminderQueue;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${appointment.reminder.enabled:true}")
     private boolean remindersEnabled;
 
-    @Value("${appointment.reminder.hours-ahead:24}")
-    private int hoursAhead;
-
     @Value("${appointment.reminder.aggressive-threshold:0.7}")
     private double aggressiveThreshold;
 
+    @Value("${appointment.reminder.batch-size:200}")
+    private int batchSize;
+
     public AppointmentReminderScheduler(
             AppointmentRepository appointmentRepository,
             OutboundMessageService outboundMessageService,
@@ -66,7 +97,10 @@ public AppointmentReminderScheduler(
             ModelTrainingService modelTrainingService,
             AppointmentReminderMetricsService metricsService,
             AppointmentReminderMetricsRepository metricsRepository,
-            WhatsAppTemplateService whatsAppTemplateService) {
+            WhatsAppTemplateService whatsAppTemplateService,
+            TemplateRenderEngine templateRenderEngine,
+            AppointmentReminderQueue reminderQueue,
+            PlatformTransactionManager transactionManager) {
         this.appointmentRepository = appointmentRepository;
         this.outboundMessageService = outboundMessageService;
         this.activityService = activityService;
@@ -76,10 +110,17 @@ public AppointmentReminderScheduler(
         this.metricsService = metricsService;
         this.metricsRepository = metricsRepository;
         this.whatsAppTemplateService = whatsAppTemplateService;
+        this.templateRenderEngine = templateRenderEngine;
+        this.reminderQueue = reminderQueue;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    @LeasedJob(
+            name = "appointment-reminders",
+            partitions = 16,
+            leaseFor = "PT14M",
+            holdAtLeast = "PT1M")
     @Scheduled(cron = "${appointment.reminder.cron:0 0/15 * * * ?}")
-    @Transactional
     public void processUpcomingAppointments() {
         if (!remindersEnabled) {
             logger.debug("Appointment reminder scheduler is disabled");
@@ -87,36 +128,15 @@ public void processUpcomingAppointments() {
         }
 
         logger.info("Running appointment reminder scheduler...");
-
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime windowStart = now.plusHours(hoursAhead).minusMinutes(5);
-        LocalDateTime windowEnd = now.plusHours(hoursAhead).plusMinutes(15);
-
-        List<AppointmentEntity> upcomingAppointments =
-                appointmentRepository.findAppointmentsForReminder(
-                        AppointmentStatus.SCHEDULED, windowStart, windowEnd);
-
-        if (upcomingAppointments.isEmpty()) {
-            logger.debug("No upcoming appointments found for reminders in this window");
-            return;
-        }
-
-        logger.info("Found {} upcoming appointments to remind", upcomingAppointments.size());
-
-        for (AppointmentEntity appointment : upcomingAppointments) {
-            try {
-                sendReminderWithFallback(appointment);
-            } catch (Exception e) {
-                logger.error(
-                        "Failed to send reminder for appointment {}: {}",
-                        appointment.getId(),
-                        e.getMessage());
-            }
-        }
+        run(ReminderKind.STANDARD, false, Duration.ofMinutes(15));
     }
 
+    @LeasedJob(
+            name = "appointment-reminders-aggressive",
+            partitions = 16,
+            leaseFor = "PT9M",
+            holdAtLeast = "PT1M")
     @Scheduled(cron = "${appointment.reminder.aggressive-cron:0 0/10 * * * ?}")
-    @Transactional
     public void processAggressiveReminders() {
         if (!remindersEnabled) {
             logger.debug("Appointment reminder scheduler is disabled");
@@ -124,199 +144,416 @@ public void processAggressiveReminders() {
         }
 
         logger.info("Running aggressive appointment reminder scheduler...");
+        run(ReminderKind.AGGRESSIVE, true, Duration.ofMinutes(10));
+    }
 
+    /**
+     * Seeds and dispatches the reminders of {@code kind} due before the next run, which is {@code
+     * lookahead} away.
+     */
+    private void run(ReminderKind kind, boolean seedReminderSent, Duration lookahead) {
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime windowStart = now.plusHours(2).minusMinutes(5);
-        LocalDateTime windowEnd = now.plusHours(2).plusMinutes(10);
+        LocalDateTime target = now.plusMinutes(reminderQueue.offsetMinutes(kind));
+        try {
+            // Appointments written without AppointmentService have no work items yet
+            transactionTemplate.executeWithoutResult(
+                    status ->
+                            reminderQueue.seedWindow(
+                                    kind,
+                                    seedReminderSent,
+                                    target.minusMinutes(5),
+                                    target.plus(lookahead),
+                                    ScheduledJobContext::owns));
+        } catch (Exception e) {
+            logger.warn("Failed to seed {} reminder work items: {}", kind, e.getMessage());
+        }
 
-        List<AppointmentEntity> upcomingAppointments = appointmentRepository.findAppointmentsForAdditionalReminder(
-                AppointmentStatus.SCHEDULED, windowStart, windowEnd);
+        LocalDateTime horizon = now.plus(lookahead);
+        int dispatched = 0;
+        while (true) {
+            ClaimResult claim =
+                    reminderQueue.claim(kind, now, horizon, batchSize, ScheduledJobContext::owns);
+            metricsService.recordDuplicatesSuppressed(kind.name(), "claim", claim.conflicts());
+            List<WorkItem> items = claim.items();
+            if (items.isEmpty()) {
+                break;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> processBatch(kind, items));
+            } catch (Exception e) {
+                // The items stay claimed and are retried once their claim expires
+                logger.error(
+                        "Failed to process batch of {} {} reminders: {}",
+                        items.size(),
+                        kind,
+                        e.getMessage(),
+                        e);
+            }
+            dispatched += items.size();
+            ScheduledJobContext.addItems(items.size());
+        }
 
-        if (upcomingAppointments.isEmpty()) {
-            logger.debug("No appointments found for aggressive reminders in this window");
-            return;
+        if (dispatched == 0) {
+            logger.debug("No {} reminders due in this window", kind);
+        } else {
+            logger.info("Processed {} {} reminder work items", dispatched, kind);
         }
+    }
 
-        logger.info("Found {} appointments to evaluate for aggressive reminders", upcomingAppointments.size());
+    private void processBatch(ReminderKind kind, List<WorkItem> items) {
+        Map<Long, WorkItem> itemsByAppointment = new HashMap<>();
+        for (WorkItem item : items) {
+            itemsByAppointment.put(item.appointmentId(), item);
+        }
+
+        Map<String, List<AppointmentEntity>> appointmentsByOrg = new LinkedHashMap<>();
+        for (AppointmentEntity appointment :
+                appointmentRepository.findAllWithDossierByIdIn(itemsByAppointment.keySet())) {
+            appointmentsByOrg
+                    .computeIfAbsent(appointment.getOrgId(), k -> new ArrayList<>())
+                    .add(appointment);
+        }
+
+        Map<Long, Outcome> outcomes = new HashMap<>();
+        appointmentsByOrg.forEach(
+                (orgId, appointments) ->
+                        inTenant(
+                                orgId,
+                                () ->
+                                        dispatchForOrg(
+                                                kind,
+                                                appointments,
+                                                itemsByAppointment,
+                                                outcomes)));
+        for (WorkItem item : items) {
+            outcomes.putIfAbsent(item.id(), Outcome.skipped("Appointment not found"));
+        }
+        reminderQueue.complete(outcomes);
+
+        Map<String, Integer> byStatus = new HashMap<>();
+        outcomes.values().forEach(outcome -> byStatus.merge(outcome.status(), 1, Integer::sum));
+        byStatus.forEach(
+                (status, count) ->
+                        metricsService.recordDispatchOutcome(kind.name(), status, count));
+    }
 
-        for (AppointmentEntity appointment : upcomingAppointments) {
-            try {
-                ReminderStrategy strategy = appointment.getReminderStrategy();
-                if (strategy == null) {
-                    strategy = ReminderStrategy.STANDARD;
-                }
+    private void dispatchForOrg(
+            ReminderKind kind,
+            List<AppointmentEntity> appointments,
+            Map<Long, WorkItem> itemsByAppointment,
+            Map<Long, Outcome> outcomes) {
+        List<ReminderJob> jobs = new ArrayList<>();
+        for (AppointmentEntity appointment : appointments) {
+            WorkItem item = itemsByAppointment.get(appointment.getId());
+            String skipReason = skipReason(kind, appointment, item);
+            if (skipReason != null) {
+                logger.debug(
+                        "Skipping {} reminder for appointment {}: {}",
+                        kind,
+                        appointment.getId(),
+                        skipReason);
+                outcomes.put(item.id(), Outcome.skipped(skipReason));
+                continue;
+            }
 
-                if (strategy == ReminderStrategy.MINIMAL) {
-                    logger.debug("Skipping aggressive reminder for appointment {} with MINIMAL strategy", 
-                            appointment.getId());
+            double noShowProbability = predictNoShowProbability(appointment);
+            ReminderStrategy strategy = strategyOf(appointment);
+            if (kind == ReminderKind.AGGRESSIVE) {
+                logger.info(
+                        "Appointment {} has no-show probability: {}",
+                        appointment.getId(),
+                        noShowProbability);
+                if (noShowProbability <= aggressiveThreshold
+                        && strategy != ReminderStrategy.AGGRESSIVE) {
+                    outcomes.put(
+                            item.id(),
+                            Outcome.skipped("No-show probability below aggressive threshold"));
                     continue;
                 }
-
-                double noShowProbability = predictNoShowProbability(appointment);
-                
-                logger.info("Appointment {} has no-show probability: {}", appointment.getId(), noShowProbability);
-
-                if (noShowProbability > aggressiveThreshold || strategy == ReminderStrategy.AGGRESSIVE) {
-                    logger.info("Sending aggressive reminder for appointment {} (probability: {}, strategy: {})", 
-                            appointment.getId(), noShowProbability, strategy);
-                    sendAggressiveReminder(appointment, noShowProbability);
-                } else {
-                    logger.debug("No-show probability {} below threshold {} for appointment {}", 
-                            noShowProbability, aggressiveThreshold, appointment.getId());
-                }
-            } catch (Exception e) {
-                logger.error("Failed to process aggressive reminder for appointment {}: {}", 
-                        appointment.getId(), e.getMessage(), e);
             }
+            jobs.add(newJob(kind, appointment, item, noShowProbability));
+        }
+        if (jobs.isEmpty()) {
+            return;
         }
-    }
 
-    @Transactional
-    public void sendReminderWithFallback(AppointmentEntity appointment) {
-        String previousOrgId = TenantContext.getOrgId();
-        boolean tenantContextUpdated = false;
-        if (appointment.getOrgId() != null && !appointment.getOrgId().equals(previousOrgId)) {
-            TenantContext.setOrgId(appointment.getOrgId());
-            tenantContextUpdated = true;
+        renderBodies(kind, jobs);
+        List<BatchDraft> drafts = new ArrayList<>(jobs.size());
+        for (ReminderJob job : jobs) {
+            drafts.add(toDraft(job));
         }
+        List<BatchOutcome> results = outboundMessageService.createOutboundMessages(drafts);
 
-        try {
-            if (appointment.getDossier() == null) {
-                logger.warn("Appointment {} has no dossier. Skipping reminder.", appointment.getId());
-                return;
+        LocalDateTime now = LocalDateTime.now();
+        List<SentReminder> sent = new ArrayList<>();
+        List<AppointmentEntity> reminded = new ArrayList<>();
+        int duplicates = 0;
+        for (int i = 0; i < jobs.size(); i++) {
+            ReminderJob job = jobs.get(i);
+            BatchOutcome result = results.get(i);
+            AppointmentEntity appointment = job.appointment;
+
+            if (result.message() == null) {
+                onAllChannelsFailed(job, result);
+                outcomes.put(job.item.id(), Outcome.failed("All channels failed"));
+                continue;
             }
 
-            Long dossierId = appointment.getDossier().getId();
-            List<String> channels = getReminderChannels(appointment);
-            String templateCode = getTemplateCode(appointment);
-
-            Map<String, String> templateVariables = buildTemplateVariables(appointment);
+            outcomes.put(job.item.id(), Outcome.sent());
+            if (kind == ReminderKind.STANDARD) {
+                appointment.setReminderSent(true);
+                reminded.add(appointment);
+            }
+            if (result.duplicate()) {
+                duplicates++;
+                continue;
+            }
 
-            boolean reminderSent = false;
+            MessageChannel channel = result.candidate().channel();
+            logger.info(
+                    "Successfully queued {} reminder for appointment {} via {} to {}",
+                    kind,
+                    appointment.getId(),
+                    channel,
+                    result.candidate().to());
+            metricsService.recordDispatchLatency(
+                    kind.name(), Duration.between(job.item.dueAt(), now));
+            sent.add(
+                    new SentReminder(
+                            appointment,
+                            channel.name(),
+                            job.templateCode,
+                            kind == ReminderKind.AGGRESSIVE
+                                    ? ReminderStrategy.AGGRESSIVE.name()
+                                    : strategyOf(appointment).name(),
+                            job.noShowProbability,
+                            now));
+
+            if (kind == ReminderKind.AGGRESSIVE) {
+                logAggressiveReminderActivity(appointment, channel, job.noShowProbability);
+                continue;
+            }
+            if (channel == MessageChannel.WHATSAPP) {
+                initializeConversationForReminder(appointment, result.candidate().to());
+            }
             List<String> attemptedChannels = new ArrayList<>();
             List<String> failureReasons = new ArrayList<>();
+            collectAttempts(job, result, channel, attemptedChannels, failureReasons);
+            logSuccessfulReminder(appointment, channel, attemptedChannels, failureReasons);
+        }
 
-            for (String channelStr : channels) {
-                MessageChannel channel;
-                try {
-                    channel = MessageChannel.valueOf(channelStr);
-                } catch (IllegalArgumentException e) {
-                    logger.warn(
-                            "Invalid channel '{}' for appointment {}. Skipping.",
-                            channelStr,
-                            appointment.getId());
-                    attemptedChannels.add(channelStr);
-                    failureReasons.add("Invalid channel: " + channelStr);
-                    continue;
-                }
-
-                attemptedChannels.add(channelStr);
-
-                String recipientContact = getRecipientContact(appointment, channel);
-                if (recipientContact == null || recipientContact.trim().isEmpty()) {
-                    String reason = String.format("No contact info for channel %s", channel);
-                    logger.warn(
-                            "Dossier {} has no contact for channel {}. Trying next channel.",
-                            dossierId,
-                            channel);
-                    failureReasons.add(reason);
-                    logFallbackEvent(appointment, channel, reason);
-                    continue;
-                }
+        appointmentRepository.saveAll(reminded);
+        metricsService.recordRemindersSent(sent);
+        metricsService.recordDuplicatesSuppressed(kind.name(), "idempotency_key", duplicates);
+    }
 
-                try {
-                    String dossierLocale = appointment.getDossier().getLocale();
-                    if (dossierLocale == null || dossierLocale.trim().isEmpty()) {
-                        dossierLocale = "fr_FR";
-                    }
-
-                    String messageContent;
-                    if (channel == MessageChannel.WHATSAPP) {
-                        messageContent =
-                                getLocalizedTemplateContent(
-                                        templateCode, dossierLocale, templateVariables);
-                    } else if (DEFAULT_TEMPLATE_CODE.equals(templateCode)) {
-                        messageContent = buildFallbackMessage(templateVariables);
-                    } else {
-                        messageContent = interpolateTemplate(templateCode, templateVariables);
-                    }
+    private String skipReason(ReminderKind kind, AppointmentEntity appointment, WorkItem item) {
+        if (appointment.getStatus() != AppointmentStatus.SCHEDULED) {
+            return "Appointment is " + appointment.getStatus();
+        }
+        if (!item.appointmentStart()
+                .equals(AppointmentReminderQueue.startOf(appointment.getStartTime()))) {
+            return "Appointment was rescheduled";
+        }
+        if (appointment.getDossier() == null) {
+            return "Appointment has no dossier";
+        }
+        boolean reminderSent = Boolean.TRUE.equals(appointment.getReminderSent());
+        if (kind == ReminderKind.STANDARD) {
+            return reminderSent ? "Reminder already sent" : null;
+        }
+        if (!reminderSent) {
+            return "Standard reminder was not sent";
+        }
+        return strategyOf(appointment) == ReminderStrategy.MINIMAL
+                ? "MINIMAL reminder strategy"
+                : null;
+    }
 
-                    Map<String, Object> payload = new HashMap<>();
-                    payload.put("body", messageContent);
+    private ReminderJob newJob(
+            ReminderKind kind,
+            AppointmentEntity appointment,
+            WorkItem item,
+            double noShowProbability) {
+        ReminderJob job = new ReminderJob(kind, appointment, item, noShowProbability);
+        job.templateCode = getTemplateCode(appointment);
+        String dossierLocale = appointment.getDossier().getLocale();
+        job.locale =
+                dossierLocale == null || dossierLocale.trim().isEmpty() ? "fr_FR" : dossierLocale;
+        job.variables = buildTemplateVariables(appointment);
+        if (kind == ReminderKind.AGGRESSIVE) {
+            job.variables.put("urgency", "urgent");
+        }
+
+        for (String channelStr : getReminderChannels(appointment)) {
+            job.channels.add(channelStr);
+            MessageChannel channel = parseChannel(channelStr);
+            if (channel == null) {
+                job.unusable.put(channelStr, "Invalid channel: " + channelStr);
+                continue;
+            }
+            String recipientContact = getRecipientContact(appointment, channel);
+            if (recipientContact == null || recipientContact.trim().isEmpty()) {
+                job.unusable.put(
+                        channelStr, String.format("No contact info for channel %s", channel));
+                continue;
+            }
+            job.targets.put(channel, recipientContact);
+        }
+        return job;
+    }
 
-                    outboundMessageService.createOutboundMessage(
-                            dossierId,
-                            channel,
-                            recipientContact,
-                            templateCode,
-                            getLocalizedSubject(dossierLocale),
-                            payload,
-                            "appointment_reminder_" + appointment.getId() + "_" + channel,
-                            ConsentementType.TRANSACTIONNEL);
+    /**
+     * Renders the bodies of a batch: each (template, locale) is resolved and compiled once and
+     * rendered for all of its appointments. The standard reminder uses the localized WhatsApp
+     * template on WhatsApp and the plain template elsewhere; the aggressive one uses the plain
+     * template everywhere. Any template that cannot be rendered falls back to the built-in text.
+     */
+    private void renderBodies(ReminderKind kind, List<ReminderJob> jobs) {
+        boolean localizedOnWhatsApp = kind == ReminderKind.STANDARD;
+        List<ReminderJob> localized = new ArrayList<>();
+        List<ReminderJob> plain = new ArrayList<>();
+        for (ReminderJob job : jobs) {
+            if (localizedOnWhatsApp && job.targets.containsKey(MessageChannel.WHATSAPP)) {
+                localized.add(job);
+            }
+            if (!localizedOnWhatsApp
+                    || job.targets.keySet().stream().anyMatch(c -> c != MessageChannel.WHATSAPP)) {
+                plain.add(job);
+            }
+        }
 
-                    logger.info(
-                            "Successfully queued reminder for appointment {} via {} to {}",
-                            appointment.getId(),
-                            channel,
-                            recipientContact);
+        group(localized, job -> job.templateCode + "|" + job.locale)
+                .forEach(
+                        (key, group) -> {
+                            ReminderJob first = group.get(0);
+                            List<String> bodies =
+                                    renderLocalized(
+                                            first.templateCode, first.locale, variablesOf(group));
+                            for (int i = 0; i < group.size(); i++) {
+                                group.get(i).whatsAppBody = bodies.get(i);
+                            }
+                        });
+
+        group(plain, job -> job.templateCode)
+                .forEach(
+                        (templateCode, group) -> {
+                            List<String> bodies =
+                                    kind == ReminderKind.STANDARD
+                                                    && DEFAULT_TEMPLATE_CODE.equals(templateCode)
+                                            ? fallbackMessages(variablesOf(group))
+                                            : interpolateTemplates(
+                                                    templateCode, variablesOf(group));
+                            for (int i = 0; i < group.size(); i++) {
+                                group.get(i).body = bodies.get(i);
+                            }
+                        });
+    }
 
-                    double noShowProbability = predictNoShowProbability(appointment);
-                    ReminderStrategy strategy = appointment.getReminderStrategy();
+    private BatchDraft toDraft(ReminderJob job) {
+        long startMinute = job.item.appointmentStart().toEpochSecond(ZoneOffset.UTC) / 60;
+        String keyPrefix =
+                (job.kind == ReminderKind.AGGRESSIVE
+                                ? "appointment_aggressive_reminder_"
+                                : "appointment_reminder_")
+                        + job.appointment.getId()
+                        + "_"
+                        + startMinute
+                        + "_";
+        String subject =
+                job.kind == ReminderKind.AGGRESSIVE
+                        ? AGGRESSIVE_SUBJECT
+                        : getLocalizedSubject(job.locale);
+
+        List<ChannelCandidate> candidates = new ArrayList<>();
+        job.targets.forEach(
+                (channel, to) -> {
+                    boolean localized =
+                            channel == MessageChannel.WHATSAPP && job.whatsAppBody != null;
+                    Map<String, Object> payload = new HashMap<>();
+                    payload.put("body", localized ? job.whatsAppBody : job.body);
+                    candidates.add(
+                            new ChannelCandidate(
+                                    channel, to, subject, payload, keyPrefix + channel));
+                });
+        return new BatchDraft(
+                job.appointment.getDossier().getId(),
+                job.templateCode,
+                ConsentementType.TRANSACTIONNEL,
+                candidates);
+    }
 
-                    metricsService.recordReminderSentWithStrategy(
-                            appointment,
-                            channel.name(),
-                            templateCode,
-                            appointment.getAssignedTo(),
-                            "SENT",
-                            LocalDateTime.now(),
-                            strategy != null ? strategy.name() : ReminderStrategy.STANDARD.name(),
-                            noShowProbability);
-
-                    if (channel == MessageChannel.WHATSAPP) {
-                        initializeConversationForReminder(appointment, recipientContact);
-                    }
-
-                    reminderSent = true;
-                    logSuccessfulReminder(appointment, channel, attemptedChannels, failureReasons);
-                    break;
-
-                } catch (ResponseStatusException e) {
-                    String reason = String.format("Consent validation failed: %s", e.getReason());
-                    logger.warn(
-                            "Consent validation failed for appointment {} on channel {}: {}. Trying next channel.",
-                            appointment.getId(),
-                            channel,
-                            e.getReason());
-                    failureReasons.add(reason);
-                    logFallbackEvent(appointment, channel, reason);
-
-                } catch (Exception e) {
-                    String reason = String.format("Error: %s", e.getMessage());
-                    logger.error(
-                            "Failed to send reminder for appointment {} on channel {}: {}. Trying next channel.",
-                            appointment.getId(),
-                            channel,
-                            e.getMessage(),
-                            e);
-                    failureReasons.add(reason);
-                    logFallbackEvent(appointment, channel, reason);
-                }
+    /**
+     * Lists the channels tried, in the appointment's order, up to {@code successChannel} (or all
+     * of them when it is null), with the reason each one before it was not used. For the standard
+     * reminder each of those fallbacks is also logged on the dossier.
+     */
+    private void collectAttempts(
+            ReminderJob job,
+            BatchOutcome result,
+            MessageChannel successChannel,
+            List<String> attemptedChannels,
+            List<String> failureReasons) {
+        for (String channelStr : job.channels) {
+            attemptedChannels.add(channelStr);
+            if (successChannel != null && channelStr.equals(successChannel.name())) {
+                return;
             }
-
-            if (reminderSent) {
-                appointment.setReminderSent(true);
-                appointmentRepository.save(appointment);
-                logger.info("Reminder flagged as sent for appointment {}", appointment.getId());
-            } else {
-                logger.error(
-                        "Failed to send reminder for appointment {} on all channels: {}. Attempted: {}, Failures: {}",
-                        appointment.getId(),
-                        channels,
-                        attemptedChannels,
-                        failureReasons);
-                logAllChannelsFailedEvent(appointment, attemptedChannels, failureReasons);
+            MessageChannel channel = parseChannel(channelStr);
+            String reason = job.unusable.get(channelStr);
+            if (reason == null && channel != null && result.rejections().containsKey(channel)) {
+                reason =
+                        String.format(
+                                "Consent validation failed: %s", result.rejections().get(channel));
+            }
+            if (reason == null) {
+                continue;
             }
+            logger.warn(
+                    "Reminder for appointment {} not sent via {}: {}. Trying next channel.",
+                    job.appointment.getId(),
+                    channelStr,
+                    reason);
+            failureReasons.add(reason);
+            if (channel != null && job.kind == ReminderKind.STANDARD) {
+                logFallbackEvent(job.appointment, channel, reason);
+            }
+        }
+    }
+
+    private void onAllChannelsFailed(ReminderJob job, BatchOutcome result) {
+        List<String> attemptedChannels = new ArrayList<>();
+        List<String> failureReasons = new ArrayList<>();
+        collectAttempts(job, result, null, attemptedChannels, failureReasons);
+        if (job.kind == ReminderKind.STANDARD) {
+            logAllChannelsFailedEvent(job.appointment, attemptedChannels, failureReasons);
+        }
+        logger.error(
+                "Failed to send {} reminder for appointment {} on all channels. Attempted: {},"
+                        + " Failures: {}",
+                job.kind,
+                job.appointment.getId(),
+                attemptedChannels,
+                failureReasons);
+    }
+
+    private static MessageChannel parseChannel(String channel) {
+        try {
+            return MessageChannel.valueOf(channel);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void inTenant(String orgId, Runnable action) {
+        String previousOrgId = TenantContext.getOrgId();
+        boolean tenantContextUpdated = false;
+        if (orgId != null && !orgId.equals(previousOrgId)) {
+            TenantContext.setOrgId(orgId);
+            tenantContextUpdated = true;
+        }
+        try {
+            action.run();
         } finally {
             if (tenantContextUpdated) {
                 if (previousOrgId != null) {
@@ -328,6 +565,28 @@ public void sendReminderWithFallback(AppointmentEntity appointment) {
         }
     }
 
+    private static ReminderStrategy strategyOf(AppointmentEntity appointment) {
+        ReminderStrategy strategy = appointment.getReminderStrategy();
+        return strategy != null ? strategy : ReminderStrategy.STANDARD;
+    }
+
+    private static Map<String, List<ReminderJob>> group(
+            List<ReminderJob> jobs, Function<ReminderJob, String> key) {
+        Map<String, List<ReminderJob>> groups = new LinkedHashMap<>();
+        for (ReminderJob job : jobs) {
+            groups.computeIfAbsent(key.apply(job), k -> new ArrayList<>()).add(job);
+        }
+        return groups;
+    }
+
+    private static List<Map<String, String>> variablesOf(List<ReminderJob> jobs) {
+        List<Map<String, String>> variables = new ArrayList<>(jobs.size());
+        for (ReminderJob job : jobs) {
+            variables.add(job.variables);
+        }
+        return variables;
+    }
+
     private List<String> getReminderChannels(AppointmentEntity appointment) {
         List<String> channels = appointment.getReminderChannels();
         if (channels == null || channels.isEmpty()) {
@@ -466,14 +725,16 @@ private String getLocalizedSubject(String locale) {
         };
     }
 
-    private String getLocalizedTemplateContent(
-            String templateCode, String locale, Map<String, String> variables) {
+    private List<String> renderLocalized(
+            String templateCode, String locale, List<Map<String, String>> variableSets) {
         try {
-            com.example.backend.entity.WhatsAppTemplate template =
-                    whatsAppTemplateService.getLocalizedTemplate(templateCode, locale);
-
-            if (template != null && template.getComponents() != null) {
-                return extractBodyFromTemplate(template, variables);
+            Optional<CompiledTemplate> body =
+                    templateRenderEngine.body(
+                            templateCode,
+                            "locale:" + locale,
+                            () -> whatsAppTemplateService.getLocalizedTemplate(templateCode, locale));
+            if (body.isPresent()) {
+                return templateRenderEngine.renderAll(body.get(), variableSets);
             }
         } catch (Exception e) {
             logger.warn(
@@ -483,55 +744,30 @@ private String getLocalizedTemplateContent(
                     e.getMessage());
         }
 
-        return buildFallbackMessage(variables);
-    }
-
-    private String extractBodyFromTemplate(
-            com.example.backend.entity.WhatsAppTemplate template, Map<String, String> variables) {
-        if (template.getComponents() == null) {
-            return buildFallbackMessage(variables);
-        }
-
-        for (Map<String, Object> component : template.getComponents()) {
-            String type = (String) component.get("type");
-            if ("BODY".equalsIgnoreCase(type)) {
-                String bodyText = (String) component.get("text");
-                if (bodyText != null) {
-                    return replaceTemplateVariables(bodyText, variables);
-                }
-            }
-        }
-
-        return buildFallbackMessage(variables);
+        return fallbackMessages(variableSets);
     }
 
-    private String replaceTemplateVariables(String text, Map<String, String> variables) {
-        if (text == null || variables == null) {
-            return text;
-        }
-
-        String result = text;
-        for (Map.Entry<String, String> entry : variables.entrySet()) {
-            String placeholder = "{{" + entry.getKey() + "}}";
-            String value = entry.getValue() != null ? entry.getValue() : "";
-            result = result.replace(placeholder, value);
-        }
-
-        return result;
-    }
-
-    private String interpolateTemplate(String templateCode, Map<String, String> variables) {
+    private List<String> interpolateTemplates(
+            String templateCode, List<Map<String, String>> variableSets) {
         try {
-            return templateInterpolationService.interpolateTemplate(templateCode, variables);
+            return templateInterpolationService.interpolateTemplateBulk(templateCode, variableSets);
         } catch (Exception e) {
             logger.warn(
                     "Failed to interpolate template '{}': {}. Using fallback message.",
                     templateCode,
                     e.getMessage());
-            return buildFallbackMessage(variables);
+            return fallbackMessages(variableSets);
         }
     }
 
+    private List<String> fallbackMessages(List<Map<String, String>> variableSets) {
+        List<String> messages = new ArrayList<>(variableSets.size());
+        for (Map<String, String> variables : variableSets) {
+            messages.add(buildFallbackMessage(variables));
+        }
+        return messages;
+    }
+
     private String buildFallbackMessage(Map<String, String> variables) {
         return String.format(
                 "Bonjour %s, nous vous rappelons votre rendez-vous prévu le %s à %s pour la visite %s. Votre agent %s sera sur place.",
@@ -723,94 +959,6 @@ private Map<String, Object> buildPredictionFeatures(AppointmentEntity appointmen
         return features;
     }
 
-    private void sendAggressiveReminder(AppointmentEntity appointment, double noShowProbability) {
-        if (appointment.getDossier() == null) {
-            logger.warn("Appointment {} has no dossier. Skipping aggressive reminder.", appointment.getId());
-            return;
-        }
-
-        Long dossierId = appointment.getDossier().getId();
-        List<String> channels = getReminderChannels(appointment);
-        String templateCode = getTemplateCode(appointment);
-        
-        Map<String, String> templateVariables = buildTemplateVariables(appointment);
-        templateVariables.put("urgency", "urgent");
-
-        boolean reminderSent = false;
-        List<String> attemptedChannels = new ArrayList<>();
-        List<String> failureReasons = new ArrayList<>();
-
-        for (String channelStr : channels) {
-            MessageChannel channel;
-            try {
-                channel = MessageChannel.valueOf(channelStr);
-            } catch (IllegalArgumentException e) {
-                logger.warn("Invalid channel '{}' for appointment {}. Skipping.", channelStr, appointment.getId());
-                attemptedChannels.add(channelStr);
-                failureReasons.add("Invalid channel: " + channelStr);
-                continue;
-            }
-
-            attemptedChannels.add(channelStr);
-
-            String recipientContact = getRecipientContact(appointment, channel);
-            if (recipientContact == null || recipientContact.trim().isEmpty()) {
-                String reason = String.format("No contact info for channel %s", channel);
-                logger.warn("Dossier {} has no contact for channel {}. Trying next channel.", 
-                        dossierId, channel);
-                failureReasons.add(reason);
-                continue;
-            }
-
-            try {
-                String messageContent = interpolateTemplate(templateCode, templateVariables);
-                
-                Map<String, Object> payload = new HashMap<>();
-                payload.put("body", messageContent);
-
-                outboundMessageService.createOutboundMessage(
-                        dossierId,
-                        channel,
-                        recipientContact,
-                        templateCode,
-                        "Rappel urgent de rendez-vous",
-                        payload,
-                        "appointment_aggressive_reminder_" + appointment.getId() + "_" + channel,
-                        ConsentementType.TRANSACTIONNEL
-                );
-
-                logger.info("Successfully queued aggressive reminder for appointment {} via {} to {}", 
-                        appointment.getId(), channel, recipientContact);
-                
-                metricsService.recordReminderSentWithStrategy(
-                        appointment,
-                        channel.name(),
-                        templateCode,
-                        appointment.getAssignedTo(),
-                        "SENT",
-                        LocalDateTime.now(),
-                        "AGGRESSIVE",
-                        noShowProbability
-                );
-                
-                reminderSent = true;
-                logAggressiveReminderActivity(appointment, channel, noShowProbability);
-                break;
-
-            } catch (Exception e) {
-                String reason = String.format("Error: %s", e.getMessage());
-                logger.error("Failed to send aggressive reminder for appointment {} on channel {}: {}",
-                        appointment.getId(), channel, e.getMessage(), e);
-                failureReasons.add(reason);
-            }
-        }
-
-        if (!reminderSent) {
-            logger.error("Failed to send aggressive reminder for appointment {} on all channels: {}", 
-                    appointment.getId(), channels);
-        }
-    }
-
     private void logAggressiveReminderActivity(AppointmentEntity appointment, MessageChannel channel, 
             double noShowProbability) {
         if (activityService == null || appointment.getDossier() == null) {
@@ -841,4 +989,32 @@ private void logAggressiveReminderActivity(AppointmentEntity appointment, Messag
                     appointment.getId(), e.getMessage());
         }
     }
+
+    /** One appointment of a dispatch batch, with its resolved channels and rendered bodies. */
+    private static final class ReminderJob {
+
+        private final ReminderKind kind;
+        private final AppointmentEntity appointment;
+        private final WorkItem item;
+        private final double noShowProbability;
+        private final List<String> channels = new ArrayList<>();
+        private final Map<String, String> unusable = new HashMap<>();
+        private final Map<MessageChannel, String> targets = new LinkedHashMap<>();
+        private String templateCode;
+        private String locale;
+        private Map<String, String> variables;
+        private String whatsAppBody;
+        private String body;
+
+        private ReminderJob(
+                ReminderKind kind,
+                AppointmentEntity appointment,
+                WorkItem item,
+                double noShowProbability) {
+            this.kind = kind;
+            this.appointment = appointment;
+            this.item = item;
+            this.noShowProbability = noShowProbability;
+        }
+    }
 }
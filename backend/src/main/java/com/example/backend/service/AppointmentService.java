@@ -17,6 +17,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -34,16 +35,19 @@ public class AppointmentService {
     private final AppointmentMapper appointmentMapper;
     private final MetricsService metricsService;
     private final ActivityService activityService;
+    private final AppointmentReminderQueue reminderQueue;
 
     public AppointmentService(
             AppointmentRepository appointmentRepository,
             AppointmentMapper appointmentMapper,
             MetricsService metricsService,
-            ActivityService activityService) {
+            ActivityService activityService,
+            AppointmentReminderQueue reminderQueue) {
         this.appointmentRepository = appointmentRepository;
         this.appointmentMapper = appointmentMapper;
         this.metricsService = metricsService;
         this.activityService = activityService;
+        this.reminderQueue = reminderQueue;
     }
 
     @Transactional
@@ -67,6 +71,7 @@ public AppointmentResponse create(AppointmentCreateRequest request) {
                         null);
 
         AppointmentEntity saved = appointmentRepository.save(appointment);
+        reminderQueue.schedule(saved);
         metricsService.incrementAppointmentsCreated();
 
         if (saved.getStatus() == AppointmentStatus.SCHEDULED) {
@@ -124,9 +129,15 @@ public AppointmentResponse update(Long id, AppointmentUpdateRequest request) {
         }
 
         AppointmentStatus oldStatus = appointment.getStatus();
+        LocalDateTime oldStartTime = appointment.getStartTime();
 
         appointmentMapper.updateEntity(appointment, request);
 
+        // A rescheduled appointment gets its reminders again
+        if (!Objects.equals(oldStartTime, appointment.getStartTime())) {
+            appointment.setReminderSent(false);
+        }
+
         LocalDateTime startTime = appointment.getStartTime();
         LocalDateTime endTime = appointment.getEndTime();
         String assignedTo = appointment.getAssignedTo();
@@ -135,6 +146,7 @@ public AppointmentResponse update(Long id, AppointmentUpdateRequest request) {
 
         appointment.setUpdatedAt(LocalDateTime.now());
         AppointmentEntity updated = appointmentRepository.save(appointment);
+        reminderQueue.schedule(updated);
         AppointmentResponse response = appointmentMapper.toResponse(updated);
 
         // Business metrics: completion & duration
@@ -0,0 +1,210 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ActivityResponse;
+import com.example.backend.dto.AuditEventResponse;
+import com.example.backend.dto.MessageResponse;
+import com.example.backend.entity.ActivityEntity;
+import com.example.backend.entity.AuditEventEntity;
+import com.example.backend.entity.MessageEntity;
+import com.example.backend.entity.enums.ActivityType;
+import com.example.backend.entity.enums.ActivityVisibility;
+import com.example.backend.entity.enums.AuditAction;
+import com.example.backend.entity.enums.AuditEntityType;
+import com.example.backend.entity.enums.MessageChannel;
+import com.example.backend.entity.enums.MessageDirection;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A row of the cold archive, as written to segment files one JSON object per line. Each record
+ * keeps every column of its row, including the audit columns inherited from {@code BaseEntity}, so
+ * exports read from the archive lose nothing the hot table had.
+ */
+public sealed interface ArchivedRecord
+        permits ArchivedRecord.Message, ArchivedRecord.Activity, ArchivedRecord.AuditEvent {
+
+    Long id();
+
+    /** The time reads filter this record on, which bounds the range of its segment. */
+    @JsonIgnore
+    LocalDateTime occurredAt();
+
+    enum Type {
+        MESSAGE(Message.class),
+        ACTIVITY(Activity.class),
+        AUDIT_EVENT(AuditEvent.class);
+
+        private final Class<? extends ArchivedRecord> recordClass;
+
+        Type(Class<? extends ArchivedRecord> recordClass) {
+            this.recordClass = recordClass;
+        }
+
+        public Class<? extends ArchivedRecord> recordClass() {
+            return recordClass;
+        }
+
+        String pathSegment() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+
+    record Message(
+            Long id,
+            String orgId,
+            Long dossierId,
+            MessageDirection direction,
+            MessageChannel channel,
+            String content,
+            LocalDateTime timestamp,
+            String providerMessageId,
+            String fromAddress,
+            String toAddress,
+            String subject,
+            String htmlContent,
+            String textContent,
+            Map<String, Object> attachmentsJson,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            String createdBy,
+            String updatedBy)
+            implements ArchivedRecord {
+
+        static Message of(MessageEntity message) {
+            return new Message(
+                    message.getId(),
+                    message.getOrgId(),
+                    message.getDossier().getId(),
+                    message.getDirection(),
+                    message.getChannel(),
+                    message.getContent(),
+                    message.getTimestamp(),
+                    message.getProviderMessageId(),
+                    message.getFromAddress(),
+                    message.getToAddress(),
+                    message.getSubject(),
+                    message.getHtmlContent(),
+                    message.getTextContent(),
+                    message.getAttachmentsJson(),
+                    message.getCreatedAt(),
+                    message.getUpdatedAt(),
+                    message.getCreatedBy(),
+                    message.getUpdatedBy());
+        }
+
+        @Override
+        public LocalDateTime occurredAt() {
+            return timestamp;
+        }
+
+        MessageResponse toResponse(String orgId) {
+            MessageResponse response = new MessageResponse();
+            response.setId(id);
+            response.setOrgId(orgId);
+            response.setDossierId(dossierId);
+            response.setChannel(channel);
+            response.setDirection(direction);
+            response.setContent(content);
+            response.setTimestamp(timestamp);
+            response.setCreatedAt(createdAt);
+            return response;
+        }
+    }
+
+    record Activity(
+            Long id,
+            String orgId,
+            Long dossierId,
+            ActivityType type,
+            String content,
+            ActivityVisibility visibility,
+            Map<String, Object> metadata,
+            String createdBy,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            String updatedBy)
+            implements ArchivedRecord {
+
+        static Activity of(ActivityEntity activity) {
+            return new Activity(
+                    activity.getId(),
+                    activity.getOrgId(),
+                    activity.getDossier().getId(),
+                    activity.getType(),
+                    activity.getContent(),
+                    activity.getVisibility(),
+                    activity.getMetadata(),
+                    activity.getCreatedBy(),
+                    activity.getCreatedAt(),
+                    activity.getUpdatedAt(),
+                    activity.getUpdatedBy());
+        }
+
+        @Override
+        public LocalDateTime occurredAt() {
+            return createdAt;
+        }
+
+        ActivityResponse toResponse() {
+            ActivityResponse response = new ActivityResponse();
+            response.setId(id);
+            response.setType(type);
+            response.setContent(content);
+            response.setDossierId(dossierId);
+            response.setVisibility(visibility);
+            response.setCreatedAt(createdAt);
+            response.setCreatedBy(createdBy);
+            response.setMetadata(metadata);
+            return response;
+        }
+    }
+
+    record AuditEvent(
+            Long id,
+            String orgId,
+            AuditEntityType entityType,
+            Long entityId,
+            AuditAction action,
+            String userId,
+            Map<String, Object> diff,
+            LocalDateTime createdAt,
+            LocalDateTime updatedAt,
+            String createdBy,
+            String updatedBy)
+            implements ArchivedRecord {
+
+        static AuditEvent of(AuditEventEntity event) {
+            return new AuditEvent(
+                    event.getId(),
+                    event.getOrgId(),
+                    event.getEntityType(),
+                    event.getEntityId(),
+                    event.getAction(),
+                    event.getUserId(),
+                    event.getDiff(),
+                    event.getCreatedAt(),
+                    event.getUpdatedAt(),
+                    event.getCreatedBy(),
+                    event.getUpdatedBy());
+        }
+
+        @Override
+        public LocalDateTime occurredAt() {
+            return createdAt;
+        }
+
+        AuditEventResponse toResponse() {
+            AuditEventResponse response = new AuditEventResponse();
+            response.setId(id);
+            response.setEntityType(entityType);
+            response.setEntityId(entityId);
+            response.setAction(action);
+            response.setUserId(userId);
+            response.setDiff(diff);
+            response.setCreatedAt(createdAt);
+            return response;
+        }
+    }
+}
@@ -21,9 +21,12 @@
 public class AuditEventService {
 
     private final AuditEventRepository auditEventRepository;
+    private final ColdArchiveReader coldArchiveReader;
 
-    public AuditEventService(AuditEventRepository auditEventRepository) {
+    public AuditEventService(
+            AuditEventRepository auditEventRepository, ColdArchiveReader coldArchiveReader) {
         this.auditEventRepository = auditEventRepository;
+        this.coldArchiveReader = coldArchiveReader;
     }
 
     @Transactional(readOnly = true)
@@ -34,11 +37,15 @@ public Page<AuditEventResponse> listByEntity(
             throw new IllegalStateException("Organization ID not found in context");
         }
 
-        Page<AuditEventEntity> auditEvents =
-                auditEventRepository.findByOrgIdAndEntityTypeAndEntityId(
-                        orgId, entityType, entityId, pageable);
-
-        return auditEvents.map(this::toResponse);
+        return ColdArchiveReader.concat(
+                pageable,
+                coldArchiveReader.auditEventsOf(orgId, entityType, entityId),
+                ColdArchiveReader.newestFirst(pageable),
+                hotPageable ->
+                        auditEventRepository
+                                .findByOrgIdAndEntityTypeAndEntityId(
+                                        orgId, entityType, entityId, hotPageable)
+                                .map(this::toResponse));
     }
 
     @Transactional(readOnly = true)
@@ -48,10 +55,14 @@ public Page<AuditEventResponse> listByDossier(Long dossierId, Pageable pageable)
             throw new IllegalStateException("Organization ID not found in context");
         }
 
-        Page<AuditEventEntity> auditEvents =
-                auditEventRepository.findByOrgIdAndDossierId(orgId, dossierId, pageable);
-
-        return auditEvents.map(this::toResponse);
+        return ColdArchiveReader.concat(
+                pageable,
+                coldArchiveReader.auditEvents(orgId, dossierId, event -> true),
+                ColdArchiveReader.newestFirst(pageable),
+                hotPageable ->
+                        auditEventRepository
+                                .findByOrgIdAndDossierId(orgId, dossierId, hotPageable)
+                                .map(this::toResponse));
     }
 
     @Transactional
@@ -1,5 +1,6 @@
 package com.example.backend.service;
 
+import com.example.backend.aspect.LeasedJob;
 import com.example.backend.entity.Dossier;
 import com.example.backend.entity.LeadScore;
 import com.example.backend.entity.LeadScoringConfig;
@@ -7,14 +8,15 @@
 import com.example.backend.repository.DossierRepository;
 import com.example.backend.repository.LeadScoreRepository;
 import com.example.backend.repository.LeadScoringConfigRepository;
+import com.example.backend.util.ScheduledJobContext;
 import com.example.backend.util.TenantContext;
+import jakarta.persistence.criteria.Predicate;
 import java.time.LocalDateTime;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -24,6 +26,7 @@
 public class AutoQualificationService {
 
     private static final Logger log = LoggerFactory.getLogger(AutoQualificationService.class);
+    private static final int BATCH_SIZE = 100;
 
     private final DossierRepository dossierRepository;
     private final LeadScoringEngine scoringEngine;
@@ -44,6 +47,11 @@ public AutoQualificationService(
         this.transitionService = transitionService;
     }
 
+    @LeasedJob(
+            name = "lead-auto-qualification",
+            partitions = 16,
+            leaseFor = "PT5M",
+            holdAtLeast = "PT30S")
     @Scheduled(
             fixedDelayString = "${lead.qualification.check.interval:300000}",
             initialDelayString = "${lead.qualification.check.initial.delay:60000}")
@@ -52,60 +60,46 @@ public void autoQualifyLeads() {
         log.info("Starting auto-qualification job");
 
         try {
-            Specification<Dossier> spec =
-                    (root, query, criteriaBuilder) ->
-                            criteriaBuilder.equal(root.get("status"), DossierStatus.NEW);
-
-            Pageable pageable = PageRequest.of(0, 100);
-            Page<Dossier> newDossiers = dossierRepository.findAll(spec, pageable);
+            // A partitioned run only queries its own tenants, so they never wait behind others
+            List<String> orgIds = null;
+            if (ScheduledJobContext.isPartitioned()) {
+                orgIds =
+                        ScheduledJobContext.ownedOf(
+                                dossierRepository.findDistinctOrgIdsByStatus(DossierStatus.NEW));
+                if (orgIds.isEmpty()) {
+                    log.info("Auto-qualification job completed. No new dossiers in owned orgs");
+                    return;
+                }
+            }
 
             int qualifiedCount = 0;
             int scoredCount = 0;
 
-            for (Dossier dossier : newDossiers.getContent()) {
-                try {
-                    String originalOrgId = TenantContext.getOrgId();
-                    TenantContext.setOrgId(dossier.getOrgId());
-
+            long afterId = 0;
+            List<Dossier> batch;
+            do {
+                batch =
+                        dossierRepository
+                                .findAll(
+                                        newDossiersAfter(orgIds, afterId),
+                                        PageRequest.of(0, BATCH_SIZE, Sort.by("id")))
+                                .getContent();
+                for (Dossier dossier : batch) {
+                    afterId = dossier.getId();
                     try {
-                        LeadScore score = scoringEngine.calculateScore(dossier);
-                        scoredCount++;
-
-                        LeadScoringConfig config =
-                                configRepository.findActiveConfig(dossier.getOrgId()).orElse(null);
-
-                        if (config != null
-                                && score.getTotalScore()
-                                        >= config.getAutoQualificationThreshold()) {
-                            DossierStatus currentStatus = dossier.getStatus();
-                            dossier.setStatus(DossierStatus.QUALIFYING);
-                            dossier.setUpdatedAt(LocalDateTime.now());
-                            dossierRepository.save(dossier);
-
-                            transitionService.recordTransition(
-                                    dossier,
-                                    currentStatus,
-                                    DossierStatus.QUALIFYING,
-                                    "system",
-                                    "Auto-qualified based on lead score: " + score.getTotalScore());
-
+                        if (autoQualify(dossier)) {
                             qualifiedCount++;
-                            log.info(
-                                    "Auto-qualified dossier {} with score {}",
-                                    dossier.getId(),
-                                    score.getTotalScore());
                         }
-                    } finally {
-                        TenantContext.setOrgId(originalOrgId);
+                        scoredCount++;
+                    } catch (Exception e) {
+                        log.error(
+                                "Error auto-qualifying dossier {}: {}",
+                                dossier.getId(),
+                                e.getMessage(),
+                                e);
                     }
-                } catch (Exception e) {
-                    log.error(
-                            "Error auto-qualifying dossier {}: {}",
-                            dossier.getId(),
-                            e.getMessage(),
-                            e);
                 }
-            }
+            } while (batch.size() == BATCH_SIZE);
 
             log.info(
                     "Auto-qualification job completed. Scored: {}, Qualified: {}",
@@ -116,6 +110,54 @@ public void autoQualifyLeads() {
         }
     }
 
+    /** Scores one new dossier and moves it to QUALIFYING when it reaches the threshold. */
+    private boolean autoQualify(Dossier dossier) {
+        String originalOrgId = TenantContext.getOrgId();
+        TenantContext.setOrgId(dossier.getOrgId());
+
+        try {
+            LeadScore score = scoringEngine.calculateScore(dossier);
+            ScheduledJobContext.addItems(1);
+
+            LeadScoringConfig config =
+                    configRepository.findActiveConfig(dossier.getOrgId()).orElse(null);
+
+            if (config == null
+                    || score.getTotalScore() < config.getAutoQualificationThreshold()) {
+                return false;
+            }
+            DossierStatus currentStatus = dossier.getStatus();
+            dossier.setStatus(DossierStatus.QUALIFYING);
+            dossier.setUpdatedAt(LocalDateTime.now());
+            dossierRepository.save(dossier);
+
+            transitionService.recordTransition(
+                    dossier,
+                    currentStatus,
+                    DossierStatus.QUALIFYING,
+                    "system",
+                    "Auto-qualified based on lead score: " + score.getTotalScore());
+
+            log.info(
+                    "Auto-qualified dossier {} with score {}",
+                    dossier.getId(),
+                    score.getTotalScore());
+            return true;
+        } finally {
+            TenantContext.setOrgId(originalOrgId);
+        }
+    }
+
+    private static Specification<Dossier> newDossiersAfter(List<String> orgIds, long afterId) {
+        return (root, query, cb) -> {
+            Predicate predicate =
+                    cb.and(
+                            cb.equal(root.get("status"), DossierStatus.NEW),
+                            cb.greaterThan(root.get("id"), afterId));
+            return orgIds == null ? predicate : cb.and(predicate, root.get("orgId").in(orgIds));
+        };
+    }
+
     @Transactional
     public void recalculateAllScores(String orgId) {
         log.info("Recalculating all lead scores for org: {}", orgId);
@@ -0,0 +1,377 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.UserBehaviorPattern;
+import com.example.backend.repository.UserBehaviorPatternRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Write-behind buffer for {@code user_behavior_pattern}.
+ *
+ * <p>Tracked actions are folded in memory into one frequency delta per (org, user, action, context)
+ * and written every {@code smart-suggestions.behavior.flush-interval-ms} as a batched UPDATE of
+ * existing rows followed by a batched INSERT of new ones, in one transaction, so rapid clicks on
+ * the same pattern cost one row write per interval instead of a lookup and a save each. The buffer
+ * holds at most {@code smart-suggestions.behavior.buffer.max-keys} distinct patterns; actions on
+ * new patterns beyond that are dropped and counted in {@code behavior_events_dropped_total}.
+ * Pending deltas are lost if the node dies between flushes, which is acceptable for suggestion
+ * ranking.
+ *
+ * <p>A flush that fails transiently has written nothing and is re-queued whole. Any other failure
+ * is retried row by row, each row in its own transaction, and rows that still fail are dropped
+ * and counted in {@code behavior_rows_failed_total}, so one bad row cannot block the buffer.
+ *
+ * <p>It also serves each user's top patterns from a bounded cache, loaded once from the database
+ * and bumped in place as actions are recorded.
+ */
+@Component
+public class BehaviorTrackingBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(BehaviorTrackingBuffer.class);
+
+    private static final String UPDATE_SQL =
+            "UPDATE user_behavior_pattern SET frequency_count = frequency_count + ?,"
+                    + " last_performed_at = ?, updated_at = ?"
+                    + " WHERE org_id = ? AND user_id = ? AND action_type = ?"
+                    + " AND context_type IS NOT DISTINCT FROM CAST(? AS VARCHAR(100))"
+                    + " AND context_id IS NOT DISTINCT FROM CAST(? AS BIGINT)";
+    private static final String INSERT_SQL =
+            "INSERT INTO user_behavior_pattern (org_id, user_id, action_type, context_type,"
+                    + " context_id, frequency_count, last_performed_at, created_at, updated_at,"
+                    + " created_by, updated_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final Comparator<PatternStat> MOST_FREQUENT_FIRST =
+            Comparator.comparingInt(PatternStat::frequencyCount)
+                    .thenComparing(PatternStat::lastPerformedAt)
+                    .reversed();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserBehaviorPatternRepository behaviorRepository;
+    private final int maxKeys;
+    private final int profileSize;
+
+    private final Map<PatternKey, Delta> pending = new ConcurrentHashMap<>();
+    private final Cache<UserKey, List<PatternStat>> profiles;
+
+    private final Counter bufferedCounter;
+    private final Counter droppedCounter;
+    private final Counter failedRowsCounter;
+    private final DistributionSummary flushedRows;
+    private final Timer flushTimer;
+
+    public BehaviorTrackingBuffer(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            UserBehaviorPatternRepository behaviorRepository,
+            MeterRegistry meterRegistry,
+            @Value("${smart-suggestions.behavior.buffer.max-keys:50000}") int maxKeys,
+            @Value("${smart-suggestions.behavior.profile.size:10}") int profileSize,
+            @Value("${smart-suggestions.behavior.profile.max-users:10000}") long maxUsers,
+            @Value("${smart-suggestions.behavior.profile.ttl:PT30M}") Duration profileTtl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.behaviorRepository = behaviorRepository;
+        this.maxKeys = maxKeys;
+        this.profileSize = profileSize;
+        this.profiles =
+                Caffeine.newBuilder()
+                        .maximumSize(maxUsers)
+                        .expireAfterAccess(profileTtl)
+                        .build();
+
+        this.bufferedCounter =
+                Counter.builder("behavior_events_buffered_total")
+                        .description("Tracked user actions accepted into the behavior buffer")
+                        .register(meterRegistry);
+        this.droppedCounter =
+                Counter.builder("behavior_events_dropped_total")
+                        .description("Tracked user actions dropped because the buffer was full")
+                        .register(meterRegistry);
+        this.failedRowsCounter =
+                Counter.builder("behavior_rows_failed_total")
+                        .description("Behavior pattern rows dropped after failing to write")
+                        .register(meterRegistry);
+        this.flushedRows =
+                DistributionSummary.builder("behavior_flush_rows")
+                        .description("Behavior pattern rows written per flush")
+                        .register(meterRegistry);
+        this.flushTimer =
+                Timer.builder("behavior_flush_duration")
+                        .description("Duration of behavior buffer flushes")
+                        .register(meterRegistry);
+        Gauge.builder("behavior_buffer_keys", pending, Map::size)
+                .description("Distinct behavior patterns waiting to be flushed")
+                .register(meterRegistry);
+    }
+
+    /** Buffers one occurrence; returns false when it was dropped because the buffer is full. */
+    public boolean record(
+            String orgId, String userId, String actionType, String contextType, Long contextId) {
+        PatternKey key = new PatternKey(orgId, userId, actionType, contextType, contextId);
+        LocalDateTime now = LocalDateTime.now();
+
+        if (pending.size() >= maxKeys && !pending.containsKey(key)) {
+            droppedCounter.increment();
+            return false;
+        }
+        // Deltas are only mutated inside compute so a concurrent drain never loses an increment
+        pending.compute(key, (k, delta) -> delta == null ? new Delta(1, now) : delta.plus(1, now));
+        bufferedCounter.increment();
+
+        List<PatternStat> profile = profiles.getIfPresent(new UserKey(orgId, userId));
+        if (profile != null) {
+            synchronized (profile) {
+                for (int i = 0; i < profile.size(); i++) {
+                    PatternStat stat = profile.get(i);
+                    if (stat.matches(key)) {
+                        profile.set(i, stat.bumped(now));
+                        profile.sort(MOST_FREQUENT_FIRST);
+                        break;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /** The user's most frequent patterns, most frequent first, at most {@code limit}. */
+    public List<PatternStat> topPatterns(String orgId, String userId, int limit) {
+        List<PatternStat> profile =
+                profiles.get(new UserKey(orgId, userId), k -> loadProfile(orgId, userId));
+        synchronized (profile) {
+            return List.copyOf(profile.subList(0, Math.min(limit, profile.size())));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${smart-suggestions.behavior.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<PatternKey> keys = new ArrayList<>();
+        List<Delta> deltas = new ArrayList<>();
+        for (PatternKey key : pending.keySet()) {
+            Delta delta = pending.remove(key);
+            if (delta != null) {
+                keys.add(key);
+                deltas.add(delta);
+            }
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        flushTimer.record(() -> writeAll(keys, deltas));
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void writeAll(List<PatternKey> keys, List<Delta> deltas) {
+        try {
+            Set<UserKey> newPatternUsers =
+                    transactionTemplate.execute(status -> write(keys, deltas));
+            flushedRows.record(keys.size());
+            // A new pattern may now rank in its user's top list: reload those profiles lazily
+            profiles.invalidateAll(newPatternUsers);
+        } catch (TransientDataAccessException | CannotCreateTransactionException e) {
+            log.warn(
+                    "Behavior buffer flush failed for {} patterns, re-queueing: {}",
+                    keys.size(),
+                    e.getMessage());
+            requeue(keys, deltas, 0);
+        } catch (RuntimeException e) {
+            log.warn(
+                    "Behavior buffer flush failed for {} patterns, writing row by row: {}",
+                    keys.size(),
+                    e.getMessage());
+            writeEach(keys, deltas);
+        }
+    }
+
+    private void writeEach(List<PatternKey> keys, List<Delta> deltas) {
+        int written = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            PatternKey key = keys.get(i);
+            try {
+                writeRow(key, deltas.get(i));
+                written++;
+            } catch (TransientDataAccessException | CannotCreateTransactionException e) {
+                log.warn(
+                        "Behavior buffer flush interrupted, re-queueing {} patterns: {}",
+                        keys.size() - i,
+                        e.getMessage());
+                requeue(keys, deltas, i);
+                break;
+            } catch (RuntimeException e) {
+                log.warn(
+                        "Dropping behavior pattern {} of org {}: {}",
+                        key.actionType(),
+                        key.orgId(),
+                        e.getMessage());
+                failedRowsCounter.increment();
+            }
+            profiles.invalidate(new UserKey(key.orgId(), key.userId()));
+        }
+        flushedRows.record(written);
+    }
+
+    private void writeRow(PatternKey key, Delta delta) {
+        try {
+            transactionTemplate.executeWithoutResult(
+                    status -> write(List.of(key), List.of(delta)));
+        } catch (DataIntegrityViolationException race) {
+            // Another node may have inserted the pattern first; it is an update now
+            transactionTemplate.executeWithoutResult(
+                    status -> write(List.of(key), List.of(delta)));
+        }
+    }
+
+    private void requeue(List<PatternKey> keys, List<Delta> deltas, int from) {
+        for (int i = from; i < keys.size(); i++) {
+            pending.merge(keys.get(i), deltas.get(i), Delta::merge);
+        }
+    }
+
+    /** Writes the deltas; returns the users that gained a new pattern. */
+    private Set<UserKey> write(List<PatternKey> keys, List<Delta> deltas) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> updates = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            PatternKey key = keys.get(i);
+            Delta delta = deltas.get(i);
+            updates.add(
+                    new Object[] {
+                        delta.count(),
+                        Timestamp.valueOf(delta.lastPerformedAt()),
+                        now,
+                        key.orgId(),
+                        key.userId(),
+                        key.actionType(),
+                        key.contextType(),
+                        key.contextId()
+                    });
+        }
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+
+        List<Object[]> inserts = new ArrayList<>();
+        Set<UserKey> newPatternUsers = new HashSet<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (updated[i] == 0) {
+                PatternKey key = keys.get(i);
+                Delta delta = deltas.get(i);
+                inserts.add(
+                        new Object[] {
+                            key.orgId(),
+                            key.userId(),
+                            key.actionType(),
+                            key.contextType(),
+                            key.contextId(),
+                            delta.count(),
+                            Timestamp.valueOf(delta.lastPerformedAt()),
+                            now,
+                            now,
+                            key.userId(),
+                            key.userId()
+                        });
+                newPatternUsers.add(new UserKey(key.orgId(), key.userId()));
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        }
+        return newPatternUsers;
+    }
+
+    private List<PatternStat> loadProfile(String orgId, String userId) {
+        List<PatternStat> profile = new ArrayList<>(profileSize);
+        for (UserBehaviorPattern pattern :
+                behaviorRepository.findTopPatternsByUser(
+                        orgId, userId, PageRequest.of(0, profileSize))) {
+            profile.add(PatternStat.of(pattern));
+        }
+        return profile;
+    }
+
+    int pendingSize() {
+        return pending.size();
+    }
+
+    private record PatternKey(
+            String orgId, String userId, String actionType, String contextType, Long contextId) {}
+
+    private record UserKey(String orgId, String userId) {}
+
+    private record Delta(int count, LocalDateTime lastPerformedAt) {
+
+        Delta plus(int occurrences, LocalDateTime at) {
+            return new Delta(
+                    count + occurrences, at.isAfter(lastPerformedAt) ? at : lastPerformedAt);
+        }
+
+        static Delta merge(Delta a, Delta b) {
+            return a.plus(b.count(), b.lastPerformedAt());
+        }
+    }
+
+    /** A behavior pattern as seen by suggestion ranking. */
+    public record PatternStat(
+            String actionType,
+            String contextType,
+            Long contextId,
+            int frequencyCount,
+            LocalDateTime lastPerformedAt) {
+
+        static PatternStat of(UserBehaviorPattern pattern) {
+            return new PatternStat(
+                    pattern.getActionType(),
+                    pattern.getContextType(),
+                    pattern.getContextId(),
+                    pattern.getFrequencyCount() != null ? pattern.getFrequencyCount() : 0,
+                    pattern.getLastPerformedAt());
+        }
+
+        boolean matches(PatternKey key) {
+            return actionType.equals(key.actionType())
+                    && Objects.equals(contextType, key.contextType())
+                    && Objects.equals(contextId, key.contextId());
+        }
+
+        PatternStat bumped(LocalDateTime at) {
+            return new PatternStat(actionType, contextType, contextId, frequencyCount + 1, at);
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.example.backend.service;
+
+import com.example.backend.dto.ActivityResponse;
+import com.example.backend.dto.AuditEventResponse;
+import com.example.backend.dto.MessageResponse;
+import com.example.backend.entity.enums.ActivityVisibility;
+import com.example.backend.entity.enums.AuditEntityType;
+import com.example.backend.entity.enums.MessageChannel;
+import com.example.backend.entity.enums.MessageDirection;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+/**
+ * Reads the cold archive written by {@link ColdArchiveService}, so that services answer requests
+ * for old ranges as if the rows were still in the hot tables.
+ *
+ * <p>Segments are looked up in {@code archive_segment} by organization, record type, dossier and
+ * time range, and only the overlapping ones are fetched from file storage. A segment never
+ * changes once written, so decoded segments are cached, bounded by their total record count.
+ * Once an organization has archived records of a type, that is cached too. The negative answer is
+ * not: any node may archive at any time, and a cached "nothing archived" would hide the rows it
+ * just moved out of the hot table, so timelines of tenants that never archived cost one indexed
+ * lookup.
+ */
+@Service
+public class ColdArchiveReader {
+
+    static final int LOOKUP_CHUNK = 1000;
+
+    private static final String HAS_SEGMENTS_SQL =
+            "SELECT id FROM archive_segment WHERE org_id = ? AND record_type = ?"
+                    + " FETCH FIRST 1 ROWS ONLY";
+    private static final String SEGMENTS_SQL =
+            "SELECT id, storage_path FROM archive_segment WHERE org_id = ? AND record_type = ?";
+
+    // Audited entities that belong to one dossier, as aggregated by the dossier audit trail
+    private static final Map<AuditEntityType, String> DOSSIER_OWNED_TABLES =
+            Map.of(
+                    AuditEntityType.PARTIE_PRENANTE, "partie_prenante",
+                    AuditEntityType.MESSAGE, "message",
+                    AuditEntityType.APPOINTMENT, "appointment");
+
+    record SegmentRef(Long id, String storagePath) {}
+
+    record Scope(String orgId, ArchivedRecord.Type type) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FileStorageStrategy fileStorageStrategy;
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, List<ArchivedRecord>> segments;
+    private final Cache<Scope, Boolean> archivedScopes;
+
+    public ColdArchiveReader(
+            JdbcTemplate jdbcTemplate,
+            FileStorageStrategy fileStorageStrategy,
+            ObjectMapper objectMapper,
+            @Value("${archive.cold.read-cache.max-records:200000}") long maxCachedRecords,
+            @Value("${archive.cold.read-cache.ttl:PT10M}") Duration cacheTtl,
+            @Value("${archive.cold.scope-cache.ttl:PT1M}") Duration scopeTtl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fileStorageStrategy = fileStorageStrategy;
+        this.objectMapper = objectMapper;
+        this.segments =
+                Caffeine.newBuilder()
+                        .maximumWeight(maxCachedRecords)
+                        .weigher((Long id, List<ArchivedRecord> records) -> records.size())
+                        .expireAfterAccess(cacheTtl)
+                        .build();
+        this.archivedScopes = Caffeine.newBuilder().expireAfterWrite(scopeTtl).build();
+    }
+
+    /** Archived messages of a dossier matching the timeline filters, oldest first. */
+    public List<MessageResponse> messages(
+            String orgId,
+            Long dossierId,
+            MessageChannel channel,
+            MessageDirection direction,
+            LocalDateTime from,
+            LocalDateTime to) {
+        return read(orgId, ArchivedRecord.Type.MESSAGE, dossierId, from, to).stream()
+                .map(ArchivedRecord.Message.class::cast)
+                .filter(message -> channel == null || message.channel() == channel)
+                .filter(message -> direction == null || message.direction() == direction)
+                .map(message -> message.toResponse(orgId))
+                .toList();
+    }
+
+    /** Archived activities of a dossier, oldest first. */
+    public List<ActivityResponse> activities(
+            String orgId,
+            Long dossierId,
+            ActivityVisibility visibility,
+            LocalDateTime from,
+            LocalDateTime to) {
+        return read(orgId, ArchivedRecord.Type.ACTIVITY, dossierId, from, to).stream()
+                .map(ArchivedRecord.Activity.class::cast)
+                .filter(activity -> visibility == null || activity.visibility() == visibility)
+                .map(ArchivedRecord.Activity::toResponse)
+                .toList();
+    }
+
+    /** Archived audit events filed under a dossier that match {@code filter}, oldest first. */
+    public List<AuditEventResponse> auditEvents(
+            String orgId, Long dossierId, Predicate<ArchivedRecord.AuditEvent> filter) {
+        return read(orgId, ArchivedRecord.Type.AUDIT_EVENT, dossierId, null, null).stream()
+                .map(ArchivedRecord.AuditEvent.class::cast)
+                .filter(filter)
+                .map(ArchivedRecord.AuditEvent::toResponse)
+                .toList();
+    }
+
+    /**
+     * Archived audit events of one entity, oldest first. They are filed under the dossier the
+     * entity belongs to, so only entities of a dossier's audit trail can have any.
+     */
+    public List<AuditEventResponse> auditEventsOf(
+            String orgId, AuditEntityType entityType, Long entityId) {
+        if (!hasArchived(orgId, ArchivedRecord.Type.AUDIT_EVENT)) {
+            return List.of();
+        }
+        Long dossierId = dossierIds(entityType, List.of(entityId)).get(entityId);
+        if (dossierId == null) {
+            return List.of();
+        }
+        return auditEvents(
+                orgId,
+                dossierId,
+                event -> event.entityType() == entityType && entityId.equals(event.entityId()));
+    }
+
+    /**
+     * Streams every archived record of an organization and type, segment by segment, without
+     * going through the cache; meant for exports.
+     */
+    public void forEachArchived(
+            String orgId, ArchivedRecord.Type type, Consumer<ArchivedRecord> consumer) {
+        for (SegmentRef segment :
+                jdbcTemplate.query(
+                        SEGMENTS_SQL + " ORDER BY range_start",
+                        (rs, rowNum) -> new SegmentRef(rs.getLong(1), rs.getString(2)),
+                        orgId,
+                        type.name())) {
+            decode(segment.storagePath(), type, consumer);
+        }
+    }
+
+    /**
+     * Dossier of each given audited entity, for the entity types whose audit events show in a
+     * dossier's audit trail; entities not found are left out.
+     */
+    public Map<Long, Long> dossierIds(AuditEntityType entityType, Collection<Long> entityIds) {
+        Map<Long, Long> dossiers = new HashMap<>();
+        if (entityType == AuditEntityType.DOSSIER) {
+            entityIds.forEach(id -> dossiers.put(id, id));
+            return dossiers;
+        }
+        String table = DOSSIER_OWNED_TABLES.get(entityType);
+        if (table == null) {
+            return dossiers;
+        }
+        List<Long> ids = List.copyOf(entityIds);
+        for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + LOOKUP_CHUNK, ids.size()));
+            String sql =
+                    "SELECT id, dossier_id FROM "
+                            + table
+                            + " WHERE id IN ("
+                            + String.join(",", Collections.nCopies(chunk.size(), "?"))
+                            + ")";
+            jdbcTemplate.query(
+                    sql,
+                    (RowCallbackHandler) rs -> dossiers.put(rs.getLong(1), rs.getLong(2)),
+                    chunk.toArray());
+        }
+        return dossiers;
+    }
+
+    /**
+     * One page over a query's hot rows followed or preceded by its archived records, which are
+     * older than every hot row: they come after the hot rows when the page is newest first and
+     * before them otherwise. The total counts both.
+     */
+    public static <T> Page<T> concat(
+            Pageable pageable,
+            List<T> archivedOldestFirst,
+            boolean newestFirst,
+            Function<Pageable, Page<T>> hot) {
+        if (archivedOldestFirst.isEmpty()) {
+            return hot.apply(pageable);
+        }
+        List<T> archived = newestFirst ? archivedOldestFirst.reversed() : archivedOldestFirst;
+        if (pageable.isUnpaged()) {
+            List<T> content = new ArrayList<>(hot.apply(pageable).getContent());
+            if (newestFirst) {
+                content.addAll(archived);
+            } else {
+                content.addAll(0, archived);
+            }
+            return new PageImpl<>(content, pageable, content.size());
+        }
+
+        long offset = pageable.getOffset();
+        int size = pageable.getPageSize();
+        List<T> content = new ArrayList<>(size);
+        long hotTotal;
+        if (newestFirst) {
+            Page<T> hotPage = hot.apply(pageable);
+            hotTotal = hotPage.getTotalElements();
+            content.addAll(hotPage.getContent());
+            appendSlice(content, archived, Math.max(0, offset - hotTotal), size);
+        } else {
+            appendSlice(content, archived, offset, size);
+            int hotOffset = (int) Math.max(0, offset - archived.size());
+            int missing = size - content.size();
+            // Hot rows ahead of the slice are fetched and skipped; ascending reads are rare
+            Page<T> hotPage =
+                    hot.apply(
+                            PageRequest.of(
+                                    0, hotOffset + Math.max(missing, 1), pageable.getSort()));
+            hotTotal = hotPage.getTotalElements();
+            hotPage.getContent().stream().skip(hotOffset).limit(missing).forEach(content::add);
+        }
+        return new PageImpl<>(content, pageable, hotTotal + archived.size());
+    }
+
+    /** Whether a page sorted this way lists the newest rows first. */
+    public static boolean newestFirst(Pageable pageable) {
+        return pageable.getSort().stream().findFirst().map(Sort.Order::isDescending).orElse(true);
+    }
+
+    private List<ArchivedRecord> read(
+            String orgId,
+            ArchivedRecord.Type type,
+            Long dossierId,
+            LocalDateTime from,
+            LocalDateTime to) {
+        if (dossierId == null || !hasArchived(orgId, type)) {
+            return List.of();
+        }
+        StringBuilder sql = new StringBuilder(SEGMENTS_SQL).append(" AND dossier_id = ?");
+        List<Object> args = new ArrayList<>(List.of(orgId, type.name(), dossierId));
+        if (from != null) {
+            sql.append(" AND range_end >= ?");
+            args.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND range_start <= ?");
+            args.add(to);
+        }
+        List<ArchivedRecord> records = new ArrayList<>();
+        for (SegmentRef segment :
+                jdbcTemplate.query(
+                        sql.toString(),
+                        (rs, rowNum) -> new SegmentRef(rs.getLong(1), rs.getString(2)),
+                        args.toArray())) {
+            records.addAll(segments.get(segment.id(), id -> decode(segment.storagePath(), type)));
+        }
+        return records.stream()
+                .filter(record -> from == null || !record.occurredAt().isBefore(from))
+                .filter(record -> to == null || !record.occurredAt().isAfter(to))
+                .sorted(
+                        Comparator.comparing(ArchivedRecord::occurredAt)
+                                .thenComparing(ArchivedRecord::id))
+                .toList();
+    }
+
+    private boolean hasArchived(String orgId, ArchivedRecord.Type type) {
+        Scope scope = new Scope(orgId, type);
+        if (archivedScopes.getIfPresent(scope) != null) {
+            return true;
+        }
+        boolean archived =
+                !jdbcTemplate
+                        .queryForList(HAS_SEGMENTS_SQL, Long.class, orgId, type.name())
+                        .isEmpty();
+        if (archived) {
+            archivedScopes.put(scope, Boolean.TRUE);
+        }
+        return archived;
+    }
+
+    private List<ArchivedRecord> decode(String storagePath, ArchivedRecord.Type type) {
+        List<ArchivedRecord> records = new ArrayList<>();
+        decode(storagePath, type, records::add);
+        return List.copyOf(records);
+    }
+
+    private void decode(
+            String storagePath, ArchivedRecord.Type type, Consumer<ArchivedRecord> consumer) {
+        try (InputStream in = new GZIPInputStream(fileStorageStrategy.retrieve(storagePath));
+                MappingIterator<ArchivedRecord> records =
+                        objectMapper.readerFor(type.recordClass()).readValues(in)) {
+            while (records.hasNext()) {
+                consumer.accept(records.next());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read archive segment " + storagePath, e);
+        }
+    }
+
+    private static <T> void appendSlice(List<T> content, List<T> source, long from, int size) {
+        for (long i = from; i < source.size() && content.size() < size; i++) {
+            content.add(source.get((int) i));
+        }
+    }
+}
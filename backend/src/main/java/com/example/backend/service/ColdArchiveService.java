@@ -0,0 +1,336 @@
+package com.example.backend.service;
+
+import com.example.backend.aspect.LeasedJob;
+import com.example.backend.entity.OrganizationSettings;
+import com.example.backend.entity.enums.AuditEntityType;
+import com.example.backend.repository.ActivityRepository;
+import com.example.backend.repository.AuditEventRepository;
+import com.example.backend.repository.DossierRepository;
+import com.example.backend.repository.MessageRepository;
+import com.example.backend.repository.OrganizationSettingsRepository;
+import com.example.backend.util.ScheduledJobContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves messages, activities and audit events older than their organization's archive horizon
+ * out of the hot tables into the cold archive served by {@link ColdArchiveReader}.
+ *
+ * <p>Rows are read in id order, a batch at a time, and written per dossier as gzipped NDJSON
+ * segments through {@link FileStorageStrategy}. Each segment is then indexed in {@code
+ * archive_segment} and its rows deleted in one transaction. A segment's path derives from its
+ * first and last ids, so a run interrupted between upload and commit rewrites the same object.
+ * Audit events go first, while the messages they refer to can still be tied to their dossier;
+ * events tied to no dossier are archived at organization level, where only exports read them.
+ *
+ * <p>The horizon is {@code archive.horizonMonths} in the organization's settings, else {@code
+ * archive.cold.default-horizon-months}; 0 keeps everything hot.
+ */
+@Service
+public class ColdArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(ColdArchiveService.class);
+
+    static final String INSERT_SEGMENT_SQL =
+            "INSERT INTO archive_segment (org_id, record_type, dossier_id, range_start,"
+                    + " range_end, record_count, size_bytes, storage_path, created_at)"
+                    + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final List<ArchivedRecord.Type> ARCHIVE_ORDER =
+            List.of(
+                    ArchivedRecord.Type.AUDIT_EVENT,
+                    ArchivedRecord.Type.ACTIVITY,
+                    ArchivedRecord.Type.MESSAGE);
+
+    record Segment(
+            Long dossierId,
+            LocalDateTime rangeStart,
+            LocalDateTime rangeEnd,
+            int recordCount,
+            long sizeBytes,
+            String storagePath) {}
+
+    private final MessageRepository messageRepository;
+    private final ActivityRepository activityRepository;
+    private final AuditEventRepository auditEventRepository;
+    private final DossierRepository dossierRepository;
+    private final OrganizationSettingsRepository organizationSettingsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final FileStorageStrategy fileStorageStrategy;
+    private final ColdArchiveReader coldArchiveReader;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int defaultHorizonMonths;
+    private final int batchSize;
+    private final String archivePath;
+
+    public ColdArchiveService(
+            MessageRepository messageRepository,
+            ActivityRepository activityRepository,
+            AuditEventRepository auditEventRepository,
+            DossierRepository dossierRepository,
+            OrganizationSettingsRepository organizationSettingsRepository,
+            JdbcTemplate jdbcTemplate,
+            FileStorageStrategy fileStorageStrategy,
+            ColdArchiveReader coldArchiveReader,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager,
+            @Value("${archive.cold.enabled:false}") boolean enabled,
+            @Value("${archive.cold.default-horizon-months:24}") int defaultHorizonMonths,
+            @Value("${archive.cold.batch-size:5000}") int batchSize,
+            @Value("${archive.cold.path:archive/cold}") String archivePath) {
+        this.messageRepository = messageRepository;
+        this.activityRepository = activityRepository;
+        this.auditEventRepository = auditEventRepository;
+        this.dossierRepository = dossierRepository;
+        this.organizationSettingsRepository = organizationSettingsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.fileStorageStrategy = fileStorageStrategy;
+        this.coldArchiveReader = coldArchiveReader;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.defaultHorizonMonths = defaultHorizonMonths;
+        this.batchSize = batchSize;
+        this.archivePath = archivePath;
+    }
+
+    @LeasedJob(name = "cold-archive", partitions = 16, leaseFor = "PT4H", holdAtLeast = "PT5M")
+    @Scheduled(cron = "${archive.cold.cron:0 0 3 * * ?}")
+    public void archiveExpired() {
+        if (!enabled) {
+            return;
+        }
+        archiveExpired(LocalDateTime.now());
+    }
+
+    void archiveExpired(LocalDateTime now) {
+        long archived = 0;
+        for (String orgId : dossierRepository.findDistinctOrgIds()) {
+            if (!ScheduledJobContext.owns(orgId)) {
+                continue;
+            }
+            int horizonMonths = horizonMonths(orgId);
+            if (horizonMonths <= 0) {
+                continue;
+            }
+            LocalDateTime before = now.minusMonths(horizonMonths);
+            for (ArchivedRecord.Type type : ARCHIVE_ORDER) {
+                try {
+                    archived += archive(orgId, type, before);
+                } catch (RuntimeException e) {
+                    log.error("Cold archive of {} failed for org {}", type, orgId, e);
+                    meterRegistry
+                            .counter("cold_archive_failures_total", "type", metricTag(type))
+                            .increment();
+                }
+            }
+        }
+        ScheduledJobContext.addItems(archived);
+        log.info("Cold archive done: {} records archived", archived);
+    }
+
+    int horizonMonths(String orgId) {
+        return organizationSettingsRepository
+                .findByOrgId(orgId)
+                .map(OrganizationSettings::getSettings)
+                .map(settings -> settings.get("archive"))
+                .filter(Map.class::isInstance)
+                .map(archive -> ((Map<?, ?>) archive).get("horizonMonths"))
+                .filter(Number.class::isInstance)
+                .map(months -> ((Number) months).intValue())
+                .orElse(defaultHorizonMonths);
+    }
+
+    private long archive(String orgId, ArchivedRecord.Type type, LocalDateTime before) {
+        long archived = 0;
+        long afterId = 0;
+        while (true) {
+            List<? extends ArchivedRecord> batch = loadBatch(orgId, type, before, afterId);
+            if (batch.isEmpty()) {
+                break;
+            }
+            Map<Long, List<ArchivedRecord>> byDossier = groupByDossier(type, batch);
+            List<Segment> segments = new ArrayList<>();
+            for (Map.Entry<Long, List<ArchivedRecord>> group : byDossier.entrySet()) {
+                segments.add(writeSegment(orgId, type, group.getKey(), group.getValue()));
+            }
+            List<Long> ids = batch.stream().map(ArchivedRecord::id).toList();
+            transactionTemplate.executeWithoutResult(
+                    status -> {
+                        LocalDateTime now = LocalDateTime.now();
+                        for (Segment segment : segments) {
+                            jdbcTemplate.update(
+                                    INSERT_SEGMENT_SQL,
+                                    orgId,
+                                    type.name(),
+                                    segment.dossierId(),
+                                    segment.rangeStart(),
+                                    segment.rangeEnd(),
+                                    segment.recordCount(),
+                                    segment.sizeBytes(),
+                                    segment.storagePath(),
+                                    now);
+                        }
+                        deleteHot(type, ids);
+                    });
+            archived += batch.size();
+            meterRegistry
+                    .counter("cold_archive_records_total", "type", metricTag(type))
+                    .increment(batch.size());
+            afterId = ids.get(ids.size() - 1);
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} {} records of org {}", archived, type, orgId);
+        }
+        return archived;
+    }
+
+    private List<? extends ArchivedRecord> loadBatch(
+            String orgId, ArchivedRecord.Type type, LocalDateTime before, long afterId) {
+        PageRequest limit = PageRequest.of(0, batchSize);
+        return switch (type) {
+            case MESSAGE ->
+                    messageRepository.findArchivable(orgId, before, afterId, limit).stream()
+                            .map(ArchivedRecord.Message::of)
+                            .toList();
+            case ACTIVITY ->
+                    activityRepository.findArchivable(orgId, before, afterId, limit).stream()
+                            .map(ArchivedRecord.Activity::of)
+                            .toList();
+            case AUDIT_EVENT ->
+                    auditEventRepository.findArchivable(orgId, before, afterId, limit).stream()
+                            .map(ArchivedRecord.AuditEvent::of)
+                            .toList();
+        };
+    }
+
+    private void deleteHot(ArchivedRecord.Type type, List<Long> ids) {
+        switch (type) {
+            case MESSAGE -> messageRepository.deleteAllByIdInBatch(ids);
+            case ACTIVITY -> activityRepository.deleteAllByIdInBatch(ids);
+            case AUDIT_EVENT -> auditEventRepository.deleteAllByIdInBatch(ids);
+        }
+    }
+
+    // A null key collects the audit events that belong to no dossier
+    private Map<Long, List<ArchivedRecord>> groupByDossier(
+            ArchivedRecord.Type type, List<? extends ArchivedRecord> batch) {
+        Map<Long, List<ArchivedRecord>> groups = new LinkedHashMap<>();
+        if (type != ArchivedRecord.Type.AUDIT_EVENT) {
+            for (ArchivedRecord record : batch) {
+                Long dossierId =
+                        record instanceof ArchivedRecord.Message message
+                                ? message.dossierId()
+                                : ((ArchivedRecord.Activity) record).dossierId();
+                groups.computeIfAbsent(dossierId, id -> new ArrayList<>()).add(record);
+            }
+            return groups;
+        }
+        Map<AuditEntityType, List<ArchivedRecord.AuditEvent>> byEntityType =
+                batch.stream()
+                        .map(ArchivedRecord.AuditEvent.class::cast)
+                        .collect(Collectors.groupingBy(ArchivedRecord.AuditEvent::entityType));
+        byEntityType.forEach(
+                (entityType, events) -> {
+                    Map<Long, Long> dossiers =
+                            coldArchiveReader.dossierIds(
+                                    entityType,
+                                    events.stream()
+                                            .map(ArchivedRecord.AuditEvent::entityId)
+                                            .toList());
+                    for (ArchivedRecord.AuditEvent event : events) {
+                        groups.computeIfAbsent(
+                                        dossiers.get(event.entityId()), id -> new ArrayList<>())
+                                .add(event);
+                    }
+                });
+        return groups;
+    }
+
+    private Segment writeSegment(
+            String orgId, ArchivedRecord.Type type, Long dossierId, List<ArchivedRecord> records) {
+        records.sort(Comparator.comparing(ArchivedRecord::id));
+        Long firstId = records.get(0).id();
+        Long lastId = records.get(records.size() - 1).id();
+        String storagePath =
+                String.join(
+                        "/",
+                        archivePath,
+                        orgId,
+                        type.pathSegment(),
+                        dossierId != null ? dossierId.toString() : "org",
+                        firstId + "-" + lastId + ".ndjson.gz");
+        LocalDateTime rangeStart = null;
+        LocalDateTime rangeEnd = null;
+        for (ArchivedRecord record : records) {
+            LocalDateTime at = record.occurredAt();
+            rangeStart = rangeStart == null || at.isBefore(rangeStart) ? at : rangeStart;
+            rangeEnd = rangeEnd == null || at.isAfter(rangeEnd) ? at : rangeEnd;
+        }
+
+        Path file = null;
+        try {
+            file = Files.createTempFile("cold-archive", ".ndjson.gz");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file));
+                    SequenceWriter writer =
+                            objectMapper
+                                    .writerFor(type.recordClass())
+                                    .withRootValueSeparator("\n")
+                                    .writeValues(out)) {
+                writer.writeAll(records);
+            }
+            long size = Files.size(file);
+            try (InputStream in = Files.newInputStream(file)) {
+                fileStorageStrategy.storeAt(storagePath, in, size, "application/gzip");
+            }
+            return new Segment(dossierId, rangeStart, rangeEnd, records.size(), size, storagePath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write archive segment " + storagePath, e);
+        } finally {
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("Could not delete temporary segment {}", file, e);
+                }
+            }
+        }
+    }
+
+    private static String metricTag(ArchivedRecord.Type type) {
+        return type.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,37 +1,76 @@
 package com.example.backend.service;
 
 import com.example.backend.dto.*;
-import java.util.HashSet;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+/**
+ * Real-time dossier collaboration over STOMP.
+ *
+ * <p>Versions, viewers and colors live in {@link CollaborationStateStore}, shared between replicas
+ * when Redis is configured; broadcasts reach clients on every node through the broker relay (see
+ * {@code WebSocketConfig}). Viewers stay present while they send heartbeats and are swept, with a
+ * "left" broadcast, once their presence TTL lapses; every node sweeps every dossier with presence
+ * in the store, so viewers of a node that died are announced too. Viewers joined through this node
+ * keep their name and color locally, so a cursor move needs no store round trip. Cursor moves are
+ * throttled per (dossier, user): at most one is sent every {@code
+ * collaboration.cursor.min-interval-ms}, intermediate moves are coalesced into the latest one,
+ * which {@link #flushCoalescedCursors()} sends when due.
+ */
 @Service
 public class CollaborationService {
 
+    private static final String UNKNOWN_COLOR = "#000000";
+
     private final SimpMessagingTemplate messagingTemplate;
-    private final Map<Long, Set<String>> dossierViewers = new ConcurrentHashMap<>();
-    private final Map<Long, Integer> dossierVersions = new ConcurrentHashMap<>();
-    private final Map<String, String> userColors = new ConcurrentHashMap<>();
-    private final String[] colorPalette = {
-        "#FF5733", "#33FF57", "#3357FF", "#FF33A1", "#FFC300",
-        "#DAF7A6", "#C70039", "#900C3F", "#581845", "#2ECC71"
-    };
-    private int colorIndex = 0;
-
-    public CollaborationService(SimpMessagingTemplate messagingTemplate) {
+    private final CollaborationStateStore stateStore;
+    private final long cursorIntervalMillis;
+
+    /** Viewers joined through this node, by dossier and user. */
+    private final Map<Long, Map<String, LocalViewer>> localViewers = new ConcurrentHashMap<>();
+
+    private final Map<CursorKey, Long> cursorLastSent = new ConcurrentHashMap<>();
+    private final Map<CursorKey, CollaborationCursorDto> pendingCursors =
+            new ConcurrentHashMap<>();
+
+    private final Counter cursorsSent;
+    private final Counter cursorsCoalesced;
+
+    public CollaborationService(
+            SimpMessagingTemplate messagingTemplate,
+            CollaborationStateStore stateStore,
+            MeterRegistry meterRegistry,
+            @Value("${collaboration.cursor.min-interval-ms:100}") long cursorIntervalMillis) {
         this.messagingTemplate = messagingTemplate;
+        this.stateStore = stateStore;
+        this.cursorIntervalMillis = cursorIntervalMillis;
+        this.cursorsSent =
+                Counter.builder("collaboration_cursor_events_sent_total")
+                        .description("Cursor moves broadcast to dossier viewers")
+                        .register(meterRegistry);
+        this.cursorsCoalesced =
+                Counter.builder("collaboration_cursor_events_coalesced_total")
+                        .description("Cursor moves superseded by a later move before being sent")
+                        .register(meterRegistry);
     }
 
     public void handleUserJoined(Long dossierId, String userId, String username) {
-        dossierViewers.computeIfAbsent(dossierId, k -> ConcurrentHashMap.newKeySet()).add(userId);
-
-        if (!userColors.containsKey(userId)) {
-            userColors.put(userId, colorPalette[colorIndex % colorPalette.length]);
-            colorIndex++;
-        }
+        stateStore.touch(dossierId, userId, System.currentTimeMillis());
+        localViewers
+                .computeIfAbsent(dossierId, k -> new ConcurrentHashMap<>())
+                .put(
+                        userId,
+                        new LocalViewer(
+                                username != null ? username : userId, stateStore.color(userId)));
 
         CollaborationPresenceDto presence =
                 new CollaborationPresenceDto(userId, username, dossierId, "joined");
@@ -40,14 +79,29 @@ public void handleUserJoined(Long dossierId, String userId, String username) {
         sendCurrentViewers(dossierId);
     }
 
-    public void handleUserLeft(Long dossierId, String userId, String username) {
-        Set<String> viewers = dossierViewers.get(dossierId);
-        if (viewers != null) {
-            viewers.remove(userId);
-            if (viewers.isEmpty()) {
-                dossierViewers.remove(dossierId);
-            }
+    /** Extends the viewer's presence by another TTL; clients send it well within the TTL. */
+    public void heartbeat(Long dossierId, String userId, String username) {
+        long now = System.currentTimeMillis();
+        if (!stateStore.viewers(dossierId, now).contains(userId)) {
+            // Expired (or joined through a node that restarted): announce it again
+            handleUserJoined(dossierId, userId, username);
+            return;
         }
+        stateStore.touch(dossierId, userId, now);
+        localViewers
+                .computeIfAbsent(dossierId, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(
+                        userId,
+                        k ->
+                                new LocalViewer(
+                                        username != null ? username : userId,
+                                        stateStore.color(userId)));
+    }
+
+    public void handleUserLeft(Long dossierId, String userId, String username) {
+        stateStore.remove(dossierId, userId);
+        forgetLocalViewer(dossierId, userId);
+        dropCursor(dossierId, userId);
 
         CollaborationPresenceDto presence =
                 new CollaborationPresenceDto(userId, username, dossierId, "left");
@@ -62,11 +116,98 @@ public void broadcastCursor(
             String username,
             String fieldName,
             Integer cursorPosition) {
-        String color = userColors.getOrDefault(userId, "#000000");
         CollaborationCursorDto cursor =
                 new CollaborationCursorDto(
-                        userId, username, dossierId, fieldName, cursorPosition, color);
-        messagingTemplate.convertAndSend("/topic/dossier/" + dossierId + "/cursor", cursor);
+                        userId,
+                        username,
+                        dossierId,
+                        fieldName,
+                        cursorPosition,
+                        colorOf(dossierId, userId));
+        offerCursor(cursor, System.currentTimeMillis());
+    }
+
+    /** Sends the cursor now if the user's throttle window has elapsed, otherwise coalesces it. */
+    void offerCursor(CollaborationCursorDto cursor, long nowMillis) {
+        CursorKey key = new CursorKey(cursor.getDossierId(), cursor.getUserId());
+        boolean[] due = {false};
+        cursorLastSent.compute(
+                key,
+                (k, lastSent) -> {
+                    if (lastSent == null || nowMillis - lastSent >= cursorIntervalMillis) {
+                        due[0] = true;
+                        return nowMillis;
+                    }
+                    return lastSent;
+                });
+        if (due[0]) {
+            pendingCursors.remove(key);
+            sendCursor(cursor);
+        } else if (pendingCursors.put(key, cursor) != null) {
+            cursorsCoalesced.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${collaboration.cursor.min-interval-ms:100}")
+    public void flushCoalescedCursors() {
+        flushCoalescedCursors(System.currentTimeMillis());
+    }
+
+    void flushCoalescedCursors(long nowMillis) {
+        for (CursorKey key : pendingCursors.keySet()) {
+            Long lastSent = cursorLastSent.get(key);
+            if (lastSent != null && nowMillis - lastSent < cursorIntervalMillis) {
+                continue;
+            }
+            CollaborationCursorDto cursor = pendingCursors.remove(key);
+            if (cursor != null) {
+                cursorLastSent.put(key, nowMillis);
+                sendCursor(cursor);
+            }
+        }
+        // Forget throttle state of users who stopped moving their cursor
+        long idleBefore = nowMillis - Math.max(cursorIntervalMillis * 100, 60_000L);
+        cursorLastSent
+                .entrySet()
+                .removeIf(
+                        e -> e.getValue() < idleBefore && !pendingCursors.containsKey(e.getKey()));
+    }
+
+    /** Removes viewers whose heartbeat lapsed and tells the remaining ones. */
+    @Scheduled(fixedDelayString = "${collaboration.presence.sweep-interval-ms:10000}")
+    public void sweepExpiredViewers() {
+        sweepExpiredViewers(System.currentTimeMillis());
+    }
+
+    void sweepExpiredViewers(long nowMillis) {
+        Set<Long> dossierIds = new LinkedHashSet<>(localViewers.keySet());
+        dossierIds.addAll(stateStore.presentDossiers(nowMillis));
+        for (Long dossierId : dossierIds) {
+            List<String> expired = stateStore.expire(dossierId, nowMillis);
+            Map<String, LocalViewer> local = localViewers.getOrDefault(dossierId, Map.of());
+            for (String userId : expired) {
+                LocalViewer viewer = local.get(userId);
+                dropCursor(dossierId, userId);
+                messagingTemplate.convertAndSend(
+                        "/topic/dossier/" + dossierId + "/presence",
+                        new CollaborationPresenceDto(
+                                userId,
+                                viewer != null ? viewer.name() : userId,
+                                dossierId,
+                                "left"));
+            }
+            Set<String> viewers = stateStore.viewers(dossierId, nowMillis);
+            localViewers.computeIfPresent(
+                    dossierId,
+                    (k, names) -> {
+                        names.keySet().retainAll(viewers);
+                        return names.isEmpty() ? null : names;
+                    });
+            if (!expired.isEmpty()) {
+                messagingTemplate.convertAndSend(
+                        "/topic/dossier/" + dossierId + "/viewers", viewers);
+            }
+        }
     }
 
     public CollaborationEditDto broadcastEdit(
@@ -76,9 +217,7 @@ public CollaborationEditDto broadcastEdit(
             String fieldName,
             Object newValue,
             Object oldValue) {
-        Integer currentVersion = dossierVersions.getOrDefault(dossierId, 0);
-        Integer newVersion = currentVersion + 1;
-        dossierVersions.put(dossierId, newVersion);
+        Integer newVersion = Math.toIntExact(stateStore.nextVersion(dossierId));
 
         CollaborationEditDto edit =
                 new CollaborationEditDto(
@@ -113,15 +252,15 @@ public void shareFilterPreset(SharedFilterPresetDto filterPreset) {
     }
 
     public Set<String> getCurrentViewers(Long dossierId) {
-        return dossierViewers.getOrDefault(dossierId, new HashSet<>());
+        return stateStore.viewers(dossierId, System.currentTimeMillis());
     }
 
     public Integer getCurrentVersion(Long dossierId) {
-        return dossierVersions.getOrDefault(dossierId, 0);
+        return Math.toIntExact(stateStore.currentVersion(dossierId));
     }
 
     public String getUserColor(String userId) {
-        return userColors.getOrDefault(userId, "#000000");
+        return userId != null ? stateStore.color(userId) : UNKNOWN_COLOR;
     }
 
     private void sendCurrentViewers(Long dossierId) {
@@ -140,4 +279,35 @@ public void broadcastConflictResolution(
         messagingTemplate.convertAndSend(
                 "/topic/dossier/" + dossierId + "/conflict", (Object) conflictData);
     }
+
+    private void sendCursor(CollaborationCursorDto cursor) {
+        messagingTemplate.convertAndSend(
+                "/topic/dossier/" + cursor.getDossierId() + "/cursor", cursor);
+        cursorsSent.increment();
+    }
+
+    private void dropCursor(Long dossierId, String userId) {
+        CursorKey key = new CursorKey(dossierId, userId);
+        pendingCursors.remove(key);
+        cursorLastSent.remove(key);
+    }
+
+    private String colorOf(Long dossierId, String userId) {
+        Map<String, LocalViewer> viewers = localViewers.get(dossierId);
+        LocalViewer viewer = viewers != null ? viewers.get(userId) : null;
+        return viewer != null ? viewer.color() : stateStore.color(userId);
+    }
+
+    private void forgetLocalViewer(Long dossierId, String userId) {
+        localViewers.computeIfPresent(
+                dossierId,
+                (k, names) -> {
+                    names.remove(userId);
+                    return names.isEmpty() ? null : names;
+                });
+    }
+
+    private record CursorKey(Long dossierId, String userId) {}
+
+    private record LocalViewer(String name, String color) {}
 }
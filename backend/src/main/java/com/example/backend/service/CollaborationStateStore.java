@@ -0,0 +1,252 @@
+package com.example.backend.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collaboration state shared by every backend replica: per-dossier edit versions, dossier viewers
+ * and user colors.
+ *
+ * <p>With Redis available, versions are {@code INCR} counters, presence is a sorted set per
+ * dossier scored by each viewer's expiry (refreshed by heartbeats), indexed by a sorted set of the
+ * dossiers scored by their latest expiry, and colors are assigned once through {@code HSETNX}, so
+ * all nodes agree. Without Redis (single node, tests) the same
+ * operations run on node-local atomic structures. A Redis failure falls back to the local state
+ * for that call and is logged, so collaboration degrades to per-node rather than failing.
+ */
+@Component
+public class CollaborationStateStore {
+
+    private static final Logger log = LoggerFactory.getLogger(CollaborationStateStore.class);
+
+    private static final String VERSION_KEY = "collab:version:";
+    private static final String PRESENCE_KEY = "collab:presence:";
+    private static final String PRESENCE_INDEX_KEY = "collab:presence-dossiers";
+    private static final String COLORS_KEY = "collab:colors";
+    private static final String COLOR_SEQ_KEY = "collab:color-seq";
+
+    static final String[] COLOR_PALETTE = {
+        "#FF5733", "#33FF57", "#3357FF", "#FF33A1", "#FFC300",
+        "#DAF7A6", "#C70039", "#900C3F", "#581845", "#2ECC71"
+    };
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration presenceTtl;
+
+    private final Map<Long, AtomicLong> localVersions = new ConcurrentHashMap<>();
+    private final Map<Long, Map<String, Long>> localPresence = new ConcurrentHashMap<>();
+    private final Map<String, String> localColors = new ConcurrentHashMap<>();
+    private final AtomicInteger localColorSeq = new AtomicInteger();
+
+    public CollaborationStateStore(
+            @Autowired(required = false) StringRedisTemplate redisTemplate,
+            @Value("${collaboration.presence.ttl:PT30S}") Duration presenceTtl) {
+        this.redisTemplate = redisTemplate;
+        this.presenceTtl = presenceTtl;
+    }
+
+    /** Atomically increments and returns the dossier's edit version. */
+    public long nextVersion(Long dossierId) {
+        if (redisTemplate != null) {
+            try {
+                Long version = redisTemplate.opsForValue().increment(VERSION_KEY + dossierId);
+                if (version != null) {
+                    return version;
+                }
+            } catch (Exception e) {
+                log.warn("Redis version increment failed for dossier {}", dossierId, e);
+            }
+        }
+        return localVersions.computeIfAbsent(dossierId, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    public long currentVersion(Long dossierId) {
+        if (redisTemplate != null) {
+            try {
+                String version = redisTemplate.opsForValue().get(VERSION_KEY + dossierId);
+                return version != null ? Long.parseLong(version) : 0L;
+            } catch (Exception e) {
+                log.debug("Redis version lookup failed for dossier {}", dossierId, e);
+            }
+        }
+        AtomicLong version = localVersions.get(dossierId);
+        return version != null ? version.get() : 0L;
+    }
+
+    /** Marks the user as viewing the dossier for another TTL; used by join and heartbeat. */
+    public void touch(Long dossierId, String userId, long nowMillis) {
+        long expiresAt = nowMillis + presenceTtl.toMillis();
+        if (redisTemplate != null) {
+            try {
+                String key = PRESENCE_KEY + dossierId;
+                redisTemplate.opsForZSet().add(key, userId, expiresAt);
+                // The set itself outlives its last member only briefly
+                redisTemplate.expire(key, presenceTtl.multipliedBy(2));
+                redisTemplate.opsForZSet().add(PRESENCE_INDEX_KEY, dossierId.toString(), expiresAt);
+                return;
+            } catch (Exception e) {
+                log.warn("Redis presence update failed for dossier {}", dossierId, e);
+            }
+        }
+        localPresence
+                .computeIfAbsent(dossierId, k -> new ConcurrentHashMap<>())
+                .put(userId, expiresAt);
+    }
+
+    /** Removes the viewer; returns false when it was not (or no longer) present. */
+    public boolean remove(Long dossierId, String userId) {
+        if (redisTemplate != null) {
+            try {
+                Long removed = redisTemplate.opsForZSet().remove(PRESENCE_KEY + dossierId, userId);
+                return removed != null && removed > 0;
+            } catch (Exception e) {
+                log.warn("Redis presence removal failed for dossier {}", dossierId, e);
+            }
+        }
+        boolean[] removed = {false};
+        localPresence.computeIfPresent(
+                dossierId,
+                (k, viewers) -> {
+                    removed[0] = viewers.remove(userId) != null;
+                    return viewers.isEmpty() ? null : viewers;
+                });
+        return removed[0];
+    }
+
+    /** Viewers whose heartbeat has not expired. */
+    public Set<String> viewers(Long dossierId, long nowMillis) {
+        if (redisTemplate != null) {
+            try {
+                String key = PRESENCE_KEY + dossierId;
+                Set<String> viewers =
+                        redisTemplate
+                                .opsForZSet()
+                                .rangeByScore(key, nowMillis, Double.POSITIVE_INFINITY);
+                return viewers != null ? new LinkedHashSet<>(viewers) : new LinkedHashSet<>();
+            } catch (Exception e) {
+                log.debug("Redis presence lookup failed for dossier {}", dossierId, e);
+            }
+        }
+        Set<String> viewers = new LinkedHashSet<>();
+        Map<String, Long> presence = localPresence.get(dossierId);
+        if (presence != null) {
+            presence.forEach(
+                    (userId, expiresAt) -> {
+                        if (expiresAt >= nowMillis) {
+                            viewers.add(userId);
+                        }
+                    });
+        }
+        return viewers;
+    }
+
+    /**
+     * Dossiers that may still have viewers, whichever node they joined through, so that a sweep
+     * also retires the viewers of a node that died. A dossier drops out of the index one TTL after
+     * its last heartbeat expired, by which time the sweeps have announced its viewers.
+     */
+    public Set<Long> presentDossiers(long nowMillis) {
+        if (redisTemplate != null) {
+            try {
+                long retainFrom = nowMillis - presenceTtl.toMillis();
+                redisTemplate
+                        .opsForZSet()
+                        .removeRangeByScore(
+                                PRESENCE_INDEX_KEY, Double.NEGATIVE_INFINITY, retainFrom - 1);
+                Set<String> dossierIds =
+                        redisTemplate
+                                .opsForZSet()
+                                .rangeByScore(
+                                        PRESENCE_INDEX_KEY, retainFrom, Double.POSITIVE_INFINITY);
+                Set<Long> dossiers = new LinkedHashSet<>();
+                if (dossierIds != null) {
+                    dossierIds.forEach(id -> dossiers.add(Long.valueOf(id)));
+                }
+                return dossiers;
+            } catch (Exception e) {
+                log.warn("Redis presence index lookup failed", e);
+            }
+        }
+        return new LinkedHashSet<>(localPresence.keySet());
+    }
+
+    /**
+     * Removes viewers whose heartbeat expired before {@code nowMillis} and returns them. Each
+     * expired viewer is removed individually, so when several nodes sweep the same dossier only
+     * one of them reports (and broadcasts) a given departure.
+     */
+    public List<String> expire(Long dossierId, long nowMillis) {
+        List<String> expired = new ArrayList<>();
+        if (redisTemplate != null) {
+            try {
+                String key = PRESENCE_KEY + dossierId;
+                Set<String> stale =
+                        redisTemplate
+                                .opsForZSet()
+                                .rangeByScore(key, Double.NEGATIVE_INFINITY, nowMillis - 1);
+                if (stale != null) {
+                    for (String userId : stale) {
+                        Long removed = redisTemplate.opsForZSet().remove(key, userId);
+                        if (removed != null && removed > 0) {
+                            expired.add(userId);
+                        }
+                    }
+                }
+                return expired;
+            } catch (Exception e) {
+                log.warn("Redis presence sweep failed for dossier {}", dossierId, e);
+            }
+        }
+        Map<String, Long> presence = localPresence.get(dossierId);
+        if (presence != null) {
+            for (Map.Entry<String, Long> entry : presence.entrySet()) {
+                if (entry.getValue() < nowMillis
+                        && presence.remove(entry.getKey(), entry.getValue())) {
+                    expired.add(entry.getKey());
+                }
+            }
+            localPresence.computeIfPresent(
+                    dossierId, (k, viewers) -> viewers.isEmpty() ? null : viewers);
+        }
+        return expired;
+    }
+
+    /** The user's color, assigned round-robin from the palette on first use. */
+    public String color(String userId) {
+        if (redisTemplate != null) {
+            try {
+                Object color = redisTemplate.opsForHash().get(COLORS_KEY, userId);
+                if (color == null) {
+                    Long seq = redisTemplate.opsForValue().increment(COLOR_SEQ_KEY);
+                    redisTemplate.opsForHash().putIfAbsent(COLORS_KEY, userId, paletteColor(seq));
+                    color = redisTemplate.opsForHash().get(COLORS_KEY, userId);
+                }
+                if (color != null) {
+                    return color.toString();
+                }
+            } catch (Exception e) {
+                log.debug("Redis color lookup failed for user {}", userId, e);
+            }
+        }
+        return localColors.computeIfAbsent(
+                userId, k -> paletteColor((long) localColorSeq.incrementAndGet()));
+    }
+
+    private static String paletteColor(Long seq) {
+        long index = seq != null ? seq - 1 : 0;
+        return COLOR_PALETTE[(int) Math.floorMod(index, (long) COLOR_PALETTE.length)];
+    }
+}
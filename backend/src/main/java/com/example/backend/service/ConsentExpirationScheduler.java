@@ -1,5 +1,6 @@
 package com.example.backend.service;
 
+import com.example.backend.aspect.LeasedJob;
 import com.example.backend.entity.ConsentementEntity;
 import com.example.backend.entity.enums.ConsentementStatus;
 import com.example.backend.repository.ConsentementRepository;
@@ -36,6 +37,7 @@ public ConsentExpirationScheduler(
         this.consentEventService = consentEventService;
     }
 
+    @LeasedJob(name = "consent-expiration", leaseFor = "PT30M", holdAtLeast = "PT5M")
     @Scheduled(cron = "${consent.expiration.cron:0 0 2 * * ?}")
     @Transactional
     public void processExpiredConsents() {
@@ -89,6 +91,7 @@ public void processExpiredConsents() {
                 failCount);
     }
 
+    @LeasedJob(name = "consent-expiration-reminders", leaseFor = "PT30M", holdAtLeast = "PT5M")
     @Scheduled(cron = "${consent.reminder.cron:0 0 10 * * ?}")
     @Transactional(readOnly = true)
     public void sendExpirationReminders() {
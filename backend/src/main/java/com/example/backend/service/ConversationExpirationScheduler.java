@@ -1,5 +1,6 @@
 package com.example.backend.service;
 
+import com.example.backend.aspect.LeasedJob;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -18,6 +19,7 @@ public ConversationExpirationScheduler(ConversationStateManager conversationStat
         this.conversationStateManager = conversationStateManager;
     }
 
+    @LeasedJob(name = "conversation-expiration", leaseFor = "PT15M", holdAtLeast = "PT1M")
     @Scheduled(cron = "${conversation.expiration.cron:0 0 * * * ?}")
     @Transactional
     public void expireOldConversations() {
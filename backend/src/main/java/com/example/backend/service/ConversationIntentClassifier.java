@@ -0,0 +1,279 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.OrganizationSettings;
+import com.example.backend.repository.OrganizationSettingsRepository;
+import com.example.backend.util.KeywordAutomaton;
+import com.example.backend.util.KeywordAutomaton.Match;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Classifies a client's reply to an appointment confirmation as confirm, cancel or reschedule.
+ *
+ * <p>The per-locale keyword dictionaries under {@code intents/} are compiled once into a {@link
+ * KeywordAutomaton}, so a reply is matched against every keyword of every locale in one pass,
+ * insensitive to case, accents and Arabic diacritics, and only on word boundaries. Overlapping
+ * matches resolve leftmost-longest: the reply is read left to right, the longest keyword starting
+ * at the first matched position counts, and every match overlapping it is dropped. So {@code pas
+ * d'accord} wins over {@code d'accord}, but a longer keyword starting inside an earlier one does
+ * not displace it. When several intents match, the one with the highest total keyword weight wins
+ * (ties: reschedule, cancel, confirm), so "oui mais je voudrais reporter" is a reschedule.
+ *
+ * <p>Tenants can narrow the locales and add keywords through the {@value #SETTINGS_KEY} entry of
+ * their {@link OrganizationSettings}: {@code {"locales": ["fr"], "keywords": {"CONFIRM": ["banco",
+ * "top:2"]}}}. Their automatons are compiled on first use and cached for {@code
+ * conversation.intents.cache-ttl}.
+ */
+@Component
+public class ConversationIntentClassifier {
+
+    private static final Logger log = LoggerFactory.getLogger(ConversationIntentClassifier.class);
+
+    static final String SETTINGS_KEY = "conversationIntents";
+    static final List<String> SUPPORTED_LOCALES = List.of("fr", "en", "es", "ar");
+
+    private static final String DICTIONARY_PATH = "intents/conversation-intents";
+    private static final String DEFAULT_LOCALE = "fr";
+
+    // Ties go to the intent that needs the most follow-up from the agent
+    private static final List<ConversationIntent> TIE_ORDER =
+            List.of(
+                    ConversationIntent.RESCHEDULE,
+                    ConversationIntent.CANCEL,
+                    ConversationIntent.CONFIRM);
+
+    public enum ConversationIntent {
+        CONFIRM,
+        CANCEL,
+        RESCHEDULE,
+        UNKNOWN
+    }
+
+    /** The winning intent and the total keyword weight of every intent that matched. */
+    public record Classification(
+            ConversationIntent intent, Map<ConversationIntent, Integer> scores) {
+
+        static final Classification UNKNOWN =
+                new Classification(ConversationIntent.UNKNOWN, Map.of());
+    }
+
+    /** A dictionary entry; {@code wholeReply} keywords only count when nothing else was said. */
+    record Keyword(ConversationIntent intent, int weight, boolean wholeReply) {}
+
+    private final OrganizationSettingsRepository organizationSettingsRepository;
+    private final Map<String, Map<String, Keyword>> dictionaries;
+    private final List<String> defaultLocales;
+    private final KeywordAutomaton<Keyword> defaultAutomaton;
+    private final Cache<String, KeywordAutomaton<Keyword>> tenantAutomatons;
+
+    public ConversationIntentClassifier(
+            OrganizationSettingsRepository organizationSettingsRepository,
+            @Value("${conversation.intents.locales:fr,en,es,ar}") String[] locales,
+            @Value("${conversation.intents.cache-ttl:PT5M}") Duration cacheTtl) {
+        this.organizationSettingsRepository = organizationSettingsRepository;
+        this.dictionaries = new HashMap<>();
+        for (String locale : SUPPORTED_LOCALES) {
+            dictionaries.put(locale, loadDictionary(locale));
+        }
+        this.defaultLocales = supportedLocales(List.of(locales));
+        this.defaultAutomaton = compile(defaultLocales, Map.of());
+        this.tenantAutomatons =
+                Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(cacheTtl).build();
+        log.info(
+                "Compiled {} conversation intent keywords for locales {}",
+                defaultAutomaton.size(),
+                defaultLocales);
+    }
+
+    public ConversationIntent classifyIntent(String message, String orgId) {
+        return classify(message, orgId).intent();
+    }
+
+    public Classification classify(String message, String orgId) {
+        String text = KeywordAutomaton.normalize(message);
+        if (text.isEmpty()) {
+            return Classification.UNKNOWN;
+        }
+
+        List<Match<Keyword>> matches = automatonFor(orgId).findAll(text);
+        matches.sort(
+                Comparator.<Match<Keyword>>comparingInt(Match::start)
+                        .thenComparing(Comparator.comparingInt(Match<Keyword>::length).reversed()));
+
+        Map<ConversationIntent, Integer> scores = new EnumMap<>(ConversationIntent.class);
+        int coveredUntil = 0;
+        for (Match<Keyword> match : matches) {
+            if (match.start() < coveredUntil) {
+                continue;
+            }
+            coveredUntil = match.end();
+            Keyword keyword = match.value();
+            if (keyword.wholeReply() && !isWholeReply(text, match)) {
+                continue;
+            }
+            scores.merge(keyword.intent(), keyword.weight(), Integer::sum);
+        }
+        if (scores.isEmpty()) {
+            return Classification.UNKNOWN;
+        }
+
+        ConversationIntent best = null;
+        for (ConversationIntent intent : TIE_ORDER) {
+            if (scores.containsKey(intent)
+                    && (best == null || scores.get(intent) > scores.get(best))) {
+                best = intent;
+            }
+        }
+        return new Classification(best, Map.copyOf(scores));
+    }
+
+    private KeywordAutomaton<Keyword> automatonFor(String orgId) {
+        if (orgId == null || organizationSettingsRepository == null) {
+            return defaultAutomaton;
+        }
+        return tenantAutomatons.get(orgId, this::loadTenantAutomaton);
+    }
+
+    private KeywordAutomaton<Keyword> loadTenantAutomaton(String orgId) {
+        try {
+            Object config =
+                    organizationSettingsRepository
+                            .findByOrgId(orgId)
+                            .map(OrganizationSettings::getSettings)
+                            .map(settings -> settings.get(SETTINGS_KEY))
+                            .orElse(null);
+            if (!(config instanceof Map<?, ?> overrides)) {
+                return defaultAutomaton;
+            }
+            List<String> locales =
+                    overrides.get("locales") instanceof Collection<?> configured
+                            ? supportedLocales(configured.stream().map(String::valueOf).toList())
+                            : defaultLocales;
+            Map<String, Keyword> custom = new LinkedHashMap<>();
+            if (overrides.get("keywords") instanceof Map<?, ?> keywords) {
+                keywords.forEach(
+                        (intent, entries) -> {
+                            if (entries instanceof Collection<?> list) {
+                                for (Object entry : list) {
+                                    addEntry(
+                                            custom,
+                                            ConversationIntent.valueOf(
+                                                    String.valueOf(intent)
+                                                            .toUpperCase(Locale.ROOT)),
+                                            String.valueOf(entry));
+                                }
+                            }
+                        });
+            }
+            return compile(locales.isEmpty() ? defaultLocales : locales, custom);
+        } catch (RuntimeException e) {
+            log.warn(
+                    "Invalid conversation intent settings for org {}, using defaults: {}",
+                    orgId,
+                    e.getMessage());
+            return defaultAutomaton;
+        }
+    }
+
+    private KeywordAutomaton<Keyword> compile(List<String> locales, Map<String, Keyword> custom) {
+        Map<String, Keyword> keywords = new HashMap<>();
+        for (String locale : locales) {
+            dictionaries
+                    .get(locale)
+                    .forEach(
+                            (keyword, entry) ->
+                                    keywords.merge(
+                                            keyword,
+                                            entry,
+                                            (kept, other) ->
+                                                    other.weight() > kept.weight() ? other : kept));
+        }
+        // Tenant keywords replace the shipped ones they collide with
+        keywords.putAll(custom);
+        return KeywordAutomaton.compile(keywords);
+    }
+
+    private static boolean isWholeReply(String text, Match<Keyword> match) {
+        for (int i = 0; i < text.length(); i++) {
+            if ((i < match.start() || i >= match.end())
+                    && Character.isLetterOrDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<String> supportedLocales(List<String> locales) {
+        List<String> supported = new ArrayList<>();
+        for (String locale : locales) {
+            String code = locale.trim().toLowerCase(Locale.ROOT);
+            if (dictionaries.containsKey(code) && !supported.contains(code)) {
+                supported.add(code);
+            } else if (!code.isEmpty() && !dictionaries.containsKey(code)) {
+                log.warn("No conversation intent dictionary for locale {}", code);
+            }
+        }
+        return List.copyOf(supported);
+    }
+
+    private static Map<String, Keyword> loadDictionary(String locale) {
+        String path =
+                DICTIONARY_PATH
+                        + (DEFAULT_LOCALE.equals(locale) ? "" : "_" + locale)
+                        + ".properties";
+        Properties properties = new Properties();
+        try (InputStream in =
+                ConversationIntentClassifier.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing intent dictionary " + path);
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read intent dictionary " + path, e);
+        }
+
+        Map<String, Keyword> keywords = new LinkedHashMap<>();
+        for (ConversationIntent intent : TIE_ORDER) {
+            String entries = properties.getProperty(intent.name().toLowerCase(Locale.ROOT), "");
+            for (String entry : entries.split(",")) {
+                addEntry(keywords, intent, entry);
+            }
+        }
+        return keywords;
+    }
+
+    /** Parses {@code [=]keyword[:weight]} into {@code keywords}, keyed by its normalized form. */
+    private static void addEntry(
+            Map<String, Keyword> keywords, ConversationIntent intent, String entry) {
+        String keyword = entry.trim();
+        int weight = 1;
+        int colon = keyword.lastIndexOf(':');
+        if (colon > 0 && keyword.substring(colon + 1).trim().matches("\\d+")) {
+            weight = Integer.parseInt(keyword.substring(colon + 1).trim());
+            keyword = keyword.substring(0, colon);
+        }
+        boolean wholeReply = keyword.startsWith("=");
+        String normalized = KeywordAutomaton.normalize(wholeReply ? keyword.substring(1) : keyword);
+        if (!normalized.isEmpty() && intent != ConversationIntent.UNKNOWN) {
+            keywords.put(normalized, new Keyword(intent, weight, wholeReply));
+        }
+    }
+}
@@ -6,6 +6,7 @@
 import com.example.backend.entity.enums.AppointmentStatus;
 import com.example.backend.entity.enums.ConversationState;
 import com.example.backend.repository.*;
+import com.example.backend.service.ConversationIntentClassifier.ConversationIntent;
 import com.example.backend.util.TenantContext;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -28,6 +29,7 @@ public class ConversationStateManager {
     private final DossierRepository dossierRepository;
     private final SmartSuggestionsService smartSuggestionsService;
     private final ConversationResponseService conversationResponseService;
+    private final ConversationIntentClassifier conversationIntentClassifier;
 
     public ConversationStateManager(
             ConversationStateRepository conversationStateRepository,
@@ -36,7 +38,8 @@ public ConversationStateManager(
             ActivityRepository activityRepository,
             DossierRepository dossierRepository,
             SmartSuggestionsService smartSuggestionsService,
-            ConversationResponseService conversationResponseService) {
+            ConversationResponseService conversationResponseService,
+            ConversationIntentClassifier conversationIntentClassifier) {
         this.conversationStateRepository = conversationStateRepository;
         this.inboundMessageRepository = inboundMessageRepository;
         this.appointmentRepository = appointmentRepository;
@@ -44,6 +47,7 @@ public ConversationStateManager(
         this.dossierRepository = dossierRepository;
         this.smartSuggestionsService = smartSuggestionsService;
         this.conversationResponseService = conversationResponseService;
+        this.conversationIntentClassifier = conversationIntentClassifier;
     }
 
     @Transactional
@@ -122,7 +126,7 @@ private void handleConversationReply(
             ConversationStateEntity conversation, String messageBody, Long inboundMessageId) {
         String normalizedMessage = messageBody.toLowerCase().trim();
 
-        ConversationIntent intent = classifyIntent(normalizedMessage);
+        ConversationIntent intent = classifyIntent(messageBody, normalizedMessage, conversation);
         log.info(
                 "Classified intent: {} for message: {}",
                 intent,
@@ -265,13 +269,12 @@ private void handleRescheduleRequest(ConversationStateEntity conversation) {
         conversationResponseService.sendRescheduleResponse(conversation);
     }
 
-    private ConversationIntent classifyIntent(String normalizedMessage) {
-        if (matchesConfirmationKeywords(normalizedMessage)) {
-            return ConversationIntent.CONFIRM;
-        } else if (matchesCancellationKeywords(normalizedMessage)) {
-            return ConversationIntent.CANCEL;
-        } else if (matchesRescheduleKeywords(normalizedMessage)) {
-            return ConversationIntent.RESCHEDULE;
+    private ConversationIntent classifyIntent(
+            String messageBody, String normalizedMessage, ConversationStateEntity conversation) {
+        ConversationIntent keywordIntent =
+                conversationIntentClassifier.classifyIntent(messageBody, conversation.getOrgId());
+        if (keywordIntent != ConversationIntent.UNKNOWN) {
+            return keywordIntent;
         }
 
         ConversationIntent nlpIntent = classifyIntentUsingNLP(normalizedMessage);
@@ -326,76 +329,6 @@ private double calculateSemanticSimilarity(String message1, String message2) {
         return (double) intersection.size() / union.size();
     }
 
-    private boolean matchesConfirmationKeywords(String message) {
-        String[] confirmKeywords = {
-            "oui",
-            "yes",
-            "ok",
-            "confirme",
-            "confirmer",
-            "confirmé",
-            "d'accord",
-            "daccord",
-            "accord",
-            "bien reçu",
-            "parfait",
-            "très bien"
-        };
-
-        for (String keyword : confirmKeywords) {
-            if (message.contains(keyword)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private boolean matchesCancellationKeywords(String message) {
-        String[] cancelKeywords = {
-            "annule",
-            "annuler",
-            "annulé",
-            "cancel",
-            "cancelled",
-            "non",
-            "no",
-            "pas possible",
-            "impossible",
-            "ne peux pas",
-            "ne peut pas"
-        };
-
-        for (String keyword : cancelKeywords) {
-            if (message.contains(keyword)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private boolean matchesRescheduleKeywords(String message) {
-        String[] rescheduleKeywords = {
-            "reprogrammer",
-            "reporter",
-            "décaler",
-            "decaler",
-            "changer",
-            "reschedule",
-            "autre date",
-            "autre jour",
-            "autre heure",
-            "plus tard",
-            "plus tôt"
-        };
-
-        for (String keyword : rescheduleKeywords) {
-            if (message.contains(keyword)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private void updateContextData(
             ConversationStateEntity conversation,
             String key,
@@ -460,11 +393,4 @@ public void expireOldConversations() {
                         ConversationState.AWAITING_CONFIRMATION, ConversationState.EXPIRED, now);
         log.info("Expired {} old conversations", expiredCount);
     }
-
-    private enum ConversationIntent {
-        CONFIRM,
-        CANCEL,
-        RESCHEDULE,
-        UNKNOWN
-    }
 }
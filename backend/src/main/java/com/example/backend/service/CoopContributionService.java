@@ -1,5 +1,6 @@
 package com.example.backend.service;
 
+import com.example.backend.aspect.LeasedJob;
 import com.example.backend.dto.CoopContributionMapper;
 import com.example.backend.dto.CoopContributionRequest;
 import com.example.backend.dto.CoopContributionResponse;
@@ -207,6 +208,7 @@ public void delete(Long id) {
         coopContributionRepository.delete(contribution);
     }
 
+    @LeasedJob(name = "coop-overdue-reminders", leaseFor = "PT30M", holdAtLeast = "PT5M")
     @Scheduled(cron = "0 0 9 * * ?")
     @Transactional
     public void sendOverdueReminders() {
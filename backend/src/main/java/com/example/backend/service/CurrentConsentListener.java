@@ -0,0 +1,31 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.ConsentementEntity;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA listener keeping {@code current_consent} in step with consent writes, whichever service
+ * performs them (consent API, expiration scheduler, imports). The service is resolved lazily
+ * because it is absent from JPA slice tests.
+ */
+public class CurrentConsentListener {
+
+    private final ObjectProvider<CurrentConsentService> serviceProvider;
+
+    public CurrentConsentListener(ObjectProvider<CurrentConsentService> serviceProvider) {
+        this.serviceProvider = serviceProvider;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(ConsentementEntity consent) {
+        CurrentConsentService service = serviceProvider.getIfAvailable();
+        if (service != null) {
+            service.refresh(consent);
+        }
+    }
+}
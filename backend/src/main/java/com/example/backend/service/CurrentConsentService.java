@@ -0,0 +1,224 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.ConsentementEntity;
+import com.example.backend.entity.enums.ConsentementChannel;
+import com.example.backend.entity.enums.ConsentementStatus;
+import com.example.backend.entity.enums.ConsentementType;
+import com.example.backend.repository.ConsentementRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Current consent of each dossier per channel and type, as read by outbound sends.
+ *
+ * <p>The {@code current_consent} table holds a pointer to the newest consent (by update time) of
+ * every (dossier, channel, type); {@link CurrentConsentListener} refreshes the affected keys on
+ * every consent write, whichever service makes it. Reads are loaded in bulk, one query per
+ * {@value #LOAD_CHUNK} dossiers, so a batch enqueue checks consent for thousands of dossiers
+ * without a lookup per message.
+ *
+ * <p>Only states that block a send are kept in the short-lived cache; a granted consent is re-read
+ * by every call, so a revocation made on any node stops sends immediately. Writes on this node
+ * evict their keys immediately and again after commit; a grant made on another node becomes
+ * visible within {@code consent.decision-cache.ttl}.
+ */
+@Service
+public class CurrentConsentService {
+
+    static final int LOAD_CHUNK = 1000;
+
+    private static final String STALE_KEYS_SQL =
+            "SELECT channel, consent_type FROM current_consent WHERE consentement_id = ?";
+    private static final String DELETE_SQL =
+            "DELETE FROM current_consent WHERE dossier_id = ? AND channel = ? AND consent_type = ?";
+    private static final String REFRESH_SQL =
+            "MERGE INTO current_consent t USING (SELECT c.dossier_id, c.channel,"
+                    + " c.consent_type, c.id, c.org_id, c.status, c.expires_at, c.updated_at"
+                    + " FROM consentement c"
+                    + " WHERE c.dossier_id = ? AND c.channel = ? AND c.consent_type = ?"
+                    + " AND NOT EXISTS (SELECT 1 FROM consentement n"
+                    + " WHERE n.dossier_id = c.dossier_id AND n.channel = c.channel"
+                    + " AND n.consent_type = c.consent_type AND (n.updated_at > c.updated_at"
+                    + " OR (n.updated_at = c.updated_at AND n.id > c.id)))) s"
+                    + " ON (t.dossier_id = s.dossier_id AND t.channel = s.channel"
+                    + " AND t.consent_type = s.consent_type)"
+                    + " WHEN MATCHED THEN UPDATE SET consentement_id = s.id, org_id = s.org_id,"
+                    + " status = s.status, expires_at = s.expires_at, updated_at = s.updated_at"
+                    + " WHEN NOT MATCHED THEN INSERT (dossier_id, channel, consent_type,"
+                    + " consentement_id, org_id, status, expires_at, updated_at)"
+                    + " VALUES (s.dossier_id, s.channel, s.consent_type, s.id, s.org_id, s.status,"
+                    + " s.expires_at, s.updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConsentementRepository consentementRepository;
+    private final Cache<ConsentKey, ConsentState> states;
+
+    public CurrentConsentService(
+            JdbcTemplate jdbcTemplate,
+            ConsentementRepository consentementRepository,
+            @Value("${consent.decision-cache.max-size:200000}") long maxSize,
+            @Value("${consent.decision-cache.ttl:PT30S}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.consentementRepository = consentementRepository;
+        this.states = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+    }
+
+    /** The dossier's current consent, {@link ConsentState#NONE} when it has never had one. */
+    public ConsentState current(
+            Long dossierId, ConsentementChannel channel, ConsentementType consentType) {
+        return current(List.of(dossierId), channel, consentType).get(dossierId);
+    }
+
+    /** Current consent of every given dossier; dossiers without consent map to {@code NONE}. */
+    public Map<Long, ConsentState> current(
+            Collection<Long> dossierIds,
+            ConsentementChannel channel,
+            ConsentementType consentType) {
+        List<ConsentKey> keys = new ArrayList<>();
+        for (Long dossierId : new LinkedHashSet<>(dossierIds)) {
+            keys.add(new ConsentKey(dossierId, channel, consentType));
+        }
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+        Map<ConsentKey, ConsentState> loaded = new HashMap<>(states.getAllPresent(keys));
+        List<ConsentKey> missing = keys.stream().filter(key -> !loaded.containsKey(key)).toList();
+        if (!missing.isEmpty()) {
+            load(missing)
+                    .forEach(
+                            (key, state) -> {
+                                loaded.put(key, state);
+                                if (state.status() != ConsentementStatus.GRANTED) {
+                                    states.put(key, state);
+                                }
+                            });
+        }
+        Map<Long, ConsentState> result = new HashMap<>();
+        loaded.forEach((key, state) -> result.put(key.dossierId(), state));
+        return result;
+    }
+
+    private Map<ConsentKey, ConsentState> load(List<ConsentKey> pending) {
+        Map<ConsentKey, ConsentState> loaded = new HashMap<>();
+        ConsentKey first = pending.get(0);
+        for (int from = 0; from < pending.size(); from += LOAD_CHUNK) {
+            List<Long> chunk =
+                    pending.subList(from, Math.min(from + LOAD_CHUNK, pending.size())).stream()
+                            .map(ConsentKey::dossierId)
+                            .toList();
+            for (ConsentementEntity consent :
+                    consentementRepository.findCurrentByDossierIds(
+                            chunk, first.channel().name(), first.consentType().name())) {
+                loaded.put(
+                        new ConsentKey(
+                                consent.getDossier().getId(),
+                                consent.getChannel(),
+                                consent.getConsentType()),
+                        ConsentState.of(consent));
+            }
+        }
+        for (ConsentKey key : pending) {
+            loaded.putIfAbsent(key, ConsentState.NONE);
+        }
+        return loaded;
+    }
+
+    /**
+     * Re-points the keys affected by a write of {@code consent} at their newest consent: its own
+     * key, and any key that still points at it after a change of channel or type. Runs on the
+     * writing transaction's connection, so the projection commits with the consent.
+     *
+     * <p>An existing pointer is updated in place by a {@code MERGE}, which locks its row, so
+     * concurrent writes for the same key queue behind each other rather than racing a delete and
+     * re-insert into the primary key. The pointer is only deleted when the key has no consent left.
+     */
+    public void refresh(ConsentementEntity consent) {
+        if (consent.getId() == null || consent.getDossier() == null) {
+            return;
+        }
+        Long dossierId = consent.getDossier().getId();
+        Set<ConsentKey> affected = new LinkedHashSet<>();
+        if (consent.getChannel() != null && consent.getConsentType() != null) {
+            affected.add(new ConsentKey(dossierId, consent.getChannel(), consent.getConsentType()));
+        }
+        affected.addAll(
+                jdbcTemplate.query(
+                        STALE_KEYS_SQL,
+                        (rs, rowNum) ->
+                                new ConsentKey(
+                                        dossierId,
+                                        ConsentementChannel.valueOf(rs.getString(1)),
+                                        ConsentementType.valueOf(rs.getString(2))),
+                        consent.getId()));
+
+        for (ConsentKey key : affected) {
+            Object[] args = {key.dossierId(), key.channel().name(), key.consentType().name()};
+            if (jdbcTemplate.update(REFRESH_SQL, args) == 0) {
+                jdbcTemplate.update(DELETE_SQL, args);
+            }
+        }
+        evict(affected);
+    }
+
+    private void evict(Set<ConsentKey> keys) {
+        states.invalidateAll(keys);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A concurrent read may cache the old row until this transaction commits
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            states.invalidateAll(keys);
+                        }
+                    });
+        }
+    }
+
+    record ConsentKey(
+            Long dossierId, ConsentementChannel channel, ConsentementType consentType) {}
+
+    /** Snapshot of a dossier's newest consent; {@link #NONE} when there is none. */
+    public record ConsentState(
+            Long consentementId,
+            ConsentementStatus status,
+            LocalDateTime expiresAt,
+            Map<String, Object> meta) {
+
+        public static final ConsentState NONE = new ConsentState(null, null, null, null);
+
+        static ConsentState of(ConsentementEntity consent) {
+            return new ConsentState(
+                    consent.getId(),
+                    consent.getStatus(),
+                    consent.getExpiresAt(),
+                    consent.getMeta() != null
+                            ? Collections.unmodifiableMap(new HashMap<>(consent.getMeta()))
+                            : null);
+        }
+
+        public boolean exists() {
+            return consentementId != null;
+        }
+
+        /** Granted and not expired at {@code now}; MARKETING metadata is checked separately. */
+        public boolean grantedAt(LocalDateTime now) {
+            return status == ConsentementStatus.GRANTED
+                    && (expiresAt == null || !expiresAt.isBefore(now));
+        }
+    }
+}
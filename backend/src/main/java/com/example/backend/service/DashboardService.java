@@ -11,7 +11,6 @@
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -134,6 +133,6 @@ private String calculateTrend(Long currentValue, Long previousValue) {
     public List<DossierResponse> getRecentDossiers() {
         Pageable pageable = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "createdAt"));
         List<Dossier> recentDossiers = dossierRepository.findAll(pageable).getContent();
-        return recentDossiers.stream().map(dossierMapper::toResponse).collect(Collectors.toList());
+        return dossierMapper.toResponses(recentDossiers);
     }
 }
@@ -2,6 +2,7 @@
 
 import com.example.backend.entity.*;
 import com.example.backend.repository.*;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.File;
 import java.io.FileWriter;
@@ -21,6 +22,7 @@
 public class DataExportService {
 
     private static final Logger logger = LoggerFactory.getLogger(DataExportService.class);
+    private static final TypeReference<Map<String, Object>> RECORD_TYPE = new TypeReference<>() {};
 
     private final DataExportRequestRepository exportRequestRepository;
     private final DossierRepository dossierRepository;
@@ -30,6 +32,7 @@ public class DataExportService {
     private final DocumentRepository documentRepository;
     private final AuditEventRepository auditEventRepository;
     private final ObjectMapper objectMapper;
+    private final ColdArchiveReader coldArchiveReader;
 
     public DataExportService(
             DataExportRequestRepository exportRequestRepository,
@@ -39,7 +42,8 @@ public DataExportService(
             MessageRepository messageRepository,
             DocumentRepository documentRepository,
             AuditEventRepository auditEventRepository,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            ColdArchiveReader coldArchiveReader) {
         this.exportRequestRepository = exportRequestRepository;
         this.dossierRepository = dossierRepository;
         this.partiePrenanteRepository = partiePrenanteRepository;
@@ -48,6 +52,7 @@ public DataExportService(
         this.documentRepository = documentRepository;
         this.auditEventRepository = auditEventRepository;
         this.objectMapper = objectMapper;
+        this.coldArchiveReader = coldArchiveReader;
     }
 
     @Transactional
@@ -174,11 +179,21 @@ private List<Map<String, Object>> collectParties(String orgId) {
     }
 
     private List<Map<String, Object>> collectActivities(String orgId) {
-        return new ArrayList<>();
+        return collectRecords(
+                orgId,
+                ArchivedRecord.Type.ACTIVITY,
+                activityRepository.findByOrgId(orgId).stream()
+                        .map(ArchivedRecord.Activity::of)
+                        .toList());
     }
 
     private List<Map<String, Object>> collectMessages(String orgId) {
-        return new ArrayList<>();
+        return collectRecords(
+                orgId,
+                ArchivedRecord.Type.MESSAGE,
+                messageRepository.findByOrgId(orgId).stream()
+                        .map(ArchivedRecord.Message::of)
+                        .toList());
     }
 
     private List<Map<String, Object>> collectDocuments(String orgId) {
@@ -186,17 +201,36 @@ private List<Map<String, Object>> collectDocuments(String orgId) {
     }
 
     private List<Map<String, Object>> collectAuditLogs(String orgId) {
-        return new ArrayList<>();
+        return collectRecords(
+                orgId,
+                ArchivedRecord.Type.AUDIT_EVENT,
+                auditEventRepository.findByOrgId(orgId).stream()
+                        .map(ArchivedRecord.AuditEvent::of)
+                        .toList());
+    }
+
+    // Archived history first, then the hot rows, all in the archive's record shape
+    private List<Map<String, Object>> collectRecords(
+            String orgId, ArchivedRecord.Type type, List<? extends ArchivedRecord> hot) {
+        List<Map<String, Object>> data = new ArrayList<>();
+        coldArchiveReader.forEachArchived(
+                orgId, type, record -> data.add(objectMapper.convertValue(record, RECORD_TYPE)));
+        for (ArchivedRecord record : hot) {
+            data.add(objectMapper.convertValue(record, RECORD_TYPE));
+        }
+        return data;
     }
 
     private String generateDownloadUrl(Long requestId) {
         return "/api/v1/data-export/download/" + requestId;
     }
 
+    @Transactional(readOnly = true)
     public Optional<DataExportRequestEntity> getExportRequest(Long id) {
         return exportRequestRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
     public List<DataExportRequestEntity> getExportRequestsByOrgId(String orgId) {
         return exportRequestRepository.findByOrgIdOrderByCreatedAtDesc(orgId);
     }
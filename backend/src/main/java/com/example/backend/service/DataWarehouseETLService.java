@@ -1,5 +1,6 @@
 package com.example.backend.service;
 
+import com.example.backend.aspect.LeasedJob;
 import com.example.backend.entity.AnalyticsMetricEntity;
 import com.example.backend.repository.AnalyticsMetricRepository;
 import com.example.backend.repository.DossierRepository;
@@ -28,6 +29,7 @@ public DataWarehouseETLService(
         this.dossierRepository = dossierRepository;
     }
 
+    @LeasedJob(name = "dwh-daily-etl", leaseFor = "PT1H", holdAtLeast = "PT5M")
     @Scheduled(cron = "0 0 2 * * ?")
     @Transactional
     public void runDailyETL() {
@@ -43,6 +45,7 @@ public void runDailyETL() {
         logger.info("Daily ETL job completed");
     }
 
+    @LeasedJob(name = "dwh-weekly-etl", leaseFor = "PT2H", holdAtLeast = "PT5M")
     @Scheduled(cron = "0 0 3 * * MON")
     @Transactional
     public void runWeeklyETL() {
@@ -1,37 +1,107 @@
 package com.example.backend.service;
 
+import com.example.backend.dto.DossierFacetCountRequest;
+import com.example.backend.dto.DossierFacetCountResponse;
+import com.example.backend.dto.DossierFilterCountResponse;
 import com.example.backend.dto.DossierFilterRequest;
 import com.example.backend.dto.DossierMapper;
 import com.example.backend.dto.DossierResponse;
 import com.example.backend.entity.Dossier;
-import com.example.backend.entity.enums.DossierStatus;
+import com.example.backend.entity.FilterPresetEntity;
 import com.example.backend.repository.DossierRepository;
+import com.example.backend.repository.FilterPresetRepository;
+import com.example.backend.util.TenantContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.criteria.*;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Dynamic dossier filtering.
+ *
+ * <p>Predicates are emitted in index-friendly shapes: text operators compare {@code lower(column)}
+ * without casts against an escaped pattern, which the {@code lower()} trigram and expression
+ * indexes on the searchable dossier columns can serve (see {@code V148} in {@code
+ * db/migration-postgres}); equality conditions OR-ed on the same field are folded into a single
+ * de-duplicated IN list. {@link #filterDossierSlice} fetches one extra row instead of counting and
+ * {@link #estimateCount} counts at most {@code dossier.filter.count.cap} rows, cached per tenant
+ * and filter, so the exact {@code count(*)} is only paid by callers that ask for a {@link Page}.
+ *
+ * <p>{@link #countFacets} returns the counts of a list view (base total, saved preset badges, per
+ * value status/source facets) from a single scan with one conditional count per facet. Both count
+ * caches are keyed by a per-tenant generation, which {@link DossierFilterCountListener} bumps once
+ * a dossier write commits and {@link FilterPresetService} once a preset changes; superseded entries
+ * are never read again and age out.
+ */
 @Service
 @Transactional(readOnly = true)
 public class DossierAdvancedFilterService {
 
+    private static final char LIKE_ESCAPE = '\\';
+    private static final Object PENDING_INVALIDATIONS =
+            DossierAdvancedFilterService.class.getName() + ".invalidations";
+
     private final DossierRepository dossierRepository;
     private final DossierMapper dossierMapper;
+    private final EntityManager entityManager;
+    private final FilterPresetRepository filterPresetRepository;
+    private final int countCap;
+    private final Cache<String, DossierFilterCountResponse> countCache;
+    private final Cache<String, DossierFacetCountResponse> facetCache;
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
 
     public DossierAdvancedFilterService(
-            DossierRepository dossierRepository, DossierMapper dossierMapper) {
+            DossierRepository dossierRepository,
+            DossierMapper dossierMapper,
+            EntityManager entityManager,
+            FilterPresetRepository filterPresetRepository,
+            @Value("${dossier.filter.count.cap:1000}") int countCap,
+            @Value("${dossier.filter.count.cache-ttl:PT30S}") Duration countCacheTtl,
+            @Value("${dossier.filter.count.cache-size:10000}") long countCacheSize,
+            @Value("${dossier.filter.facets.cache-ttl:PT15S}") Duration facetCacheTtl) {
         this.dossierRepository = dossierRepository;
         this.dossierMapper = dossierMapper;
+        this.entityManager = entityManager;
+        this.filterPresetRepository = filterPresetRepository;
+        this.countCap = countCap;
+        this.countCache =
+                Caffeine.newBuilder()
+                        .maximumSize(countCacheSize)
+                        .expireAfterWrite(countCacheTtl)
+                        .build();
+        this.facetCache =
+                Caffeine.newBuilder()
+                        .maximumSize(countCacheSize)
+                        .expireAfterWrite(facetCacheTtl)
+                        .build();
     }
 
     public Page<DossierResponse> filterDossiers(DossierFilterRequest filterRequest) {
@@ -42,7 +112,39 @@ public Page<DossierResponse> filterDossiers(DossierFilterRequest filterRequest)
         Pageable pageable = PageRequest.of(page, size);
 
         Page<Dossier> dossiers = dossierRepository.findAll(spec, pageable);
-        return dossiers.map(dossierMapper::toResponse);
+        return dossierMapper.toResponses(dossiers);
+    }
+
+    /**
+     * Filters without counting: fetches {@code size + 1} rows, newest first, to tell whether a next
+     * slice exists.
+     */
+    public Slice<DossierResponse> filterDossierSlice(DossierFilterRequest filterRequest) {
+        Specification<Dossier> spec = buildSpecification(filterRequest);
+
+        int page = filterRequest.getPage() != null ? filterRequest.getPage() : 0;
+        int size = filterRequest.getSize() != null ? filterRequest.getSize() : 20;
+        Pageable pageable = PageRequest.of(page, size);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Dossier> query = cb.createQuery(Dossier.class);
+        Root<Dossier> root = query.from(Dossier.class);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.desc(root.get("id")));
+
+        List<Dossier> rows =
+                entityManager
+                        .createQuery(query)
+                        .setFirstResult((int) pageable.getOffset())
+                        .setMaxResults(size + 1)
+                        .getResultList();
+        boolean hasNext = rows.size() > size;
+        List<DossierResponse> content =
+                dossierMapper.toResponses(rows.subList(0, Math.min(size, rows.size())));
+        return new SliceImpl<>(content, pageable, hasNext);
     }
 
     public Long countDossiers(DossierFilterRequest filterRequest) {
@@ -50,13 +152,221 @@ public Long countDossiers(DossierFilterRequest filterRequest) {
         return dossierRepository.count(spec);
     }
 
+    /**
+     * Counts matching dossiers up to {@code dossier.filter.count.cap}; above it the count is a
+     * lower bound flagged as not exact. Results are cached per tenant and filter for {@code
+     * dossier.filter.count.cache-ttl}.
+     */
+    public DossierFilterCountResponse estimateCount(DossierFilterRequest filterRequest) {
+        // EQUALS_CURRENT_USER makes the result user-specific
+        String key = tenantKey() + "|" + getCurrentUserId() + "|" + cacheKey(filterRequest);
+        return countCache.get(key, k -> cappedCount(filterRequest));
+    }
+
+    /**
+     * Total, preset and facet counts within the base filter, computed by one query selecting
+     * {@code count(*)} plus a conditional count per preset and facet value. Presets the current
+     * user cannot access are left out of the result.
+     */
+    public DossierFacetCountResponse countFacets(DossierFacetCountRequest request) {
+        String key =
+                tenantKey()
+                        + "|"
+                        + getCurrentUserId()
+                        + "|"
+                        + (request.getBaseFilter() != null
+                                ? cacheKey(request.getBaseFilter())
+                                : "")
+                        + "|"
+                        + request.getPresetIds()
+                        + "|"
+                        + request.getFacetFields();
+        return facetCache.get(key, k -> computeFacets(request));
+    }
+
+    /**
+     * Retires the tenant's cached counts once the current transaction commits, or immediately
+     * outside one; called on dossier writes and preset changes.
+     */
+    public void invalidateCounts(String orgId) {
+        String tenant = orgId != null ? orgId : "";
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            nextGeneration(tenant);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<String> pending =
+                (Set<String>) TransactionSynchronizationManager.getResource(PENDING_INVALIDATIONS);
+        if (pending == null) {
+            // One synchronization per transaction, however many dossiers it writes
+            Set<String> tenants = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(PENDING_INVALIDATIONS, tenants);
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            tenants.forEach(DossierAdvancedFilterService.this::nextGeneration);
+                        }
+
+                        @Override
+                        public void afterCompletion(int status) {
+                            TransactionSynchronizationManager.unbindResourceIfPossible(
+                                    PENDING_INVALIDATIONS);
+                        }
+                    });
+            pending = tenants;
+        }
+        pending.add(tenant);
+    }
+
+    private void nextGeneration(String tenant) {
+        generations.computeIfAbsent(tenant, t -> new AtomicLong()).incrementAndGet();
+    }
+
+    private String tenantKey() {
+        String tenant = currentOrg();
+        AtomicLong generation = generations.get(tenant);
+        return tenant + "|" + (generation != null ? generation.get() : 0L);
+    }
+
+    private DossierFacetCountResponse computeFacets(DossierFacetCountRequest request) {
+        List<FilterPresetEntity> presets =
+                request.getPresetIds() != null && !request.getPresetIds().isEmpty()
+                        ? filterPresetRepository.findAccessibleByIds(
+                                request.getPresetIds(), currentOrg(), getCurrentUserId())
+                        : List.of();
+        List<String> facetFields =
+                request.getFacetFields() != null ? request.getFacetFields() : List.of();
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Dossier> root = query.from(Dossier.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(cb.count(root));
+        for (FilterPresetEntity preset : presets) {
+            Predicate predicate =
+                    buildSpecification(presetFilter(preset.getFilterConfig()))
+                            .toPredicate(root, query, cb);
+            selections.add(countWhere(cb, predicate));
+        }
+        Map<String, Object[]> facetValues = new LinkedHashMap<>();
+        for (String field : facetFields) {
+            Path<?> path = getPath(root, field);
+            Class<?> type = path.getJavaType();
+            if (type == null || !type.isEnum()) {
+                throw new IllegalArgumentException(
+                        "Facet field must be an enumerated dossier attribute: " + field);
+            }
+            Object[] values = type.getEnumConstants();
+            facetValues.put(field, values);
+            for (Object value : values) {
+                selections.add(countWhere(cb, cb.equal(path, value)));
+            }
+        }
+        query.multiselect(selections);
+
+        if (request.getBaseFilter() != null) {
+            Predicate base =
+                    buildSpecification(request.getBaseFilter()).toPredicate(root, query, cb);
+            if (base != null) {
+                query.where(base);
+            }
+        }
+
+        Tuple row = entityManager.createQuery(query).getSingleResult();
+        int column = 0;
+        long total = row.get(column++, Long.class);
+        Map<Long, Long> presetCounts = new LinkedHashMap<>();
+        for (FilterPresetEntity preset : presets) {
+            presetCounts.put(preset.getId(), row.get(column++, Long.class));
+        }
+        Map<String, Map<String, Long>> facetCounts = new LinkedHashMap<>();
+        for (Map.Entry<String, Object[]> facet : facetValues.entrySet()) {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (Object value : facet.getValue()) {
+                counts.put(((Enum<?>) value).name(), row.get(column++, Long.class));
+            }
+            facetCounts.put(facet.getKey(), counts);
+        }
+        return new DossierFacetCountResponse(total, presetCounts, facetCounts);
+    }
+
+    /**
+     * {@code count(case when predicate then 1 end)}: the portable spelling of {@code count(*)
+     * FILTER (WHERE predicate)}, which PostgreSQL evaluates in the same single pass.
+     */
+    private static Expression<Long> countWhere(CriteriaBuilder cb, Predicate predicate) {
+        if (predicate == null) {
+            predicate = cb.conjunction();
+        }
+        return cb.count(
+                cb.<Integer>selectCase()
+                        .when(predicate, 1)
+                        .otherwise(cb.nullLiteral(Integer.class)));
+    }
+
+    /** A preset's {@code filter_config} ({conditions, logicOperator}) as a filter request. */
+    @SuppressWarnings("unchecked")
+    static DossierFilterRequest presetFilter(Map<String, Object> config) {
+        DossierFilterRequest filter = new DossierFilterRequest();
+        if (config == null) {
+            return filter;
+        }
+        Object logic = config.get("logicOperator");
+        filter.setLogicOperator(logic != null ? String.valueOf(logic) : null);
+        List<DossierFilterRequest.FilterCondition> conditions = new ArrayList<>();
+        if (config.get("conditions") instanceof List<?> rawConditions) {
+            for (Object raw : rawConditions) {
+                if (raw instanceof Map<?, ?> map) {
+                    Map<String, Object> fields = (Map<String, Object>) map;
+                    DossierFilterRequest.FilterCondition condition =
+                            new DossierFilterRequest.FilterCondition();
+                    condition.setField((String) fields.get("field"));
+                    condition.setOperator((String) fields.get("operator"));
+                    condition.setValue(fields.get("value"));
+                    conditions.add(condition);
+                }
+            }
+        }
+        filter.setConditions(conditions);
+        return filter;
+    }
+
+    private DossierFilterCountResponse cappedCount(DossierFilterRequest filterRequest) {
+        Specification<Dossier> spec = buildSpecification(filterRequest);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Dossier> root = query.from(Dossier.class);
+        query.select(root.<Long>get("id"));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        int matched =
+                entityManager.createQuery(query).setMaxResults(countCap + 1).getResultList().size();
+        return matched > countCap
+                ? new DossierFilterCountResponse(countCap, false)
+                : new DossierFilterCountResponse(matched, true);
+    }
+
     private Specification<Dossier> buildSpecification(DossierFilterRequest filterRequest) {
+        String logicOperator =
+                filterRequest.getLogicOperator() != null
+                        ? filterRequest.getLogicOperator().toUpperCase()
+                        : "AND";
+        List<DossierFilterRequest.FilterCondition> conditions =
+                "OR".equals(logicOperator)
+                        ? foldEqualsIntoIn(filterRequest.getConditions())
+                        : filterRequest.getConditions();
+
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
 
-            if (filterRequest.getConditions() != null && !filterRequest.getConditions().isEmpty()) {
-                for (DossierFilterRequest.FilterCondition condition :
-                        filterRequest.getConditions()) {
+            if (conditions != null && !conditions.isEmpty()) {
+                for (DossierFilterRequest.FilterCondition condition : conditions) {
                     Predicate predicate = buildPredicate(root, criteriaBuilder, condition);
                     if (predicate != null) {
                         predicates.add(predicate);
@@ -68,11 +378,6 @@ private Specification<Dossier> buildSpecification(DossierFilterRequest filterReq
                 return criteriaBuilder.conjunction();
             }
 
-            String logicOperator =
-                    filterRequest.getLogicOperator() != null
-                            ? filterRequest.getLogicOperator().toUpperCase()
-                            : "AND";
-
             if ("OR".equals(logicOperator)) {
                 return criteriaBuilder.or(predicates.toArray(new Predicate[0]));
             } else {
@@ -99,49 +404,47 @@ private Predicate buildPredicate(
 
                 case "CONTAINS":
                     return cb.like(
-                            cb.lower(root.get(field).as(String.class)),
-                            "%" + String.valueOf(value).toLowerCase() + "%");
+                            lowerText(root, cb, field),
+                            "%" + likeEscape(value) + "%",
+                            LIKE_ESCAPE);
 
                 case "NOT_CONTAINS":
                     return cb.notLike(
-                            cb.lower(root.get(field).as(String.class)),
-                            "%" + String.valueOf(value).toLowerCase() + "%");
+                            lowerText(root, cb, field),
+                            "%" + likeEscape(value) + "%",
+                            LIKE_ESCAPE);
 
                 case "STARTS_WITH":
                     return cb.like(
-                            cb.lower(root.get(field).as(String.class)),
-                            String.valueOf(value).toLowerCase() + "%");
+                            lowerText(root, cb, field), likeEscape(value) + "%", LIKE_ESCAPE);
 
                 case "ENDS_WITH":
                     return cb.like(
-                            cb.lower(root.get(field).as(String.class)),
-                            "%" + String.valueOf(value).toLowerCase());
+                            lowerText(root, cb, field), "%" + likeEscape(value), LIKE_ESCAPE);
 
                 case "IN":
-                    if (value instanceof List) {
-                        List<?> values = (List<?>) value;
-                        if ("status".equals(field)) {
-                            List<DossierStatus> statuses = new ArrayList<>();
-                            for (Object v : values) {
-                                statuses.add(DossierStatus.valueOf(String.valueOf(v)));
-                            }
-                            return root.get(field).in(statuses);
+                    if (value instanceof Collection<?> values) {
+                        Path<?> path = getPath(root, field);
+                        Set<Object> distinct = typedValues(path, values);
+                        if (distinct.isEmpty()) {
+                            return cb.disjunction();
                         }
-                        return root.get(field).in(values);
+                        return distinct.size() == 1
+                                ? cb.equal(path, distinct.iterator().next())
+                                : path.in(distinct);
                     }
                     return null;
 
                 case "NOT_IN":
-                    if (value instanceof List) {
-                        List<?> values = (List<?>) value;
-                        if ("status".equals(field)) {
-                            List<DossierStatus> statuses = new ArrayList<>();
-                            for (Object v : values) {
-                                statuses.add(DossierStatus.valueOf(String.valueOf(v)));
-                            }
-                            return cb.not(root.get(field).in(statuses));
+                    if (value instanceof Collection<?> values) {
+                        Path<?> path = getPath(root, field);
+                        Set<Object> distinct = typedValues(path, values);
+                        if (distinct.isEmpty()) {
+                            return cb.conjunction();
                         }
-                        return cb.not(root.get(field).in(values));
+                        return distinct.size() == 1
+                                ? cb.notEqual(path, distinct.iterator().next())
+                                : cb.not(path.in(distinct));
                     }
                     return null;
 
@@ -224,11 +527,130 @@ private Predicate buildPredicate(
 
     private Predicate buildEqualsPredicate(
             Root<Dossier> root, CriteriaBuilder cb, String field, Object value) {
-        if ("status".equals(field)) {
-            DossierStatus status = DossierStatus.valueOf(String.valueOf(value));
-            return cb.equal(root.get(field), status);
+        Path<?> path = getPath(root, field);
+        return cb.equal(path, typedValue(path, value));
+    }
+
+    /**
+     * {@code lower(column)} exactly as the expression indexes are declared: string attributes are
+     * used as-is, since a cast around the column would hide it from the index.
+     */
+    @SuppressWarnings("unchecked")
+    private Expression<String> lowerText(Root<Dossier> root, CriteriaBuilder cb, String field) {
+        Path<?> path = getPath(root, field);
+        Expression<String> text =
+                String.class.equals(path.getJavaType())
+                        ? (Expression<String>) path
+                        : path.as(String.class);
+        return cb.lower(text);
+    }
+
+    /** Lower-cases the value and escapes LIKE wildcards with {@link #LIKE_ESCAPE}. */
+    static String likeEscape(Object value) {
+        String text = String.valueOf(value).toLowerCase();
+        StringBuilder escaped = new StringBuilder(text.length() + 4);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
         }
-        return cb.equal(getPath(root, field), value);
+        return escaped.toString();
+    }
+
+    private static Set<Object> typedValues(Path<?> path, Collection<?> values) {
+        Set<Object> distinct = new LinkedHashSet<>();
+        for (Object value : values) {
+            distinct.add(typedValue(path, value));
+        }
+        return distinct;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object typedValue(Path<?> path, Object value) {
+        Class<?> type = path.getJavaType();
+        if (value == null || type == null || type.isInstance(value)) {
+            return value;
+        }
+        if (type.isEnum()) {
+            return Enum.valueOf((Class<? extends Enum>) type, String.valueOf(value));
+        }
+        if (value instanceof Number number) {
+            if (Long.class.equals(type)) {
+                return number.longValue();
+            }
+            if (Integer.class.equals(type)) {
+                return number.intValue();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Folds EQUALS and IN conditions OR-ed on the same field into one IN condition, so {@code a = 1
+     * OR a = 2 OR a IN (2, 3)} becomes {@code a IN (1, 2, 3)}: one index probe list instead of a
+     * chain of ORs the planner may turn into a scan.
+     */
+    static List<DossierFilterRequest.FilterCondition> foldEqualsIntoIn(
+            List<DossierFilterRequest.FilterCondition> conditions) {
+        if (conditions == null || conditions.size() < 2) {
+            return conditions;
+        }
+        Map<String, Set<Object>> valuesByField = new LinkedHashMap<>();
+        List<DossierFilterRequest.FilterCondition> others = new ArrayList<>();
+        for (DossierFilterRequest.FilterCondition condition : conditions) {
+            String operator =
+                    condition.getOperator() != null ? condition.getOperator().toUpperCase() : "";
+            if ("EQUALS".equals(operator) && condition.getValue() != null) {
+                valuesByField
+                        .computeIfAbsent(condition.getField(), f -> new LinkedHashSet<>())
+                        .add(condition.getValue());
+            } else if ("IN".equals(operator) && condition.getValue() instanceof Collection<?> in) {
+                valuesByField
+                        .computeIfAbsent(condition.getField(), f -> new LinkedHashSet<>())
+                        .addAll(in);
+            } else {
+                others.add(condition);
+            }
+        }
+
+        List<DossierFilterRequest.FilterCondition> folded = new ArrayList<>();
+        valuesByField.forEach(
+                (field, values) -> {
+                    DossierFilterRequest.FilterCondition in =
+                            new DossierFilterRequest.FilterCondition();
+                    in.setField(field);
+                    in.setOperator("IN");
+                    in.setValue(new ArrayList<>(values));
+                    folded.add(in);
+                });
+        folded.addAll(others);
+        return folded;
+    }
+
+    private static String cacheKey(DossierFilterRequest filterRequest) {
+        StringBuilder key =
+                new StringBuilder(
+                        filterRequest.getLogicOperator() != null
+                                ? filterRequest.getLogicOperator().toUpperCase()
+                                : "AND");
+        if (filterRequest.getConditions() != null) {
+            for (DossierFilterRequest.FilterCondition condition : filterRequest.getConditions()) {
+                key.append('|')
+                        .append(condition.getField())
+                        .append(' ')
+                        .append(condition.getOperator())
+                        .append(' ')
+                        .append(condition.getValue());
+            }
+        }
+        return key.toString();
+    }
+
+    private static String currentOrg() {
+        String orgId = TenantContext.getOrgId();
+        return orgId != null ? orgId : "";
     }
 
     private Predicate buildComparisonPredicate(
@@ -0,0 +1,31 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.Dossier;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA listener retiring the cached filter and facet counts of a dossier's tenant once a dossier
+ * write on this node commits. Writes on other nodes are bounded by the caches' short TTL.
+ */
+public class DossierFilterCountListener {
+
+    private final ObjectProvider<DossierAdvancedFilterService> filterServiceProvider;
+
+    public DossierFilterCountListener(
+            ObjectProvider<DossierAdvancedFilterService> filterServiceProvider) {
+        this.filterServiceProvider = filterServiceProvider;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(Dossier dossier) {
+        DossierAdvancedFilterService filterService = filterServiceProvider.getIfAvailable();
+        if (filterService != null) {
+            filterService.invalidateCounts(dossier.getOrgId());
+        }
+    }
+}
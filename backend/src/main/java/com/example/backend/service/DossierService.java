@@ -21,9 +21,11 @@
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
@@ -49,6 +51,14 @@ public class DossierService {
     private final DossierStatusCodeValidationService statusCodeValidationService;
     private final com.example.backend.brain.BrainClientService brainClientService;
     private final LocaleDetectionService localeDetectionService;
+    private final PropertyMatchIndex propertyMatchIndex;
+    private final ProjectionQueryService projectionQueryService;
+
+    @Value("${dossier.match.top-k:20}")
+    private int matchTopK = 20;
+
+    @Value("${dossier.match.brain-rerank:true}")
+    private boolean brainRerank = true;
 
     public DossierService(
             DossierRepository dossierRepository,
@@ -64,7 +74,9 @@ public DossierService(
             DossierStatusCodeValidationService statusCodeValidationService,
             @Autowired(required = false) @Nullable
                     com.example.backend.brain.BrainClientService brainClientService,
-            LocaleDetectionService localeDetectionService) {
+            LocaleDetectionService localeDetectionService,
+            PropertyMatchIndex propertyMatchIndex,
+            ProjectionQueryService projectionQueryService) {
         this.dossierRepository = dossierRepository;
         this.activityRepository = activityRepository;
         this.dossierMapper = dossierMapper;
@@ -78,6 +90,8 @@ public DossierService(
         this.statusCodeValidationService = statusCodeValidationService;
         this.brainClientService = brainClientService;
         this.localeDetectionService = localeDetectionService;
+        this.propertyMatchIndex = propertyMatchIndex;
+        this.projectionQueryService = projectionQueryService;
     }
 
     @Transactional
@@ -227,7 +241,7 @@ public Page<DossierResponse> list(
         }
 
         Page<Dossier> dossiers = dossierRepository.findAll(spec, pageable);
-        return dossiers.map(dossierMapper::toResponse);
+        return dossierMapper.toResponses(dossiers);
     }
 
     @CacheEvict(
@@ -351,7 +365,7 @@ public List<DossierResponse> checkForDuplicates(String phone) {
             }
         }
 
-        return allDuplicates.stream().map(dossierMapper::toResponse).collect(Collectors.toList());
+        return dossierMapper.toResponses(allDuplicates);
     }
 
     @Transactional
@@ -468,6 +482,27 @@ public Dossier findEntityById(Long id) {
     @Transactional(readOnly = true)
     public Page<Dossier> findAll(
             DossierStatus status, String leadPhone, Long annonceId, Pageable pageable) {
+        return dossierRepository.findAll(
+                listSpecification(status, leadPhone, annonceId), pageable);
+    }
+
+    /** Same filters as {@link #findAll}, selecting only the given attributes of each dossier. */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> findAttributes(
+            DossierStatus status,
+            String leadPhone,
+            Long annonceId,
+            Collection<String> attributes,
+            Pageable pageable) {
+        return projectionQueryService.findPage(
+                Dossier.class,
+                listSpecification(status, leadPhone, annonceId),
+                attributes,
+                pageable);
+    }
+
+    private Specification<Dossier> listSpecification(
+            DossierStatus status, String leadPhone, Long annonceId) {
         Specification<Dossier> spec = (root, query, criteriaBuilder) -> criteriaBuilder.conjunction();
 
         if (status != null) {
@@ -491,7 +526,7 @@ public Page<Dossier> findAll(
                                     criteriaBuilder.equal(root.get("annonceId"), annonceId));
         }
 
-        return dossierRepository.findAll(spec, pageable);
+        return spec;
     }
 
     @Transactional(readOnly = true)
@@ -510,41 +545,85 @@ public com.example.backend.brain.dto.MatchResponse matchOffMarket(Long id) {
             throw new EntityNotFoundException("Dossier not found: " + id);
         }
 
-        List<Annonce> offMarketAnnonces =
-                annonceRepository.findByStatusAndOrgId(AnnonceStatus.DRAFT, orgId);
-
-        com.example.backend.brain.dto.MatchRequest request =
-                new com.example.backend.brain.dto.MatchRequest();
-        request.setClientId(dossier.getId());
-
-        java.util.Map<String, Object> prefs = new java.util.HashMap<>();
-        prefs.put("budget", 0);
-        prefs.put("city", "");
-        if (dossier.getNotes() != null) {
-            prefs.put("notes", dossier.getNotes());
+        Annonce reference =
+                dossier.getAnnonceId() != null
+                        ? annonceRepository
+                                .findById(dossier.getAnnonceId())
+                                .filter(a -> orgId.equals(a.getOrgId()))
+                                .orElse(null)
+                        : null;
+
+        List<PropertyMatchIndex.Match> topMatches =
+                propertyMatchIndex.topMatches(
+                        orgId,
+                        propertyMatchIndex.criteriaFor(reference),
+                        matchTopK,
+                        reference != null ? reference.getId() : null);
+
+        // The index may trail other nodes' writes: keep only listings still off-market here
+        java.util.Map<Long, Annonce> annoncesById = new java.util.HashMap<>();
+        for (Annonce annonce :
+                annonceRepository.findAllById(
+                        topMatches.stream().map(m -> m.listing().id()).toList())) {
+            if (orgId.equals(annonce.getOrgId()) && annonce.getStatus() == AnnonceStatus.DRAFT) {
+                annoncesById.put(annonce.getId(), annonce);
+            }
         }
-        request.setPreferences(prefs);
 
-        List<java.util.Map<String, Object>> biensList =
-                offMarketAnnonces.stream()
-                        .map(
-                                a -> {
-                                    java.util.Map<String, Object> map = new java.util.HashMap<>();
-                                    map.put("id", a.getId());
-                                    map.put("title", a.getTitle());
-                                    map.put("description", a.getDescription());
-                                    map.put("price", a.getPrice());
-                                    map.put("city", a.getCity());
-                                    map.put("type", a.getType() != null ? a.getType().name() : "");
-                                    return map;
-                                })
-                        .collect(Collectors.toList());
+        List<java.util.Map<String, Object>> localMatches = new ArrayList<>();
+        List<java.util.Map<String, Object>> biensList = new ArrayList<>();
+        for (PropertyMatchIndex.Match match : topMatches) {
+            Annonce a = annoncesById.get(match.listing().id());
+            if (a == null) {
+                propertyMatchIndex.remove(orgId, match.listing().id());
+                continue;
+            }
+            java.util.Map<String, Object> map = new java.util.HashMap<>();
+            map.put("id", a.getId());
+            map.put("title", a.getTitle());
+            map.put("description", a.getDescription());
+            map.put("price", a.getPrice());
+            map.put("city", a.getCity());
+            map.put("type", a.getType() != null ? a.getType().name() : "");
+            biensList.add(map);
+
+            java.util.Map<String, Object> local = new java.util.HashMap<>(map);
+            local.put("annonce_id", a.getId());
+            local.put("score", match.score());
+            localMatches.add(local);
+        }
+
+        if (this.brainClientService != null && brainRerank && !biensList.isEmpty()) {
+            com.example.backend.brain.dto.MatchRequest request =
+                    new com.example.backend.brain.dto.MatchRequest();
+            request.setClientId(dossier.getId());
+
+            java.util.Map<String, Object> prefs = new java.util.HashMap<>();
+            prefs.put(
+                    "budget",
+                    reference != null && reference.getPrice() != null ? reference.getPrice() : 0);
+            prefs.put(
+                    "city",
+                    reference != null && reference.getCity() != null ? reference.getCity() : "");
+            if (dossier.getNotes() != null) {
+                prefs.put("notes", dossier.getNotes());
+            }
+            request.setPreferences(prefs);
+            request.setBiens(biensList);
 
-        request.setBiens(biensList);
+            java.util.Optional<com.example.backend.brain.dto.MatchResponse> reranked =
+                    this.brainClientService.calculateMatch(request);
+            if (reranked.isPresent()) {
+                return reranked.get();
+            }
+        }
 
-        if (this.brainClientService != null) {
-            return this.brainClientService.calculateMatch(request).orElse(null);
+        if (localMatches.isEmpty()) {
+            return null;
         }
-        return null;
+        com.example.backend.brain.dto.MatchResponse response =
+                new com.example.backend.brain.dto.MatchResponse();
+        response.setMatches(localMatches);
+        return response;
     }
 }
@@ -95,10 +95,8 @@ public void validateStatusCodeForCaseType(String caseType, String statusCode) {
                                 .distinct()
                                 .collect(Collectors.toList());
 
-                List<WorkflowDefinition> fromTransitions =
-                        workflowDefinitionRepository.findByCaseType(orgId, caseType);
                 allowedStatusCodes.addAll(
-                        fromTransitions.stream()
+                        allowedTransitions.stream()
                                 .map(WorkflowDefinition::getFromStatus)
                                 .distinct()
                                 .collect(Collectors.toList()));
@@ -125,16 +123,21 @@ public String deriveStatusCodeFromEnumStatus(DossierStatus status) {
 
     @Transactional(readOnly = true)
     public List<String> getAllowedStatusCodesForCaseType(String caseType) {
+        String orgId = TenantContext.getOrgId();
         if (caseType == null || caseType.isBlank()) {
             List<ReferentialEntity> allStatuses =
-                    referentialRepository.findByCategoryAndIsActiveTrueOrderByDisplayOrderAsc(
-                            "CASE_STATUS");
+                    orgId == null
+                            ? referentialRepository
+                                    .findByCategoryAndIsActiveTrueOrderByDisplayOrderAsc(
+                                            "CASE_STATUS")
+                            : referentialRepository
+                                    .findByOrgIdAndCategoryAndIsActiveTrueOrderByDisplayOrderAsc(
+                                            orgId, "CASE_STATUS");
             return allStatuses.stream()
                     .map(ReferentialEntity::getCode)
                     .collect(Collectors.toList());
         }
 
-        String orgId = TenantContext.getOrgId();
         if (orgId == null) {
             throw new IllegalStateException("Organization ID not found in context");
         }
@@ -144,8 +147,9 @@ public List<String> getAllowedStatusCodesForCaseType(String caseType) {
 
         if (allowedTransitions.isEmpty()) {
             List<ReferentialEntity> allStatuses =
-                    referentialRepository.findByCategoryAndIsActiveTrueOrderByDisplayOrderAsc(
-                            "CASE_STATUS");
+                    referentialRepository
+                            .findByOrgIdAndCategoryAndIsActiveTrueOrderByDisplayOrderAsc(
+                                    orgId, "CASE_STATUS");
             return allStatuses.stream()
                     .map(ReferentialEntity::getCode)
                     .collect(Collectors.toList());
@@ -1,140 +1,315 @@
 package com.example.backend.service;
 
+import com.example.backend.aspect.LeasedJob;
 import com.example.backend.entity.Dossier;
-import com.example.backend.entity.LeadScore;
+import com.example.backend.entity.EmailProviderConfig;
 import com.example.backend.entity.LeadScoringConfig;
+import com.example.backend.entity.OutboundMessageEntity;
 import com.example.backend.entity.enums.DossierStatus;
-import com.example.backend.repository.DossierRepository;
+import com.example.backend.entity.enums.MessageChannel;
+import com.example.backend.repository.EmailProviderConfigRepository;
 import com.example.backend.repository.LeadScoreRepository;
 import com.example.backend.repository.LeadScoringConfigRepository;
+import com.example.backend.util.ScheduledJobContext;
 import com.example.backend.util.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.sql.Date;
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Daily digest of each organization's high-priority leads, e-mailed to the organization.
+ *
+ * <p>The job is partitioned by organization ({@link LeasedJob}) and never holds more than one page
+ * of tenants: it pages through active scoring configs by organization id, loads each tenant's top
+ * {@code lead.digest.max-leads} leads with one query on the score index, and renders and sends
+ * the digests on a pool of {@code lead.digest.parallelism} threads through the pooled SMTP
+ * provider. Every organization is checkpointed in {@code email_digest_checkpoint} as {@code
+ * SENDING} before its digest is handed to the provider, then with its outcome, so a run restarted
+ * the same day skips the organizations already done or in flight. A crash mid-send therefore
+ * drops that day's digest for the organizations on the pool instead of e-mailing them twice; a
+ * send the provider reported as failed is retried.
+ */
 @Service
 public class EmailDigestService {
 
     private static final Logger log = LoggerFactory.getLogger(EmailDigestService.class);
 
+    private static final List<DossierStatus> DIGEST_STATUSES =
+            List.of(DossierStatus.NEW, DossierStatus.QUALIFYING, DossierStatus.QUALIFIED);
+
+    static final String STATUS_SENDING = "SENDING";
+    static final String STATUS_SENT = "SENT";
+    static final String STATUS_SKIPPED = "SKIPPED";
+    static final String STATUS_FAILED = "FAILED";
+
+    private static final String DONE_SQL =
+            "SELECT org_id FROM email_digest_checkpoint WHERE digest_date = ?"
+                    + " AND status IN ('SENDING', 'SENT', 'SKIPPED')";
+    private static final String CHECKPOINT_UPDATE_SQL =
+            "UPDATE email_digest_checkpoint SET status = ?, lead_count = ?,"
+                    + " provider_message_id = ?, last_error = ?, updated_at = ?"
+                    + " WHERE digest_date = ? AND org_id = ?";
+    private static final String CHECKPOINT_INSERT_SQL =
+            "INSERT INTO email_digest_checkpoint (status, lead_count, provider_message_id,"
+                    + " last_error, updated_at, digest_date, org_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
     private final LeadScoreRepository leadScoreRepository;
-    private final DossierRepository dossierRepository;
     private final LeadScoringConfigRepository configRepository;
+    private final EmailProviderConfigRepository emailConfigRepository;
+    private final JavaMailEmailProvider emailProvider;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService digestExecutor;
+    private final int tenantPageSize;
+    private final int maxLeads;
 
     public EmailDigestService(
             LeadScoreRepository leadScoreRepository,
-            DossierRepository dossierRepository,
-            LeadScoringConfigRepository configRepository) {
+            LeadScoringConfigRepository configRepository,
+            EmailProviderConfigRepository emailConfigRepository,
+            JavaMailEmailProvider emailProvider,
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${lead.digest.parallelism:4}") int parallelism,
+            @Value("${lead.digest.tenant-page-size:100}") int tenantPageSize,
+            @Value("${lead.digest.max-leads:20}") int maxLeads) {
         this.leadScoreRepository = leadScoreRepository;
-        this.dossierRepository = dossierRepository;
         this.configRepository = configRepository;
+        this.emailConfigRepository = emailConfigRepository;
+        this.emailProvider = emailProvider;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.tenantPageSize = tenantPageSize;
+        this.maxLeads = maxLeads;
+        this.digestExecutor =
+                Executors.newFixedThreadPool(
+                        Math.max(1, parallelism),
+                        Thread.ofPlatform().name("lead-digest-", 1).daemon().factory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        digestExecutor.shutdownNow();
     }
 
+    @LeasedJob(
+            name = "lead-daily-digest",
+            partitions = 16,
+            leaseFor = "PT30M",
+            holdAtLeast = "PT5M")
     @Scheduled(cron = "${lead.digest.cron:0 0 8 * * MON-FRI}")
-    @Transactional(readOnly = true)
     public void sendDailyDigest() {
         log.info("Starting daily lead digest job");
 
+        LocalDate digestDate = LocalDate.now();
         try {
-            Map<String, List<Dossier>> dossiersByOrg = groupDossiersByOrganization();
-
-            for (Map.Entry<String, List<Dossier>> entry : dossiersByOrg.entrySet()) {
-                String orgId = entry.getKey();
-                List<Dossier> dossiers = entry.getValue();
-
-                try {
-                    String originalOrgId = TenantContext.getOrgId();
-                    TenantContext.setOrgId(orgId);
+            Set<String> done =
+                    new HashSet<>(
+                            jdbcTemplate.queryForList(
+                                    DONE_SQL, String.class, Date.valueOf(digestDate)));
+            Set<String> seen = new HashSet<>();
+            String afterOrgId = "";
+            int submitted = 0;
+            int resumed = 0;
+
+            while (true) {
+                List<LeadScoringConfig> configs =
+                        configRepository.findActiveConfigsAfter(
+                                afterOrgId, PageRequest.of(0, tenantPageSize));
+                if (configs.isEmpty()) {
+                    break;
+                }
+                afterOrgId = configs.get(configs.size() - 1).getOrgId();
 
+                List<Future<?>> page = new ArrayList<>();
+                for (LeadScoringConfig config : configs) {
+                    String orgId = config.getOrgId();
+                    if (!seen.add(orgId) || !ScheduledJobContext.owns(orgId)) {
+                        continue;
+                    }
+                    if (done.contains(orgId)) {
+                        resumed++;
+                        continue;
+                    }
+                    page.add(
+                            digestExecutor.submit(
+                                    () -> sendDigestForOrganization(orgId, config, digestDate)));
+                }
+                // One page of tenants in flight at a time keeps the run's memory flat
+                for (Future<?> task : page) {
                     try {
-                        sendDigestForOrganization(orgId, dossiers);
-                    } finally {
-                        TenantContext.setOrgId(originalOrgId);
+                        task.get();
+                    } catch (ExecutionException e) {
+                        log.error("Error in lead digest task: {}", e.getCause().getMessage(), e);
                     }
-                } catch (Exception e) {
-                    log.error("Error sending digest for org {}: {}", orgId, e.getMessage(), e);
+                }
+                submitted += page.size();
+                ScheduledJobContext.addItems(page.size());
+
+                if (configs.size() < tenantPageSize) {
+                    break;
                 }
             }
 
-            log.info("Daily lead digest job completed");
+            log.info(
+                    "Daily lead digest job completed: {} organizations processed, {} already done",
+                    submitted,
+                    resumed);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Daily lead digest job interrupted");
         } catch (Exception e) {
             log.error("Error in daily digest job: {}", e.getMessage(), e);
         }
     }
 
-    private Map<String, List<Dossier>> groupDossiersByOrganization() {
-        Specification<Dossier> spec =
-                (root, query, criteriaBuilder) ->
-                        criteriaBuilder
-                                .in(root.get("status"))
-                                .value(
-                                        List.of(
-                                                DossierStatus.NEW,
-                                                DossierStatus.QUALIFYING,
-                                                DossierStatus.QUALIFIED));
-
-        List<Dossier> allDossiers = dossierRepository.findAll(spec);
+    void sendDigestForOrganization(String orgId, LeadScoringConfig config, LocalDate digestDate) {
+        String originalOrgId = TenantContext.getOrgId();
+        TenantContext.setOrgId(orgId);
+        try {
+            List<DossierWithScore> highPriorityLeads = loadHighPriorityLeads(orgId, config);
+            if (highPriorityLeads.isEmpty()) {
+                log.debug("No high-priority leads for org {}, skipping digest", orgId);
+                checkpoint(digestDate, orgId, STATUS_SKIPPED, 0, null, null);
+                return;
+            }
 
-        return allDossiers.stream().collect(Collectors.groupingBy(Dossier::getOrgId));
-    }
+            String agentEmail = getAgentEmailForOrg(orgId);
+            if (agentEmail == null || agentEmail.isEmpty()) {
+                log.warn("No agent email configured for org {}, skipping digest", orgId);
+                checkpoint(
+                        digestDate,
+                        orgId,
+                        STATUS_SKIPPED,
+                        highPriorityLeads.size(),
+                        null,
+                        "No agent email");
+                return;
+            }
 
-    private void sendDigestForOrganization(String orgId, List<Dossier> dossiers) {
-        LeadScoringConfig config = configRepository.findActiveConfig(orgId).orElse(null);
-        if (config == null) {
-            log.debug("No active config for org {}, skipping digest", orgId);
-            return;
+            String htmlContent = buildDigestHtml(highPriorityLeads, config);
+            String textContent = buildDigestText(highPriorityLeads, config);
+
+            // Claimed before the send: a restart must not e-mail an org whose send may have left
+            writeCheckpoint(
+                    digestDate, orgId, STATUS_SENDING, highPriorityLeads.size(), null, null);
+            ProviderSendResult result =
+                    emailProvider.send(
+                            digestMessage(orgId, agentEmail, digestDate, htmlContent, textContent));
+            if (result.isSuccess()) {
+                log.info(
+                        "Daily digest sent for {} high-priority leads for org {}",
+                        highPriorityLeads.size(),
+                        orgId);
+                checkpoint(
+                        digestDate,
+                        orgId,
+                        STATUS_SENT,
+                        highPriorityLeads.size(),
+                        result.getProviderMessageId(),
+                        null);
+            } else {
+                log.warn(
+                        "Daily digest for org {} was not sent: {} {}",
+                        orgId,
+                        result.getErrorCode(),
+                        result.getErrorMessage());
+                checkpoint(
+                        digestDate,
+                        orgId,
+                        STATUS_FAILED,
+                        highPriorityLeads.size(),
+                        null,
+                        result.getErrorCode() + ": " + result.getErrorMessage());
+            }
+        } catch (Exception e) {
+            log.error("Error sending digest for org {}: {}", orgId, e.getMessage(), e);
+            meterRegistry.counter("lead_digest_total", "outcome", "error").increment();
+        } finally {
+            if (originalOrgId != null) {
+                TenantContext.setOrgId(originalOrgId);
+            } else {
+                TenantContext.clear();
+            }
         }
+    }
 
-        List<Long> dossierIds = dossiers.stream().map(Dossier::getId).toList();
-
-        List<LeadScore> scores = leadScoreRepository.findByDossierIdIn(dossierIds);
-        Map<Long, LeadScore> scoreMap =
-                scores.stream().collect(Collectors.toMap(LeadScore::getDossierId, s -> s));
-
-        List<DossierWithScore> highPriorityLeads =
-                dossiers.stream()
-                        .filter(d -> scoreMap.containsKey(d.getId()))
-                        .filter(
-                                d ->
-                                        scoreMap.get(d.getId()).getTotalScore()
-                                                >= config.getAutoQualificationThreshold())
-                        .map(d -> new DossierWithScore(d, scoreMap.get(d.getId())))
-                        .sorted(
-                                (a, b) ->
-                                        Integer.compare(
-                                                b.score.getTotalScore(), a.score.getTotalScore()))
-                        .limit(20)
-                        .toList();
-
-        if (highPriorityLeads.isEmpty()) {
-            log.debug("No high-priority leads for org {}, skipping digest", orgId);
-            return;
+    private List<DossierWithScore> loadHighPriorityLeads(String orgId, LeadScoringConfig config) {
+        List<DossierWithScore> leads = new ArrayList<>();
+        for (Object[] row :
+                leadScoreRepository.findTopScoredDossiers(
+                        orgId,
+                        config.getAutoQualificationThreshold(),
+                        DIGEST_STATUSES,
+                        PageRequest.of(0, maxLeads))) {
+            leads.add(new DossierWithScore((Dossier) row[0], ((Number) row[1]).intValue()));
         }
+        return leads;
+    }
 
-        String htmlContent = buildDigestHtml(highPriorityLeads, config);
-        String textContent = buildDigestText(highPriorityLeads, config);
+    private static OutboundMessageEntity digestMessage(
+            String orgId, String to, LocalDate digestDate, String html, String text) {
+        OutboundMessageEntity message = new OutboundMessageEntity();
+        message.setOrgId(orgId);
+        message.setChannel(MessageChannel.EMAIL);
+        message.setDirection("OUTBOUND");
+        message.setTo(to);
+        message.setSubject("Daily High-Priority Leads Digest - " + digestDate);
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("htmlBody", html);
+        payload.put("textBody", text);
+        message.setPayloadJson(payload);
+        message.setIdempotencyKey("lead_digest_" + orgId + "_" + digestDate);
+        return message;
+    }
 
-        String agentEmail = getAgentEmailForOrg(orgId);
-        if (agentEmail == null || agentEmail.isEmpty()) {
-            log.warn("No agent email configured for org {}, skipping digest", orgId);
-            return;
-        }
+    private void checkpoint(
+            LocalDate digestDate,
+            String orgId,
+            String status,
+            int leadCount,
+            String providerMessageId,
+            String error) {
+        meterRegistry.counter("lead_digest_total", "outcome", status.toLowerCase()).increment();
+        writeCheckpoint(digestDate, orgId, status, leadCount, providerMessageId, error);
+    }
 
-        try {
-            log.info(
-                    "Daily digest generated for {} high-priority leads for org {}",
-                    highPriorityLeads.size(),
-                    orgId);
-            log.debug("Digest would be sent to: {}", agentEmail);
-        } catch (Exception e) {
-            log.error("Error generating digest for org {}: {}", orgId, e.getMessage(), e);
+    private void writeCheckpoint(
+            LocalDate digestDate,
+            String orgId,
+            String status,
+            int leadCount,
+            String providerMessageId,
+            String error) {
+        String lastError =
+                error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        Object[] args = {
+            status,
+            leadCount,
+            providerMessageId,
+            lastError,
+            Timestamp.valueOf(LocalDateTime.now()),
+            Date.valueOf(digestDate),
+            orgId
+        };
+        if (jdbcTemplate.update(CHECKPOINT_UPDATE_SQL, args) == 0) {
+            jdbcTemplate.update(CHECKPOINT_INSERT_SQL, args);
         }
     }
 
@@ -162,12 +337,9 @@ private String buildDigestHtml(List<DossierWithScore> leads, LeadScoringConfig c
 
         for (DossierWithScore dws : leads) {
             String urgencyClass =
-                    getUrgencyClass(
-                            dws.score.getTotalScore(), config.getAutoQualificationThreshold());
+                    getUrgencyClass(dws.score, config.getAutoQualificationThreshold());
             html.append("<div class='lead ").append(urgencyClass).append("'>");
-            html.append("<div class='score'>")
-                    .append(dws.score.getTotalScore())
-                    .append(" pts</div>");
+            html.append("<div class='score'>").append(dws.score).append(" pts</div>");
             html.append("<h3>")
                     .append(
                             escapeHtml(
@@ -217,7 +389,7 @@ private String buildDigestText(List<DossierWithScore> leads, LeadScoringConfig c
                 .append(" high-priority leads requiring attention.\n\n");
 
         for (DossierWithScore dws : leads) {
-            text.append("Score: ").append(dws.score.getTotalScore()).append(" pts\n");
+            text.append("Score: ").append(dws.score).append(" pts\n");
             text.append("Lead: ")
                     .append(
                             dws.dossier.getLeadName() != null
@@ -265,17 +437,15 @@ private String escapeHtml(String text) {
                 .replace("'", "&#39;");
     }
 
+    /** The organization's mailbox: the reply-to address of its e-mail provider, else its sender. */
     private String getAgentEmailForOrg(String orgId) {
-        return "agent@example.com";
-    }
-
-    private static class DossierWithScore {
-        final Dossier dossier;
-        final LeadScore score;
-
-        DossierWithScore(Dossier dossier, LeadScore score) {
-            this.dossier = dossier;
-            this.score = score;
+        Optional<EmailProviderConfig> config = emailConfigRepository.findByOrgId(orgId);
+        if (config.isEmpty()) {
+            return null;
         }
+        String replyTo = config.get().getReplyToEmail();
+        return replyTo != null && !replyTo.isBlank() ? replyTo : config.get().getFromEmail();
     }
+
+    private record DossierWithScore(Dossier dossier, int score) {}
 }
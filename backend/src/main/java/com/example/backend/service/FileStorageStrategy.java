@@ -12,6 +12,12 @@ String store(
             long size,
             String contentType);
 
+    /**
+     * Stores a system-owned object under exactly {@code storagePath}, replacing any previous one,
+     * so that re-running an export overwrites rather than duplicates it.
+     */
+    String storeAt(String storagePath, InputStream inputStream, long size, String contentType);
+
     InputStream retrieve(String storagePath);
 
     void delete(String storagePath);
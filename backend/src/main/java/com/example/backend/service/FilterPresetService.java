@@ -20,11 +20,15 @@ public class FilterPresetService {
 
     private final FilterPresetRepository filterPresetRepository;
     private final FilterPresetMapper filterPresetMapper;
+    private final DossierAdvancedFilterService filterService;
 
     public FilterPresetService(
-            FilterPresetRepository filterPresetRepository, FilterPresetMapper filterPresetMapper) {
+            FilterPresetRepository filterPresetRepository,
+            FilterPresetMapper filterPresetMapper,
+            DossierAdvancedFilterService filterService) {
         this.filterPresetRepository = filterPresetRepository;
         this.filterPresetMapper = filterPresetMapper;
+        this.filterService = filterService;
     }
 
     public FilterPresetResponse create(FilterPresetRequest request) {
@@ -102,6 +106,8 @@ public FilterPresetResponse update(Long id, FilterPresetRequest request) {
 
         filterPresetMapper.updateEntity(entity, request);
         FilterPresetEntity updated = filterPresetRepository.save(entity);
+        // Cached preset badge counts were computed with the old conditions
+        filterService.invalidateCounts(entity.getOrgId());
 
         return filterPresetMapper.toResponse(updated);
     }
@@ -125,6 +131,7 @@ public void delete(Long id) {
         }
 
         filterPresetRepository.delete(entity);
+        filterService.invalidateCounts(entity.getOrgId());
     }
 
     private String getCurrentOrgId() {
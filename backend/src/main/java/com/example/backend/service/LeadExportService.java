@@ -16,6 +16,7 @@
 import java.util.List;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class LeadExportService {
@@ -28,6 +29,7 @@ public LeadExportService(DossierRepository dossierRepository) {
         this.dossierRepository = dossierRepository;
     }
 
+    @Transactional(readOnly = true)
     public void exportLeads(
             Writer writer,
             DossierStatus status,
@@ -45,6 +45,21 @@ public String store(
         }
     }
 
+    @Override
+    public String storeAt(
+            String storagePath, InputStream inputStream, long size, String contentType) {
+        try {
+            Path fullPath = Paths.get(basePath, storagePath);
+            Files.createDirectories(fullPath.getParent());
+            Files.copy(inputStream, fullPath, StandardCopyOption.REPLACE_EXISTING);
+            logger.info("File stored successfully at: {}", storagePath);
+            return storagePath;
+        } catch (IOException e) {
+            logger.error("Failed to store file: {}", storagePath, e);
+            throw new RuntimeException("Failed to store file: " + storagePath, e);
+        }
+    }
+
     @Override
     public InputStream retrieve(String storagePath) {
         try {
@@ -28,16 +28,19 @@ public class MessageService {
     private final DossierRepository dossierRepository;
     private final MessageMapper messageMapper;
     private final EntityManager entityManager;
+    private final ColdArchiveReader coldArchiveReader;
 
     public MessageService(
             MessageRepository messageRepository,
             DossierRepository dossierRepository,
             MessageMapper messageMapper,
-            EntityManager entityManager) {
+            EntityManager entityManager,
+            ColdArchiveReader coldArchiveReader) {
         this.messageRepository = messageRepository;
         this.dossierRepository = dossierRepository;
         this.messageMapper = messageMapper;
         this.entityManager = entityManager;
+        this.coldArchiveReader = coldArchiveReader;
     }
 
     @Transactional
@@ -124,6 +127,25 @@ public Page<MessageResponse> listByDossier(
                 .enableFilter("orgIdFilter")
                 .setParameter("orgId", orgId);
 
+        // Messages past the organization's archive horizon live in the cold archive
+        List<MessageResponse> archived =
+                coldArchiveReader.messages(
+                        orgId, dossierId, channel, direction, startDate, endDate);
+        return ColdArchiveReader.concat(
+                pageable,
+                archived,
+                ColdArchiveReader.newestFirst(pageable),
+                hotPageable ->
+                        listHot(dossierId, channel, direction, startDate, endDate, hotPageable));
+    }
+
+    private Page<MessageResponse> listHot(
+            Long dossierId,
+            MessageChannel channel,
+            MessageDirection direction,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Pageable pageable) {
         Page<MessageEntity> messages =
                 messageRepository.findByDossierIdWithFilters(
                         dossierId, channel, direction, startDate, endDate, pageable);
@@ -1,5 +1,6 @@
 package com.example.backend.service;
 
+import com.example.backend.aspect.LeasedJob;
 import com.example.backend.entity.MLModelVersion;
 import com.example.backend.repository.MLModelVersionRepository;
 import java.time.Duration;
@@ -35,6 +36,7 @@ public ModelTrainingService(
         this.webClient = webClientBuilder.baseUrl(mlServiceUrl).build();
     }
 
+    @LeasedJob(name = "ml-model-training", leaseFor = "PT2H", holdAtLeast = "PT5M")
     @Scheduled(cron = "${ml.training.cron:0 0 2 1 * ?}")
     public void scheduledTraining() {
         if (!trainingEnabled) {
@@ -1,5 +1,6 @@
 package com.example.backend.service;
 
+import com.example.backend.aspect.LeasedJob;
 import com.example.backend.entity.NotificationEntity;
 import com.example.backend.entity.enums.NotificationStatus;
 import com.example.backend.entity.enums.NotificationType;
@@ -78,6 +79,7 @@ public NotificationEntity createNotification(
         return notificationRepository.save(notification);
     }
 
+    @LeasedJob(name = "notification-processor", leaseFor = "PT5M", holdAtLeast = "PT5S")
     @Scheduled(fixedDelayString = "${notification.processor.interval:10000}")
     @Transactional
     public void processPendingNotifications() {
@@ -0,0 +1,170 @@
+package com.example.backend.service;
+
+import com.example.backend.aspect.LeasedJob;
+import com.example.backend.entity.Annonce;
+import com.example.backend.entity.LeadActivity;
+import com.example.backend.entity.enums.AnnonceStatus;
+import com.example.backend.entity.enums.DossierStatus;
+import com.example.backend.repository.AnnonceRepository;
+import com.example.backend.repository.DossierRepository;
+import com.example.backend.repository.LeadActivityRepository;
+import com.example.backend.util.ScheduledJobContext;
+import com.example.backend.util.TenantContext;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Nightly pass matching every open dossier against the off-market listings created since the
+ * previous run. New listings of a tenant are compiled into one {@link PropertyMatchIndex.Snapshot}
+ * and each dossier queries it with the criteria of the listing it was opened on; good matches are
+ * logged as an {@code OFF_MARKET_MATCH} lead activity on the dossier timeline.
+ */
+@Service
+public class OffMarketMatchBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(OffMarketMatchBatchService.class);
+
+    static final String ACTIVITY_TYPE = "OFF_MARKET_MATCH";
+    private static final List<DossierStatus> CLOSED_STATUSES =
+            Arrays.asList(DossierStatus.WON, DossierStatus.LOST);
+
+    private final AnnonceRepository annonceRepository;
+    private final DossierRepository dossierRepository;
+    private final LeadActivityRepository leadActivityRepository;
+    private final PropertyMatchIndex propertyMatchIndex;
+
+    @Value("${dossier.match.nightly.lookback:PT24H}")
+    private Duration lookback = Duration.ofHours(24);
+
+    @Value("${dossier.match.nightly.top-k:5}")
+    private int topK = 5;
+
+    @Value("${dossier.match.nightly.min-score:60}")
+    private int minScore = 60;
+
+    public OffMarketMatchBatchService(
+            AnnonceRepository annonceRepository,
+            DossierRepository dossierRepository,
+            LeadActivityRepository leadActivityRepository,
+            PropertyMatchIndex propertyMatchIndex) {
+        this.annonceRepository = annonceRepository;
+        this.dossierRepository = dossierRepository;
+        this.leadActivityRepository = leadActivityRepository;
+        this.propertyMatchIndex = propertyMatchIndex;
+    }
+
+    @LeasedJob(name = "off-market-nightly-match", leaseFor = "PT2H", holdAtLeast = "PT5M")
+    @Scheduled(cron = "${dossier.match.nightly.cron:0 30 2 * * *}")
+    @Transactional
+    public void matchNewListings() {
+        LocalDateTime since = LocalDateTime.now().minus(lookback);
+        Map<String, List<PropertyMatchIndex.Listing>> newListingsByOrg = new HashMap<>();
+        for (Object[] row :
+                annonceRepository.findMatchIndexRowsCreatedSince(AnnonceStatus.DRAFT, since)) {
+            newListingsByOrg
+                    .computeIfAbsent((String) row[6], org -> new ArrayList<>())
+                    .add(PropertyMatchIndex.Listing.fromRow(row));
+        }
+
+        int logged = 0;
+        for (Map.Entry<String, List<PropertyMatchIndex.Listing>> entry :
+                newListingsByOrg.entrySet()) {
+            String orgId = entry.getKey();
+            String originalOrgId = TenantContext.getOrgId();
+            TenantContext.setOrgId(orgId);
+            try {
+                logged += matchTenant(orgId, PropertyMatchIndex.Snapshot.of(entry.getValue()));
+            } catch (Exception e) {
+                log.error("Nightly off-market matching failed for org {}", orgId, e);
+            } finally {
+                if (originalOrgId != null) {
+                    TenantContext.setOrgId(originalOrgId);
+                } else {
+                    TenantContext.clear();
+                }
+            }
+        }
+
+        log.info(
+                "Nightly off-market matching: {} new listings across {} orgs, {} dossiers notified",
+                newListingsByOrg.values().stream().mapToInt(List::size).sum(),
+                newListingsByOrg.size(),
+                logged);
+    }
+
+    private int matchTenant(String orgId, PropertyMatchIndex.Snapshot newListings) {
+        List<Object[]> dossiers =
+                dossierRepository.findOpenDossierReferences(orgId, CLOSED_STATUSES);
+        if (dossiers.isEmpty()) {
+            return 0;
+        }
+
+        Set<Long> referenceIds = new HashSet<>();
+        for (Object[] dossier : dossiers) {
+            referenceIds.add((Long) dossier[1]);
+        }
+        Map<Long, Annonce> references =
+                annonceRepository.findAllById(referenceIds).stream()
+                        .filter(a -> orgId.equals(a.getOrgId()))
+                        .collect(Collectors.toMap(Annonce::getId, a -> a));
+
+        List<LeadActivity> activities = new ArrayList<>();
+        for (Object[] row : dossiers) {
+            Long dossierId = (Long) row[0];
+            Annonce reference = references.get((Long) row[1]);
+            if (reference == null) {
+                continue;
+            }
+
+            List<PropertyMatchIndex.Match> matches =
+                    newListings.topMatches(
+                            propertyMatchIndex.criteriaFor(reference), topK, reference.getId());
+            List<PropertyMatchIndex.Match> good =
+                    matches.stream().filter(m -> m.score() >= minScore).toList();
+            if (good.isEmpty()) {
+                continue;
+            }
+
+            LeadActivity activity = new LeadActivity();
+            activity.setDossier(dossierRepository.getReferenceById(dossierId));
+            activity.setActivityType(ACTIVITY_TYPE);
+            activity.setDescription(describe(good));
+            activities.add(activity);
+        }
+
+        leadActivityRepository.saveAll(activities);
+        ScheduledJobContext.addItems(activities.size());
+        return activities.size();
+    }
+
+    private static String describe(List<PropertyMatchIndex.Match> matches) {
+        return "Nouveaux biens off-market correspondants : "
+                + matches.stream()
+                        .map(
+                                m ->
+                                        "#"
+                                                + m.listing().id()
+                                                + " "
+                                                + (m.listing().title() != null
+                                                        ? m.listing().title()
+                                                        : "")
+                                                + " ("
+                                                + m.score()
+                                                + "/100)")
+                        .collect(Collectors.joining(", "));
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.backend.service;
 
+import com.example.backend.aspect.LeasedJob;
 import com.example.backend.entity.OutboundAttemptEntity;
 import com.example.backend.entity.OutboundMessageEntity;
 import com.example.backend.entity.enums.ActivityType;
@@ -9,6 +10,7 @@
 import com.example.backend.observability.MetricsService;
 import com.example.backend.repository.OutboundAttemptRepository;
 import com.example.backend.repository.OutboundMessageRepository;
+import com.example.backend.util.ScheduledJobContext;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.retry.Retry;
@@ -80,6 +82,7 @@ public OutboundJobWorker(
         this.circuitBreakerByChannel = outboundCircuitBreakerByChannel;
     }
 
+    @LeasedJob(name = "outbound-worker", partitions = 8, leaseFor = "PT2M", holdAtLeast = "PT0S")
     @Scheduled(fixedDelayString = "${outbound.worker.poll-interval-ms:5000}")
     @Transactional
     public void processPendingMessages() {
@@ -92,11 +95,28 @@ public void processPendingMessages() {
         MDC.put("workerType", "outbound-job");
 
         try {
-            recoverStaleMessages();
+            // A partitioned run only queries its own tenants, so they never wait behind others
+            List<String> orgIds =
+                    ScheduledJobContext.isPartitioned()
+                            ? ScheduledJobContext.ownedOf(
+                                    outboundMessageRepository.findDistinctOrgIdsByStatusIn(
+                                            List.of(
+                                                    OutboundMessageStatus.QUEUED,
+                                                    OutboundMessageStatus.SENDING)))
+                            : null;
+            if (orgIds != null && orgIds.isEmpty()) {
+                return;
+            }
+
+            recoverStaleMessages(orgIds);
 
+            PageRequest batch = PageRequest.of(0, batchSize);
             List<OutboundMessageEntity> messages =
-                    outboundMessageRepository.findPendingMessages(
-                            OutboundMessageStatus.QUEUED, PageRequest.of(0, batchSize));
+                    orgIds == null
+                            ? outboundMessageRepository.findPendingMessages(
+                                    OutboundMessageStatus.QUEUED, batch)
+                            : outboundMessageRepository.findPendingMessagesForOrgs(
+                                    OutboundMessageStatus.QUEUED, orgIds, batch);
 
             if (messages.isEmpty()) {
                 return;
@@ -125,6 +145,7 @@ public void processPendingMessages() {
                 try {
                     if (isReadyForProcessing(message)) {
                         processMessage(message);
+                        ScheduledJobContext.addItems(1);
                     } else {
                         logger.debug(
                                 "Message {} not ready for processing yet (waiting for retry window)",
@@ -150,13 +171,15 @@ public void processPendingMessages() {
         }
     }
 
-    private void recoverStaleMessages() {
+    private void recoverStaleMessages(List<String> orgIds) {
         LocalDateTime staleThreshold = LocalDateTime.now().minusMinutes(10);
+        PageRequest batch = PageRequest.of(0, batchSize);
         List<OutboundMessageEntity> staleMessages =
-                outboundMessageRepository.findStaleMessages(
-                        OutboundMessageStatus.SENDING,
-                        staleThreshold,
-                        PageRequest.of(0, batchSize));
+                orgIds == null
+                        ? outboundMessageRepository.findStaleMessages(
+                                OutboundMessageStatus.SENDING, staleThreshold, batch)
+                        : outboundMessageRepository.findStaleMessagesForOrgs(
+                                OutboundMessageStatus.SENDING, staleThreshold, orgIds, batch);
 
         if (!staleMessages.isEmpty()) {
             logger.warn(
@@ -1,5 +1,6 @@
 package com.example.backend.service;
 
+import com.example.backend.aspect.LeasedJob;
 import com.example.backend.entity.OutboundMessageEntity;
 import com.example.backend.entity.enums.MessageChannel;
 import com.example.backend.entity.enums.OutboundMessageStatus;
@@ -88,6 +89,7 @@ public OutboundMessageAlertService(
         this.emailProvider = emailProvider;
     }
 
+    @LeasedJob(name = "outbound-alert-stuck-messages", leaseFor = "PT5M", holdAtLeast = "PT1M")
     @Scheduled(cron = "${outbound.alert.cron:0 */15 * * * *}")
     public void checkForStuckMessages() {
         if (!alertEnabled) {
@@ -179,6 +181,7 @@ public void checkForStuckMessages() {
         }
     }
 
+    @LeasedJob(name = "outbound-alert-queue-depth", leaseFor = "PT5M", holdAtLeast = "PT1M")
     @Scheduled(cron = "${outbound.alert.high-queue-depth.cron:0 */10 * * * *}")
     public void checkForHighQueueDepth() {
         if (!alertEnabled) {
@@ -209,6 +212,7 @@ public void checkForHighQueueDepth() {
         }
     }
 
+    @LeasedJob(name = "outbound-alert-dead-letter", leaseFor = "PT5M", holdAtLeast = "PT1M")
     @Scheduled(cron = "${outbound.alert.dead-letter.cron:0 0 * * * *}")
     public void checkForDeadLetterQueueGrowth() {
         if (!alertEnabled) {
@@ -271,6 +275,7 @@ private String buildDlqReport(long totalFailed) {
         return report.toString();
     }
 
+    @LeasedJob(name = "outbound-alert-failure-rate", leaseFor = "PT4M", holdAtLeast = "PT1M")
     @Scheduled(cron = "${outbound.alert.failure-rate.cron:0 */5 * * * *}")
     public void checkChannelFailureRates() {
         if (!alertEnabled) {
@@ -313,6 +318,7 @@ public void checkChannelFailureRates() {
         }
     }
 
+    @LeasedJob(name = "outbound-alert-escalation", leaseFor = "PT5M", holdAtLeast = "PT1M")
     @Scheduled(cron = "${outbound.alert.escalation.cron:0 */20 * * * *}")
     public void checkForEscalation() {
         if (!alertEnabled) {
@@ -1,6 +1,5 @@
 package com.example.backend.service;
 
-import com.example.backend.entity.ConsentementEntity;
 import com.example.backend.entity.Dossier;
 import com.example.backend.entity.OutboundMessageEntity;
 import com.example.backend.entity.enums.ConsentementChannel;
@@ -9,14 +8,21 @@
 import com.example.backend.entity.enums.MessageChannel;
 import com.example.backend.entity.enums.OutboundMessageStatus;
 import com.example.backend.observability.MetricsService;
-import com.example.backend.repository.ConsentementRepository;
 import com.example.backend.repository.DossierRepository;
 import com.example.backend.repository.OutboundMessageRepository;
+import com.example.backend.service.CurrentConsentService.ConsentState;
 import com.example.backend.util.TenantContext;
 import jakarta.persistence.EntityNotFoundException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,19 +40,19 @@ public class OutboundMessageService {
     private static final Logger logger = LoggerFactory.getLogger(OutboundMessageService.class);
 
     private final OutboundMessageRepository outboundMessageRepository;
-    private final ConsentementRepository consentementRepository;
+    private final CurrentConsentService currentConsentService;
     private final DossierRepository dossierRepository;
     private final AuditEventService auditEventService;
     private final MetricsService metricsService;
 
     public OutboundMessageService(
             OutboundMessageRepository outboundMessageRepository,
-            ConsentementRepository consentementRepository,
+            CurrentConsentService currentConsentService,
             DossierRepository dossierRepository,
             AuditEventService auditEventService,
             MetricsService metricsService) {
         this.outboundMessageRepository = outboundMessageRepository;
-        this.consentementRepository = consentementRepository;
+        this.currentConsentService = currentConsentService;
         this.dossierRepository = dossierRepository;
         this.auditEventService = auditEventService;
         this.metricsService = metricsService;
@@ -117,6 +123,138 @@ public OutboundMessageEntity createOutboundMessage(
             validateConsent(dossierId, channel, consentType);
         }
 
+        OutboundMessageEntity saved =
+                outboundMessageRepository.save(
+                        newQueuedMessage(
+                                orgId,
+                                dossierId,
+                                channel,
+                                to,
+                                templateCode,
+                                subject,
+                                payloadJson,
+                                idempotencyKey));
+        onQueued(saved, consentType);
+        return saved;
+    }
+
+    /**
+     * Queues a batch of messages for the current organization with one idempotency lookup, one
+     * dossier lookup and one {@code saveAll}. Each draft lists its channel candidates in order of
+     * preference; the first one that passes consent is queued and the rejected ones are reported
+     * in the outcome by channel. A draft whose candidates already have a message (same idempotency
+     * key) is returned as a duplicate without queuing anything. Outcomes are in draft order.
+     */
+    @Transactional
+    public List<BatchOutcome> createOutboundMessages(List<BatchDraft> drafts) {
+        String orgId = TenantContext.getOrgId();
+        if (orgId == null) {
+            throw new IllegalStateException("Organization ID not found in context");
+        }
+        if (drafts.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> keys = new HashSet<>();
+        Set<Long> dossierIds = new HashSet<>();
+        for (BatchDraft draft : drafts) {
+            draft.candidates().forEach(candidate -> keys.add(candidate.idempotencyKey()));
+            if (draft.dossierId() != null) {
+                dossierIds.add(draft.dossierId());
+            }
+        }
+        Map<String, OutboundMessageEntity> existing = new HashMap<>();
+        for (OutboundMessageEntity message :
+                outboundMessageRepository.findByOrgIdAndIdempotencyKeyIn(orgId, keys)) {
+            existing.put(message.getIdempotencyKey(), message);
+        }
+        Set<Long> orgDossierIds = new HashSet<>();
+        for (Dossier dossier : dossierRepository.findAllById(dossierIds)) {
+            if (orgId.equals(dossier.getOrgId())) {
+                orgDossierIds.add(dossier.getId());
+            }
+        }
+
+        prefetchConsent(drafts, orgDossierIds);
+
+        List<BatchOutcome> outcomes = new ArrayList<>(drafts.size());
+        List<OutboundMessageEntity> toSave = new ArrayList<>();
+        for (BatchDraft draft : drafts) {
+            Optional<ChannelCandidate> duplicate =
+                    draft.candidates().stream()
+                            .filter(candidate -> existing.containsKey(candidate.idempotencyKey()))
+                            .findFirst();
+            if (duplicate.isPresent()) {
+                outcomes.add(
+                        new BatchOutcome(
+                                existing.get(duplicate.get().idempotencyKey()),
+                                duplicate.get(),
+                                true,
+                                Map.of()));
+                continue;
+            }
+            Map<MessageChannel, String> rejections = new LinkedHashMap<>();
+            if (draft.dossierId() != null && !orgDossierIds.contains(draft.dossierId())) {
+                for (ChannelCandidate candidate : draft.candidates()) {
+                    rejections.put(
+                            candidate.channel(), "Dossier not found with id: " + draft.dossierId());
+                }
+                outcomes.add(new BatchOutcome(null, null, false, rejections));
+                continue;
+            }
+
+            BatchOutcome outcome = null;
+            for (ChannelCandidate candidate : draft.candidates()) {
+                if (draft.dossierId() != null) {
+                    try {
+                        validateConsent(
+                                draft.dossierId(), candidate.channel(), draft.consentType());
+                    } catch (ResponseStatusException e) {
+                        rejections.put(candidate.channel(), e.getReason());
+                        continue;
+                    }
+                }
+                OutboundMessageEntity message =
+                        newQueuedMessage(
+                                orgId,
+                                draft.dossierId(),
+                                candidate.channel(),
+                                candidate.to(),
+                                draft.templateCode(),
+                                candidate.subject(),
+                                candidate.payloadJson(),
+                                candidate.idempotencyKey());
+                toSave.add(message);
+                outcome = new BatchOutcome(message, candidate, false, rejections);
+                break;
+            }
+            if (outcome == null) {
+                outcome = new BatchOutcome(null, null, false, rejections);
+            }
+            outcomes.add(outcome);
+        }
+
+        if (!toSave.isEmpty()) {
+            outboundMessageRepository.saveAll(toSave);
+            for (int i = 0; i < drafts.size(); i++) {
+                BatchOutcome outcome = outcomes.get(i);
+                if (outcome.queued()) {
+                    onQueued(outcome.message(), drafts.get(i).consentType());
+                }
+            }
+        }
+        return outcomes;
+    }
+
+    private OutboundMessageEntity newQueuedMessage(
+            String orgId,
+            Long dossierId,
+            MessageChannel channel,
+            String to,
+            String templateCode,
+            String subject,
+            Map<String, Object> payloadJson,
+            String idempotencyKey) {
         OutboundMessageEntity message = new OutboundMessageEntity();
         message.setOrgId(orgId);
         message.setDossierId(dossierId);
@@ -139,18 +277,19 @@ public OutboundMessageEntity createOutboundMessage(
         LocalDateTime now = LocalDateTime.now();
         message.setCreatedAt(now);
         message.setUpdatedAt(now);
+        return message;
+    }
 
-        OutboundMessageEntity saved = outboundMessageRepository.save(message);
-
+    private void onQueued(OutboundMessageEntity saved, ConsentementType consentType) {
         logger.info(
                 "Created outbound message: id={}, orgId={}, dossierId={}, channel={}, to={}",
                 saved.getId(),
-                orgId,
-                dossierId,
-                channel,
-                to);
+                saved.getOrgId(),
+                saved.getDossierId(),
+                saved.getChannel(),
+                saved.getTo());
 
-        metricsService.incrementOutboundMessageQueued(channel.name().toLowerCase());
+        metricsService.incrementOutboundMessageQueued(saved.getChannel().name().toLowerCase());
 
         if (auditEventService != null) {
             try {
@@ -160,24 +299,73 @@ public OutboundMessageEntity createOutboundMessage(
                         "CREATED",
                         String.format(
                                 "Outbound message created: channel=%s, to=%s, template=%s, consentType=%s",
-                                channel, to, templateCode, consentType));
+                                saved.getChannel(),
+                                saved.getTo(),
+                                saved.getTemplateCode(),
+                                consentType));
             } catch (Exception e) {
                 logger.warn("Failed to log audit event for outbound message creation", e);
             }
         }
+    }
 
-        return saved;
+    /**
+     * Dossiers among {@code dossierIds} whose current consent allows sending on the channel: one
+     * query per thousand uncached dossiers, no audit events. Campaigns use it to filter their
+     * audience before enqueuing.
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> findConsentedDossierIds(
+            Collection<Long> dossierIds, MessageChannel channel, ConsentementType consentType) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> consented = new HashSet<>();
+        currentConsentService
+                .current(dossierIds, mapMessageChannelToConsentChannel(channel), consentType)
+                .forEach(
+                        (dossierId, state) -> {
+                            if (state.exists()
+                                    && state.grantedAt(now)
+                                    && (consentType != ConsentementType.MARKETING
+                                            || hasCompleteMarketingMetadata(state.meta()))) {
+                                consented.add(dossierId);
+                            }
+                        });
+        return consented;
+    }
+
+    /** Loads the current consent of every draft's dossier per channel and type in bulk. */
+    private void prefetchConsent(List<BatchDraft> drafts, Set<Long> orgDossierIds) {
+        Map<ConsentementChannel, Map<ConsentementType, Set<Long>>> wanted = new HashMap<>();
+        for (BatchDraft draft : drafts) {
+            if (draft.dossierId() == null || !orgDossierIds.contains(draft.dossierId())) {
+                continue;
+            }
+            for (ChannelCandidate candidate : draft.candidates()) {
+                ConsentementChannel consentChannel;
+                try {
+                    consentChannel = mapMessageChannelToConsentChannel(candidate.channel());
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                wanted.computeIfAbsent(consentChannel, k -> new HashMap<>())
+                        .computeIfAbsent(draft.consentType(), k -> new HashSet<>())
+                        .add(draft.dossierId());
+            }
+        }
+        wanted.forEach(
+                (channel, byType) ->
+                        byType.forEach(
+                                (type, ids) -> currentConsentService.current(ids, channel, type)));
     }
 
     private void validateConsent(
             Long dossierId, MessageChannel channel, ConsentementType consentType) {
         ConsentementChannel consentChannel = mapMessageChannelToConsentChannel(channel);
 
-        List<ConsentementEntity> consents =
-                consentementRepository.findByDossierIdAndChannelAndConsentTypeOrderByUpdatedAtDesc(
-                        dossierId, consentChannel, consentType);
+        ConsentState latestConsent =
+                currentConsentService.current(dossierId, consentChannel, consentType);
 
-        if (consents.isEmpty()) {
+        if (!latestConsent.exists()) {
             logger.warn(
                     "No consent found for dossier {}, channel {}, type {}",
                     dossierId,
@@ -205,15 +393,13 @@ private void validateConsent(
                             channel, consentType));
         }
 
-        ConsentementEntity latestConsent = consents.get(0);
-
-        if (latestConsent.getStatus() != ConsentementStatus.GRANTED) {
+        if (latestConsent.status() != ConsentementStatus.GRANTED) {
             logger.warn(
                     "Consent not granted for dossier {}, channel {}, type {}. Status: {}",
                     dossierId,
                     channel,
                     consentType,
-                    latestConsent.getStatus());
+                    latestConsent.status());
 
             if (auditEventService != null) {
                 try {
@@ -223,7 +409,7 @@ private void validateConsent(
                             "BLOCKED_BY_POLICY",
                             String.format(
                                     "Outbound message blocked: consent status is %s for channel %s, type %s",
-                                    latestConsent.getStatus(), channel, consentType));
+                                    latestConsent.status(), channel, consentType));
                 } catch (Exception e) {
                     logger.warn("Failed to log audit event for blocked message", e);
                 }
@@ -233,17 +419,17 @@ private void validateConsent(
                     HttpStatus.UNPROCESSABLE_ENTITY,
                     String.format(
                             "Consent required: Consent status is %s for channel %s and type %s. Message blocked by policy.",
-                            latestConsent.getStatus(), channel, consentType));
+                            latestConsent.status(), channel, consentType));
         }
 
-        if (latestConsent.getExpiresAt() != null
-                && latestConsent.getExpiresAt().isBefore(LocalDateTime.now())) {
+        if (latestConsent.expiresAt() != null
+                && latestConsent.expiresAt().isBefore(LocalDateTime.now())) {
             logger.warn(
                     "Consent expired for dossier {}, channel {}, type {}. Expired at: {}",
                     dossierId,
                     channel,
                     consentType,
-                    latestConsent.getExpiresAt());
+                    latestConsent.expiresAt());
 
             if (auditEventService != null) {
                 try {
@@ -253,7 +439,7 @@ private void validateConsent(
                             "BLOCKED_BY_POLICY",
                             String.format(
                                     "Outbound message blocked: consent expired on %s for channel %s, type %s",
-                                    latestConsent.getExpiresAt(), channel, consentType));
+                                    latestConsent.expiresAt(), channel, consentType));
                 } catch (Exception e) {
                     logger.warn("Failed to log audit event for blocked message", e);
                 }
@@ -263,7 +449,7 @@ private void validateConsent(
                     HttpStatus.UNPROCESSABLE_ENTITY,
                     String.format(
                             "Consent required: Consent expired on %s for channel %s and type %s. Message blocked by policy.",
-                            latestConsent.getExpiresAt(), channel, consentType));
+                            latestConsent.expiresAt(), channel, consentType));
         }
 
         if (consentType == ConsentementType.MARKETING) {
@@ -278,8 +464,8 @@ private void validateConsent(
     }
 
     private void validateMarketingConsentMetadata(
-            ConsentementEntity consent, Long dossierId, MessageChannel channel) {
-        java.util.Map<String, Object> meta = consent.getMeta();
+            ConsentState consent, Long dossierId, MessageChannel channel) {
+        java.util.Map<String, Object> meta = consent.meta();
 
         if (meta == null) {
             logger.warn(
@@ -347,6 +533,13 @@ private void validateMarketingConsentMetadata(
                 channel);
     }
 
+    private static boolean hasCompleteMarketingMetadata(Map<String, Object> meta) {
+        return meta != null
+                && meta.get("optInTimestamp") != null
+                && meta.get("ipAddress") != null
+                && meta.get("doubleOptInConfirmed") != null;
+    }
+
     private ConsentementChannel mapMessageChannelToConsentChannel(MessageChannel channel) {
         return switch (channel) {
             case EMAIL -> ConsentementChannel.EMAIL;
@@ -459,4 +652,35 @@ public OutboundMessageEntity updateProviderMessageId(Long id, String providerMes
 
         return outboundMessageRepository.save(message);
     }
+
+    /** A message to queue through {@link #createOutboundMessages}. */
+    public record BatchDraft(
+            Long dossierId,
+            String templateCode,
+            ConsentementType consentType,
+            List<ChannelCandidate> candidates) {}
+
+    /** One channel a {@link BatchDraft} may be sent through, with its rendered content. */
+    public record ChannelCandidate(
+            MessageChannel channel,
+            String to,
+            String subject,
+            Map<String, Object> payloadJson,
+            String idempotencyKey) {}
+
+    /**
+     * What happened to a {@link BatchDraft}: the queued (or previously queued, when {@code
+     * duplicate}) message and the candidate it used, or no message when every candidate was
+     * rejected.
+     */
+    public record BatchOutcome(
+            OutboundMessageEntity message,
+            ChannelCandidate candidate,
+            boolean duplicate,
+            Map<MessageChannel, String> rejections) {
+
+        public boolean queued() {
+            return message != null && !duplicate;
+        }
+    }
 }
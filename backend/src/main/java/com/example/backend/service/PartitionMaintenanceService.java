@@ -0,0 +1,294 @@
+package com.example.backend.service;
+
+import com.example.backend.aspect.LeasedJob;
+import com.example.backend.config.PartitioningConfig;
+import com.example.backend.config.PartitioningConfig.RetentionAction;
+import com.example.backend.config.PartitioningConfig.RetentionPolicy;
+import com.example.backend.util.ScheduledJobContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the monthly partitions of the append-mostly tables (see migration V155) ahead of time and
+ * retires the ones past their table's retention.
+ *
+ * <p>Every run makes sure each partitioned table has a partition for the current month and the
+ * next {@code partitioning.months-ahead}; an insert outside every partition would fail. Retired
+ * partitions are detached from their table, and then dropped or, for {@link
+ * RetentionAction#ARCHIVE}, dropped once exported to file storage as gzipped NDJSON, one {@code
+ * row_to_json} object per line. A whole month thus goes away with one catalog change instead of
+ * millions of deletes. The export reads in a read-only transaction, so it runs on the replica
+ * when read routing is on. A no-op outside PostgreSQL.
+ */
+@Service
+public class PartitionMaintenanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionMaintenanceService.class);
+
+    static final String PARTITIONED_TABLES_SQL =
+            "SELECT c.relname FROM pg_partitioned_table p"
+                    + " JOIN pg_class c ON c.oid = p.partrelid"
+                    + " JOIN pg_namespace n ON n.oid = c.relnamespace"
+                    + " WHERE n.nspname = current_schema() ORDER BY c.relname";
+    static final String PARTITIONS_SQL =
+            "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i"
+                    + " JOIN pg_class c ON c.oid = i.inhrelid"
+                    + " WHERE i.inhparent = to_regclass(?) ORDER BY c.relname";
+    static final String CREATE_MONTH_SQL = "SELECT partition_create_month(?, ?)";
+
+    // Rows kept outside a partitioned table that expire with its partitions
+    private static final Map<String, String> COMPANION_CLEANUP =
+            Map.of(
+                    "outbound_message",
+                    "DELETE FROM outbound_message_idempotency WHERE created_at < ?",
+                    "message",
+                    "DELETE FROM message_provider_message_id WHERE created_at < ?");
+
+    private static final Pattern UPPER_BOUND =
+            Pattern.compile("TO \\('(\\d{4}-\\d{2}-\\d{2})[^']*'\\)");
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    record Partition(String name, LocalDate upperBound) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PartitioningConfig config;
+    private final FileStorageStrategy fileStorageStrategy;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Duration lockTimeout;
+    private volatile Boolean postgres;
+
+    public PartitionMaintenanceService(
+            JdbcTemplate jdbcTemplate,
+            PartitioningConfig config,
+            FileStorageStrategy fileStorageStrategy,
+            MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager,
+            @Value("${partitioning.lock-timeout:PT5S}") Duration lockTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = config;
+        this.fileStorageStrategy = fileStorageStrategy;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.lockTimeout = lockTimeout;
+    }
+
+    @LeasedJob(name = "partition-maintenance", leaseFor = "PT2H", holdAtLeast = "PT5M")
+    @Scheduled(cron = "${partitioning.maintenance-cron:0 30 1 * * ?}")
+    public void maintainPartitions() {
+        if (!config.isEnabled() || !isPostgres()) {
+            return;
+        }
+        maintainPartitions(LocalDate.now());
+    }
+
+    void maintainPartitions(LocalDate today) {
+        LocalDate currentMonth = today.withDayOfMonth(1);
+        int created = 0;
+        int retired = 0;
+        for (String table : jdbcTemplate.queryForList(PARTITIONED_TABLES_SQL, String.class)) {
+            try {
+                created += createAhead(table, currentMonth);
+                if (config.isRetentionEnabled()) {
+                    retired += applyRetention(table, currentMonth);
+                }
+            } catch (RuntimeException e) {
+                log.error("Partition maintenance failed for table {}", table, e);
+                meterRegistry
+                        .counter("db_partition_maintenance_failures_total", "table", table)
+                        .increment();
+            }
+        }
+        ScheduledJobContext.addItems(created + retired);
+        log.info("Partition maintenance done: {} partitions created, {} retired", created, retired);
+    }
+
+    private int createAhead(String table, LocalDate currentMonth) {
+        int created = 0;
+        for (int i = 0; i <= config.getMonthsAhead(); i++) {
+            String partition =
+                    jdbcTemplate.queryForObject(
+                            CREATE_MONTH_SQL, String.class, table, currentMonth.plusMonths(i));
+            if (partition != null) {
+                log.info("Created partition {}", partition);
+                meterRegistry.counter("db_partitions_created_total", "table", table).increment();
+                created++;
+            }
+        }
+        return created;
+    }
+
+    private int applyRetention(String table, LocalDate currentMonth) {
+        RetentionPolicy policy = config.getTables().get(table);
+        if (policy == null || policy.getRetentionMonths() <= 0) {
+            return 0;
+        }
+        LocalDate cutoff = currentMonth.minusMonths(policy.getRetentionMonths());
+        int retired = 0;
+        for (Partition partition : partitions(table)) {
+            if (partition.upperBound() != null && !partition.upperBound().isAfter(cutoff)) {
+                retire(table, partition, policy.getAction());
+                retired++;
+            }
+        }
+        return retired;
+    }
+
+    private List<Partition> partitions(String table) {
+        return jdbcTemplate.query(
+                PARTITIONS_SQL,
+                (rs, rowNum) -> new Partition(rs.getString(1), upperBound(rs.getString(2))),
+                table);
+    }
+
+    private void retire(String table, Partition partition, RetentionAction action) {
+        if (action == RetentionAction.ARCHIVE) {
+            String path = archive(table, partition);
+            log.info("Archived partition {} to {}", partition.name(), path);
+        }
+        transactionTemplate.executeWithoutResult(
+                status -> {
+                    // Detaching locks the parent table; give up rather than queue writers behind
+                    jdbcTemplate.execute(
+                            "SET LOCAL lock_timeout = '" + lockTimeout.toMillis() + "ms'");
+                    jdbcTemplate.execute(
+                            "ALTER TABLE "
+                                    + quote(table)
+                                    + " DETACH PARTITION "
+                                    + quote(partition.name()));
+                    if (action != RetentionAction.DETACH) {
+                        jdbcTemplate.execute("DROP TABLE " + quote(partition.name()));
+                    }
+                    String cleanup = COMPANION_CLEANUP.get(table);
+                    if (cleanup != null) {
+                        jdbcTemplate.update(cleanup, partition.upperBound());
+                    }
+                });
+        log.info("Retired partition {} of {} ({})", partition.name(), table, action);
+        meterRegistry
+                .counter(
+                        "db_partitions_retired_total",
+                        "table",
+                        table,
+                        "action",
+                        action.name().toLowerCase(Locale.ROOT))
+                .increment();
+    }
+
+    private String archive(String table, Partition partition) {
+        String path = config.getArchivePath() + "/" + table + "/" + partition.name() + ".ndjson.gz";
+        Path file = null;
+        try {
+            file = Files.createTempFile(partition.name(), ".ndjson.gz");
+            long rows;
+            try (Writer out =
+                    new OutputStreamWriter(
+                            new GZIPOutputStream(Files.newOutputStream(file)),
+                            StandardCharsets.UTF_8)) {
+                rows = exportRows(partition.name(), out);
+            }
+            try (InputStream in = Files.newInputStream(file)) {
+                fileStorageStrategy.storeAt(path, in, Files.size(file), "application/gzip");
+            }
+            log.info("Exported {} rows of partition {}", rows, partition.name());
+            return path;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot archive partition " + partition.name(), e);
+        } finally {
+            if (file != null) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("Could not delete temporary export {}", file, e);
+                }
+            }
+        }
+    }
+
+    private long exportRows(String partition, Writer out) {
+        String sql = "SELECT row_to_json(t)::text FROM " + quote(partition) + " t";
+        long[] rows = {0};
+        readOnlyTransactionTemplate.executeWithoutResult(
+                status ->
+                        jdbcTemplate.query(
+                                connection -> {
+                                    // A cursor instead of the whole partition in memory
+                                    PreparedStatement statement = connection.prepareStatement(sql);
+                                    statement.setFetchSize(EXPORT_FETCH_SIZE);
+                                    return statement;
+                                },
+                                (RowCallbackHandler)
+                                        rs -> {
+                                            try {
+                                                out.write(rs.getString(1));
+                                                out.write('\n');
+                                            } catch (IOException e) {
+                                                throw new UncheckedIOException(e);
+                                            }
+                                            rows[0]++;
+                                        }));
+        return rows[0];
+    }
+
+    private boolean isPostgres() {
+        Boolean known = postgres;
+        if (known == null) {
+            known =
+                    jdbcTemplate.execute(
+                            (ConnectionCallback<Boolean>)
+                                    connection ->
+                                            "PostgreSQL"
+                                                    .equalsIgnoreCase(databaseProduct(connection)));
+            postgres = known;
+        }
+        return Boolean.TRUE.equals(known);
+    }
+
+    private static String databaseProduct(Connection connection) throws SQLException {
+        return connection.getMetaData().getDatabaseProductName();
+    }
+
+    /** Upper bound of a range partition, or {@code null} for one open towards MAXVALUE. */
+    static LocalDate upperBound(String boundExpression) {
+        if (boundExpression == null) {
+            return null;
+        }
+        Matcher matcher = UPPER_BOUND.matcher(boundExpression);
+        return matcher.find() ? LocalDate.parse(matcher.group(1)) : null;
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,451 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.Annonce;
+import com.example.backend.entity.enums.AnnonceStatus;
+import com.example.backend.entity.enums.AnnonceType;
+import com.example.backend.repository.AnnonceRepository;
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory matching engine over each tenant's off-market (DRAFT) listings.
+ *
+ * <p>A {@link Snapshot} keeps one bitmap per city and per type plus listing slots sorted by price
+ * and by surface. A query intersects the bitmaps with the price/surface ranges found by binary
+ * search, scores the surviving slots and keeps the best {@code k} in a bounded heap, so neither
+ * the database nor the brain service sees the whole catalog.
+ *
+ * <p>Tenant listings are loaded on first use, then maintained from annonce writes on this node
+ * ({@link PropertyMatchIndexListener}) and a delta sync on {@code updated_at} every {@code
+ * dossier.match.sync-interval}; the snapshot is recompiled from memory on the next query after a
+ * change. Callers re-read the returned listings before using them, so entries deleted elsewhere
+ * are only a missed slot, never a wrong answer.
+ */
+@Component
+public class PropertyMatchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PropertyMatchIndex.class);
+
+    private static final double CITY_WEIGHT = 0.3;
+    private static final double TYPE_WEIGHT = 0.2;
+    private static final double PRICE_WEIGHT = 0.3;
+    private static final double SURFACE_WEIGHT = 0.2;
+
+    private final AnnonceRepository annonceRepository;
+    private final Map<String, TenantListings> tenants = new ConcurrentHashMap<>();
+
+    @Value("${dossier.match.price-tolerance:0.2}")
+    private double priceTolerance = 0.2;
+
+    @Value("${dossier.match.surface-tolerance:0.25}")
+    private double surfaceTolerance = 0.25;
+
+    @Value("${dossier.match.sync-interval:PT1M}")
+    private Duration syncInterval = Duration.ofMinutes(1);
+
+    public PropertyMatchIndex(AnnonceRepository annonceRepository) {
+        this.annonceRepository = annonceRepository;
+    }
+
+    /**
+     * Criteria for a lead interested in {@code reference}: same city and type, price and surface
+     * within the configured tolerances. Without a reference every listing qualifies.
+     */
+    public Criteria criteriaFor(Annonce reference) {
+        if (reference == null) {
+            return Criteria.ANY;
+        }
+        Double price = toDouble(reference.getPrice());
+        Double surface = reference.getSurface();
+        return new Criteria(
+                cityKey(reference.getCity()),
+                reference.getType(),
+                price,
+                price != null ? price * (1 - priceTolerance) : null,
+                price != null ? price * (1 + priceTolerance) : null,
+                surface,
+                surface != null ? surface * (1 - surfaceTolerance) : null,
+                surface != null ? surface * (1 + surfaceTolerance) : null);
+    }
+
+    public List<Match> topMatches(String orgId, Criteria criteria, int k, Long excludeId) {
+        return tenant(orgId).snapshot().topMatches(criteria, k, excludeId);
+    }
+
+    void onAnnonceSaved(Annonce annonce) {
+        TenantListings listings = tenants.get(annonce.getOrgId());
+        if (listings == null) {
+            return;
+        }
+        if (annonce.getStatus() == AnnonceStatus.DRAFT) {
+            listings.put(Listing.of(annonce));
+        } else {
+            listings.remove(annonce.getId());
+        }
+    }
+
+    void onAnnonceRemoved(Annonce annonce) {
+        remove(annonce.getOrgId(), annonce.getId());
+    }
+
+    public void remove(String orgId, Long annonceId) {
+        TenantListings listings = orgId != null ? tenants.get(orgId) : null;
+        if (listings != null && annonceId != null) {
+            listings.remove(annonceId);
+        }
+    }
+
+    public void evictTenant(String orgId) {
+        tenants.remove(orgId);
+    }
+
+    private TenantListings tenant(String orgId) {
+        TenantListings listings = tenants.computeIfAbsent(orgId, this::load);
+        LocalDateTime since = listings.beginSync(syncInterval);
+        if (since != null) {
+            try {
+                for (Object[] row :
+                        annonceRepository.findMatchIndexRowsUpdatedSince(orgId, since)) {
+                    Listing listing = Listing.fromRow(row);
+                    if (row[6] == AnnonceStatus.DRAFT) {
+                        listings.put(listing);
+                    } else {
+                        listings.remove(listing.id());
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("Property match index sync failed for org {}: {}", orgId, e.getMessage());
+                listings.abortSync(since);
+            }
+        }
+        return listings;
+    }
+
+    private TenantListings load(String orgId) {
+        TenantListings listings = new TenantListings(LocalDateTime.now());
+        for (Object[] row : annonceRepository.findMatchIndexRows(orgId, AnnonceStatus.DRAFT)) {
+            listings.put(Listing.fromRow(row));
+        }
+        log.debug("Loaded {} off-market listings for org {}", listings.size(), orgId);
+        return listings;
+    }
+
+    static String cityKey(String city) {
+        if (city == null || city.isBlank()) {
+            return null;
+        }
+        return Normalizer.normalize(city.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private static Double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : null;
+    }
+
+    /** Closeness in [0, 1]: 1 on target, 0 once the relative gap reaches 100%. */
+    private static double closeness(Double value, double target) {
+        if (value == null || target <= 0) {
+            return 0;
+        }
+        return Math.max(0, 1 - Math.abs(value - target) / target);
+    }
+
+    public record Listing(
+            Long id, String title, String city, AnnonceType type, Double price, Double surface) {
+
+        static Listing of(Annonce annonce) {
+            return new Listing(
+                    annonce.getId(),
+                    annonce.getTitle(),
+                    annonce.getCity(),
+                    annonce.getType(),
+                    toDouble(annonce.getPrice()),
+                    annonce.getSurface());
+        }
+
+        /** Row of {@code id, title, city, type, price, surface[, ...]}. */
+        static Listing fromRow(Object[] row) {
+            return new Listing(
+                    (Long) row[0],
+                    (String) row[1],
+                    (String) row[2],
+                    (AnnonceType) row[3],
+                    toDouble((BigDecimal) row[4]),
+                    (Double) row[5]);
+        }
+    }
+
+    public record Criteria(
+            String cityKey,
+            AnnonceType type,
+            Double targetPrice,
+            Double minPrice,
+            Double maxPrice,
+            Double targetSurface,
+            Double minSurface,
+            Double maxSurface) {
+
+        public static final Criteria ANY =
+                new Criteria(null, null, null, null, null, null, null, null);
+
+        boolean hasRanges() {
+            return minPrice != null || maxPrice != null || minSurface != null || maxSurface != null;
+        }
+    }
+
+    /** A listing and its score in [0, 100]. */
+    public record Match(Listing listing, int score) {}
+
+    /** Immutable query structure over a fixed set of listings. */
+    public static final class Snapshot {
+
+        private static final Comparator<Match> WORST_FIRST =
+                Comparator.comparingInt(Match::score)
+                        .thenComparing(match -> match.listing().id());
+
+        private final Listing[] slots;
+        private final Map<String, BitSet> byCity = new HashMap<>();
+        private final Map<AnnonceType, BitSet> byType = new EnumMap<>(AnnonceType.class);
+        private final SortedColumn prices;
+        private final SortedColumn surfaces;
+
+        private Snapshot(Listing[] slots) {
+            this.slots = slots;
+            for (int slot = 0; slot < slots.length; slot++) {
+                String city = cityKey(slots[slot].city());
+                if (city != null) {
+                    byCity.computeIfAbsent(city, c -> new BitSet(slots.length)).set(slot);
+                }
+                if (slots[slot].type() != null) {
+                    byType.computeIfAbsent(slots[slot].type(), t -> new BitSet(slots.length))
+                            .set(slot);
+                }
+            }
+            this.prices = SortedColumn.of(slots, true);
+            this.surfaces = SortedColumn.of(slots, false);
+        }
+
+        public static Snapshot of(Collection<Listing> listings) {
+            return new Snapshot(listings.toArray(Listing[]::new));
+        }
+
+        public int size() {
+            return slots.length;
+        }
+
+        /**
+         * Best {@code k} listings for the criteria, best first. City and type are hard filters;
+         * price and surface ranges are dropped when they leave fewer than {@code k} candidates,
+         * in which case closeness to the targets still drives the score.
+         */
+        public List<Match> topMatches(Criteria criteria, int k, Long excludeId) {
+            if (slots.length == 0 || k <= 0) {
+                return List.of();
+            }
+
+            BitSet candidates = new BitSet(slots.length);
+            candidates.set(0, slots.length);
+            if (criteria.cityKey() != null) {
+                candidates.and(byCity.getOrDefault(criteria.cityKey(), new BitSet()));
+            }
+            if (criteria.type() != null) {
+                candidates.and(byType.getOrDefault(criteria.type(), new BitSet()));
+            }
+            if (criteria.hasRanges()) {
+                BitSet ranged = (BitSet) candidates.clone();
+                if (criteria.minPrice() != null || criteria.maxPrice() != null) {
+                    ranged.and(prices.range(criteria.minPrice(), criteria.maxPrice()));
+                }
+                if (criteria.minSurface() != null || criteria.maxSurface() != null) {
+                    ranged.and(surfaces.range(criteria.minSurface(), criteria.maxSurface()));
+                }
+                if (ranged.cardinality() >= k) {
+                    candidates = ranged;
+                }
+            }
+
+            PriorityQueue<Match> best = new PriorityQueue<>(k + 1, WORST_FIRST);
+            for (int slot = candidates.nextSetBit(0);
+                    slot >= 0;
+                    slot = candidates.nextSetBit(slot + 1)) {
+                Listing listing = slots[slot];
+                if (listing.id().equals(excludeId)) {
+                    continue;
+                }
+                best.offer(new Match(listing, score(listing, criteria)));
+                if (best.size() > k) {
+                    best.poll();
+                }
+            }
+
+            List<Match> result = new ArrayList<>(best);
+            result.sort(WORST_FIRST.reversed());
+            return result;
+        }
+
+        private static int score(Listing listing, Criteria criteria) {
+            double weights = 0;
+            double total = 0;
+            if (criteria.cityKey() != null) {
+                weights += CITY_WEIGHT;
+                total += criteria.cityKey().equals(cityKey(listing.city())) ? CITY_WEIGHT : 0;
+            }
+            if (criteria.type() != null) {
+                weights += TYPE_WEIGHT;
+                total += criteria.type() == listing.type() ? TYPE_WEIGHT : 0;
+            }
+            if (criteria.targetPrice() != null) {
+                weights += PRICE_WEIGHT;
+                total += PRICE_WEIGHT * closeness(listing.price(), criteria.targetPrice());
+            }
+            if (criteria.targetSurface() != null) {
+                weights += SURFACE_WEIGHT;
+                total += SURFACE_WEIGHT * closeness(listing.surface(), criteria.targetSurface());
+            }
+            return weights > 0 ? (int) Math.round(100 * total / weights) : 0;
+        }
+    }
+
+    /** Slots that have a value for one numeric column, ordered by that value. */
+    private record SortedColumn(double[] values, int[] slots, int size) {
+
+        static SortedColumn of(Listing[] listings, boolean price) {
+            Integer[] order = new Integer[listings.length];
+            int size = 0;
+            for (int slot = 0; slot < listings.length; slot++) {
+                Double value = price ? listings[slot].price() : listings[slot].surface();
+                if (value != null) {
+                    order[size++] = slot;
+                }
+            }
+            Integer[] present = Arrays.copyOf(order, size);
+            Arrays.sort(
+                    present,
+                    Comparator.comparingDouble(
+                            slot -> price ? listings[slot].price() : listings[slot].surface()));
+
+            double[] values = new double[size];
+            int[] slots = new int[size];
+            for (int i = 0; i < size; i++) {
+                slots[i] = present[i];
+                values[i] = price ? listings[slots[i]].price() : listings[slots[i]].surface();
+            }
+            return new SortedColumn(values, slots, size);
+        }
+
+        BitSet range(Double min, Double max) {
+            int from = min != null ? lowerBound(min) : 0;
+            int to = max != null ? upperBound(max) : size;
+            BitSet bits = new BitSet();
+            for (int i = from; i < to; i++) {
+                bits.set(slots[i]);
+            }
+            return bits;
+        }
+
+        private int lowerBound(double key) {
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] < key) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private int upperBound(double key) {
+            int lo = 0;
+            int hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] <= key) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    private static final class TenantListings {
+
+        private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+        private final Map<Long, Listing> listings = new ConcurrentHashMap<>();
+        private final AtomicLong version = new AtomicLong();
+        private volatile Compiled compiled;
+        private LocalDateTime syncedAt;
+
+        private TenantListings(LocalDateTime syncedAt) {
+            this.syncedAt = syncedAt;
+        }
+
+        int size() {
+            return listings.size();
+        }
+
+        void put(Listing listing) {
+            Listing previous = listings.put(listing.id(), listing);
+            if (!listing.equals(previous)) {
+                version.incrementAndGet();
+            }
+        }
+
+        void remove(Long id) {
+            if (listings.remove(id) != null) {
+                version.incrementAndGet();
+            }
+        }
+
+        /** Current snapshot, recompiled when listings changed since it was built. */
+        Snapshot snapshot() {
+            Compiled current = compiled;
+            long expected = version.get();
+            if (current == null || current.version() != expected) {
+                current = new Compiled(expected, Snapshot.of(listings.values()));
+                compiled = current;
+            }
+            return current.snapshot();
+        }
+
+        synchronized LocalDateTime beginSync(Duration interval) {
+            if (!syncedAt.plus(interval).isBefore(LocalDateTime.now())) {
+                return null;
+            }
+            LocalDateTime since = syncedAt.minus(SYNC_OVERLAP);
+            syncedAt = LocalDateTime.now();
+            return since;
+        }
+
+        synchronized void abortSync(LocalDateTime since) {
+            syncedAt = since;
+        }
+    }
+
+    private record Compiled(long version, Snapshot snapshot) {}
+}
@@ -0,0 +1,38 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.Annonce;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA listener keeping {@link PropertyMatchIndex} in step with annonce writes made on this node,
+ * whichever service performs them. The index is resolved lazily because it is absent from JPA
+ * slice tests.
+ */
+public class PropertyMatchIndexListener {
+
+    private final ObjectProvider<PropertyMatchIndex> indexProvider;
+
+    public PropertyMatchIndexListener(ObjectProvider<PropertyMatchIndex> indexProvider) {
+        this.indexProvider = indexProvider;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onWrite(Annonce annonce) {
+        PropertyMatchIndex index = indexProvider.getIfAvailable();
+        if (index != null) {
+            index.onAnnonceSaved(annonce);
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Annonce annonce) {
+        PropertyMatchIndex index = indexProvider.getIfAvailable();
+        if (index != null) {
+            index.onAnnonceRemoved(annonce);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.backend.service;
+
+import com.example.backend.config.SecondLevelCacheRegions;
+import com.example.backend.entity.ReferentialEntity;
+import com.example.backend.entity.WhatsAppTemplate;
+import com.example.backend.entity.WorkflowDefinition;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Explicit second-level cache eviction for writes to the cached reference tables.
+ *
+ * <p>Hibernate keeps the entity regions consistent with writes made through the session, but a
+ * query region is only invalidated through its update timestamps, which a concurrent reader may
+ * repopulate from the pre-commit state. Writers therefore evict the written row and the table's
+ * query region now and again once their transaction completes. A no-op when the second-level
+ * cache is disabled.
+ */
+@Component
+public class ReferenceDataCacheEvictor {
+
+    private static final String TEMPLATE_VARIABLES_ROLE =
+            WhatsAppTemplate.class.getName() + ".variables";
+
+    private final Cache cache;
+
+    public ReferenceDataCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+
+    public void evictReferential(Long id) {
+        evictAfterCompletion(
+                () -> {
+                    cache.evictEntityData(ReferentialEntity.class, id);
+                    cache.evictQueryRegion(SecondLevelCacheRegions.REFERENTIAL_QUERIES);
+                });
+    }
+
+    public void evictWorkflowDefinition(Long id) {
+        evictAfterCompletion(
+                () -> {
+                    cache.evictEntityData(WorkflowDefinition.class, id);
+                    cache.evictQueryRegion(SecondLevelCacheRegions.WORKFLOW_DEFINITION_QUERIES);
+                });
+    }
+
+    public void evictWhatsAppTemplate(Long id) {
+        evictAfterCompletion(
+                () -> {
+                    cache.evictEntityData(WhatsAppTemplate.class, id);
+                    cache.evictCollectionData(TEMPLATE_VARIABLES_ROLE, id);
+                    cache.evictQueryRegion(SecondLevelCacheRegions.WHATSAPP_TEMPLATE_QUERIES);
+                });
+    }
+
+    private static void evictAfterCompletion(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            eviction.run();
+                        }
+                    });
+        }
+    }
+}
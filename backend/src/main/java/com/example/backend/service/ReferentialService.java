@@ -7,6 +7,7 @@
 import com.example.backend.repository.ReferentialVersionRepository;
 import com.example.backend.util.TenantContext;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,12 +16,15 @@ public class ReferentialService {
 
     private final ReferentialRepository referentialRepository;
     private final ReferentialVersionRepository versionRepository;
+    private final ReferenceDataCacheEvictor cacheEvictor;
 
     public ReferentialService(
             ReferentialRepository referentialRepository,
-            ReferentialVersionRepository versionRepository) {
+            ReferentialVersionRepository versionRepository,
+            ReferenceDataCacheEvictor cacheEvictor) {
         this.referentialRepository = referentialRepository;
         this.versionRepository = versionRepository;
+        this.cacheEvictor = cacheEvictor;
     }
 
     @Transactional(readOnly = true)
@@ -30,7 +34,13 @@ public List<ReferentialEntity> getAllByCategory(String category) {
 
     @Transactional(readOnly = true)
     public List<ReferentialEntity> getActiveByCategory(String category) {
-        return referentialRepository.findByCategoryAndIsActiveTrueOrderByDisplayOrderAsc(category);
+        String orgId = TenantContext.getOrgId();
+        if (orgId == null) {
+            return referentialRepository.findByCategoryAndIsActiveTrueOrderByDisplayOrderAsc(
+                    category);
+        }
+        return referentialRepository.findByOrgIdAndCategoryAndIsActiveTrueOrderByDisplayOrderAsc(
+                orgId, category);
     }
 
     @Transactional(readOnly = true)
@@ -45,14 +55,18 @@ public ReferentialEntity getById(Long id) {
 
     @Transactional(readOnly = true)
     public ReferentialEntity getByCategoryAndCode(String category, String code) {
-        return referentialRepository
-                .findByCategoryAndCode(category, code)
-                .orElseThrow(
-                        () ->
-                                new ResourceNotFoundException(
-                                        String.format(
-                                                "Referential not found with category: %s and code: %s",
-                                                category, code)));
+        String orgId = TenantContext.getOrgId();
+        Optional<ReferentialEntity> referential =
+                orgId == null
+                        ? referentialRepository.findByCategoryAndCode(category, code)
+                        : referentialRepository.findByOrgIdAndCategoryAndCode(
+                                orgId, category, code);
+        return referential.orElseThrow(
+                () ->
+                        new ResourceNotFoundException(
+                                String.format(
+                                        "Referential not found with category: %s and code: %s",
+                                        category, code)));
     }
 
     @Transactional
@@ -76,6 +90,7 @@ public ReferentialEntity create(ReferentialEntity entity) {
         ReferentialEntity saved = referentialRepository.save(entity);
 
         createVersion(saved, ReferentialVersionEntity.ReferentialChangeType.CREATED, null);
+        cacheEvictor.evictReferential(saved.getId());
 
         return saved;
     }
@@ -116,6 +131,7 @@ public ReferentialEntity update(Long id, ReferentialEntity updatedEntity, String
         ReferentialEntity saved = referentialRepository.save(existing);
 
         createVersion(saved, changeType, changeReason);
+        cacheEvictor.evictReferential(saved.getId());
 
         return saved;
     }
@@ -137,6 +153,7 @@ public void delete(Long id, String changeReason) {
                 existing, ReferentialVersionEntity.ReferentialChangeType.DELETED, changeReason);
 
         referentialRepository.delete(existing);
+        cacheEvictor.evictReferential(existing.getId());
     }
 
     @Transactional(readOnly = true)
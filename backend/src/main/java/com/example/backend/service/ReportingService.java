@@ -456,11 +456,13 @@ private Double calculateAgentAverageResponseTime(List<Dossier> dossiers) {
         for (Dossier dossier : dossiers) {
             LocalDateTime dossierCreatedAt = dossier.getCreatedAt();
 
+            // A dossier's messages are stored after it, so older message partitions are skipped
             Specification<MessageEntity> messageSpec =
                     (root, query, cb) -> {
                         return cb.and(
                                 cb.equal(root.get("dossier").get("id"), dossier.getId()),
-                                cb.equal(root.get("direction"), MessageDirection.OUTBOUND));
+                                cb.equal(root.get("direction"), MessageDirection.OUTBOUND),
+                                cb.greaterThanOrEqualTo(root.get("createdAt"), dossierCreatedAt));
                     };
 
             List<MessageEntity> outboundMessages = messageRepository.findAll(messageSpec);
@@ -646,11 +648,13 @@ private Double calculateAverageResponseTime(
         for (Dossier dossier : dossiers) {
             LocalDateTime dossierCreatedAt = dossier.getCreatedAt();
 
+            // A dossier's messages are stored after it, so older message partitions are skipped
             Specification<MessageEntity> messageSpec =
                     (root, query, cb) -> {
                         return cb.and(
                                 cb.equal(root.get("dossier").get("id"), dossier.getId()),
-                                cb.equal(root.get("direction"), MessageDirection.OUTBOUND));
+                                cb.equal(root.get("direction"), MessageDirection.OUTBOUND),
+                                cb.greaterThanOrEqualTo(root.get("createdAt"), dossierCreatedAt));
                     };
 
             List<MessageEntity> outboundMessages = messageRepository.findAll(messageSpec);
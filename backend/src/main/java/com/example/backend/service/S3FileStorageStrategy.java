@@ -89,6 +89,29 @@ public String store(
         }
     }
 
+    @Override
+    public String storeAt(
+            String storagePath, InputStream inputStream, long size, String contentType) {
+        try {
+            PutObjectRequest putObjectRequest =
+                    PutObjectRequest.builder()
+                            .bucket(bucketName)
+                            .key(storagePath)
+                            .contentType(contentType)
+                            .contentLength(size)
+                            .build();
+
+            // Streamed rather than buffered: exports can be far larger than uploads
+            getS3Client()
+                    .putObject(putObjectRequest, RequestBody.fromInputStream(inputStream, size));
+            logger.info("File stored successfully in S3 at: {}", storagePath);
+            return storagePath;
+        } catch (S3Exception e) {
+            logger.error("S3 error while storing file: {}", storagePath, e);
+            throw new RuntimeException("S3 error while storing file: " + storagePath, e);
+        }
+    }
+
     @Override
     public InputStream retrieve(String storagePath) {
         try {
@@ -0,0 +1,259 @@
+package com.example.backend.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Database-backed leases for cluster-wide scheduled jobs.
+ *
+ * <p>A lease is a row in {@code scheduler_lease} taken with a conditional update (free once {@code
+ * lease_until} has passed), so exactly one node wins whatever the database. Statements run outside
+ * any transaction, before the job opens its own. Nodes heartbeat into {@code scheduler_node}; the
+ * live node count sizes each node's share of partitioned jobs.
+ */
+@Service
+public class SchedulerLeaseService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchedulerLeaseService.class);
+    private static final String PARTITION_SEPARATOR = "#";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+    private final boolean enabled;
+    private final Duration nodeTimeout;
+
+    private final AtomicInteger liveNodes = new AtomicInteger(1);
+    private final Map<String, AtomicReference<LocalDateTime>> lastSuccessByJob =
+            new ConcurrentHashMap<>();
+
+    public SchedulerLeaseService(
+            JdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${scheduler.lease.enabled:true}") boolean enabled,
+            @Value("${scheduler.lease.node-id:}") String nodeId,
+            @Value("${scheduler.lease.node-timeout-ms:30000}") long nodeTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.nodeId =
+                nodeId != null && !nodeId.isBlank()
+                        ? nodeId
+                        : ManagementFactory.getRuntimeMXBean().getName();
+        this.nodeTimeout = Duration.ofMillis(nodeTimeoutMs);
+
+        Gauge.builder("scheduled_job_live_nodes", liveNodes, AtomicInteger::get)
+                .description("Scheduler nodes with a recent heartbeat")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public Optional<Lease> tryAcquire(String leaseName, String jobName, Duration leaseFor) {
+        // Millisecond precision so acquired_at round-trips exactly on every database
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        LocalDateTime until = now.plus(leaseFor);
+
+        int updated =
+                jdbcTemplate.update(
+                        "UPDATE scheduler_lease SET locked_by = ?, lease_until = ?, acquired_at = ?"
+                                + " WHERE lease_name = ? AND lease_until <= ?",
+                        nodeId,
+                        Timestamp.valueOf(until),
+                        Timestamp.valueOf(now),
+                        leaseName,
+                        Timestamp.valueOf(now));
+        if (updated == 1) {
+            return Optional.of(new Lease(leaseName, jobName, now));
+        }
+
+        Integer existing =
+                jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM scheduler_lease WHERE lease_name = ?",
+                        Integer.class,
+                        leaseName);
+        if (existing != null && existing > 0) {
+            return Optional.empty();
+        }
+
+        try {
+            jdbcTemplate.update(
+                    "INSERT INTO scheduler_lease (lease_name, job_name, locked_by, lease_until,"
+                            + " acquired_at) VALUES (?, ?, ?, ?, ?)",
+                    leaseName,
+                    jobName,
+                    nodeId,
+                    Timestamp.valueOf(until),
+                    Timestamp.valueOf(now));
+            return Optional.of(new Lease(leaseName, jobName, now));
+        } catch (DataIntegrityViolationException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Claims up to this node's fair share ({@code ceil(partitions / liveNodes)}) of the job's
+     * partitions, starting at a node-specific offset so concurrent nodes rarely contend for the same
+     * rows. Partitions left unclaimed (a node died mid-interval) are picked up once its heartbeat
+     * expires and the share grows.
+     */
+    public List<Lease> claimPartitions(String jobName, int partitionCount, Duration leaseFor) {
+        int share = Math.ceilDiv(partitionCount, Math.max(1, liveNodes.get()));
+        int offset = Math.floorMod(nodeId.hashCode(), partitionCount);
+
+        List<Lease> claimed = new ArrayList<>(share);
+        for (int i = 0; i < partitionCount && claimed.size() < share; i++) {
+            int partition = (offset + i) % partitionCount;
+            tryAcquire(jobName + PARTITION_SEPARATOR + partition, jobName, leaseFor)
+                    .ifPresent(claimed::add);
+        }
+        return claimed;
+    }
+
+    /**
+     * Releases a lease this node holds. The row stays taken until {@code acquiredAt + holdAtLeast}
+     * so that a late trigger on another node does not repeat the run.
+     */
+    public void release(Lease lease, Duration holdAtLeast, boolean success) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime heldUntil = lease.acquiredAt().plus(holdAtLeast);
+        LocalDateTime until = heldUntil.isAfter(now) ? heldUntil : now;
+
+        try {
+            if (success) {
+                jdbcTemplate.update(
+                        "UPDATE scheduler_lease SET lease_until = ?, last_success_at = ?"
+                                + " WHERE lease_name = ? AND locked_by = ? AND acquired_at = ?",
+                        Timestamp.valueOf(until),
+                        Timestamp.valueOf(now),
+                        lease.name(),
+                        nodeId,
+                        Timestamp.valueOf(lease.acquiredAt()));
+            } else {
+                jdbcTemplate.update(
+                        "UPDATE scheduler_lease SET lease_until = ?"
+                                + " WHERE lease_name = ? AND locked_by = ? AND acquired_at = ?",
+                        Timestamp.valueOf(until),
+                        lease.name(),
+                        nodeId,
+                        Timestamp.valueOf(lease.acquiredAt()));
+            }
+        } catch (Exception e) {
+            logger.warn(
+                    "Failed to release scheduler lease {}; it expires on its own: {}",
+                    lease.name(),
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Refreshes this node's membership row, drops nodes that stopped heartbeating and reloads the
+     * per-job last-success timestamps behind the {@code scheduled_job_lag_seconds} gauges.
+     */
+    @Scheduled(fixedDelayString = "${scheduler.lease.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int updated =
+                    jdbcTemplate.update(
+                            "UPDATE scheduler_node SET heartbeat_at = ? WHERE node_id = ?",
+                            Timestamp.valueOf(now),
+                            nodeId);
+            if (updated == 0) {
+                jdbcTemplate.update(
+                        "INSERT INTO scheduler_node (node_id, started_at, heartbeat_at)"
+                                + " VALUES (?, ?, ?)",
+                        nodeId,
+                        Timestamp.valueOf(now),
+                        Timestamp.valueOf(now));
+            }
+
+            Timestamp staleBefore = Timestamp.valueOf(now.minus(nodeTimeout));
+            jdbcTemplate.update("DELETE FROM scheduler_node WHERE heartbeat_at < ?", staleBefore);
+            Integer live =
+                    jdbcTemplate.queryForObject("SELECT COUNT(*) FROM scheduler_node", Integer.class);
+            liveNodes.set(live != null && live > 0 ? live : 1);
+
+            refreshLastSuccess();
+        } catch (Exception e) {
+            logger.warn("Scheduler heartbeat failed for node {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void leaveCluster() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("DELETE FROM scheduler_node WHERE node_id = ?", nodeId);
+        } catch (Exception e) {
+            logger.debug("Could not remove scheduler node {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    private void refreshLastSuccess() {
+        jdbcTemplate.query(
+                "SELECT job_name, MIN(last_success_at) FROM scheduler_lease GROUP BY job_name",
+                rs -> {
+                    Timestamp lastSuccess = rs.getTimestamp(2);
+                    if (lastSuccess != null) {
+                        lastSuccessGauge(rs.getString(1)).set(lastSuccess.toLocalDateTime());
+                    }
+                });
+    }
+
+    private AtomicReference<LocalDateTime> lastSuccessGauge(String jobName) {
+        return lastSuccessByJob.computeIfAbsent(
+                jobName,
+                job -> {
+                    AtomicReference<LocalDateTime> lastSuccess = new AtomicReference<>();
+                    Gauge.builder(
+                                    "scheduled_job_lag_seconds",
+                                    lastSuccess,
+                                    ref ->
+                                            ref.get() == null
+                                                    ? 0
+                                                    : Duration.between(
+                                                                    ref.get(), LocalDateTime.now())
+                                                            .toSeconds())
+                            .tag("job", job)
+                            .description(
+                                    "Seconds since the job's oldest partition last completed"
+                                            + " successfully on any node")
+                            .register(meterRegistry);
+                    return lastSuccess;
+                });
+    }
+
+    public record Lease(String name, String jobName, LocalDateTime acquiredAt) {}
+}
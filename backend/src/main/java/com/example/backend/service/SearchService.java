@@ -27,6 +27,7 @@
 import org.springframework.data.elasticsearch.core.query.CriteriaQuery;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @ConditionalOnProperty(name = "elasticsearch.enabled", havingValue = "true", matchIfMissing = false)
@@ -51,6 +52,7 @@ public class SearchService {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    @Transactional(readOnly = true)
     public SearchResponseDto search(
             String query, String type, Map<String, Object> filters, int page, int size) {
         String orgId = TenantContext.getOrgId();
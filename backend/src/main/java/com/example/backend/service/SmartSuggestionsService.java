@@ -18,7 +18,7 @@
 @Service
 public class SmartSuggestionsService {
 
-    private final UserBehaviorPatternRepository behaviorRepository;
+    private final BehaviorTrackingBuffer behaviorTrackingBuffer;
     private final SuggestionTemplateRepository suggestionTemplateRepository;
     private final MessageTemplateRepository messageTemplateRepository;
     private final SuggestionFeedbackRepository feedbackRepository;
@@ -26,17 +26,19 @@ public class SmartSuggestionsService {
     private final ActivityRepository activityRepository;
     private final AppointmentRepository appointmentRepository;
     private final AnnonceRepository annonceRepository;
+    private final TemplateRenderEngine templateRenderEngine;
 
     public SmartSuggestionsService(
-            UserBehaviorPatternRepository behaviorRepository,
+            BehaviorTrackingBuffer behaviorTrackingBuffer,
             SuggestionTemplateRepository suggestionTemplateRepository,
             MessageTemplateRepository messageTemplateRepository,
             SuggestionFeedbackRepository feedbackRepository,
             DossierRepository dossierRepository,
             ActivityRepository activityRepository,
             AppointmentRepository appointmentRepository,
-            AnnonceRepository annonceRepository) {
-        this.behaviorRepository = behaviorRepository;
+            AnnonceRepository annonceRepository,
+            TemplateRenderEngine templateRenderEngine) {
+        this.behaviorTrackingBuffer = behaviorTrackingBuffer;
         this.suggestionTemplateRepository = suggestionTemplateRepository;
         this.messageTemplateRepository = messageTemplateRepository;
         this.feedbackRepository = feedbackRepository;
@@ -44,32 +46,16 @@ public SmartSuggestionsService(
         this.activityRepository = activityRepository;
         this.appointmentRepository = appointmentRepository;
         this.annonceRepository = annonceRepository;
+        this.templateRenderEngine = templateRenderEngine;
     }
 
-    @Transactional
+    /**
+     * Records a user action. The write is buffered and batched by {@link BehaviorTrackingBuffer};
+     * under overload the action is dropped rather than slowing the request down.
+     */
     public void trackBehavior(String actionType, String contextType, Long contextId) {
-        String orgId = TenantContext.getOrgId();
-        String userId = getCurrentUserId();
-
-        Optional<UserBehaviorPattern> existing =
-                behaviorRepository.findByOrgIdAndUserIdAndActionTypeAndContextTypeAndContextId(
-                        orgId, userId, actionType, contextType, contextId);
-
-        if (existing.isPresent()) {
-            UserBehaviorPattern pattern = existing.get();
-            pattern.incrementFrequency();
-            behaviorRepository.save(pattern);
-        } else {
-            UserBehaviorPattern pattern = new UserBehaviorPattern();
-            pattern.setOrgId(orgId);
-            pattern.setUserId(userId);
-            pattern.setActionType(actionType);
-            pattern.setContextType(contextType);
-            pattern.setContextId(contextId);
-            pattern.setFrequencyCount(1);
-            pattern.setLastPerformedAt(LocalDateTime.now());
-            behaviorRepository.save(pattern);
-        }
+        behaviorTrackingBuffer.record(
+                TenantContext.getOrgId(), getCurrentUserId(), actionType, contextType, contextId);
     }
 
     @Transactional(readOnly = true)
@@ -189,21 +175,19 @@ private List<SmartSuggestionResponse> getBehaviorBasedSuggestions(
             String userId, String orgId, Long dossierId) {
         List<SmartSuggestionResponse> suggestions = new ArrayList<>();
 
-        List<UserBehaviorPattern> patterns =
-                behaviorRepository.findTopPatternsByUser(orgId, userId).stream()
-                        .limit(3)
-                        .collect(Collectors.toList());
+        List<BehaviorTrackingBuffer.PatternStat> patterns =
+                behaviorTrackingBuffer.topPatterns(orgId, userId, 3);
 
-        for (UserBehaviorPattern pattern : patterns) {
+        for (BehaviorTrackingBuffer.PatternStat pattern : patterns) {
             SmartSuggestionResponse suggestion = new SmartSuggestionResponse();
             suggestion.setSuggestionType("BEHAVIOR_PATTERN");
-            suggestion.setTitle("Action fréquente: " + pattern.getActionType());
+            suggestion.setTitle("Action fréquente: " + pattern.actionType());
             suggestion.setDescription("Vous effectuez souvent cette action");
-            suggestion.setActionType(pattern.getActionType());
+            suggestion.setActionType(pattern.actionType());
             suggestion.setPriority(5);
             suggestion.setConfidenceScore(calculateBehaviorConfidence(pattern));
             suggestion.setReason(
-                    "Basé sur vos habitudes (" + pattern.getFrequencyCount() + " fois)");
+                    "Basé sur vos habitudes (" + pattern.frequencyCount() + " fois)");
             suggestions.add(suggestion);
         }
 
@@ -248,11 +232,11 @@ private double adjustConfidenceWithFeedback(
         return (baseConfidence * 0.7) + (acceptanceRate * 0.3);
     }
 
-    private double calculateBehaviorConfidence(UserBehaviorPattern pattern) {
+    private double calculateBehaviorConfidence(BehaviorTrackingBuffer.PatternStat pattern) {
         long daysSinceLastUse =
-                ChronoUnit.DAYS.between(pattern.getLastPerformedAt(), LocalDateTime.now());
+                ChronoUnit.DAYS.between(pattern.lastPerformedAt(), LocalDateTime.now());
         double recencyScore = Math.max(0, 1.0 - (daysSinceLastUse / 30.0));
-        double frequencyScore = Math.min(1.0, pattern.getFrequencyCount() / 20.0);
+        double frequencyScore = Math.min(1.0, pattern.frequencyCount() / 20.0);
         return (recencyScore * 0.6) + (frequencyScore * 0.4);
     }
 
@@ -368,11 +352,7 @@ private Map<String, String> buildVariablesMap(Dossier dossier) {
     }
 
     private String fillTemplate(String template, Map<String, String> variables) {
-        String result = template;
-        for (Map.Entry<String, String> entry : variables.entrySet()) {
-            result = result.replace("{{" + entry.getKey() + "}}", entry.getValue());
-        }
-        return result;
+        return templateRenderEngine.render(template, variables);
     }
 
     private MessageTemplateResponse mapToMessageTemplateResponse(MessageTemplate template) {
@@ -1,5 +1,6 @@
 package com.example.backend.service;
 
+import com.example.backend.aspect.LeasedJob;
 import com.example.backend.entity.NotificationEntity;
 import com.example.backend.entity.TaskEntity;
 import com.example.backend.entity.enums.NotificationStatus;
@@ -38,6 +39,7 @@ public TaskReminderScheduler(
         this.auditEventService = auditEventService;
     }
 
+    @LeasedJob(name = "task-overdue-reminders", leaseFor = "PT30M", holdAtLeast = "PT5M")
     @Scheduled(cron = "${task.reminder.cron:0 0 9 * * ?}")
     @Transactional
     public void checkOverdueTasksAndSendReminders() {
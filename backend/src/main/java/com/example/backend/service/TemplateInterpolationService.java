@@ -3,11 +3,12 @@
 import com.example.backend.entity.TemplateVariable;
 import com.example.backend.entity.WhatsAppTemplate;
 import com.example.backend.repository.WhatsAppTemplateRepository;
+import com.example.backend.util.CompiledTemplate;
+import com.example.backend.util.TenantContext;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -17,33 +18,30 @@ public class TemplateInterpolationService {
 
     private static final Logger logger =
             LoggerFactory.getLogger(TemplateInterpolationService.class);
-    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{\\{([^}]+)\\}\\}");
 
     private final WhatsAppTemplateRepository templateRepository;
+    private final TemplateRenderEngine renderEngine;
 
-    public TemplateInterpolationService(WhatsAppTemplateRepository templateRepository) {
+    public TemplateInterpolationService(
+            WhatsAppTemplateRepository templateRepository, TemplateRenderEngine renderEngine) {
         this.templateRepository = templateRepository;
+        this.renderEngine = renderEngine;
     }
 
     public String interpolateTemplate(String templateCode, Map<String, String> variables) {
-        if (templateCode == null || templateCode.trim().isEmpty()) {
-            throw new IllegalArgumentException("Template code cannot be null or empty");
-        }
-
-        WhatsAppTemplate template =
-                templateRepository
-                        .findByNameAndLanguage(templateCode, "fr")
-                        .orElseThrow(
-                                () ->
-                                        new IllegalArgumentException(
-                                                "Template not found: " + templateCode));
-
-        String content = extractTemplateContent(template);
-        if (content == null) {
-            throw new IllegalStateException("Template " + templateCode + " has no body content");
-        }
+        CompiledTemplate template = compiledBody(templateCode);
+        warnOnMissingVariables(template, variables);
+        return template.render(variables);
+    }
 
-        return interpolateString(content, variables);
+    /**
+     * Renders the template once per variable map with a single template lookup, for campaign-size
+     * sends.
+     */
+    public List<String> interpolateTemplateBulk(
+            String templateCode, List<Map<String, String>> variableSets) {
+        CompiledTemplate template = compiledBody(templateCode);
+        return renderEngine.renderAll(template, variableSets);
     }
 
     public String interpolateString(String template, Map<String, String> variables) {
@@ -55,32 +53,15 @@ public String interpolateString(String template, Map<String, String> variables)
             return template;
         }
 
-        StringBuffer result = new StringBuffer();
-        Matcher matcher = VARIABLE_PATTERN.matcher(template);
-
-        while (matcher.find()) {
-            String variableName = matcher.group(1).trim();
-            String replacement = variables.get(variableName);
-
-            if (replacement == null) {
-                logger.warn(
-                        "Variable '{}' not found in provided values, keeping placeholder",
-                        variableName);
-                replacement = "{{" + variableName + "}}";
-            }
-
-            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
-        }
-        matcher.appendTail(result);
-
-        return result.toString();
+        CompiledTemplate compiled = renderEngine.compile(template);
+        warnOnMissingVariables(compiled, variables);
+        return compiled.render(variables);
     }
 
     public Map<String, String> validateRequiredVariables(
             String templateCode, Map<String, String> providedVariables) {
         WhatsAppTemplate template =
-                templateRepository
-                        .findByNameAndLanguage(templateCode, "fr")
+                findTemplate(templateCode, "fr")
                         .orElseThrow(
                                 () ->
                                         new IllegalArgumentException(
@@ -103,19 +84,43 @@ public Map<String, String> validateRequiredVariables(
         return missing;
     }
 
-    private String extractTemplateContent(WhatsAppTemplate template) {
-        List<Map<String, Object>> components = template.getComponents();
-        if (components == null || components.isEmpty()) {
-            return null;
+    private CompiledTemplate compiledBody(String templateCode) {
+        if (templateCode == null || templateCode.trim().isEmpty()) {
+            throw new IllegalArgumentException("Template code cannot be null or empty");
         }
 
-        for (Map<String, Object> component : components) {
-            String type = (String) component.get("type");
-            if ("BODY".equals(type)) {
-                return (String) component.get("text");
+        return renderEngine
+                .body(
+                        templateCode,
+                        "fr",
+                        () ->
+                                findTemplate(templateCode, "fr")
+                                        .orElseThrow(
+                                                () ->
+                                                        new IllegalArgumentException(
+                                                                "Template not found: "
+                                                                        + templateCode)))
+                .orElseThrow(
+                        () ->
+                                new IllegalStateException(
+                                        "Template " + templateCode + " has no body content"));
+    }
+
+    /** Looks up by the tenant in context, which keeps the lookup cacheable across orgs. */
+    private Optional<WhatsAppTemplate> findTemplate(String name, String language) {
+        String orgId = TenantContext.getOrgId();
+        return orgId == null
+                ? templateRepository.findByNameAndLanguage(name, language)
+                : templateRepository.findByOrgIdAndNameAndLanguage(orgId, name, language);
+    }
+
+    private void warnOnMissingVariables(CompiledTemplate template, Map<String, String> variables) {
+        for (String variableName : template.variableNames()) {
+            if (variables == null || !variables.containsKey(variableName)) {
+                logger.warn(
+                        "Variable '{}' not found in provided values, keeping placeholder",
+                        variableName);
             }
         }
-
-        return null;
     }
 }
@@ -0,0 +1,118 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.WhatsAppTemplate;
+import com.example.backend.repository.WhatsAppTemplateRepository;
+import com.example.backend.util.CompiledTemplate;
+import com.example.backend.util.TenantContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Shared cache of parsed message templates.
+ *
+ * <p>Stored WhatsApp templates are cached per (org, name, language) with the body of their current
+ * version; {@link WhatsAppTemplateService} invalidates an org's entries on every template write,
+ * and entries expire after {@code templates.render-cache.ttl} so edits made on another node are
+ * picked up. Free-form template text (message templates, bodies resolved by callers) is cached by
+ * content, which needs no invalidation.
+ */
+@Service
+public class TemplateRenderEngine {
+
+    private final WhatsAppTemplateRepository templateRepository;
+    private final Cache<TemplateKey, CompiledTemplate> storedTemplates;
+    private final Cache<String, CompiledTemplate> textTemplates;
+
+    public TemplateRenderEngine(
+            WhatsAppTemplateRepository templateRepository,
+            @Value("${templates.render-cache.max-size:5000}") long maxSize,
+            @Value("${templates.render-cache.ttl:PT10M}") Duration ttl) {
+        this.templateRepository = templateRepository;
+        this.storedTemplates =
+                Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).build();
+        this.textTemplates = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    /** Body of the stored template, or empty when it does not exist or has no BODY component. */
+    public Optional<CompiledTemplate> body(String name, String language) {
+        return body(
+                name,
+                language,
+                () -> findTemplate(name, language).orElse(null));
+    }
+
+    /**
+     * Body of a stored template resolved by {@code loader} (e.g. with locale fallbacks), cached
+     * under {@code languageKey}. The loader runs only on a cache miss.
+     */
+    public Optional<CompiledTemplate> body(
+            String name, String languageKey, Supplier<WhatsAppTemplate> loader) {
+        TemplateKey key = new TemplateKey(currentOrg(), name, languageKey);
+        return Optional.ofNullable(
+                storedTemplates.get(
+                        key,
+                        k -> {
+                            WhatsAppTemplate template = loader.get();
+                            String text = template != null ? bodyText(template) : null;
+                            return text != null
+                                    ? CompiledTemplate.compile(text, template.getCurrentVersion())
+                                    : null;
+                        }));
+    }
+
+    public CompiledTemplate compile(String text) {
+        return textTemplates.get(text, CompiledTemplate::compile);
+    }
+
+    public String render(String text, Map<String, String> values) {
+        return text != null ? compile(text).render(values) : null;
+    }
+
+    public List<String> renderAll(CompiledTemplate template, List<Map<String, String>> valueSets) {
+        return template.renderAll(valueSets);
+    }
+
+    public void invalidateOrg(String orgId) {
+        String org = orgId != null ? orgId : "";
+        storedTemplates.asMap().keySet().removeIf(key -> key.orgId().equals(org));
+    }
+
+    public void invalidateAll() {
+        storedTemplates.invalidateAll();
+    }
+
+    static String bodyText(WhatsAppTemplate template) {
+        List<Map<String, Object>> components = template.getComponents();
+        if (components == null) {
+            return null;
+        }
+        for (Map<String, Object> component : components) {
+            if ("BODY".equalsIgnoreCase((String) component.get("type"))) {
+                return (String) component.get("text");
+            }
+        }
+        return null;
+    }
+
+    /** Looks up by the tenant in context, which keeps the lookup cacheable across orgs. */
+    private Optional<WhatsAppTemplate> findTemplate(String name, String language) {
+        String orgId = TenantContext.getOrgId();
+        return orgId == null
+                ? templateRepository.findByNameAndLanguage(name, language)
+                : templateRepository.findByOrgIdAndNameAndLanguage(orgId, name, language);
+    }
+
+    private static String currentOrg() {
+        String orgId = TenantContext.getOrgId();
+        return orgId != null ? orgId : "";
+    }
+
+    private record TemplateKey(String orgId, String name, String language) {}
+}
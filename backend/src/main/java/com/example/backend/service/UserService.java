@@ -1,51 +1,100 @@
 package com.example.backend.service;
 
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import java.util.LinkedHashMap;
+import jakarta.annotation.PreDestroy;
+import jakarta.ws.rs.NotFoundException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 import org.keycloak.admin.client.Keycloak;
 import org.keycloak.representations.idm.UserRepresentation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
 import org.springframework.stereotype.Service;
 
+/**
+ * Resolves user ids to display names through the Keycloak admin API.
+ *
+ * <p>Names live in a bounded Caffeine cache. Resolved names expire after {@code
+ * user-directory.cache.ttl} and are reloaded in the background once older than {@code
+ * user-directory.cache.refresh-after}, so renames propagate without readers waiting on Keycloak.
+ * Unknown users are cached for {@code user-directory.cache.negative-ttl}; lookup failures (circuit
+ * open, timeouts) only for {@code user-directory.cache.failure-ttl}, so a Keycloak outage does not
+ * pin fallback names.
+ *
+ * <p>The admin API has no lookup-by-ids endpoint, so {@link #getUserDisplayNames(List)} fetches all
+ * cache misses concurrently on a pool of {@code user-directory.lookup-parallelism} threads (kept at
+ * or below the admin client's connection pool) and returns after a single round.
+ */
 @Service
-public class UserService {
+public class UserService implements ApplicationListener<ApplicationReadyEvent> {
 
     private static final Logger log = LoggerFactory.getLogger(UserService.class);
-    private static final int MAX_CACHE_SIZE = 1000;
-
-    private final Map<String, String> displayNameCache =
-            new LinkedHashMap<>(16, 0.75f, true) {
-                @Override
-                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
-                    return size() > MAX_CACHE_SIZE;
-                }
-            };
+    private static final String SYSTEM_DISPLAY_NAME = "Système";
+    private static final String DELETED_USER_DISPLAY_NAME = "Utilisateur supprimé";
 
     private final Keycloak keycloakAdminClient;
     private final CircuitBreaker circuitBreaker;
     private final String keycloakRealm;
+    private final ExecutorService lookupExecutor;
+    private final LoadingCache<String, CachedName> displayNameCache;
+
+    @Value("${user-directory.warmup.enabled:false}")
+    private boolean warmupEnabled;
+
+    @Value("${user-directory.warmup.max-users:500}")
+    private int warmupMaxUsers = 500;
 
     public UserService(
             Keycloak keycloakAdminClient,
             CircuitBreaker keycloakCircuitBreaker,
-            @Value("${keycloak.admin.realm}") String keycloakRealm) {
+            @Value("${keycloak.admin.realm}") String keycloakRealm,
+            @Value("${user-directory.cache.max-size:10000}") long maxSize,
+            @Value("${user-directory.cache.ttl:PT1H}") Duration ttl,
+            @Value("${user-directory.cache.refresh-after:PT10M}") Duration refreshAfter,
+            @Value("${user-directory.cache.negative-ttl:PT10M}") Duration negativeTtl,
+            @Value("${user-directory.cache.failure-ttl:PT30S}") Duration failureTtl,
+            @Value("${user-directory.lookup-parallelism:8}") int lookupParallelism) {
         this.keycloakAdminClient = keycloakAdminClient;
         this.circuitBreaker = keycloakCircuitBreaker;
         this.keycloakRealm = keycloakRealm;
+        this.lookupExecutor =
+                Executors.newFixedThreadPool(
+                        Math.max(1, lookupParallelism),
+                        Thread.ofPlatform().name("user-directory-", 1).daemon().factory());
+        this.displayNameCache =
+                Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfter(new NameExpiry(ttl, negativeTtl, failureTtl))
+                        .refreshAfterWrite(refreshAfter)
+                        .executor(lookupExecutor)
+                        .build(new DisplayNameLoader());
     }
 
     public String getUserDisplayName(String userId) {
         if (userId == null || userId.isBlank()) {
-            return "Système";
+            return SYSTEM_DISPLAY_NAME;
+        }
+        if ("system".equalsIgnoreCase(userId)) {
+            return SYSTEM_DISPLAY_NAME;
         }
 
-        return displayNameCache.computeIfAbsent(userId, this::fetchUserDisplayName);
+        return displayNameCache.get(userId).displayName();
     }
 
     public Map<String, String> getUserDisplayNames(List<String> userIds) {
@@ -53,31 +102,68 @@ public Map<String, String> getUserDisplayNames(List<String> userIds) {
             return Map.of();
         }
 
-        return userIds.stream()
-                .distinct()
-                .collect(
-                        Collectors.toMap(
-                                userId -> userId,
-                                this::getUserDisplayName,
-                                (existing, replacement) -> existing));
+        Map<String, String> result = new HashMap<>();
+        Set<String> lookups = new LinkedHashSet<>();
+        for (String userId : userIds) {
+            if (userId == null || userId.isBlank() || "system".equalsIgnoreCase(userId)) {
+                if (userId != null) {
+                    result.put(userId, SYSTEM_DISPLAY_NAME);
+                }
+            } else {
+                lookups.add(userId);
+            }
+        }
+
+        if (!lookups.isEmpty()) {
+            displayNameCache
+                    .getAll(lookups)
+                    .forEach((userId, cached) -> result.put(userId, cached.displayName()));
+        }
+        return result;
     }
 
-    private String fetchUserDisplayName(String userId) {
-        if ("system".equalsIgnoreCase(userId)) {
-            return "Système";
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (warmupEnabled) {
+            lookupExecutor.execute(this::warmUp);
+        }
+    }
+
+    /** Preloads the first {@code user-directory.warmup.max-users} realm users in one admin call. */
+    void warmUp() {
+        try {
+            List<UserRepresentation> users =
+                    circuitBreaker.executeSupplier(
+                            () ->
+                                    keycloakAdminClient
+                                            .realm(keycloakRealm)
+                                            .users()
+                                            .list(0, warmupMaxUsers));
+            int loaded = 0;
+            for (UserRepresentation user : users) {
+                if (user.getId() != null) {
+                    displayNameCache.put(
+                            user.getId(), CachedName.resolved(buildDisplayName(user)));
+                    loaded++;
+                }
+            }
+            log.info("Warmed user directory cache with {} users", loaded);
+        } catch (Exception e) {
+            log.warn("User directory warm-up skipped: {}", e.getMessage());
         }
+    }
 
-        Supplier<String> fetchFromKeycloak =
+    private CachedName fetchUserDisplayName(String userId) {
+        Supplier<UserRepresentation> fetchFromKeycloak =
                 () -> {
                     try {
-                        UserRepresentation user =
-                                keycloakAdminClient
-                                        .realm(keycloakRealm)
-                                        .users()
-                                        .get(userId)
-                                        .toRepresentation();
-
-                        return buildDisplayName(user);
+                        return keycloakAdminClient
+                                .realm(keycloakRealm)
+                                .users()
+                                .get(userId)
+                                .toRepresentation();
+                    } catch (NotFoundException e) {
+                        return null;
                     } catch (Exception e) {
                         log.warn(
                                 "Failed to fetch user from Keycloak: userId={}, error={}",
@@ -88,16 +174,19 @@ private String fetchUserDisplayName(String userId) {
                 };
 
         try {
-            return circuitBreaker.executeSupplier(fetchFromKeycloak);
+            UserRepresentation user = circuitBreaker.executeSupplier(fetchFromKeycloak);
+            return user != null
+                    ? CachedName.resolved(buildDisplayName(user))
+                    : CachedName.notFound();
         } catch (Exception e) {
             log.error("Circuit breaker fallback triggered for userId={}", userId, e);
-            return getFallbackDisplayName(userId);
+            return CachedName.failed(getFallbackDisplayName(userId));
         }
     }
 
     private String buildDisplayName(UserRepresentation user) {
         if (user == null) {
-            return "Utilisateur supprimé";
+            return DELETED_USER_DISPLAY_NAME;
         }
 
         String firstName = user.getFirstName();
@@ -120,7 +209,7 @@ private String buildDisplayName(UserRepresentation user) {
             return email;
         }
 
-        return "Utilisateur supprimé";
+        return DELETED_USER_DISPLAY_NAME;
     }
 
     private String getFallbackDisplayName(String userId) {
@@ -128,14 +217,116 @@ private String getFallbackDisplayName(String userId) {
             return userId;
         }
 
-        return "Utilisateur supprimé";
+        return DELETED_USER_DISPLAY_NAME;
     }
 
     public void clearCache() {
-        displayNameCache.clear();
+        displayNameCache.invalidateAll();
+    }
+
+    public void evict(String userId) {
+        if (userId != null) {
+            displayNameCache.invalidate(userId);
+        }
     }
 
     public int getCacheSize() {
-        return displayNameCache.size();
+        displayNameCache.cleanUp();
+        return (int) displayNameCache.estimatedSize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lookupExecutor.shutdownNow();
+    }
+
+    private class DisplayNameLoader implements CacheLoader<String, CachedName> {
+
+        @Override
+        public CachedName load(String userId) {
+            return fetchUserDisplayName(userId);
+        }
+
+        /** Keeps serving the previous name when a background refresh cannot reach Keycloak. */
+        @Override
+        public CachedName reload(String userId, CachedName oldValue) {
+            CachedName refreshed = fetchUserDisplayName(userId);
+            if (refreshed.outcome() == Outcome.FAILED && oldValue.outcome() == Outcome.RESOLVED) {
+                return oldValue;
+            }
+            return refreshed;
+        }
+
+        @Override
+        public Map<String, CachedName> loadAll(Set<? extends String> userIds) {
+            if (userIds.size() == 1) {
+                String userId = userIds.iterator().next();
+                return Map.of(userId, fetchUserDisplayName(userId));
+            }
+
+            List<String> ids = new ArrayList<>(userIds);
+            List<CompletableFuture<CachedName>> lookups = new ArrayList<>(ids.size());
+            for (String userId : ids) {
+                lookups.add(
+                        CompletableFuture.supplyAsync(
+                                () -> fetchUserDisplayName(userId), lookupExecutor));
+            }
+
+            Map<String, CachedName> loaded = new HashMap<>();
+            for (int i = 0; i < ids.size(); i++) {
+                loaded.put(ids.get(i), lookups.get(i).join());
+            }
+            return loaded;
+        }
+    }
+
+    private enum Outcome {
+        RESOLVED,
+        NOT_FOUND,
+        FAILED
+    }
+
+    private record CachedName(String displayName, Outcome outcome) {
+
+        static CachedName resolved(String displayName) {
+            return new CachedName(displayName, Outcome.RESOLVED);
+        }
+
+        static CachedName notFound() {
+            return new CachedName(DELETED_USER_DISPLAY_NAME, Outcome.NOT_FOUND);
+        }
+
+        static CachedName failed(String fallbackName) {
+            return new CachedName(fallbackName, Outcome.FAILED);
+        }
+    }
+
+    private record NameExpiry(Duration ttl, Duration negativeTtl, Duration failureTtl)
+            implements Expiry<String, CachedName> {
+
+        @Override
+        public long expireAfterCreate(String userId, CachedName value, long currentTime) {
+            return lifetime(value).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(
+                String userId, CachedName value, long currentTime, long currentDuration) {
+            return lifetime(value).toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(
+                String userId, CachedName value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private Duration lifetime(CachedName value) {
+            return switch (value.outcome()) {
+                case RESOLVED -> ttl;
+                case NOT_FOUND -> negativeTtl;
+                case FAILED -> failureTtl;
+            };
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.example.backend.service;
 
+import com.example.backend.aspect.LeasedJob;
 import com.example.backend.entity.WebhookDeliveryEntity;
 import com.example.backend.repository.WebhookDeliveryRepository;
 import com.example.backend.repository.WebhookSubscriptionRepository;
@@ -28,6 +29,7 @@ public WebhookRetryWorker(
         this.webhookService = webhookService;
     }
 
+    @LeasedJob(name = "webhook-retries", leaseFor = "PT5M", holdAtLeast = "PT10S")
     @Scheduled(fixedDelay = 60000) // Every minute
     public void processRetries() {
         logger.debug("Processing webhook retries");
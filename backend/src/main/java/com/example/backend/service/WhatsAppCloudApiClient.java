@@ -0,0 +1,123 @@
+package com.example.backend.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+/**
+ * Non-blocking dispatcher for the WhatsApp Cloud API.
+ *
+ * <p>A single JDK {@link HttpClient} negotiates HTTP/2 with graph.facebook.com, so concurrent sends
+ * are multiplexed over a shared connection instead of holding one socket (and one thread) each.
+ * Every request carries its own deadline; non-2xx responses complete the future with the same
+ * {@link HttpClientErrorException}/{@link HttpServerErrorException} types the RestTemplate path
+ * throws, so error mapping is shared.
+ */
+@Component
+public class WhatsAppCloudApiClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(WhatsAppCloudApiClient.class);
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+
+    public WhatsAppCloudApiClient(
+            ObjectMapper objectMapper,
+            @Value("${whatsapp.cloud.api.connect-timeout-ms:5000}") long connectTimeoutMs,
+            @Value("${whatsapp.cloud.api.request-timeout-ms:10000}") long requestTimeoutMs) {
+        this.objectMapper = objectMapper;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.httpClient =
+                HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_2)
+                        .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                        .executor(executor)
+                        .build();
+        logger.info(
+                "WhatsApp Cloud API client initialized (HTTP/2, connectTimeout={}ms, requestTimeout={}ms)",
+                connectTimeoutMs,
+                requestTimeoutMs);
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public CompletableFuture<Map<String, Object>> postMessage(
+            String url, String accessToken, Map<String, Object> payload, Duration deadline) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(payload);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        HttpRequest request =
+                HttpRequest.newBuilder(URI.create(url))
+                        .timeout(deadline)
+                        .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                        .build();
+
+        return httpClient
+                .sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(this::toResponseBody);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private Map<String, Object> toResponseBody(HttpResponse<byte[]> response) {
+        HttpStatusCode status = HttpStatusCode.valueOf(response.statusCode());
+        byte[] body = response.body() != null ? response.body() : new byte[0];
+
+        if (status.is4xxClientError()) {
+            throw HttpClientErrorException.create(
+                    status, "", toHeaders(response), body, StandardCharsets.UTF_8);
+        }
+        if (status.is5xxServerError()) {
+            throw HttpServerErrorException.create(
+                    status, "", toHeaders(response), body, StandardCharsets.UTF_8);
+        }
+        if (body.length == 0) {
+            return Map.of();
+        }
+
+        try {
+            return objectMapper.readValue(body, MAP_TYPE);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unreadable WhatsApp API response", e);
+        }
+    }
+
+    private HttpHeaders toHeaders(HttpResponse<?> response) {
+        HttpHeaders headers = new HttpHeaders();
+        response.headers().map().forEach(headers::addAll);
+        return headers;
+    }
+}
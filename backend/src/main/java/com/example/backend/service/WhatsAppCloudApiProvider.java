@@ -1,8 +1,6 @@
 package com.example.backend.service;
 
 import com.example.backend.entity.OutboundMessageEntity;
-import com.example.backend.entity.WhatsAppProviderConfig;
-import com.example.backend.repository.WhatsAppProviderConfigRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.retry.Retry;
@@ -11,11 +9,17 @@
 import io.micrometer.tracing.Span;
 import io.micrometer.tracing.Tracer;
 import io.micrometer.tracing.annotation.SpanTag;
+import jakarta.annotation.PreDestroy;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 import org.slf4j.Logger;
@@ -35,37 +39,44 @@ public class WhatsAppCloudApiProvider implements OutboundMessageProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(WhatsAppCloudApiProvider.class);
     private static final String WHATSAPP_CHANNEL = "WHATSAPP";
+    private static final Duration DEFAULT_DISPATCH_DEADLINE = Duration.ofSeconds(30);
 
-    private final WhatsAppProviderConfigRepository providerConfigRepository;
+    private final WhatsAppProviderContextCache contextCache;
     private final WhatsAppSessionWindowService sessionWindowService;
     private final WhatsAppRateLimitService rateLimitService;
     private final WhatsAppErrorMapper errorMapper;
     private final RestTemplate restTemplate;
+    private final WhatsAppCloudApiClient cloudApiClient;
     private final ObjectMapper objectMapper;
     private final Tracer tracer;
     private final Map<String, Retry> retryByChannel;
     private final Map<String, CircuitBreaker> circuitBreakerByChannel;
     private final Map<String, TimeLimiter> timeLimiterByChannel;
 
-    @Value("${whatsapp.cloud.api.base-url:https://graph.facebook.com/v18.0}")
-    private String baseUrl;
+    private final ExecutorService blockingDispatchExecutor =
+            Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${whatsapp.cloud.api.async-dispatch:true}")
+    private boolean asyncDispatchEnabled;
 
     public WhatsAppCloudApiProvider(
-            WhatsAppProviderConfigRepository providerConfigRepository,
+            WhatsAppProviderContextCache contextCache,
             WhatsAppSessionWindowService sessionWindowService,
             WhatsAppRateLimitService rateLimitService,
             WhatsAppErrorMapper errorMapper,
             RestTemplate restTemplate,
+            @Autowired(required = false) WhatsAppCloudApiClient cloudApiClient,
             ObjectMapper objectMapper,
             @Autowired(required = false) Tracer tracer,
             Map<String, Retry> outboundRetryByChannel,
             Map<String, CircuitBreaker> outboundCircuitBreakerByChannel,
             Map<String, TimeLimiter> outboundTimeLimiterByChannel) {
-        this.providerConfigRepository = providerConfigRepository;
+        this.contextCache = contextCache;
         this.sessionWindowService = sessionWindowService;
         this.rateLimitService = rateLimitService;
         this.errorMapper = errorMapper;
         this.restTemplate = restTemplate;
+        this.cloudApiClient = cloudApiClient;
         this.objectMapper = objectMapper;
         this.tracer = tracer;
         this.retryByChannel = outboundRetryByChannel;
@@ -81,23 +92,14 @@ public ProviderSendResult send(@SpanTag("message.id") OutboundMessageEntity mess
         CircuitBreaker circuitBreaker = circuitBreakerByChannel.get(channelName);
         TimeLimiter timeLimiter = timeLimiterByChannel.get(channelName);
 
-        Supplier<ProviderSendResult> supplier = () -> sendInternal(message);
+        Supplier<ProviderSendResult> supplier = () -> sendInternal(message, timeLimiter);
 
         Supplier<ProviderSendResult> decoratedSupplier =
                 Retry.decorateSupplier(
                         retry, CircuitBreaker.decorateSupplier(circuitBreaker, supplier));
 
         try {
-            Callable<ProviderSendResult> timeLimitedCallable =
-                    TimeLimiter.decorateFutureSupplier(
-                            timeLimiter,
-                            () -> CompletableFuture.completedFuture(decoratedSupplier.get()));
-
-            return timeLimitedCallable.call();
-        } catch (TimeoutException e) {
-            logger.error("Timeout sending WhatsApp message: messageId={}", message.getId(), e);
-            return ProviderSendResult.failure(
-                    "TIMEOUT", "Request timed out after 30 seconds", true, null);
+            return decoratedSupplier.get();
         } catch (Exception e) {
             logger.error(
                     "Error sending WhatsApp message after retries: messageId={}",
@@ -111,7 +113,13 @@ public ProviderSendResult send(@SpanTag("message.id") OutboundMessageEntity mess
         }
     }
 
-    private ProviderSendResult sendInternal(OutboundMessageEntity message) {
+    @PreDestroy
+    public void shutdown() {
+        blockingDispatchExecutor.shutdown();
+    }
+
+    private ProviderSendResult sendInternal(
+            OutboundMessageEntity message, TimeLimiter timeLimiter) {
         if (tracer != null && tracer.currentSpan() != null) {
             Span span = tracer.currentSpan();
             span.tag("org.id", message.getOrgId());
@@ -123,16 +131,16 @@ private ProviderSendResult sendInternal(OutboundMessageEntity message) {
         }
 
         try {
-            WhatsAppProviderConfig config =
-                    providerConfigRepository
-                            .findByOrgId(message.getOrgId())
+            WhatsAppProviderContextCache.ProviderContext context =
+                    contextCache
+                            .get(message.getOrgId())
                             .orElseThrow(
                                     () ->
                                             new IllegalStateException(
                                                     "WhatsApp provider config not found for org: "
                                                             + message.getOrgId()));
 
-            if (!config.isEnabled()) {
+            if (!context.enabled()) {
                 return ProviderSendResult.failure(
                         "PROVIDER_DISABLED",
                         "WhatsApp provider is disabled for this organization",
@@ -171,15 +179,7 @@ private ProviderSendResult sendInternal(OutboundMessageEntity message) {
                         null);
             }
 
-            String url = String.format("%s/%s/messages", baseUrl, config.getPhoneNumberId());
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.setBearerAuth(config.getApiKeyEncrypted());
-
-            Map<String, Object> payload = buildPayload(message, config, withinSessionWindow);
-
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(payload, headers);
+            Map<String, Object> payload = buildPayload(message, withinSessionWindow);
 
             logger.info(
                     "Sending WhatsApp message: orgId={}, messageId={}, to={}, template={}, withinWindow={}",
@@ -189,11 +189,9 @@ private ProviderSendResult sendInternal(OutboundMessageEntity message) {
                     message.getTemplateCode(),
                     withinSessionWindow);
 
-            ResponseEntity<Map> response =
-                    restTemplate.exchange(url, HttpMethod.POST, request, Map.class);
+            Map<String, Object> responseBody = dispatch(context, payload, timeLimiter);
 
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                Map<String, Object> responseBody = response.getBody();
+            if (responseBody != null) {
                 String providerMessageId = extractProviderMessageId(responseBody);
 
                 sessionWindowService.recordOutboundMessage(message.getOrgId(), message.getTo());
@@ -205,13 +203,22 @@ private ProviderSendResult sendInternal(OutboundMessageEntity message) {
 
                 return ProviderSendResult.success(providerMessageId, responseBody);
             } else {
-                logger.warn("WhatsApp API returned non-2xx status: {}", response.getStatusCode());
+                logger.warn("WhatsApp API returned an empty or non-2xx response");
                 return ProviderSendResult.failure(
-                        "HTTP_ERROR", "HTTP " + response.getStatusCode(), true, null);
+                        "HTTP_ERROR", "Empty response from WhatsApp API", true, null);
             }
 
         } catch (HttpClientErrorException | HttpServerErrorException e) {
             return handleHttpError(e, message);
+        } catch (TimeoutException | HttpTimeoutException e) {
+            logger.error("Timeout sending WhatsApp message: messageId={}", message.getId(), e);
+            return ProviderSendResult.failure(
+                    "TIMEOUT",
+                    "Request timed out after "
+                            + dispatchDeadline(timeLimiter).toSeconds()
+                            + " seconds",
+                    true,
+                    null);
         } catch (RestClientException e) {
             logger.error(
                     "Error calling WhatsApp Cloud API for messageId={}: {}",
@@ -237,6 +244,82 @@ private ProviderSendResult sendInternal(OutboundMessageEntity message) {
         }
     }
 
+    /**
+     * Posts the payload and waits at most the dispatch deadline. The HTTP call always runs off the
+     * caller thread, so the time limiter actually bounds it: either on the shared HTTP/2 client, or
+     * on a virtual thread when falling back to the blocking {@link RestTemplate}.
+     */
+    private Map<String, Object> dispatch(
+            WhatsAppProviderContextCache.ProviderContext context,
+            Map<String, Object> payload,
+            TimeLimiter timeLimiter)
+            throws Exception {
+        Duration deadline = dispatchDeadline(timeLimiter);
+
+        Supplier<CompletableFuture<Map<String, Object>>> futureSupplier;
+        if (asyncDispatchEnabled && cloudApiClient != null) {
+            futureSupplier =
+                    () ->
+                            cloudApiClient.postMessage(
+                                    context.messagesUrl(),
+                                    context.accessToken(),
+                                    payload,
+                                    deadline);
+        } else {
+            futureSupplier =
+                    () ->
+                            CompletableFuture.supplyAsync(
+                                    () -> exchangeBlocking(context, payload),
+                                    blockingDispatchExecutor);
+        }
+
+        if (timeLimiter == null) {
+            try {
+                return futureSupplier.get().get(deadline.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                // Rethrow the HTTP error itself, as the time limiter does, so send() classifies it
+                if (e.getCause() instanceof Exception cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+        return timeLimiter.executeFutureSupplier(futureSupplier);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> exchangeBlocking(
+            WhatsAppProviderContextCache.ProviderContext context, Map<String, Object> payload) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth(context.accessToken());
+
+        HttpEntity<Map<String, Object>> request = new HttpEntity<>(payload, headers);
+
+        ResponseEntity<Map> response =
+                restTemplate.exchange(context.messagesUrl(), HttpMethod.POST, request, Map.class);
+
+        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+            return response.getBody();
+        }
+        logger.warn("WhatsApp API returned non-2xx status: {}", response.getStatusCode());
+        return null;
+    }
+
+    private Duration dispatchDeadline(TimeLimiter timeLimiter) {
+        Duration deadline =
+                timeLimiter != null
+                        ? timeLimiter.getTimeLimiterConfig().getTimeoutDuration()
+                        : DEFAULT_DISPATCH_DEADLINE;
+        if (asyncDispatchEnabled && cloudApiClient != null) {
+            Duration requestTimeout = cloudApiClient.getRequestTimeout();
+            if (requestTimeout.compareTo(deadline) < 0) {
+                deadline = requestTimeout;
+            }
+        }
+        return deadline;
+    }
+
     @Override
     public boolean supports(String channel) {
         return WHATSAPP_CHANNEL.equalsIgnoreCase(channel);
@@ -248,9 +331,7 @@ public boolean isRetryableError(String errorCode) {
     }
 
     private Map<String, Object> buildPayload(
-            OutboundMessageEntity message,
-            WhatsAppProviderConfig config,
-            boolean withinSessionWindow) {
+            OutboundMessageEntity message, boolean withinSessionWindow) {
         Map<String, Object> payload = new HashMap<>();
         payload.put("messaging_product", "whatsapp");
         payload.put("recipient_type", "individual");
@@ -280,16 +361,19 @@ private void buildTemplatePayload(Map<String, Object> payload, OutboundMessageEn
         template.put("name", message.getTemplateCode());
 
         Map<String, Object> payloadJson = message.getPayloadJson();
-        if (payloadJson != null) {
-            String language = (String) payloadJson.getOrDefault("language", "en");
-            template.put("language", Map.of("code", language));
+        Object language = payloadJson != null ? payloadJson.get("language") : null;
+        if (language == null) {
+            language =
+                    contextCache.resolveTemplateLanguage(
+                            message.getOrgId(), message.getTemplateCode());
+        }
+        template.put("language", Map.of("code", language != null ? language : "en"));
 
+        if (payloadJson != null) {
             Object components = payloadJson.get("components");
             if (components != null) {
                 template.put("components", components);
             }
-        } else {
-            template.put("language", Map.of("code", "en"));
         }
 
         payload.put("type", "template");
@@ -333,6 +417,10 @@ private ProviderSendResult handleHttpError(
                     rateLimitService.handleRateLimitError(message.getOrgId(), retryAfter);
                 }
 
+                if (e.getStatusCode().value() == 401 || "190".equals(errorCode)) {
+                    contextCache.invalidate(message.getOrgId());
+                }
+
                 if ("132016".equals(errorCode) || "132015".equals(errorCode)) {
                     errorMessage = "Out of session window - template message required";
                 }
@@ -0,0 +1,32 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.WhatsAppProviderConfig;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA listener evicting an org's cached WhatsApp send context when its provider config is written,
+ * so a disabled provider or a rotated token takes effect on the next send on this node. Other
+ * nodes pick the change up when their entry expires.
+ */
+public class WhatsAppProviderConfigListener {
+
+    private final ObjectProvider<WhatsAppProviderContextCache> contextCacheProvider;
+
+    public WhatsAppProviderConfigListener(
+            ObjectProvider<WhatsAppProviderContextCache> contextCacheProvider) {
+        this.contextCacheProvider = contextCacheProvider;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onWrite(WhatsAppProviderConfig config) {
+        WhatsAppProviderContextCache contextCache = contextCacheProvider.getIfAvailable();
+        if (contextCache != null) {
+            contextCache.invalidateOnCommit(config.getOrgId());
+        }
+    }
+}
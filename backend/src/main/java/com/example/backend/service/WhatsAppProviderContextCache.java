@@ -0,0 +1,164 @@
+package com.example.backend.service;
+
+import com.example.backend.entity.WhatsAppProviderConfig;
+import com.example.backend.entity.WhatsAppTemplate;
+import com.example.backend.entity.enums.TemplateStatus;
+import com.example.backend.repository.WhatsAppProviderConfigRepository;
+import com.example.backend.repository.WhatsAppTemplateRepository;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Per-org snapshot of everything the WhatsApp send path needs that is not message specific:
+ * provider config, bearer credentials, the resolved messages endpoint and the sendable template
+ * languages. Entries expire after {@code whatsapp.cloud.api.context-ttl-seconds} and are evicted
+ * explicitly when the provider config or templates change, or Meta rejects the credentials.
+ */
+@Component
+public class WhatsAppProviderContextCache {
+
+    private static final Logger logger =
+            LoggerFactory.getLogger(WhatsAppProviderContextCache.class);
+    private static final List<TemplateStatus> SENDABLE_TEMPLATE_STATUSES =
+            List.of(TemplateStatus.APPROVED, TemplateStatus.ACTIVE);
+
+    private final WhatsAppProviderConfigRepository providerConfigRepository;
+    private final WhatsAppTemplateRepository templateRepository;
+    private final Map<String, ProviderContext> contexts = new ConcurrentHashMap<>();
+    private final Map<String, TemplateLanguages> templateLanguages = new ConcurrentHashMap<>();
+
+    @Value("${whatsapp.cloud.api.base-url:https://graph.facebook.com/v18.0}")
+    private String baseUrl = "https://graph.facebook.com/v18.0";
+
+    @Value("${whatsapp.cloud.api.context-ttl-seconds:300}")
+    private long ttlSeconds = 300;
+
+    public WhatsAppProviderContextCache(
+            WhatsAppProviderConfigRepository providerConfigRepository,
+            WhatsAppTemplateRepository templateRepository) {
+        this.providerConfigRepository = providerConfigRepository;
+        this.templateRepository = templateRepository;
+    }
+
+    public Optional<ProviderContext> get(String orgId) {
+        if (orgId == null) {
+            return Optional.empty();
+        }
+
+        ProviderContext cached = contexts.get(orgId);
+        if (cached != null && !isExpired(cached.loadedAtMillis())) {
+            return Optional.of(cached);
+        }
+
+        Optional<ProviderContext> loaded =
+                providerConfigRepository.findByOrgId(orgId).map(this::toContext);
+        if (loaded.isPresent()) {
+            contexts.put(orgId, loaded.get());
+        } else {
+            contexts.remove(orgId);
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns the language of the org's sendable template with the given name, or {@code null} when
+     * no approved or active template matches.
+     */
+    public String resolveTemplateLanguage(String orgId, String templateName) {
+        if (orgId == null || templateName == null) {
+            return null;
+        }
+
+        TemplateLanguages cached = templateLanguages.get(orgId);
+        if (cached == null || isExpired(cached.loadedAtMillis())) {
+            cached = loadTemplateLanguages(orgId);
+            templateLanguages.put(orgId, cached);
+        }
+        return cached.languageByName().get(templateName);
+    }
+
+    public void invalidate(String orgId) {
+        if (orgId == null) {
+            return;
+        }
+        contexts.remove(orgId);
+        templateLanguages.remove(orgId);
+        logger.debug("Invalidated WhatsApp provider context for orgId={}", orgId);
+    }
+
+    /**
+     * Evicts the org's context now and again once the current transaction commits, so a send
+     * racing the config write cannot re-cache the settings it replaces.
+     */
+    public void invalidateOnCommit(String orgId) {
+        invalidate(orgId);
+        if (orgId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            invalidate(orgId);
+                        }
+                    });
+        }
+    }
+
+    public void invalidateTemplates(String orgId) {
+        if (orgId == null) {
+            templateLanguages.clear();
+            return;
+        }
+        templateLanguages.remove(orgId);
+    }
+
+    public void invalidateAll() {
+        contexts.clear();
+        templateLanguages.clear();
+    }
+
+    private ProviderContext toContext(WhatsAppProviderConfig config) {
+        return new ProviderContext(
+                config.getOrgId(),
+                config.isEnabled(),
+                config.getApiKeyEncrypted(),
+                String.format("%s/%s/messages", baseUrl, config.getPhoneNumberId()),
+                System.currentTimeMillis());
+    }
+
+    private TemplateLanguages loadTemplateLanguages(String orgId) {
+        Map<String, String> languageByName = new HashMap<>();
+        for (TemplateStatus status : SENDABLE_TEMPLATE_STATUSES) {
+            for (WhatsAppTemplate template :
+                    templateRepository.findByOrgIdAndStatus(orgId, status)) {
+                languageByName.putIfAbsent(template.getName(), template.getLanguage());
+            }
+        }
+        return new TemplateLanguages(
+                Collections.unmodifiableMap(languageByName), System.currentTimeMillis());
+    }
+
+    private boolean isExpired(long loadedAtMillis) {
+        return System.currentTimeMillis() - loadedAtMillis
+                > Duration.ofSeconds(ttlSeconds).toMillis();
+    }
+
+    public record ProviderContext(
+            String orgId,
+            boolean enabled,
+            String accessToken,
+            String messagesUrl,
+            long loadedAtMillis) {}
+
+    private record TemplateLanguages(Map<String, String> languageByName, long loadedAtMillis) {}
+}
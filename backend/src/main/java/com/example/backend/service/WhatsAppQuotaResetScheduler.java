@@ -1,5 +1,6 @@
 package com.example.backend.service;
 
+import com.example.backend.aspect.LeasedJob;
 import com.example.backend.entity.WhatsAppRateLimit;
 import com.example.backend.repository.WhatsAppRateLimitRepository;
 import java.time.LocalDateTime;
@@ -27,6 +28,7 @@ public WhatsAppQuotaResetScheduler(
         this.quotaExceededHandler = quotaExceededHandler;
     }
 
+    @LeasedJob(name = "whatsapp-quota-reset", leaseFor = "PT4M", holdAtLeast = "PT30S")
     @Scheduled(cron = "0 */5 * * * *")
     public void checkAndResetQuotas() {
         logger.debug("Checking for quota resets");
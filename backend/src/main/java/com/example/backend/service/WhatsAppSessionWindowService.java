@@ -1,28 +1,57 @@
 package com.example.backend.service;
 
+import com.example.backend.aspect.LeasedJob;
 import com.example.backend.entity.WhatsAppSessionWindow;
 import com.example.backend.repository.WhatsAppSessionWindowRepository;
 import io.micrometer.observation.annotation.Observed;
 import io.micrometer.tracing.annotation.SpanTag;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+/**
+ * Tracks the 24h WhatsApp customer-care window per (org, phone).
+ *
+ * <p>The send path is served from a node-local expiry index (epoch millis per key), backed by
+ * Redis when available so that windows opened on another replica are visible without a database
+ * round trip. Windows only ever move forward, so a non-expired local entry is authoritative; a
+ * miss falls back to Redis, then to the database. Outbound timestamps are coalesced per key and
+ * written behind by {@link #flushPendingOutbound()}. Expiries read or written inside a transaction
+ * are published once it commits, so a rolled-back write never opens a window.
+ */
 @Service
 public class WhatsAppSessionWindowService {
 
     private static final Logger logger =
             LoggerFactory.getLogger(WhatsAppSessionWindowService.class);
     private static final int SESSION_WINDOW_HOURS = 24;
+    private static final String REDIS_KEY_PREFIX = "whatsapp:session:";
 
     private final WhatsAppSessionWindowRepository sessionWindowRepository;
+    private final StringRedisTemplate redisTemplate;
 
-    public WhatsAppSessionWindowService(WhatsAppSessionWindowRepository sessionWindowRepository) {
+    private final Map<String, Long> expiryIndex = new ConcurrentHashMap<>();
+    private final Map<String, PendingOutbound> pendingOutbound = new ConcurrentHashMap<>();
+
+    public WhatsAppSessionWindowService(
+            WhatsAppSessionWindowRepository sessionWindowRepository,
+            @Autowired(required = false) StringRedisTemplate redisTemplate) {
         this.sessionWindowRepository = sessionWindowRepository;
+        this.redisTemplate = redisTemplate;
     }
 
     @Transactional
@@ -33,8 +62,9 @@ public void updateSessionWindow(
         Optional<WhatsAppSessionWindow> existingSession =
                 sessionWindowRepository.findByOrgIdAndPhoneNumber(orgId, normalizedPhone);
 
+        WhatsAppSessionWindow session;
         if (existingSession.isPresent()) {
-            WhatsAppSessionWindow session = existingSession.get();
+            session = existingSession.get();
             session.setLastInboundMessageAt(inboundMessageTime);
             session.setWindowOpensAt(inboundMessageTime);
             session.setWindowExpiresAt(inboundMessageTime.plusHours(SESSION_WINDOW_HOURS));
@@ -45,7 +75,7 @@ public void updateSessionWindow(
                     normalizedPhone,
                     session.getWindowExpiresAt());
         } else {
-            WhatsAppSessionWindow session = new WhatsAppSessionWindow();
+            session = new WhatsAppSessionWindow();
             session.setOrgId(orgId);
             session.setPhoneNumber(normalizedPhone);
             session.setLastInboundMessageAt(inboundMessageTime);
@@ -58,32 +88,52 @@ public void updateSessionWindow(
                     normalizedPhone,
                     session.getWindowExpiresAt());
         }
+
+        publishExpiryAfterCommit(
+                indexKey(orgId, normalizedPhone), toEpochMillis(session.getWindowExpiresAt()));
     }
 
-    @Transactional
+    /**
+     * Records an outbound send against the window. The timestamp is kept in memory and persisted by
+     * the next {@link #flushPendingOutbound()} pass; consecutive sends to the same recipient
+     * collapse into a single write.
+     */
     public void recordOutboundMessage(String orgId, String phoneNumber) {
         String normalizedPhone = normalizePhoneNumber(phoneNumber);
+        LocalDateTime now = LocalDateTime.now();
 
-        Optional<WhatsAppSessionWindow> session =
-                sessionWindowRepository.findByOrgIdAndPhoneNumber(orgId, normalizedPhone);
-
-        if (session.isPresent()) {
-            WhatsAppSessionWindow window = session.get();
-            window.setLastOutboundMessageAt(LocalDateTime.now());
-            sessionWindowRepository.save(window);
-        }
+        pendingOutbound.merge(
+                indexKey(orgId, normalizedPhone),
+                new PendingOutbound(orgId, normalizedPhone, now),
+                (previous, current) ->
+                        current.sentAt().isAfter(previous.sentAt()) ? current : previous);
     }
 
-    @Transactional(readOnly = true)
+    // Not transactional: index and Redis hits take no connection, and the database fallback runs
+    // in the repository's own read-only transaction
     @Observed(name = "whatsapp.session.check", contextualName = "whatsapp-session-window-check")
     public boolean isWithinSessionWindow(
             @SpanTag("org.id") String orgId, @SpanTag("phone.number") String phoneNumber) {
         String normalizedPhone = normalizePhoneNumber(phoneNumber);
+        String key = indexKey(orgId, normalizedPhone);
+        long nowMillis = System.currentTimeMillis();
+
+        Long cachedExpiry = expiryIndex.get(key);
+        if (cachedExpiry != null && cachedExpiry > nowMillis) {
+            return true;
+        }
+
+        Long sharedExpiry = readSharedExpiry(key);
+        if (sharedExpiry != null && sharedExpiry > nowMillis) {
+            expiryIndex.merge(key, sharedExpiry, Math::max);
+            return true;
+        }
 
         Optional<WhatsAppSessionWindow> session =
                 sessionWindowRepository.findByOrgIdAndPhoneNumber(orgId, normalizedPhone);
 
         if (session.isEmpty()) {
+            expiryIndex.remove(key);
             logger.debug("No session window found for orgId={}, phone={}", orgId, normalizedPhone);
             return false;
         }
@@ -91,6 +141,12 @@ public boolean isWithinSessionWindow(
         WhatsAppSessionWindow window = session.get();
         boolean withinWindow = window.isWithinWindow();
 
+        if (withinWindow) {
+            publishExpiryAfterCommit(key, toEpochMillis(window.getWindowExpiresAt()));
+        } else {
+            expiryIndex.remove(key);
+        }
+
         logger.debug(
                 "Session window check for orgId={}, phone={}: withinWindow={}, expiresAt={}",
                 orgId,
@@ -110,14 +166,138 @@ public Optional<LocalDateTime> getSessionWindowExpiry(String orgId, String phone
                 .map(WhatsAppSessionWindow::getWindowExpiresAt);
     }
 
-    @Scheduled(cron = "0 0 * * * ?")
+    @Scheduled(fixedDelayString = "${whatsapp.session-window.flush-interval-ms:5000}")
+    public void flushPendingOutbound() {
+        if (pendingOutbound.isEmpty()) {
+            return;
+        }
+
+        int flushed = 0;
+        for (Map.Entry<String, PendingOutbound> entry : pendingOutbound.entrySet()) {
+            PendingOutbound pending = entry.getValue();
+            if (!pendingOutbound.remove(entry.getKey(), pending)) {
+                continue;
+            }
+            try {
+                Optional<WhatsAppSessionWindow> session =
+                        sessionWindowRepository.findByOrgIdAndPhoneNumber(
+                                pending.orgId(), pending.phoneNumber());
+                if (session.isPresent()) {
+                    WhatsAppSessionWindow window = session.get();
+                    LocalDateTime previous = window.getLastOutboundMessageAt();
+                    if (previous == null || pending.sentAt().isAfter(previous)) {
+                        window.setLastOutboundMessageAt(pending.sentAt());
+                        sessionWindowRepository.save(window);
+                        flushed++;
+                    }
+                }
+            } catch (Exception e) {
+                logger.warn(
+                        "Failed to persist outbound timestamp for orgId={}, phone={}: {}",
+                        pending.orgId(),
+                        pending.phoneNumber(),
+                        e.getMessage());
+                pendingOutbound.merge(
+                        entry.getKey(),
+                        pending,
+                        (current, failed) ->
+                                current.sentAt().isAfter(failed.sentAt()) ? current : failed);
+            }
+        }
+
+        if (flushed > 0) {
+            logger.debug("Flushed {} coalesced outbound session window updates", flushed);
+        }
+    }
+
+    /** Compacts the durable table; runs on one node, Redis entries expire through their TTL. */
+    @LeasedJob(name = "whatsapp-session-cleanup", leaseFor = "PT15M", holdAtLeast = "PT5M")
+    @Scheduled(cron = "${whatsapp.session-window.cleanup-cron:0 0 3 * * ?}")
     @Transactional
     public void cleanupExpiredSessions() {
         LocalDateTime cutoffTime = LocalDateTime.now();
+        pruneExpiryIndex();
+
         logger.info("Cleaning up expired WhatsApp session windows before {}", cutoffTime);
         sessionWindowRepository.deleteExpiredSessions(cutoffTime);
     }
 
+    /** Drops expired entries of this node's index; every node runs it, unlike the table cleanup. */
+    @Scheduled(fixedDelayString = "${whatsapp.session-window.index-prune-interval-ms:600000}")
+    public void pruneExpiryIndex() {
+        long nowMillis = System.currentTimeMillis();
+        expiryIndex.values().removeIf(expiry -> expiry <= nowMillis);
+    }
+
+    /** Drops every node-local index entry; the next check re-reads Redis or the database. */
+    public void evictAll() {
+        expiryIndex.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushPendingOutbound();
+    }
+
+    private void publishExpiryAfterCommit(String key, long expiresAtMillis) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publishExpiry(key, expiresAtMillis);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        publishExpiry(key, expiresAtMillis);
+                    }
+                });
+    }
+
+    private void publishExpiry(String key, long expiresAtMillis) {
+        expiryIndex.merge(key, expiresAtMillis, Math::max);
+
+        if (redisTemplate == null) {
+            return;
+        }
+        long ttlMillis = expiresAtMillis - System.currentTimeMillis();
+        if (ttlMillis <= 0) {
+            return;
+        }
+        try {
+            redisTemplate
+                    .opsForValue()
+                    .set(
+                            REDIS_KEY_PREFIX + key,
+                            String.valueOf(expiresAtMillis),
+                            ttlMillis,
+                            TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            logger.warn("Failed to publish session window to Redis for key={}", key, e);
+        }
+    }
+
+    private Long readSharedExpiry(String key) {
+        if (redisTemplate == null) {
+            return null;
+        }
+        try {
+            String value = redisTemplate.opsForValue().get(REDIS_KEY_PREFIX + key);
+            return value != null ? Long.parseLong(value) : null;
+        } catch (Exception e) {
+            logger.debug("Redis lookup failed for session window key={}", key, e);
+            return null;
+        }
+    }
+
+    private static String indexKey(String orgId, String normalizedPhone) {
+        return orgId + ":" + normalizedPhone;
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        Instant instant = dateTime.atZone(ZoneId.systemDefault()).toInstant();
+        return instant.toEpochMilli();
+    }
+
     private String normalizePhoneNumber(String phoneNumber) {
         if (phoneNumber == null) {
             return null;
@@ -131,4 +311,6 @@ private String normalizePhoneNumber(String phoneNumber) {
 
         return normalized;
     }
+
+    private record PendingOutbound(String orgId, String phoneNumber, LocalDateTime sentAt) {}
 }
@@ -15,6 +15,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -30,18 +31,27 @@ public class WhatsAppTemplateService {
     private final WhatsAppTemplateVersionRepository versionRepository;
     private final WhatsAppTemplateValidationService validationService;
     private final MetaBusinessApiService metaBusinessApiService;
+    private final WhatsAppProviderContextCache providerContextCache;
+    private final TemplateRenderEngine templateRenderEngine;
+    private final ReferenceDataCacheEvictor cacheEvictor;
 
     public WhatsAppTemplateService(
             WhatsAppTemplateRepository templateRepository,
             TemplateVariableRepository variableRepository,
             WhatsAppTemplateVersionRepository versionRepository,
             WhatsAppTemplateValidationService validationService,
-            MetaBusinessApiService metaBusinessApiService) {
+            MetaBusinessApiService metaBusinessApiService,
+            WhatsAppProviderContextCache providerContextCache,
+            TemplateRenderEngine templateRenderEngine,
+            ReferenceDataCacheEvictor cacheEvictor) {
         this.templateRepository = templateRepository;
         this.variableRepository = variableRepository;
         this.versionRepository = versionRepository;
         this.validationService = validationService;
         this.metaBusinessApiService = metaBusinessApiService;
+        this.providerContextCache = providerContextCache;
+        this.templateRenderEngine = templateRenderEngine;
+        this.cacheEvictor = cacheEvictor;
     }
 
     @Transactional(readOnly = true)
@@ -64,8 +74,7 @@ public WhatsAppTemplate getTemplateById(Long id) {
 
     @Transactional(readOnly = true)
     public WhatsAppTemplate getTemplateByNameAndLanguage(String name, String language) {
-        return templateRepository
-                .findByNameAndLanguage(name, language)
+        return findTemplate(name, language)
                 .orElseThrow(
                         () ->
                                 new ResourceNotFoundException(
@@ -84,22 +93,21 @@ public WhatsAppTemplate getLocalizedTemplate(String templateName, String locale)
                 (locale == null || locale.trim().isEmpty()) ? "fr_FR" : locale;
         String language = localeToLanguageCode(effectiveLocale);
 
-        return templateRepository
-                .findByNameAndLanguage(templateName, language)
+        return findTemplate(templateName, language)
                 .or(
                         () -> {
                             logger.debug(
                                     "Template '{}' not found for locale '{}', falling back to French",
                                     templateName,
                                     effectiveLocale);
-                            return templateRepository.findByNameAndLanguage(templateName, "fr_FR");
+                            return findTemplate(templateName, "fr_FR");
                         })
                 .or(
                         () -> {
                             logger.debug(
                                     "Template '{}' not found for French, falling back to English",
                                     templateName);
-                            return templateRepository.findByNameAndLanguage(templateName, "en_US");
+                            return findTemplate(templateName, "en_US");
                         })
                 .orElseThrow(
                         () ->
@@ -109,6 +117,14 @@ public WhatsAppTemplate getLocalizedTemplate(String templateName, String locale)
                                                 templateName, effectiveLocale)));
     }
 
+    /** Looks up by the tenant in context, which keeps the lookup cacheable across orgs. */
+    private Optional<WhatsAppTemplate> findTemplate(String name, String language) {
+        String orgId = TenantContext.getOrgId();
+        return orgId == null
+                ? templateRepository.findByNameAndLanguage(name, language)
+                : templateRepository.findByOrgIdAndNameAndLanguage(orgId, name, language);
+    }
+
     private String localeToLanguageCode(String locale) {
         if (locale == null) {
             return "fr_FR";
@@ -155,7 +171,7 @@ public WhatsAppTemplate createTemplate(WhatsAppTemplate template) {
             variableRepository.saveAll(template.getVariables());
         }
 
-        return savedTemplate;
+        return evictSendCaches(savedTemplate);
     }
 
     @Transactional
@@ -170,7 +186,7 @@ public WhatsAppTemplate updateTemplate(Long id, WhatsAppTemplate updatedTemplate
         existing.setComponents(updatedTemplate.getComponents());
         existing.setDescription(updatedTemplate.getDescription());
 
-        WhatsAppTemplate savedTemplate = templateRepository.save(existing);
+        WhatsAppTemplate savedTemplate = evictSendCaches(templateRepository.save(existing));
 
         variableRepository.deleteByTemplateId(id);
 
@@ -193,14 +209,14 @@ public WhatsAppTemplate activateTemplate(Long id) {
         validationService.validateTemplateFormat(template);
 
         template.setStatus(TemplateStatus.ACTIVE);
-        return templateRepository.save(template);
+        return evictSendCaches(templateRepository.save(template));
     }
 
     @Transactional
     public WhatsAppTemplate deactivateTemplate(Long id) {
         WhatsAppTemplate template = getTemplateById(id);
         template.setStatus(TemplateStatus.INACTIVE);
-        return templateRepository.save(template);
+        return evictSendCaches(templateRepository.save(template));
     }
 
     @Transactional
@@ -213,7 +229,7 @@ public WhatsAppTemplate submitForApproval(Long id) {
         template.setMetaSubmissionId(submissionId);
         template.setStatus(TemplateStatus.PENDING);
 
-        return templateRepository.save(template);
+        return evictSendCaches(templateRepository.save(template));
     }
 
     @Transactional
@@ -228,7 +244,7 @@ public WhatsAppTemplate approveTemplate(Long id, String whatsAppTemplateId) {
         template.setStatus(TemplateStatus.APPROVED);
         template.setWhatsAppTemplateId(whatsAppTemplateId);
         template.setRejectionReason(null);
-        return templateRepository.save(template);
+        return evictSendCaches(templateRepository.save(template));
     }
 
     @Transactional
@@ -241,7 +257,7 @@ public WhatsAppTemplate rejectTemplate(Long id, String rejectionReason) {
 
         template.setStatus(TemplateStatus.REJECTED);
         template.setRejectionReason(rejectionReason);
-        return templateRepository.save(template);
+        return evictSendCaches(templateRepository.save(template));
     }
 
     @Transactional
@@ -254,7 +270,7 @@ public WhatsAppTemplate pauseTemplate(Long id) {
         }
 
         template.setStatus(TemplateStatus.PAUSED);
-        return templateRepository.save(template);
+        return evictSendCaches(templateRepository.save(template));
     }
 
     @Transactional
@@ -276,7 +292,7 @@ public WhatsAppTemplate pollApprovalStatus(Long id) {
             template.setRejectionReason(status.getRejectionReason());
         }
 
-        return templateRepository.save(template);
+        return evictSendCaches(templateRepository.save(template));
     }
 
     @Transactional
@@ -289,6 +305,7 @@ public void deleteTemplate(Long id) {
         }
 
         templateRepository.delete(template);
+        evictSendCaches(template);
     }
 
     @Transactional(readOnly = true)
@@ -343,7 +360,7 @@ public WhatsAppTemplate createNewVersion(Long templateId, String changeSummary)
         versionRepository.save(newVersion);
 
         template.setCurrentVersion(template.getCurrentVersion() + 1);
-        return templateRepository.save(template);
+        return evictSendCaches(templateRepository.save(template));
     }
 
     @Transactional(readOnly = true)
@@ -404,7 +421,7 @@ public WhatsAppTemplate activateVersion(Long templateId, Integer versionNumber)
         version.setIsActive(true);
         versionRepository.save(version);
 
-        return templateRepository.save(template);
+        return evictSendCaches(templateRepository.save(template));
     }
 
     @Transactional
@@ -432,7 +449,7 @@ public WhatsAppTemplate submitTemplateToMeta(Long id) {
         template.setMetaSubmissionId(submissionId);
         template.setStatus(TemplateStatus.PENDING);
 
-        return templateRepository.save(template);
+        return evictSendCaches(templateRepository.save(template));
     }
 
     @Transactional
@@ -457,7 +474,7 @@ public WhatsAppTemplate updateTemplateStatus(
             template.setRejectionReason(rejectionReason);
         }
 
-        return templateRepository.save(template);
+        return evictSendCaches(templateRepository.save(template));
     }
 
     @Transactional
@@ -468,8 +485,7 @@ public WhatsAppTemplate updateTemplateStatusByNameAndLanguage(
             String messageTemplateId,
             String rejectionReason) {
         WhatsAppTemplate template =
-                templateRepository
-                        .findByNameAndLanguage(name, language)
+                findTemplate(name, language)
                         .orElseThrow(
                                 () ->
                                         new ResourceNotFoundException(
@@ -486,7 +502,7 @@ public WhatsAppTemplate updateTemplateStatusByNameAndLanguage(
             template.setRejectionReason(rejectionReason);
         }
 
-        return templateRepository.save(template);
+        return evictSendCaches(templateRepository.save(template));
     }
 
     @Transactional(readOnly = true)
@@ -631,7 +647,7 @@ public WhatsAppTemplate submitTemplateTranslation(
             }
         }
 
-        return savedTemplate;
+        return evictSendCaches(savedTemplate);
     }
 
     private boolean isRtlLanguage(String languageCode) {
@@ -644,4 +660,11 @@ private boolean isRtlLanguage(String languageCode) {
                 || lowerCode.startsWith("fa_")
                 || lowerCode.startsWith("ur_");
     }
+
+    private WhatsAppTemplate evictSendCaches(WhatsAppTemplate template) {
+        providerContextCache.invalidateTemplates(template.getOrgId());
+        templateRenderEngine.invalidateOrg(template.getOrgId());
+        cacheEvictor.evictWhatsAppTemplate(template.getId());
+        return template;
+    }
 }
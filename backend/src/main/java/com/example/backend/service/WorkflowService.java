@@ -28,6 +28,7 @@ public class WorkflowService {
     private final WorkflowValidationService workflowValidationService;
     private final WorkflowVersioningService workflowVersioningService;
     private final DossierRepository dossierRepository;
+    private final ReferenceDataCacheEvictor cacheEvictor;
 
     public WorkflowService(
             WorkflowDefinitionRepository workflowDefinitionRepository,
@@ -36,7 +37,8 @@ public WorkflowService(
             WorkflowTransitionMapper workflowTransitionMapper,
             WorkflowValidationService workflowValidationService,
             WorkflowVersioningService workflowVersioningService,
-            DossierRepository dossierRepository) {
+            DossierRepository dossierRepository,
+            ReferenceDataCacheEvictor cacheEvictor) {
         this.workflowDefinitionRepository = workflowDefinitionRepository;
         this.workflowTransitionRepository = workflowTransitionRepository;
         this.workflowDefinitionMapper = workflowDefinitionMapper;
@@ -44,6 +46,7 @@ public WorkflowService(
         this.workflowValidationService = workflowValidationService;
         this.workflowVersioningService = workflowVersioningService;
         this.dossierRepository = dossierRepository;
+        this.cacheEvictor = cacheEvictor;
     }
 
     @Transactional
@@ -67,6 +70,7 @@ public WorkflowDefinitionResponse createDefinition(WorkflowDefinitionRequest req
         definition.setUpdatedAt(now);
 
         WorkflowDefinition saved = workflowDefinitionRepository.save(definition);
+        cacheEvictor.evictWorkflowDefinition(saved.getId());
         return workflowDefinitionMapper.toResponse(saved);
     }
 
@@ -187,6 +191,7 @@ public WorkflowDefinitionResponse updateDefinition(Long id, WorkflowDefinitionRe
         definition.setUpdatedAt(LocalDateTime.now());
 
         WorkflowDefinition updated = workflowDefinitionRepository.save(definition);
+        cacheEvictor.evictWorkflowDefinition(updated.getId());
         return workflowDefinitionMapper.toResponse(updated);
     }
 
@@ -215,6 +220,7 @@ public WorkflowDefinitionResponse publishWorkflow(Long id) {
         definition.setUpdatedAt(LocalDateTime.now());
 
         WorkflowDefinition updated = workflowDefinitionRepository.save(definition);
+        cacheEvictor.evictWorkflowDefinition(updated.getId());
         return workflowDefinitionMapper.toResponse(updated);
     }
 
@@ -252,12 +258,14 @@ public WorkflowDefinitionResponse activateWorkflow(Long id) {
         for (WorkflowDefinition active : activeWorkflows) {
             active.setIsActive(false);
             workflowDefinitionRepository.save(active);
+            cacheEvictor.evictWorkflowDefinition(active.getId());
         }
 
         definition.setIsActive(true);
         definition.setUpdatedAt(LocalDateTime.now());
 
         WorkflowDefinition updated = workflowDefinitionRepository.save(definition);
+        cacheEvictor.evictWorkflowDefinition(updated.getId());
         return workflowDefinitionMapper.toResponse(updated);
     }
 
@@ -309,6 +317,7 @@ public void deleteDefinition(Long id) {
         }
 
         workflowDefinitionRepository.delete(definition);
+        cacheEvictor.evictWorkflowDefinition(definition.getId());
     }
 
     @Transactional(readOnly = true)
@@ -1,109 +1,286 @@
 package com.example.backend.service;
 
+import com.example.backend.aspect.LeasedJob;
 import com.example.backend.entity.Annonce;
 import com.example.backend.entity.enums.AnnonceStatus;
 import com.example.backend.repository.AnnonceRepository;
 import com.example.backend.repository.DossierRepository;
 import com.example.backend.repository.LeadActivityRepository;
+import com.example.backend.util.ScheduledJobContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Nightly yield evaluation of active listings: raises the price of listings with strong recent
+ * interest and flags listings with almost none.
+ *
+ * <p>Interest is evaluated set-wise. Each tenant's active listings are read in keyset pages of
+ * {@code yield.evaluation.page-size}, and each page needs two grouped queries, counting recent
+ * dossiers and activities per listing over both windows at once, and one batched flush of the
+ * listings that changed. The job is partitioned by tenant, and a listing is repriced at most once
+ * per {@code yield.evaluation.min-adjust-interval}, so it can also run during the day.
+ *
+ * <p>A page that fails is rolled back and evaluated again one listing per transaction, so a bad
+ * listing only skips itself rather than the rest of its tenant.
+ */
 @Service
 public class YieldManagementService {
 
     private static final Logger log = LoggerFactory.getLogger(YieldManagementService.class);
 
+    static final String HIGH_INTEREST_MESSAGE = "Yield Management: Fort intérêt (+2%)";
+    static final String LOW_INTEREST_MESSAGE =
+            "Yield Management: Faible intérêt après 30 jours, envisagez une baisse de prix.";
+
     private final AnnonceRepository annonceRepository;
     private final DossierRepository dossierRepository;
     private final LeadActivityRepository leadActivityRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int pageSize;
+    private final Duration minAdjustInterval;
 
     public YieldManagementService(
             AnnonceRepository annonceRepository,
             DossierRepository dossierRepository,
-            LeadActivityRepository leadActivityRepository) {
+            LeadActivityRepository leadActivityRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${yield.evaluation.page-size:500}") int pageSize,
+            @Value("${yield.evaluation.min-adjust-interval:PT20H}") Duration minAdjustInterval) {
         this.annonceRepository = annonceRepository;
         this.dossierRepository = dossierRepository;
         this.leadActivityRepository = leadActivityRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.pageSize = pageSize;
+        this.minAdjustInterval = minAdjustInterval;
     }
 
     // Tâche CRON qui tourne à 2h du matin
-    @Scheduled(cron = "0 0 2 * * ?")
-    @Transactional
+    @LeasedJob(name = "yield-evaluation", partitions = 16, leaseFor = "PT30M", holdAtLeast = "PT5M")
+    @Scheduled(cron = "${yield.evaluation.cron:0 0 2 * * ?}")
     public void evaluateYield() {
         log.info("Starting Yield Management job...");
-        LocalDateTime thresholdDateWeek = LocalDateTime.now().minusDays(7);
-        LocalDateTime thresholdDateMonth = LocalDateTime.now().minusDays(30);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        LocalDateTime now = LocalDateTime.now();
+        YieldRun run = new YieldRun(now);
 
-        List<Annonce> activeAnnonces =
-                annonceRepository.findAll().stream()
-                        .filter(a -> AnnonceStatus.ACTIVE.equals(a.getStatus()))
-                        .toList();
+        for (String orgId : annonceRepository.findDistinctOrgIdsByStatus(AnnonceStatus.ACTIVE)) {
+            if (!ScheduledJobContext.owns(orgId)) {
+                continue;
+            }
+            try {
+                evaluateOrganization(orgId, run);
+            } catch (Exception e) {
+                log.warn("Failed to evaluate yield for org {}: {}", orgId, e.getMessage());
+                run.failedOrgs++;
+            }
+        }
 
-        for (Annonce annonce : activeAnnonces) {
+        ScheduledJobContext.addItems(run.evaluated);
+        record("evaluated", run.evaluated);
+        record("price_increased", run.increased);
+        record("low_interest_flagged", run.flagged);
+        meterRegistry.counter("yield_evaluation_failed_orgs_total").increment(run.failedOrgs);
+        meterRegistry
+                .counter("yield_evaluation_failed_annonces_total")
+                .increment(run.failedListings);
+        sample.stop(meterRegistry.timer("yield_evaluation_duration"));
+        log.info(
+                "Yield Management job completed: {} listings evaluated, {} repriced, {} flagged,"
+                        + " {} listings failed, {} orgs failed",
+                run.evaluated,
+                run.increased,
+                run.flagged,
+                run.failedListings,
+                run.failedOrgs);
+    }
+
+    private void evaluateOrganization(String orgId, YieldRun run) {
+        Long afterId = 0L;
+        while (afterId != null) {
+            Long cursor = afterId;
+            YieldTally tally = new YieldTally();
             try {
-                Long dossierCount =
-                        dossierRepository.countByAnnonceIdAndCreatedAtAfter(
-                                annonce.getId(), thresholdDateWeek);
-                Long activityCount =
-                        leadActivityRepository.countActivitiesByAnnonceIdAndCreatedAtAfter(
-                                annonce.getId(), thresholdDateWeek);
-
-                Long dossierCountMonthly =
-                        dossierRepository.countByAnnonceIdAndCreatedAtAfter(
-                                annonce.getId(), thresholdDateMonth);
-                Long activityCountMonthly =
-                        leadActivityRepository.countActivitiesByAnnonceIdAndCreatedAtAfter(
-                                annonce.getId(), thresholdDateMonth);
-
-                dossierCount = dossierCount != null ? dossierCount : 0L;
-                activityCount = activityCount != null ? activityCount : 0L;
-
-                long totalInterestWeek = dossierCount * 3 + activityCount;
-                long totalInterestMonth =
-                        (dossierCountMonthly != null ? dossierCountMonthly : 0L) * 3
-                                + (activityCountMonthly != null ? activityCountMonthly : 0L);
-
-                if (totalInterestWeek > 15) {
-                    BigDecimal currentPrice = annonce.getPrice();
-                    if (currentPrice != null) {
-                        BigDecimal newPrice =
-                                currentPrice.multiply(BigDecimal.valueOf(1.02)); // +2%
-                        annonce.setPrice(newPrice);
-                        String aiMessage = "Yield Management: Fort intérêt (+2%)";
-                        String currentDetails = annonce.getAiScoreDetails();
-                        annonce.setAiScoreDetails(
-                                currentDetails != null
-                                        ? currentDetails + " | " + aiMessage
-                                        : aiMessage);
-                        annonceRepository.save(annonce);
-                        log.info("Yield Mgt: Increased price for annonce {}", annonce.getId());
-                    }
-                } else if (totalInterestMonth < 3) {
-                    String aiMessage =
-                            "Yield Management: Faible intérêt après 30 jours, envisagez une baisse de prix.";
-                    String currentDetails = annonce.getAiScoreDetails();
-                    if (currentDetails == null || !currentDetails.contains("Faible intérêt")) {
-                        annonce.setAiScoreDetails(
-                                currentDetails != null
-                                        ? currentDetails + " | " + aiMessage
-                                        : aiMessage);
-                        annonceRepository.save(annonce);
-                        log.info("Yield Mgt: Alert generated for annonce {}", annonce.getId());
-                    }
-                }
+                afterId =
+                        transactionTemplate.execute(
+                                status -> evaluatePage(orgId, cursor, run, tally));
+                run.add(tally);
             } catch (Exception e) {
                 log.warn(
-                        "Failed to evaluate yield for annonce {}: {}",
-                        annonce.getId(),
+                        "Failed to evaluate yield page after annonce {} for org {}, retrying"
+                                + " listing by listing: {}",
+                        cursor,
+                        orgId,
                         e.getMessage());
+                afterId = evaluatePageByListing(orgId, cursor, run);
             }
         }
-        log.info("Yield Management job completed.");
+    }
+
+    /** Evaluates one page of the tenant's listings; returns the next cursor, null when done. */
+    private Long evaluatePage(String orgId, Long afterId, YieldRun run, YieldTally tally) {
+        List<Annonce> page = findPage(orgId, afterId);
+        if (page.isEmpty()) {
+            return null;
+        }
+        evaluate(page, run, tally);
+        return page.size() < pageSize ? null : page.get(page.size() - 1).getId();
+    }
+
+    /** Fallback for a failed page: each of its listings in its own transaction. */
+    private Long evaluatePageByListing(String orgId, Long afterId, YieldRun run) {
+        List<Long> ids =
+                transactionTemplate.execute(
+                        status -> findPage(orgId, afterId).stream().map(Annonce::getId).toList());
+        for (Long id : ids) {
+            YieldTally tally = new YieldTally();
+            try {
+                transactionTemplate.executeWithoutResult(status -> evaluateListing(id, run, tally));
+                run.add(tally);
+            } catch (Exception e) {
+                log.warn("Failed to evaluate yield for annonce {}: {}", id, e.getMessage());
+                run.failedListings++;
+            }
+        }
+        return ids.size() < pageSize ? null : ids.get(ids.size() - 1);
+    }
+
+    private void evaluateListing(Long id, YieldRun run, YieldTally tally) {
+        annonceRepository.findById(id).ifPresent(annonce -> evaluate(List.of(annonce), run, tally));
+    }
+
+    private List<Annonce> findPage(String orgId, Long afterId) {
+        return annonceRepository.findPageByOrgIdAndStatus(
+                orgId, AnnonceStatus.ACTIVE, afterId, PageRequest.of(0, pageSize));
+    }
+
+    /** Applies the yield rules to {@code page} and flushes the listings that changed. */
+    private void evaluate(List<Annonce> page, YieldRun run, YieldTally tally) {
+        List<Long> ids = page.stream().map(Annonce::getId).toList();
+        Map<Long, long[]> dossierCounts =
+                windowCounts(
+                        dossierRepository.countRecentByAnnonceIds(
+                                ids, run.weekStart, run.monthStart));
+        Map<Long, long[]> activityCounts =
+                windowCounts(
+                        leadActivityRepository.countRecentByAnnonceIds(
+                                ids, run.weekStart, run.monthStart));
+
+        List<Annonce> changed = new ArrayList<>();
+        for (Annonce annonce : page) {
+            long[] dossiers = dossierCounts.getOrDefault(annonce.getId(), new long[2]);
+            long[] activities = activityCounts.getOrDefault(annonce.getId(), new long[2]);
+            long totalInterestWeek = dossiers[0] * 3 + activities[0];
+            long totalInterestMonth = dossiers[1] * 3 + activities[1];
+            if (apply(annonce, totalInterestWeek, totalInterestMonth, run, tally)) {
+                changed.add(annonce);
+            }
+        }
+        if (!changed.isEmpty()) {
+            annonceRepository.saveAll(changed);
+        }
+        tally.evaluated += page.size();
+    }
+
+    private boolean apply(
+            Annonce annonce,
+            long totalInterestWeek,
+            long totalInterestMonth,
+            YieldRun run,
+            YieldTally tally) {
+        if (totalInterestWeek > 15) {
+            BigDecimal currentPrice = annonce.getPrice();
+            LocalDateTime adjustedAt = annonce.getYieldAdjustedAt();
+            if (currentPrice == null
+                    || (adjustedAt != null
+                            && adjustedAt.isAfter(run.now.minus(minAdjustInterval)))) {
+                return false;
+            }
+            annonce.setPrice(currentPrice.multiply(BigDecimal.valueOf(1.02))); // +2%
+            annonce.setYieldAdjustedAt(run.now);
+            appendDetails(annonce, HIGH_INTEREST_MESSAGE);
+            tally.increased++;
+            log.debug("Yield Mgt: Increased price for annonce {}", annonce.getId());
+            return true;
+        } else if (totalInterestMonth < 3) {
+            String currentDetails = annonce.getAiScoreDetails();
+            if (currentDetails != null && currentDetails.contains("Faible intérêt")) {
+                return false;
+            }
+            appendDetails(annonce, LOW_INTEREST_MESSAGE);
+            tally.flagged++;
+            log.debug("Yield Mgt: Alert generated for annonce {}", annonce.getId());
+            return true;
+        }
+        return false;
+    }
+
+    private static void appendDetails(Annonce annonce, String message) {
+        String currentDetails = annonce.getAiScoreDetails();
+        annonce.setAiScoreDetails(
+                currentDetails != null ? currentDetails + " | " + message : message);
+    }
+
+    /** Rows of (annonceId, weekly count, monthly count) keyed by annonce id. */
+    private static Map<Long, long[]> windowCounts(List<Object[]> rows) {
+        Map<Long, long[]> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put(((Number) row[0]).longValue(), new long[] {toLong(row[1]), toLong(row[2])});
+        }
+        return counts;
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private void record(String outcome, long count) {
+        meterRegistry
+                .counter("yield_evaluation_annonces_total", "outcome", outcome)
+                .increment(count);
+    }
+
+    /** Outcome counts of one transaction, added to the run only once it has committed. */
+    private static class YieldTally {
+        long evaluated;
+        long increased;
+        long flagged;
+    }
+
+    private static final class YieldRun extends YieldTally {
+        private final LocalDateTime now;
+        private final LocalDateTime weekStart;
+        private final LocalDateTime monthStart;
+        private long failedListings;
+        private long failedOrgs;
+
+        private YieldRun(LocalDateTime now) {
+            this.now = now;
+            this.weekStart = now.minusDays(7);
+            this.monthStart = now.minusDays(30);
+        }
+
+        private void add(YieldTally tally) {
+            evaluated += tally.evaluated;
+            increased += tally.increased;
+            flagged += tally.flagged;
+        }
     }
 }
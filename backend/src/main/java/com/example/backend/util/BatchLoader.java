@@ -0,0 +1,74 @@
+package com.example.backend.util;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Collects the keys a mapping pass needs and resolves them with one batched lookup, instead of one
+ * query per mapped row. Callers {@link #register} every key up front, then {@link #get} them while
+ * building their responses; the first {@code get} loads all pending keys at once.
+ *
+ * <p>A loader is meant to live for one mapping pass (a page, a list) and is not thread-safe. Keys
+ * the lookup does not return are remembered as missing and not looked up again.
+ */
+public final class BatchLoader<K, V> {
+
+    private final Function<Set<K>, Map<K, V>> lookup;
+    private final Set<K> pending = new LinkedHashSet<>();
+    private final Map<K, V> loaded = new HashMap<>();
+
+    private BatchLoader(Function<Set<K>, Map<K, V>> lookup) {
+        this.lookup = lookup;
+    }
+
+    public static <K, V> BatchLoader<K, V> of(Function<Set<K>, Map<K, V>> lookup) {
+        return new BatchLoader<>(lookup);
+    }
+
+    /** Queues a key for the next batch. Null keys and keys already resolved are ignored. */
+    public BatchLoader<K, V> register(K key) {
+        if (key != null && !loaded.containsKey(key)) {
+            pending.add(key);
+        }
+        return this;
+    }
+
+    public BatchLoader<K, V> registerAll(Collection<? extends K> keys) {
+        keys.forEach(this::register);
+        return this;
+    }
+
+    /** Resolves every pending key with a single call to the lookup. */
+    public void dispatch() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Set<K> keys = Set.copyOf(pending);
+        pending.clear();
+        Map<K, V> values = lookup.apply(keys);
+        for (K key : keys) {
+            loaded.put(key, values.get(key));
+        }
+    }
+
+    /** Returns the value of the key, dispatching the pending batch first if it is not loaded. */
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        if (!loaded.containsKey(key)) {
+            register(key);
+            dispatch();
+        }
+        return loaded.get(key);
+    }
+
+    public V getOrDefault(K key, V defaultValue) {
+        V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+}
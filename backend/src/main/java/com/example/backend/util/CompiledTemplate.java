@@ -0,0 +1,123 @@
+package com.example.backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@code {{variable}}} template parsed once into alternating segments: {@code literals[0]},
+ * {@code variables[0]}, {@code literals[1]}, ..., {@code literals[n]}. Rendering is a single pass
+ * appending into a {@link StringBuilder} sized from the literal length, with no regex and no
+ * intermediate strings.
+ *
+ * <p>Variable names are trimmed. A variable absent from the supplied map is rendered back as its
+ * {@code {{name}}} placeholder; a variable mapped to {@code null} renders as an empty string.
+ */
+public final class CompiledTemplate {
+
+    private static final int ESTIMATED_VALUE_LENGTH = 16;
+
+    private final String source;
+    private final String[] literals;
+    private final String[] variables;
+    private final int literalLength;
+    private final Integer version;
+
+    private CompiledTemplate(
+            String source, String[] literals, String[] variables, Integer version) {
+        this.source = source;
+        this.literals = literals;
+        this.variables = variables;
+        this.version = version;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static CompiledTemplate compile(String source) {
+        return compile(source, null);
+    }
+
+    public static CompiledTemplate compile(String source, Integer version) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+
+        int literalStart = 0;
+        int cursor = 0;
+        while (true) {
+            int open = source.indexOf("{{", cursor);
+            if (open < 0) {
+                break;
+            }
+            int nameEnd = source.indexOf('}', open + 2);
+            if (nameEnd < 0) {
+                break;
+            }
+            if (nameEnd == open + 2
+                    || nameEnd + 1 >= source.length()
+                    || source.charAt(nameEnd + 1) != '}') {
+                cursor = open + 1;
+                continue;
+            }
+            literals.add(source.substring(literalStart, open));
+            variables.add(source.substring(open + 2, nameEnd).trim());
+            literalStart = nameEnd + 2;
+            cursor = literalStart;
+        }
+        literals.add(source.substring(literalStart));
+
+        return new CompiledTemplate(
+                source, literals.toArray(String[]::new), variables.toArray(String[]::new), version);
+    }
+
+    public String render(Map<String, String> values) {
+        if (variables.length == 0) {
+            return source;
+        }
+        StringBuilder out =
+                new StringBuilder(literalLength + variables.length * ESTIMATED_VALUE_LENGTH);
+        renderTo(out, values);
+        return out.toString();
+    }
+
+    public void renderTo(StringBuilder out, Map<String, String> values) {
+        out.append(literals[0]);
+        for (int i = 0; i < variables.length; i++) {
+            String value = values != null ? values.get(variables[i]) : null;
+            if (value != null) {
+                out.append(value);
+            } else if (values == null || !values.containsKey(variables[i])) {
+                out.append("{{").append(variables[i]).append("}}");
+            }
+            out.append(literals[i + 1]);
+        }
+    }
+
+    /** Renders one message per value map, reusing a single buffer. */
+    public List<String> renderAll(List<Map<String, String>> valueSets) {
+        List<String> rendered = new ArrayList<>(valueSets.size());
+        StringBuilder out =
+                new StringBuilder(literalLength + variables.length * ESTIMATED_VALUE_LENGTH);
+        for (Map<String, String> values : valueSets) {
+            out.setLength(0);
+            renderTo(out, values);
+            rendered.add(out.toString());
+        }
+        return rendered;
+    }
+
+    public List<String> variableNames() {
+        return List.of(variables);
+    }
+
+    public String source() {
+        return source;
+    }
+
+    /** Template version this body was compiled from, when it came from a stored template. */
+    public Integer version() {
+        return version;
+    }
+}
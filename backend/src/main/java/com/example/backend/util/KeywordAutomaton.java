@@ -0,0 +1,216 @@
+package com.example.backend.util;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An Aho-Corasick automaton over a fixed keyword set, compiled once and matched in a single pass
+ * over the text regardless of the number of keywords.
+ *
+ * <p>Keywords and texts are compared in {@link #normalize normalized} form: lower case, without
+ * accents or Arabic diacritics, with typographic apostrophes folded and whitespace collapsed. A
+ * match only counts on token boundaries, i.e. when it is neither preceded nor followed by a letter
+ * or digit, so {@code non} does not match inside {@code nonobstant}.
+ *
+ * @param <T> the value attached to each keyword
+ */
+public final class KeywordAutomaton<T> {
+
+    /** A keyword occurrence in the normalized text, {@code [start, end)}. */
+    public record Match<T>(int start, int end, T value) {
+
+        public int length() {
+            return end - start;
+        }
+    }
+
+    // Per state: sorted transition characters and their target states
+    private final char[][] transitionChars;
+    private final int[][] transitionTargets;
+    private final int[] failure;
+    // Per state: keywords ending here, including those reached through failure links
+    private final int[][] outputs;
+    private final int[] keywordLengths;
+    private final List<T> values;
+
+    private KeywordAutomaton(
+            char[][] transitionChars,
+            int[][] transitionTargets,
+            int[] failure,
+            int[][] outputs,
+            int[] keywordLengths,
+            List<T> values) {
+        this.transitionChars = transitionChars;
+        this.transitionTargets = transitionTargets;
+        this.failure = failure;
+        this.outputs = outputs;
+        this.keywordLengths = keywordLengths;
+        this.values = values;
+    }
+
+    /** Compiles the keywords, normalizing them first; blank keywords are ignored. */
+    public static <T> KeywordAutomaton<T> compile(Map<String, T> keywords) {
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        ends.add(new ArrayList<>());
+
+        List<T> values = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        for (Map.Entry<String, T> entry : keywords.entrySet()) {
+            String keyword = normalize(entry.getKey());
+            if (keyword.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                Integer next = trie.get(state).get(c);
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(state).put(c, next);
+                    trie.add(new TreeMap<>());
+                    ends.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            ends.get(state).add(values.size());
+            values.add(entry.getValue());
+            lengths.add(keyword.length());
+        }
+
+        int size = trie.size();
+        char[][] chars = new char[size][];
+        int[][] targets = new int[size][];
+        for (int s = 0; s < size; s++) {
+            Map<Character, Integer> edges = trie.get(s);
+            chars[s] = new char[edges.size()];
+            targets[s] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                chars[s][i] = edge.getKey();
+                targets[s][i] = edge.getValue();
+                i++;
+            }
+        }
+
+        // Breadth-first, so a state's failure target is complete before its children need it
+        int[] failure = new int[size];
+        int[][] outputs = new int[size][];
+        outputs[0] = new int[0];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            failure[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            List<Integer> own = ends.get(state);
+            int[] inherited = outputs[failure[state]];
+            int[] merged = new int[own.size() + inherited.length];
+            for (int i = 0; i < own.size(); i++) {
+                merged[i] = own.get(i);
+            }
+            System.arraycopy(inherited, 0, merged, own.size(), inherited.length);
+            outputs[state] = merged;
+
+            for (int i = 0; i < chars[state].length; i++) {
+                char c = chars[state][i];
+                int child = targets[state][i];
+                int fallback = failure[state];
+                while (fallback != 0 && step(chars, targets, fallback, c) < 0) {
+                    fallback = failure[fallback];
+                }
+                int target = step(chars, targets, fallback, c);
+                failure[child] = target >= 0 && target != child ? target : 0;
+                queue.add(child);
+            }
+        }
+
+        return new KeywordAutomaton<>(
+                chars,
+                targets,
+                failure,
+                outputs,
+                lengths.stream().mapToInt(Integer::intValue).toArray(),
+                List.copyOf(values));
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    /** All keyword occurrences on token boundaries, in order of their end position. */
+    public List<Match<T>> findAll(String normalizedText) {
+        List<Match<T>> matches = new ArrayList<>();
+        int state = 0;
+        for (int i = 0; i < normalizedText.length(); i++) {
+            char c = normalizedText.charAt(i);
+            int next = step(transitionChars, transitionTargets, state, c);
+            while (next < 0 && state != 0) {
+                state = failure[state];
+                next = step(transitionChars, transitionTargets, state, c);
+            }
+            state = Math.max(next, 0);
+            for (int keyword : outputs[state]) {
+                int end = i + 1;
+                int start = end - keywordLengths[keyword];
+                if (isBoundary(normalizedText, start - 1) && isBoundary(normalizedText, end)) {
+                    matches.add(new Match<>(start, end, values.get(keyword)));
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Lower case without accents or Arabic diacritics (harakat, tatweel), with typographic
+     * apostrophes folded to {@code '} and runs of whitespace collapsed to one space.
+     */
+    public static String normalize(CharSequence text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed =
+                Normalizer.normalize(text.toString().toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK || c == '\u0640') {
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                normalized.append(' ');
+                pendingSpace = false;
+            }
+            if (c == '\u2019' || c == '\u2018' || c == '`' || c == '\u00B4') {
+                c = '\'';
+            }
+            normalized.append(c);
+        }
+        return normalized.toString();
+    }
+
+    private static boolean isBoundary(String text, int index) {
+        return index < 0
+                || index >= text.length()
+                || !Character.isLetterOrDigit(text.charAt(index));
+    }
+
+    private static int step(char[][] chars, int[][] targets, int state, char c) {
+        int index = Arrays.binarySearch(chars[state], c);
+        return index >= 0 ? targets[state][index] : -1;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.backend.util;
+
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Per-request read-your-writes state for the replica routing data source.
+ *
+ * <p>Holds the primary WAL position (LSN) a replica must have replayed before it may serve this
+ * request's read-only transactions. The position comes from the client, which echoes the {@code
+ * X-Write-Lsn} of its previous write, and is raised by every write the request itself commits.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<State> STATE = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {}
+
+    private static final class State {
+        private long requiredLsn;
+        private final Consumer<String> writeListener;
+
+        private State(long requiredLsn, Consumer<String> writeListener) {
+            this.requiredLsn = requiredLsn;
+            this.writeListener = writeListener;
+        }
+    }
+
+    /**
+     * Starts tracking for the current request; {@code writeListener} receives the LSN of each
+     * committed write, formatted like PostgreSQL does.
+     */
+    public static void bind(long requiredLsn, Consumer<String> writeListener) {
+        STATE.set(new State(requiredLsn, writeListener));
+    }
+
+    public static boolean isBound() {
+        return STATE.get() != null;
+    }
+
+    /** The LSN a replica must have replayed, or {@code 0} when any replica state will do. */
+    public static long getRequiredLsn() {
+        State state = STATE.get();
+        return state != null ? state.requiredLsn : 0L;
+    }
+
+    public static void recordWrite(long lsn) {
+        State state = STATE.get();
+        if (state != null && lsn > state.requiredLsn) {
+            state.requiredLsn = lsn;
+            if (state.writeListener != null) {
+                state.writeListener.accept(formatLsn(lsn));
+            }
+        }
+    }
+
+    public static void clear() {
+        STATE.remove();
+    }
+
+    /** Parses a PostgreSQL {@code pg_lsn} such as {@code 16/B374D848}; {@code 0} if invalid. */
+    public static long parseLsn(String lsn) {
+        if (lsn == null) {
+            return 0L;
+        }
+        int slash = lsn.indexOf('/');
+        if (slash <= 0 || slash == lsn.length() - 1) {
+            return 0L;
+        }
+        try {
+            long high = Long.parseLong(lsn.substring(0, slash).trim(), 16);
+            long low = Long.parseLong(lsn.substring(slash + 1).trim(), 16);
+            if (high > 0xFFFFFFFFL || low > 0xFFFFFFFFL) {
+                return 0L;
+            }
+            return (high << 32) | low;
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    public static String formatLsn(long lsn) {
+        return Long.toHexString(lsn >>> 32).toUpperCase(Locale.ROOT)
+                + "/"
+                + Long.toHexString(lsn & 0xFFFFFFFFL).toUpperCase(Locale.ROOT);
+    }
+}
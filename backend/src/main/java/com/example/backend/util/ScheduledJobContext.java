@@ -0,0 +1,76 @@
+package com.example.backend.util;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Per-run state of the {@code @LeasedJob} executing on the current thread: the tenant partitions
+ * this node claimed and the number of items the job reports as processed.
+ */
+public final class ScheduledJobContext {
+
+    private static final ThreadLocal<Run> CURRENT = new ThreadLocal<>();
+
+    private ScheduledJobContext() {}
+
+    public static void begin(int partitionCount, Set<Integer> ownedPartitions) {
+        CURRENT.set(new Run(partitionCount, Set.copyOf(ownedPartitions)));
+    }
+
+    /**
+     * Whether the current node processes the given tenant in this run. Always {@code true}
+     * outside a partitioned job, so direct invocations (tests, admin endpoints) process
+     * everything.
+     */
+    public static boolean owns(String orgId) {
+        Run run = CURRENT.get();
+        if (run == null || run.partitionCount <= 1) {
+            return true;
+        }
+        return run.ownedPartitions.contains(partitionOf(orgId, run.partitionCount));
+    }
+
+    /** Whether the current run processes only some tenants, as a partitioned job. */
+    public static boolean isPartitioned() {
+        Run run = CURRENT.get();
+        return run != null && run.partitionCount > 1;
+    }
+
+    /**
+     * The given tenants this node processes in the current run, for jobs that select their work
+     * with an {@code org_id IN (...)} predicate rather than filtering fetched rows.
+     */
+    public static List<String> ownedOf(Collection<String> orgIds) {
+        return orgIds.stream().filter(ScheduledJobContext::owns).toList();
+    }
+
+    public static void addItems(long count) {
+        Run run = CURRENT.get();
+        if (run != null) {
+            run.items += count;
+        }
+    }
+
+    /** Clears the context and returns the number of items reported during the run. */
+    public static long end() {
+        Run run = CURRENT.get();
+        CURRENT.remove();
+        return run != null ? run.items : 0;
+    }
+
+    public static int partitionOf(String orgId, int partitionCount) {
+        return orgId == null ? 0 : Math.floorMod(orgId.hashCode(), partitionCount);
+    }
+
+    private static final class Run {
+        private final int partitionCount;
+        private final Set<Integer> ownedPartitions;
+        private long items;
+
+        private Run(int partitionCount, Set<Integer> ownedPartitions) {
+            this.partitionCount = partitionCount;
+            this.ownedPartitions = ownedPartitions;
+        }
+    }
+}
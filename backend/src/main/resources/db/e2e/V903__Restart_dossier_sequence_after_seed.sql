@@ -0,0 +1,3 @@
+-- The seeded dossiers take their ids from the column default (an identity on H2), not from
+-- dossier_seq; restart the sequence above them so entities created during the run cannot collide.
+ALTER SEQUENCE dossier_seq RESTART WITH 1000;
@@ -0,0 +1,6 @@
+-- Covering partial index for the outbound queue gauge reconciliation (PostgreSQL-only).
+-- Only in-flight and dead-letter rows are indexed, so the grouped (status, channel) count is an
+-- index-only scan whose cost tracks the queue size rather than the full message history.
+CREATE INDEX IF NOT EXISTS idx_outbound_message_active_status_channel
+    ON outbound_message(status, channel, attempt_count)
+    WHERE status IN ('QUEUED', 'SENDING', 'FAILED', 'THROTTLED');
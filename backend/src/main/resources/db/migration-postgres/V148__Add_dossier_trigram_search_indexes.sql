@@ -0,0 +1,23 @@
+-- Index support for the advanced dossier filter's text operators (PostgreSQL-only).
+-- CONTAINS / STARTS_WITH / ENDS_WITH are emitted as lower(column) LIKE pattern; trigram GIN
+-- indexes on the same lower() expressions let the planner serve them with a bitmap index scan
+-- instead of a sequential scan. Patterns shorter than three characters still fall back to a scan.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_dossier_lead_name_trgm
+    ON dossier USING gin (lower(lead_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_dossier_lead_email_trgm
+    ON dossier USING gin (lower(lead_email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_dossier_lead_phone_trgm
+    ON dossier USING gin (lower(lead_phone) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_dossier_lead_source_trgm
+    ON dossier USING gin (lower(lead_source) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_dossier_notes_trgm
+    ON dossier USING gin (lower(notes) gin_trgm_ops);
+
+-- Tenant-scoped prefix lookups (STARTS_WITH on names and e-mails) are cheaper on a B-tree over
+-- the lower() expression; text_pattern_ops makes it usable for LIKE 'x%' regardless of collation.
+CREATE INDEX IF NOT EXISTS idx_dossier_org_lower_lead_name
+    ON dossier (org_id, lower(lead_name) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_dossier_org_lower_lead_email
+    ON dossier (org_id, lower(lead_email) text_pattern_ops);
@@ -0,0 +1,32 @@
+-- Moves the pooled sequences of V153 past the ids already issued by the serial columns and makes
+-- them the column defaults, so rows inserted outside Hibernate draw from the same sequence.
+-- A plain nextval() takes the first id of a 50-id block and wastes the rest, which keeps it
+-- disjoint from the blocks Hibernate reserves. The tables are locked so that no row can be
+-- inserted through the old serial default between the setval and the switch.
+LOCK TABLE dossier, message, outbound_message, activity, audit_event IN EXCLUSIVE MODE;
+
+SELECT setval('dossier_seq', COALESCE((SELECT MAX(id) FROM dossier), 0) + 1, false);
+ALTER TABLE dossier ALTER COLUMN id SET DEFAULT nextval('dossier_seq');
+ALTER SEQUENCE dossier_seq OWNED BY dossier.id;
+DROP SEQUENCE IF EXISTS dossier_id_seq;
+
+SELECT setval('message_seq', COALESCE((SELECT MAX(id) FROM message), 0) + 1, false);
+ALTER TABLE message ALTER COLUMN id SET DEFAULT nextval('message_seq');
+ALTER SEQUENCE message_seq OWNED BY message.id;
+DROP SEQUENCE IF EXISTS message_id_seq;
+
+SELECT setval(
+    'outbound_message_seq', COALESCE((SELECT MAX(id) FROM outbound_message), 0) + 1, false);
+ALTER TABLE outbound_message ALTER COLUMN id SET DEFAULT nextval('outbound_message_seq');
+ALTER SEQUENCE outbound_message_seq OWNED BY outbound_message.id;
+DROP SEQUENCE IF EXISTS outbound_message_id_seq;
+
+SELECT setval('activity_seq', COALESCE((SELECT MAX(id) FROM activity), 0) + 1, false);
+ALTER TABLE activity ALTER COLUMN id SET DEFAULT nextval('activity_seq');
+ALTER SEQUENCE activity_seq OWNED BY activity.id;
+DROP SEQUENCE IF EXISTS activity_id_seq;
+
+SELECT setval('audit_event_seq', COALESCE((SELECT MAX(id) FROM audit_event), 0) + 1, false);
+ALTER TABLE audit_event ALTER COLUMN id SET DEFAULT nextval('audit_event_seq');
+ALTER SEQUENCE audit_event_seq OWNED BY audit_event.id;
+DROP SEQUENCE IF EXISTS audit_event_id_seq;
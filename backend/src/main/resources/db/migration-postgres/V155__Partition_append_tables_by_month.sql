@@ -0,0 +1,191 @@
+-- Monthly range partitions for the append-mostly tables (PostgreSQL-only).
+--
+-- Each table is renamed to <table>_history and attached as is, without copying a row, as the
+-- partition holding everything before next month. New rows land in <table>_pYYYYMM partitions
+-- that PartitionMaintenanceService keeps creating ahead of time and retires once they fall out
+-- of the table's retention (detached, dropped or archived, never deleted row by row). Attaching
+-- scans each table once to check its range and to build the new primary key index.
+--
+-- A partitioned table can only enforce uniqueness on keys that include the partition column:
+--   * primary keys become (id, <partition column>); ids still come from the same sequences
+--   * other unique indexes become plain indexes. These are all of them, each kept unique through
+--     a side table that an insert trigger claims (a duplicate fails with a unique violation):
+--       - uk_outbound_idempotency, outbound_message (org_id, idempotency_key)
+--         -> outbound_message_idempotency
+--       - idx_message_provider_message_id, message (provider_message_id), the webhook dedupe key
+--         -> message_provider_message_id
+--     Claims are deleted with the partitions they belong to (PartitionMaintenanceService)
+--   * the outbound_attempt -> outbound_message foreign key is dropped; attempts are partitioned
+--     by month too and are retired no earlier than their messages
+
+CREATE OR REPLACE FUNCTION partition_create_month(p_parent TEXT, p_month DATE)
+RETURNS TEXT AS $$
+DECLARE
+    v_from DATE := date_trunc('month', p_month)::date;
+    v_name TEXT := p_parent || '_p' || to_char(v_from, 'YYYYMM');
+BEGIN
+    IF to_regclass(v_name) IS NOT NULL THEN
+        RETURN NULL;
+    END IF;
+    EXECUTE format(
+        'CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+        v_name, p_parent, v_from, (v_from + INTERVAL '1 month')::date);
+    RETURN v_name;
+EXCEPTION
+    -- The month is still covered by the history partition
+    WHEN invalid_object_definition THEN
+        RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION partition_convert_monthly(
+    p_table TEXT, p_column TEXT, p_months_ahead INT)
+RETURNS VOID AS $$
+DECLARE
+    v_history TEXT := p_table || '_history';
+    v_bound DATE := (date_trunc('month', now()) + INTERVAL '1 month')::date;
+    v_index RECORD;
+    v_fk RECORD;
+    v_defs TEXT[] := '{}';
+    v_def TEXT;
+    v_seq TEXT;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = to_regclass(p_table)) THEN
+        RETURN;
+    END IF;
+
+    -- Index definitions are replayed on the new parent under their current names
+    FOR v_index IN
+        SELECT c.relname, pg_get_indexdef(i.indexrelid) AS def, i.indisprimary
+        FROM pg_index i
+        JOIN pg_class c ON c.oid = i.indexrelid
+        WHERE i.indrelid = to_regclass(p_table)
+    LOOP
+        IF NOT v_index.indisprimary THEN
+            v_defs := v_defs || regexp_replace(v_index.def, '^CREATE UNIQUE INDEX', 'CREATE INDEX');
+        END IF;
+        EXECUTE format(
+            'ALTER INDEX %I RENAME TO %I',
+            v_index.relname, left(v_index.relname, 55) || '_history');
+    END LOOP;
+
+    EXECUTE format('ALTER TABLE %I RENAME TO %I', p_table, v_history);
+    EXECUTE format(
+        'CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING STORAGE'
+            || ' INCLUDING COMMENTS) PARTITION BY RANGE (%I)',
+        p_table, v_history, p_column);
+    EXECUTE format(
+        'ALTER TABLE %I ADD CONSTRAINT %I PRIMARY KEY (id, %I)',
+        p_table, p_table || '_pkey', p_column);
+
+    -- Dropping the history partition one day must not take the id sequence with it
+    v_seq := pg_get_serial_sequence(v_history, 'id');
+    IF v_seq IS NOT NULL THEN
+        EXECUTE format('ALTER SEQUENCE %s OWNED BY %I.id', v_seq, p_table);
+    END IF;
+
+    FOREACH v_def IN ARRAY v_defs LOOP
+        EXECUTE v_def;
+    END LOOP;
+
+    FOR v_fk IN
+        SELECT conname, pg_get_constraintdef(oid) AS def
+        FROM pg_constraint
+        WHERE conrelid = to_regclass(v_history) AND contype = 'f'
+    LOOP
+        EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I %s', p_table, v_fk.conname, v_fk.def);
+    END LOOP;
+
+    EXECUTE format(
+        'ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (MINVALUE) TO (%L)',
+        p_table, v_history, v_bound);
+
+    FOR i IN 0..p_months_ahead LOOP
+        PERFORM partition_create_month(p_table, (v_bound + make_interval(months => i))::date);
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+LOCK TABLE outbound_message, outbound_attempt, message, audit_event, activity, api_usage,
+    webhook_delivery, inbound_message, notification IN ACCESS EXCLUSIVE MODE;
+
+ALTER TABLE outbound_attempt DROP CONSTRAINT IF EXISTS fk_outbound_attempt_message;
+
+CREATE TABLE outbound_message_idempotency (
+    org_id VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_outbound_message_idempotency PRIMARY KEY (org_id, idempotency_key)
+);
+
+INSERT INTO outbound_message_idempotency (org_id, idempotency_key, created_at)
+SELECT org_id, idempotency_key, created_at FROM outbound_message;
+
+CREATE INDEX idx_outbound_message_idempotency_created_at
+    ON outbound_message_idempotency(created_at);
+
+CREATE TABLE message_provider_message_id (
+    provider_message_id VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_message_provider_message_id PRIMARY KEY (provider_message_id)
+);
+
+INSERT INTO message_provider_message_id (provider_message_id, created_at)
+SELECT provider_message_id, created_at FROM message WHERE provider_message_id IS NOT NULL;
+
+CREATE INDEX idx_message_provider_message_id_created_at
+    ON message_provider_message_id(created_at);
+
+SELECT partition_convert_monthly('outbound_message', 'created_at', 3);
+SELECT partition_convert_monthly('outbound_attempt', 'created_at', 3);
+SELECT partition_convert_monthly('message', 'created_at', 3);
+SELECT partition_convert_monthly('audit_event', 'created_at', 3);
+SELECT partition_convert_monthly('activity', 'created_at', 3);
+SELECT partition_convert_monthly('api_usage', 'usage_date', 3);
+SELECT partition_convert_monthly('webhook_delivery', 'created_at', 3);
+SELECT partition_convert_monthly('inbound_message', 'received_at', 3);
+SELECT partition_convert_monthly('notification', 'created_at', 3);
+
+DROP FUNCTION partition_convert_monthly(TEXT, TEXT, INT);
+
+-- A duplicate key fails the insert with a unique violation, as uk_outbound_idempotency did
+CREATE OR REPLACE FUNCTION outbound_message_claim_idempotency_key()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO outbound_message_idempotency (org_id, idempotency_key, created_at)
+    VALUES (NEW.org_id, NEW.idempotency_key, NEW.created_at);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_outbound_message_idempotency
+    AFTER INSERT ON outbound_message
+    FOR EACH ROW EXECUTE FUNCTION outbound_message_claim_idempotency_key();
+
+-- Provider ids are also set on existing rows once an outbound send is acknowledged
+CREATE OR REPLACE FUNCTION message_claim_provider_message_id()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' AND OLD.provider_message_id IS NOT NULL THEN
+        DELETE FROM message_provider_message_id
+        WHERE provider_message_id = OLD.provider_message_id;
+    END IF;
+    IF NEW.provider_message_id IS NOT NULL THEN
+        INSERT INTO message_provider_message_id (provider_message_id, created_at)
+        VALUES (NEW.provider_message_id, NEW.created_at);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_message_provider_message_id
+    AFTER INSERT ON message
+    FOR EACH ROW
+    WHEN (NEW.provider_message_id IS NOT NULL)
+    EXECUTE FUNCTION message_claim_provider_message_id();
+
+CREATE TRIGGER trg_message_provider_message_id_update
+    AFTER UPDATE OF provider_message_id ON message
+    FOR EACH ROW
+    WHEN (OLD.provider_message_id IS DISTINCT FROM NEW.provider_message_id)
+    EXECUTE FUNCTION message_claim_provider_message_id();
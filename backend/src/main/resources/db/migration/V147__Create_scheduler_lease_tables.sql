@@ -0,0 +1,19 @@
+-- Cluster-wide leases for @LeasedJob scheduled jobs.
+-- One row per singleton job, or per partition ("job#N") for partitioned jobs.
+CREATE TABLE scheduler_lease (
+    lease_name VARCHAR(255) PRIMARY KEY,
+    job_name VARCHAR(255) NOT NULL,
+    locked_by VARCHAR(255),
+    lease_until TIMESTAMP NOT NULL,
+    acquired_at TIMESTAMP,
+    last_success_at TIMESTAMP
+);
+
+CREATE INDEX idx_scheduler_lease_job_name ON scheduler_lease(job_name);
+
+-- Live scheduler nodes, used to size each node's share of partitioned jobs.
+CREATE TABLE scheduler_node (
+    node_id VARCHAR(255) PRIMARY KEY,
+    started_at TIMESTAMP NOT NULL,
+    heartbeat_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,25 @@
+-- Precomputed appointment reminders: one row per appointment and reminder kind, written when the
+-- appointment is booked or changed and claimed in batches by AppointmentReminderScheduler.
+CREATE TABLE appointment_reminder_work_item (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    org_id VARCHAR(255) NOT NULL,
+    appointment_id BIGINT NOT NULL,
+    reminder_kind VARCHAR(20) NOT NULL,
+    offset_minutes INTEGER NOT NULL,
+    appointment_start TIMESTAMP NOT NULL,
+    due_at TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    claimed_by VARCHAR(255),
+    claimed_until TIMESTAMP,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    sent_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_reminder_work_item_appointment FOREIGN KEY (appointment_id)
+        REFERENCES appointment(id) ON DELETE CASCADE,
+    CONSTRAINT uk_reminder_work_item_appointment_kind UNIQUE (appointment_id, reminder_kind)
+);
+
+CREATE INDEX idx_reminder_work_item_claim
+    ON appointment_reminder_work_item(reminder_kind, status, due_at);
@@ -0,0 +1,12 @@
+-- Per-organization progress of the daily lead digest, so a restarted run skips the
+-- organizations whose digest was already sent that day.
+CREATE TABLE email_digest_checkpoint (
+    digest_date DATE NOT NULL,
+    org_id VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    lead_count INTEGER NOT NULL DEFAULT 0,
+    provider_message_id VARCHAR(255),
+    last_error VARCHAR(1000),
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (digest_date, org_id)
+);
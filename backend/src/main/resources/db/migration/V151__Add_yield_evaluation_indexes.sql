@@ -0,0 +1,6 @@
+-- Set-based yield evaluation: keyset pages of a tenant's active listings, then grouped counts of
+-- recent dossiers and activities per page of listings.
+CREATE INDEX IF NOT EXISTS idx_annonce_org_status_id ON annonce(org_id, status, id);
+CREATE INDEX IF NOT EXISTS idx_dossier_annonce_created_at ON dossier(annonce_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_lead_activity_dossier_created_at
+    ON lead_activity(dossier_id, created_at);
@@ -0,0 +1,31 @@
+-- Newest consent per dossier, channel and type, so sends check consent with one keyed lookup
+-- instead of reading the consent history. Kept in step by CurrentConsentListener.
+CREATE TABLE current_consent (
+    dossier_id BIGINT NOT NULL,
+    channel VARCHAR(50) NOT NULL,
+    consent_type VARCHAR(100) NOT NULL,
+    consentement_id BIGINT NOT NULL,
+    org_id VARCHAR(255) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    expires_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    CONSTRAINT pk_current_consent PRIMARY KEY (dossier_id, channel, consent_type),
+    CONSTRAINT fk_current_consent_consentement FOREIGN KEY (consentement_id)
+        REFERENCES consentement(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_current_consent_consentement_id ON current_consent(consentement_id);
+CREATE INDEX IF NOT EXISTS idx_consentement_dossier_channel_type_updated
+    ON consentement(dossier_id, channel, consent_type, updated_at);
+
+INSERT INTO current_consent (dossier_id, channel, consent_type, consentement_id, org_id, status,
+        expires_at, updated_at)
+SELECT c.dossier_id, c.channel, c.consent_type, c.id, c.org_id, c.status, c.expires_at,
+        c.updated_at
+FROM consentement c
+WHERE NOT EXISTS (
+    SELECT 1 FROM consentement n
+    WHERE n.dossier_id = c.dossier_id
+      AND n.channel = c.channel
+      AND n.consent_type = c.consent_type
+      AND (n.updated_at > c.updated_at OR (n.updated_at = c.updated_at AND n.id > c.id)));
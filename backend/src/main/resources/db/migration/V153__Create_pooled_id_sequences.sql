@@ -0,0 +1,9 @@
+-- Sequences for the high-volume tables. Identity columns make Hibernate insert one row per round
+-- trip to read back each id; with a sequence it reserves ids 50 at a time (pooled-lo optimizer)
+-- and JDBC-batches the inserts. INCREMENT BY must stay equal to the entities' allocationSize.
+-- On PostgreSQL, V154 moves each sequence past the existing ids and makes it the column default.
+CREATE SEQUENCE IF NOT EXISTS dossier_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS message_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS outbound_message_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS activity_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS audit_event_seq START WITH 1 INCREMENT BY 50;
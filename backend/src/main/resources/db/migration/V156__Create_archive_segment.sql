@@ -0,0 +1,19 @@
+-- Index of the cold archive: gzipped NDJSON segments in file storage holding the messages,
+-- activities and audit events that ColdArchiveService moved out of the hot tables. Reads look up
+-- the segments of a dossier and time range here and only fetch those files. Segments of audit
+-- events that belong to no dossier have a NULL dossier_id.
+CREATE TABLE archive_segment (
+    id BIGSERIAL PRIMARY KEY,
+    org_id VARCHAR(255) NOT NULL,
+    record_type VARCHAR(20) NOT NULL,
+    dossier_id BIGINT,
+    range_start TIMESTAMP NOT NULL,
+    range_end TIMESTAMP NOT NULL,
+    record_count INTEGER NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    storage_path VARCHAR(1000) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_archive_segment_lookup
+    ON archive_segment(org_id, record_type, dossier_id, range_start);
@@ -0,0 +1,3 @@
+-- Last time yield management adjusted a listing's price, so a listing is not re-adjusted on
+-- every evaluation run.
+ALTER TABLE annonce ADD COLUMN yield_adjusted_at TIMESTAMP;
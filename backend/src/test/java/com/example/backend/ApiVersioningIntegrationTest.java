@@ -323,4 +323,75 @@ void testDeprecationHeadersOnlyPresentInV1() throws Exception {
                 .andExpect(header().doesNotExist("Sunset"))
                 .andExpect(header().doesNotExist("X-API-Warn"));
     }
+
+    @Test
+    void testV2AnnoncesListReturnsOnlyRequestedFields() throws Exception {
+        testDataBuilder
+                .annonceBuilder()
+                .withTitle("Sparse Fields")
+                .withType(AnnonceType.SALE)
+                .withPrice(new BigDecimal("300000"))
+                .withSurface(60.0)
+                .withCity("Lyon")
+                .withStatus(AnnonceStatus.PUBLISHED)
+                .withPhotos()
+                .withRulesJson()
+                .persist();
+
+        mockMvc.perform(
+                        withTenantHeaders(
+                                get("/api/v2/annonces")
+                                        .param("fields", "title,pricing")
+                                        .with(jwtWithRoles(ORG_ID, "PRO", "ADMIN")),
+                                ORG_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", notNullValue()))
+                .andExpect(jsonPath("$.content[0].title", is("Sparse Fields")))
+                .andExpect(jsonPath("$.content[0].pricing.pricePerSqm", is(5000.0)))
+                .andExpect(jsonPath("$.content[0].description").doesNotExist())
+                .andExpect(jsonPath("$.content[0].photos").doesNotExist())
+                .andExpect(jsonPath("$.content[0].rules").doesNotExist());
+
+        mockMvc.perform(
+                        withTenantHeaders(
+                                get("/api/v2/annonces")
+                                        .param("fields", "title,aiScoreDetails")
+                                        .with(jwtWithRoles(ORG_ID, "PRO", "ADMIN")),
+                                ORG_ID))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testV2DossiersListReturnsOnlyRequestedFields() throws Exception {
+        Annonce annonce =
+                testDataBuilder
+                        .annonceBuilder()
+                        .withTitle("Linked Property")
+                        .withCity("Nantes")
+                        .withStatus(AnnonceStatus.PUBLISHED)
+                        .persist();
+        testDataBuilder
+                .dossierBuilder()
+                .withAnnonceId(annonce.getId())
+                .withLeadName("Sparse Lead")
+                .withLeadPhone("+33699887766")
+                .withInitialParty(PartiePrenanteRole.BUYER)
+                .persist();
+
+        mockMvc.perform(
+                        withTenantHeaders(
+                                get("/api/v2/dossiers")
+                                        .param("fields", "lead,annonce,parties")
+                                        .with(jwtWithRoles(ORG_ID, "PRO", "ADMIN")),
+                                ORG_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].lead.name", is("Sparse Lead")))
+                .andExpect(jsonPath("$.content[0].annonce.title", is("Linked Property")))
+                .andExpect(jsonPath("$.content[0].annonce.city", is("Nantes")))
+                .andExpect(jsonPath("$.content[0].parties", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].notes").doesNotExist())
+                .andExpect(jsonPath("$.content[0].audit").doesNotExist());
+    }
 }
@@ -54,6 +54,8 @@ class WhatsAppProviderIntegrationTest extends BaseBackendE2ETest {
 
     @Autowired private WhatsAppCloudApiProvider whatsAppProvider;
 
+    @Autowired private WhatsAppProviderContextCache providerContextCache;
+
     @Autowired private ObjectMapper objectMapper;
 
     @MockitoBean(name = "restTemplate")
@@ -81,6 +83,7 @@ void setUp() {
         whatsAppProviderConfigRepository.deleteAll();
 
         createWhatsAppProviderConfig();
+        providerContextCache.invalidateAll();
         when(rateLimitService.checkAndConsumeQuota(anyString())).thenReturn(true);
     }
 
@@ -60,6 +60,7 @@ void setUp() {
         outboundAttemptRepository.deleteAll();
         outboundMessageRepository.deleteAll();
         sessionWindowRepository.deleteAll();
+        sessionWindowService.evictAll();
         whatsAppRateLimitRepository.deleteAll();
         dossierRepository.deleteAll();
         whatsAppProviderConfigRepository.deleteAll();
@@ -488,6 +489,7 @@ void testSessionWindow_OutboundRecorded() {
         assertThat(before.getLastOutboundMessageAt()).isNull();
 
         sessionWindowService.recordOutboundMessage(TENANT_1, TEST_PHONE);
+        sessionWindowService.flushPendingOutbound();
 
         WhatsAppSessionWindow after =
                 sessionWindowRepository
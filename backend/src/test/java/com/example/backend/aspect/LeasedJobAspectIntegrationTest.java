@@ -0,0 +1,191 @@
+package com.example.backend.aspect;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.backend.service.SchedulerLeaseService;
+import com.example.backend.util.ScheduledJobContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+/**
+ * Two scheduler nodes sharing one {@code scheduler_lease} table, each running its jobs through
+ * its own {@link LeasedJobAspect}. A job body calls the other node's job to stand in for its
+ * trigger firing while the first run is in progress.
+ */
+class LeasedJobAspectIntegrationTest {
+
+    private static final int PARTITIONS = 4;
+    private static final Set<Integer> ALL_PARTITIONS =
+            IntStream.range(0, PARTITIONS).boxed().collect(Collectors.toSet());
+
+    // One tenant per partition, to read back which partitions a run owned
+    private static final List<String> ORG_BY_PARTITION = orgPerPartition();
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(
+                "jdbc:h2:mem:scheduler_lease_"
+                        + UUID.randomUUID()
+                        + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE");
+        dataSource.setUser("sa");
+        new ResourceDatabasePopulator(
+                        new ClassPathResource(
+                                "db/migration/V147__Create_scheduler_lease_tables.sql"))
+                .execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void singletonJob_RunsOnOneNodeWhileTheOtherHoldsTheLease() throws Exception {
+        Jobs jobsA = new Jobs();
+        Jobs jobsB = new Jobs();
+        Jobs nodeA = proxy(node("node-a", 30_000), jobsA);
+        Jobs nodeB = proxy(node("node-b", 30_000), jobsB);
+        jobsA.whileRunning = nodeB::singleton;
+
+        nodeA.singleton();
+
+        assertEquals(1, jobsA.runs);
+        assertEquals(0, jobsB.runs);
+
+        // Released with no minimum hold: the next trigger on either node runs
+        Thread.sleep(10);
+        nodeB.singleton();
+        assertEquals(1, jobsB.runs);
+    }
+
+    @Test
+    void holdAtLeast_KeepsTheLeaseTakenAfterTheRunEnds() {
+        Jobs jobsA = new Jobs();
+        Jobs jobsB = new Jobs();
+        Jobs nodeA = proxy(node("node-a", 30_000), jobsA);
+        Jobs nodeB = proxy(node("node-b", 30_000), jobsB);
+
+        nodeA.held();
+        nodeB.held();
+
+        assertEquals(1, jobsA.runs);
+        assertEquals(0, jobsB.runs);
+        assertEquals(
+                "node-a",
+                jdbcTemplate.queryForObject(
+                        "SELECT locked_by FROM scheduler_lease WHERE lease_name = 'held'",
+                        String.class));
+    }
+
+    @Test
+    void partitionedJob_SplitsPartitionsAcrossLiveNodesAndHandsOverAfterANodeDies()
+            throws Exception {
+        SchedulerLeaseService leaseA = node("node-a", 200);
+        SchedulerLeaseService leaseB = node("node-b", 200);
+        leaseA.heartbeat();
+        leaseB.heartbeat();
+        leaseA.heartbeat();
+        Jobs jobsA = new Jobs();
+        Jobs jobsB = new Jobs();
+        Jobs nodeA = proxy(leaseA, jobsA);
+        Jobs nodeB = proxy(leaseB, jobsB);
+        jobsA.whileRunning = nodeB::partitioned;
+
+        nodeA.partitioned();
+
+        Set<Integer> ownedByA = jobsA.owned.get(0);
+        Set<Integer> ownedByB = jobsB.owned.get(0);
+        assertEquals(PARTITIONS / 2, ownedByA.size());
+        assertEquals(PARTITIONS / 2, ownedByB.size());
+        Set<Integer> union = new HashSet<>(ownedByA);
+        union.addAll(ownedByB);
+        assertEquals(ALL_PARTITIONS, union);
+
+        // Node A claims its share and dies mid-run: no release, no more heartbeats
+        Thread.sleep(10);
+        Set<Integer> heldByDeadNode =
+                leaseA.claimPartitions("partitioned", PARTITIONS, Duration.ofMillis(300)).stream()
+                        .map(lease -> Integer.parseInt(lease.name().split("#")[1]))
+                        .collect(Collectors.toSet());
+        assertEquals(PARTITIONS / 2, heldByDeadNode.size());
+
+        nodeB.partitioned();
+        Set<Integer> expected = new HashSet<>(ALL_PARTITIONS);
+        expected.removeAll(heldByDeadNode);
+        assertEquals(expected, jobsB.owned.get(1));
+
+        // Once its heartbeat is stale and its leases expired, B takes over every partition
+        Thread.sleep(400);
+        leaseB.heartbeat();
+        nodeB.partitioned();
+        assertEquals(ALL_PARTITIONS, jobsB.owned.get(2));
+    }
+
+    private SchedulerLeaseService node(String nodeId, long nodeTimeoutMs) {
+        return new SchedulerLeaseService(
+                jdbcTemplate, new SimpleMeterRegistry(), true, nodeId, nodeTimeoutMs);
+    }
+
+    private static Jobs proxy(SchedulerLeaseService leaseService, Jobs target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LeasedJobAspect(leaseService, new SimpleMeterRegistry()));
+        return factory.getProxy();
+    }
+
+    private static List<String> orgPerPartition() {
+        List<String> orgs = new ArrayList<>();
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            int i = 0;
+            while (ScheduledJobContext.partitionOf("org-" + i, PARTITIONS) != partition) {
+                i++;
+            }
+            orgs.add("org-" + i);
+        }
+        return orgs;
+    }
+
+    static class Jobs {
+        Runnable whileRunning = () -> {};
+        int runs;
+        final List<Set<Integer>> owned = new ArrayList<>();
+
+        @LeasedJob(name = "singleton", holdAtLeast = "PT0S")
+        public void singleton() {
+            runs++;
+            whileRunning.run();
+        }
+
+        @LeasedJob(name = "held", holdAtLeast = "PT1H")
+        public void held() {
+            runs++;
+        }
+
+        @LeasedJob(
+                name = "partitioned",
+                partitions = PARTITIONS,
+                leaseFor = "PT0.3S",
+                holdAtLeast = "PT0S")
+        public void partitioned() {
+            owned.add(
+                    IntStream.range(0, PARTITIONS)
+                            .filter(p -> ScheduledJobContext.owns(ORG_BY_PARTITION.get(p)))
+                            .boxed()
+                            .collect(Collectors.toSet()));
+            whileRunning.run();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.config.CacheCodecs;
+import com.example.backend.dto.DossierResponse;
+import com.example.backend.dto.PartiePrenanteResponse;
+import com.example.backend.dto.PipelineStageMetricsDto;
+import com.example.backend.dto.PipelineSummaryResponse;
+import com.example.backend.entity.enums.DossierSource;
+import com.example.backend.entity.enums.DossierStatus;
+import com.example.backend.entity.enums.PartiePrenanteRole;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Encode and decode cost of cached values with the previous generic serializer (class names in
+ * every object) and with the typed cache codecs: JSON, Smile, and Smile deflated above 1 KB. The
+ * encoded size of each combination is reported next to its encode time as {@code bytes}.
+ *
+ * <p>Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args=CacheCodecBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheCodecBenchmark {
+
+    @Param({"generic-json", "json", "smile", "smile-deflate"})
+    public String codec;
+
+    @Param({"dossier", "dossierPage", "pipelineSummary"})
+    public String payload;
+
+    private RedisSerializer<Object> serializer;
+    private Object value;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        TypeFactory types = TypeFactory.defaultInstance();
+        JavaType type;
+        switch (payload) {
+            case "dossier" -> {
+                value = dossier(1L);
+                type = types.constructType(DossierResponse.class);
+            }
+            case "dossierPage" -> {
+                List<DossierResponse> page = new ArrayList<>();
+                for (long id = 1; id <= 50; id++) {
+                    page.add(dossier(id));
+                }
+                value = page;
+                type = types.constructCollectionType(List.class, DossierResponse.class);
+            }
+            default -> {
+                value = pipelineSummary();
+                type = types.constructType(PipelineSummaryResponse.class);
+            }
+        }
+        serializer =
+                switch (codec) {
+                    case "generic-json" -> genericSerializer();
+                    case "json" -> codecs("json", 0).codecFor(payload).serializerFor(type);
+                    case "smile" -> codecs("smile", 0).codecFor(payload).serializerFor(type);
+                    default -> codecs("smile", 1024).codecFor(payload).serializerFor(type);
+                };
+        encoded = serializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] encode(EncodedSize size) {
+        byte[] bytes = serializer.serialize(value);
+        size.bytes = bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+
+    /** Size of the last encoded value; an assigned, not summed, event count. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class EncodedSize {
+        public long bytes;
+    }
+
+    private static CacheCodecs codecs(String format, int compressionThreshold) {
+        return new CacheCodecs(new MockEnvironment(), format, compressionThreshold);
+    }
+
+    // Same setup as the default cache configuration
+    private static RedisSerializer<Object> genericSerializer() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.activateDefaultTyping(
+                BasicPolymorphicTypeValidator.builder().allowIfBaseType(Object.class).build(),
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY);
+        return new GenericJackson2JsonRedisSerializer(objectMapper);
+    }
+
+    private static DossierResponse dossier(long id) {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 10, 19, 9, 30).minusHours(id);
+        DossierResponse dossier = new DossierResponse();
+        dossier.setId(id);
+        dossier.setOrgId("org-benchmark");
+        dossier.setAnnonceId(1000L + id);
+        dossier.setAnnonceTitle("Appartement T3 lumineux avec balcon, proche gare");
+        dossier.setLeadName("Lead " + id);
+        dossier.setLeadPhone("+336123" + String.format("%05d", id));
+        dossier.setLeadEmail("lead" + id + "@example.com");
+        dossier.setLeadSource("Website");
+        dossier.setNotes("Souhaite visiter un samedi matin, budget confirmé par la banque.");
+        dossier.setStatus(DossierStatus.QUALIFIED);
+        dossier.setStatusCode("QUALIFIED");
+        dossier.setCaseType("SALE");
+        dossier.setScore(72);
+        dossier.setSource(DossierSource.WEB);
+        dossier.setLocale("fr_FR");
+        dossier.setCreatedAt(createdAt);
+        dossier.setUpdatedAt(createdAt.plusMinutes(45));
+        dossier.setCreatedBy("user-" + (id % 7));
+        dossier.setUpdatedBy("user-" + (id % 7));
+        List<PartiePrenanteResponse> parties = new ArrayList<>();
+        parties.add(party(id * 10, id, PartiePrenanteRole.BUYER, createdAt));
+        parties.add(party(id * 10 + 1, id, PartiePrenanteRole.SELLER, createdAt));
+        dossier.setParties(parties);
+        return dossier;
+    }
+
+    private static PartiePrenanteResponse party(
+            long id, long dossierId, PartiePrenanteRole role, LocalDateTime createdAt) {
+        PartiePrenanteResponse party = new PartiePrenanteResponse();
+        party.setId(id);
+        party.setDossierId(dossierId);
+        party.setRole(role);
+        party.setFirstName("Prénom" + id);
+        party.setLastName("Nom" + id);
+        party.setName("Prénom" + id + " Nom" + id);
+        party.setEmail("party" + id + "@example.com");
+        party.setPhone("+337000" + String.format("%05d", id));
+        party.setMeta(Map.of("preferredContact", "sms", "consent", true));
+        party.setCreatedAt(createdAt);
+        party.setUpdatedAt(createdAt);
+        return party;
+    }
+
+    private static PipelineSummaryResponse pipelineSummary() {
+        List<PipelineStageMetricsDto> stages = new ArrayList<>();
+        String[] names = {
+            "NEW", "QUALIFYING", "QUALIFIED", "APPOINTMENT", "NEGOTIATION", "WON", "LOST", "DRAFT"
+        };
+        for (int i = 0; i < names.length; i++) {
+            stages.add(new PipelineStageMetricsDto(names[i], 120L - i * 10, 100.0 / (i + 1)));
+        }
+        PipelineSummaryResponse summary = new PipelineSummaryResponse();
+        summary.setStageMetrics(stages);
+        summary.setTotalDossiers(680L);
+        summary.setOverallConversionRate(0.18);
+        return summary;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.backend.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Insert throughput of a 100k-row load with the statements Hibernate issues for an identity id
+ * (one insert and generated-key read per row) and for a pooled-lo sequence id (one {@code
+ * nextval} per 50 rows, inserts sent as JDBC batches of 50), committing every 1,000 rows like a
+ * bulk import chunk.
+ *
+ * <p>Runs against in-memory H2 by default, which has no network round trip and so understates
+ * the gain; pass a PostgreSQL URL to measure the real thing, e.g. {@code mvn -Pjmh test-compile
+ * exec:exec -Djmh.args="IdGenerationInsertBenchmark -p
+ * jdbcUrl=jdbc:postgresql://localhost:5432/bench?reWriteBatchedInserts=true -p user=bench -p
+ * password=bench"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IdGenerationInsertBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int ALLOCATION_SIZE = 50;
+    private static final int COMMIT_EVERY = 1_000;
+    private static final String INSERT_WITH_ID =
+            "INSERT INTO bench_row (id, org_id, payload, created_at) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_WITHOUT_ID =
+            "INSERT INTO bench_row (org_id, payload, created_at) VALUES (?, ?, ?)";
+
+    @Param({"jdbc:h2:mem:idgen;DB_CLOSE_DELAY=-1"})
+    public String jdbcUrl;
+
+    @Param({"sa"})
+    public String user;
+
+    @Param({""})
+    public String password;
+
+    private Connection connection;
+    private String nextValSql;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(jdbcUrl, user, password);
+        boolean postgres =
+                connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("PostgreSQL");
+        nextValSql =
+                postgres
+                        ? "SELECT nextval('bench_row_seq')"
+                        : "SELECT NEXT VALUE FOR bench_row_seq";
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_row");
+            statement.execute("DROP SEQUENCE IF EXISTS bench_row_seq");
+            statement.execute(
+                    "CREATE TABLE bench_row (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY"
+                            + " KEY, org_id VARCHAR(255) NOT NULL, payload VARCHAR(255),"
+                            + " created_at TIMESTAMP NOT NULL)");
+            statement.execute(
+                    "CREATE SEQUENCE bench_row_seq START WITH 1 INCREMENT BY " + ALLOCATION_SIZE);
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long identityRowPerRoundTrip() throws SQLException {
+        long lastId = 0;
+        try (PreparedStatement insert =
+                connection.prepareStatement(INSERT_WITHOUT_ID, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < ROWS; i++) {
+                insert.setString(1, "org-" + (i % 20));
+                insert.setString(2, "payload-" + i);
+                insert.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    lastId = keys.getLong(1);
+                }
+                if ((i + 1) % COMMIT_EVERY == 0) {
+                    connection.commit();
+                }
+            }
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    @Benchmark
+    public long pooledLoSequenceBatched() throws SQLException {
+        long nextId = 0;
+        long blockEnd = 0;
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_WITH_ID);
+                PreparedStatement nextVal = connection.prepareStatement(nextValSql)) {
+            for (int i = 0; i < ROWS; i++) {
+                if (nextId == blockEnd) {
+                    try (ResultSet rs = nextVal.executeQuery()) {
+                        rs.next();
+                        nextId = rs.getLong(1);
+                        blockEnd = nextId + ALLOCATION_SIZE;
+                    }
+                }
+                insert.setLong(1, nextId++);
+                insert.setString(2, "org-" + (i % 20));
+                insert.setString(3, "payload-" + i);
+                insert.setTimestamp(4, new Timestamp(System.currentTimeMillis()));
+                insert.addBatch();
+                if ((i + 1) % ALLOCATION_SIZE == 0) {
+                    insert.executeBatch();
+                }
+                if ((i + 1) % COMMIT_EVERY == 0) {
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+        return nextId;
+    }
+}
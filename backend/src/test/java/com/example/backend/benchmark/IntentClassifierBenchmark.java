@@ -0,0 +1,89 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.service.ConversationIntentClassifier;
+import com.example.backend.service.ConversationIntentClassifier.ConversationIntent;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the previous per-keyword {@code contains} scan of ConversationStateManager with the
+ * compiled {@link ConversationIntentClassifier} over all four locales, for a short and a long
+ * reply.
+ *
+ * <p>Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args=IntentClassifierBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntentClassifierBenchmark {
+
+    private static final String[] CONFIRM_KEYWORDS = {
+        "oui", "yes", "ok", "confirme", "confirmer", "confirmé", "d'accord", "daccord", "accord",
+        "bien reçu", "parfait", "très bien"
+    };
+    private static final String[] CANCEL_KEYWORDS = {
+        "annule", "annuler", "annulé", "cancel", "cancelled", "non", "no", "pas possible",
+        "impossible", "ne peux pas", "ne peut pas"
+    };
+    private static final String[] RESCHEDULE_KEYWORDS = {
+        "reprogrammer", "reporter", "décaler", "decaler", "changer", "reschedule", "autre date",
+        "autre jour", "autre heure", "plus tard", "plus tôt"
+    };
+
+    @Param({
+        "Oui",
+        "Bonjour, je suis désolé mais finalement je ne pourrai pas être présent jeudi, est-ce"
+                + " qu'il serait possible de décaler la visite à la semaine prochaine ?"
+    })
+    public String message;
+
+    private ConversationIntentClassifier classifier;
+
+    @Setup
+    public void setUp() {
+        classifier =
+                new ConversationIntentClassifier(
+                        null, new String[] {"fr", "en", "es", "ar"}, Duration.ofMinutes(5));
+    }
+
+    @Benchmark
+    public ConversationIntent legacyContains() {
+        String normalized = message.toLowerCase().trim();
+        if (containsAny(normalized, CONFIRM_KEYWORDS)) {
+            return ConversationIntent.CONFIRM;
+        } else if (containsAny(normalized, CANCEL_KEYWORDS)) {
+            return ConversationIntent.CANCEL;
+        } else if (containsAny(normalized, RESCHEDULE_KEYWORDS)) {
+            return ConversationIntent.RESCHEDULE;
+        }
+        return ConversationIntent.UNKNOWN;
+    }
+
+    @Benchmark
+    public ConversationIntent compiledAutomaton() {
+        return classifier.classifyIntent(message, null);
+    }
+
+    private static boolean containsAny(String message, String[] keywords) {
+        for (String keyword : keywords) {
+            if (message.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.backend.benchmark;
+
+import com.example.backend.util.CompiledTemplate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the previous regex renderer with {@link CompiledTemplate} for a typical reminder body,
+ * per message and for a 1,000-recipient campaign batch.
+ *
+ * <p>Run with {@code mvn -Pjmh test-compile exec:exec -Djmh.args=TemplateRenderBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateRenderBenchmark {
+
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{\\{([^}]+)\\}\\}");
+    private static final String BODY =
+            "Bonjour {{clientName}}, nous vous rappelons votre rendez-vous prévu le {{dateStr}}"
+                    + " à {{timeStr}} pour la visite {{location}}. Votre agent {{agentName}}"
+                    + " sera sur place. Répondez OUI pour confirmer.";
+
+    private CompiledTemplate compiled;
+    private Map<String, String> variables;
+    private List<Map<String, String>> campaign;
+
+    @Setup
+    public void setUp() {
+        compiled = CompiledTemplate.compile(BODY);
+        variables = variables(0);
+        campaign = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            campaign.add(variables(i));
+        }
+    }
+
+    @Benchmark
+    public String regexRender() {
+        return regexRender(BODY, variables);
+    }
+
+    @Benchmark
+    public String compiledRender() {
+        return compiled.render(variables);
+    }
+
+    @Benchmark
+    public List<String> regexCampaign() {
+        List<String> rendered = new ArrayList<>(campaign.size());
+        for (Map<String, String> values : campaign) {
+            rendered.add(regexRender(BODY, values));
+        }
+        return rendered;
+    }
+
+    @Benchmark
+    public List<String> compiledCampaign() {
+        return compiled.renderAll(campaign);
+    }
+
+    private static String regexRender(String template, Map<String, String> values) {
+        StringBuffer result = new StringBuffer();
+        Matcher matcher = VARIABLE_PATTERN.matcher(template);
+        while (matcher.find()) {
+            String replacement = values.get(matcher.group(1).trim());
+            if (replacement == null) {
+                replacement = "{{" + matcher.group(1).trim() + "}}";
+            }
+            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    private static Map<String, String> variables(int i) {
+        Map<String, String> values = new HashMap<>();
+        values.put("clientName", "Client " + i);
+        values.put("dateStr", "12/03/2026");
+        values.put("timeStr", "14:30");
+        values.put("location", i + " rue de la Paix, Paris");
+        values.put("agentName", "Agent " + (i % 20));
+        return values;
+    }
+}
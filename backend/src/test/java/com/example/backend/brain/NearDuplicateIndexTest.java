@@ -0,0 +1,74 @@
+package com.example.backend.brain;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.backend.repository.AnnonceRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class NearDuplicateIndexTest {
+
+    private static final String ORG = "org-1";
+
+    private AnnonceRepository annonceRepository;
+    private NearDuplicateIndex index;
+
+    @BeforeEach
+    void setUp() {
+        annonceRepository = mock(AnnonceRepository.class);
+        when(annonceRepository.findDuplicateIndexRows(ORG))
+                .thenReturn(
+                        List.<Object[]>of(
+                                new Object[] {
+                                    1L,
+                                    "Appartement T3 lumineux centre-ville",
+                                    "Bel appartement de 70 m² avec balcon, proche des commerces"
+                                },
+                                new Object[] {
+                                    2L,
+                                    "Maison avec jardin",
+                                    "Grande maison familiale, quatre chambres, garage double"
+                                }));
+        index = new NearDuplicateIndex(annonceRepository);
+    }
+
+    @Test
+    void findCandidates_ReturnsRepostedListingButNotUnrelatedOne() {
+        List<NearDuplicateIndex.Candidate> candidates =
+                index.findCandidates(
+                        ORG,
+                        3L,
+                        "Appartement T3 lumineux, centre ville",
+                        "Bel appartement de 70 m2 avec balcon proche des commerces");
+
+        assertEquals(List.of(1L), candidates.stream().map(c -> c.annonceId()).toList());
+        assertTrue(candidates.get(0).similarity() >= 0.5);
+        assertEquals(3, index.size(ORG));
+        verify(annonceRepository, times(1)).findDuplicateIndexRows(ORG);
+    }
+
+    @Test
+    void remove_DropsListingFromCandidates() {
+        index.remove(ORG, 1L);
+
+        List<NearDuplicateIndex.Candidate> candidates =
+                index.findCandidates(
+                        ORG,
+                        3L,
+                        "Appartement T3 lumineux centre-ville",
+                        "Bel appartement de 70 m² avec balcon, proche des commerces");
+
+        assertTrue(candidates.isEmpty());
+    }
+
+    @Test
+    void signature_IgnoresCaseAccentsAndPunctuation() {
+        int[] a = index.signature(NearDuplicateIndex.text("Château RÉNOVÉ!", "Vue mer"));
+        int[] b = index.signature(NearDuplicateIndex.text("chateau renove", "vue  mer"));
+
+        assertEquals(1.0, NearDuplicateIndex.estimateSimilarity(a, b));
+        assertNull(index.signature(NearDuplicateIndex.text("  ", "!!")));
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.backend.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.backend.dto.DossierResponse;
+import com.example.backend.dto.PipelineStageMetricsDto;
+import com.example.backend.dto.PipelineSummaryResponse;
+import com.example.backend.entity.enums.DossierStatus;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.mock.env.MockEnvironment;
+
+class CacheCodecTest {
+
+    private static final TypeFactory TYPES = TypeFactory.defaultInstance();
+
+    private static final ObjectMapper SAMPLES =
+            new ObjectMapper()
+                    .registerModule(new JavaTimeModule())
+                    .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private static final Map<Class<?>, Object> SCALARS =
+            Map.ofEntries(
+                    Map.entry(String.class, "sample"),
+                    Map.entry(Object.class, "sample"),
+                    Map.entry(Long.class, 7L),
+                    Map.entry(long.class, 7L),
+                    Map.entry(Integer.class, 7),
+                    Map.entry(int.class, 7),
+                    Map.entry(Double.class, 1.5),
+                    Map.entry(double.class, 1.5),
+                    Map.entry(Boolean.class, true),
+                    Map.entry(boolean.class, true),
+                    Map.entry(BigDecimal.class, new BigDecimal("1234.50")),
+                    Map.entry(LocalDate.class, LocalDate.of(2026, 10, 19)),
+                    Map.entry(LocalDateTime.class, LocalDateTime.of(2026, 10, 19, 9, 30, 15)));
+
+    @Test
+    void smile_RoundTripsTypedValueWithoutClassNames() throws Exception {
+        CacheCodec codec = codecs(0).codecFor("dossier");
+        DossierResponse dossier = dossier();
+
+        byte[] encoded = codec.encode(dossier);
+        DossierResponse decoded = codec.decode(encoded, TYPES.constructType(DossierResponse.class));
+
+        assertEquals(CacheCodec.Format.SMILE, codec.format());
+        assertFalse(
+                new String(encoded, StandardCharsets.ISO_8859_1).contains("com.example.backend"));
+        assertEquals(dossier.getId(), decoded.getId());
+        assertEquals(dossier.getLeadName(), decoded.getLeadName());
+        assertEquals(dossier.getStatus(), decoded.getStatus());
+        assertEquals(dossier.getCreatedAt(), decoded.getCreatedAt());
+    }
+
+    @Test
+    void encode_CompressesPayloadsAboveThreshold() throws Exception {
+        PipelineSummaryResponse summary = pipelineSummary(200);
+        JavaType type = TYPES.constructType(PipelineSummaryResponse.class);
+        CacheCodec plain = codecs(0).codecFor("pipelineSummary");
+        CacheCodec compressing = codecs(1024).codecFor("pipelineSummary");
+
+        byte[] uncompressed = plain.encode(summary);
+        byte[] compressed = compressing.encode(summary);
+        PipelineSummaryResponse decoded = compressing.decode(compressed, type);
+
+        assertTrue(compressed.length < uncompressed.length);
+        assertNotEquals(uncompressed[0], compressed[0]);
+        assertEquals(200, decoded.getStageMetrics().size());
+        assertEquals("STAGE_199", decoded.getStageMetrics().get(199).getStage());
+    }
+
+    @Test
+    void codecFor_HonoursPerCacheFormatAndRejectsEntriesOfAnotherFormat() throws Exception {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setProperty("cache.redis.codec.systemConfig", "json");
+        CacheCodecs codecs = new CacheCodecs(environment, "smile", 0);
+        JavaType type = TYPES.constructMapType(Map.class, String.class, Object.class);
+
+        RedisSerializer<Object> json = codecs.codecFor("systemConfig").serializerFor(type);
+        RedisSerializer<Object> smile = codecs.codecFor("userPreferences").serializerFor(type);
+        byte[] written = json.serialize(Map.of("theme", "dark"));
+
+        assertEquals(Map.of("theme", "dark"), json.deserialize(written));
+        assertThrows(SerializationException.class, () -> smile.deserialize(written));
+    }
+
+    @Test
+    void everyRegisteredCacheValueType_RoundTripsThroughItsConfiguredSerializer() {
+        CacheCodecs codecs = new CacheCodecs(new MockEnvironment(), "smile", 2048);
+
+        Map<String, JavaType> valueTypes = CacheConfig.cacheValueTypes(SAMPLES.getTypeFactory());
+        assertFalse(valueTypes.isEmpty());
+        valueTypes.forEach(
+                (cacheName, type) -> {
+                    Object value = SAMPLES.convertValue(sample(type, 0), type);
+                    RedisSerializer<Object> serializer =
+                            codecs.codecFor(cacheName).serializerFor(type);
+
+                    Object decoded = serializer.deserialize(serializer.serialize(value));
+
+                    assertInstanceOf(type.getRawClass(), decoded, cacheName);
+                    assertEquals(
+                            SAMPLES.valueToTree(value), SAMPLES.valueToTree(decoded), cacheName);
+                });
+    }
+
+    /** A value of the type with every settable property filled, nested beans included. */
+    private static JsonNode sample(JavaType type, int depth) {
+        Class<?> raw = type.getRawClass();
+        if (SCALARS.containsKey(raw)) {
+            return SAMPLES.valueToTree(SCALARS.get(raw));
+        }
+        if (raw.isEnum()) {
+            return SAMPLES.valueToTree(raw.getEnumConstants()[0]);
+        }
+        if (type.isCollectionLikeType()) {
+            return SAMPLES.createArrayNode().add(sample(type.getContentType(), depth + 1));
+        }
+        if (type.isMapLikeType()) {
+            return SAMPLES.createObjectNode().set("key", sample(type.getContentType(), depth + 1));
+        }
+        ObjectNode bean = SAMPLES.createObjectNode();
+        if (depth < 4) {
+            for (BeanPropertyDefinition property :
+                    SAMPLES.getDeserializationConfig().introspect(type).findProperties()) {
+                if (property.couldDeserialize()) {
+                    bean.set(property.getName(), sample(property.getPrimaryType(), depth + 1));
+                }
+            }
+        }
+        return bean;
+    }
+
+    private static CacheCodecs codecs(int compressionThreshold) {
+        return new CacheCodecs(new MockEnvironment(), "smile", compressionThreshold);
+    }
+
+    private static DossierResponse dossier() {
+        DossierResponse dossier = new DossierResponse();
+        dossier.setId(42L);
+        dossier.setOrgId("org-1");
+        dossier.setLeadName("Jane Doe");
+        dossier.setLeadPhone("+33612345678");
+        dossier.setStatus(DossierStatus.QUALIFIED);
+        dossier.setCreatedAt(LocalDateTime.of(2026, 10, 19, 9, 30, 15, 123_000_000));
+        return dossier;
+    }
+
+    private static PipelineSummaryResponse pipelineSummary(int stages) {
+        PipelineSummaryResponse summary = new PipelineSummaryResponse();
+        List<PipelineStageMetricsDto> metrics =
+                IntStream.range(0, stages)
+                        .mapToObj(i -> new PipelineStageMetricsDto("STAGE_" + i, (long) i, 12.5))
+                        .toList();
+        summary.setStageMetrics(metrics);
+        summary.setTotalDossiers(1000L);
+        summary.setOverallConversionRate(0.25);
+        return summary;
+    }
+}
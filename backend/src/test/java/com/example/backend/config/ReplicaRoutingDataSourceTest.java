@@ -0,0 +1,219 @@
+package com.example.backend.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.backend.config.ReplicationLagMonitor.Snapshot;
+import com.example.backend.util.ReplicaRoutingContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicationLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTx;
+    private TransactionTemplate readWriteTx;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("routing_primary");
+        replica = h2("routing_replica");
+        meterRegistry = new SimpleMeterRegistry();
+        lagMonitor =
+                new ReplicationLagMonitor(
+                        primary,
+                        replica,
+                        Duration.ofSeconds(5),
+                        Duration.ofSeconds(1),
+                        meterRegistry,
+                        Clock.systemUTC());
+        lagMonitor.refresh();
+
+        DataSource routing =
+                new LazyConnectionDataSourceProxy(
+                        new ReplicaRoutingDataSource(
+                                primary, replica, lagMonitor, true, meterRegistry));
+        jdbcTemplate = new JdbcTemplate(routing);
+        JdbcTransactionManager transactionManager = new JdbcTransactionManager(routing);
+        readWriteTx = new TransactionTemplate(transactionManager);
+        readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.clear();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica_EverythingElseToPrimary() {
+        assertEquals("replica", readOnlyTx.execute(status -> whoAmI()));
+        assertEquals("primary", readWriteTx.execute(status -> whoAmI()));
+        assertEquals("primary", whoAmI());
+
+        assertEquals(1.0, routedCount("replica", "read_only"));
+    }
+
+    @Test
+    void jpaReadOnlyTransactionGoesToReplica_AndWriteCommitPinsLsnReadOnItsOwnConnection() {
+        ReplicationLagMonitor monitor = spy(lagMonitor);
+        doReturn(ReplicaRoutingContext.parseLsn("0/10")).when(monitor).currentLsn(any());
+        LocalContainerEntityManagerFactoryBean factoryBean =
+                new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(
+                new LazyConnectionDataSourceProxy(
+                        new ReplicaRoutingDataSource(
+                                primary, replica, monitor, true, meterRegistry)));
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setManagedTypes(PersistenceManagedTypes.of(List.of(), List.of()));
+        factoryBean.setJpaPropertyMap(
+                Map.of(
+                        AvailableSettings.CONNECTION_HANDLING,
+                        PhysicalConnectionHandlingMode
+                                .DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION));
+        factoryBean.afterPropertiesSet();
+        try {
+            EntityManager entityManager =
+                    SharedEntityManagerCreator.createSharedEntityManager(factoryBean.getObject());
+            JpaTransactionManager transactionManager =
+                    new JpaTransactionManager(factoryBean.getObject());
+            TransactionTemplate jpaReadOnlyTx = new TransactionTemplate(transactionManager);
+            jpaReadOnlyTx.setReadOnly(true);
+            TransactionTemplate jpaReadWriteTx = new TransactionTemplate(transactionManager);
+
+            assertEquals(
+                    "replica",
+                    jpaReadOnlyTx.execute(
+                            status ->
+                                    entityManager
+                                            .createNativeQuery("SELECT name FROM whoami")
+                                            .getSingleResult()));
+
+            List<String> published = new ArrayList<>();
+            ReplicaRoutingContext.bind(0L, published::add);
+            jpaReadWriteTx.executeWithoutResult(
+                    status ->
+                            entityManager
+                                    .createNativeQuery("UPDATE whoami SET name = name")
+                                    .executeUpdate());
+
+            assertEquals(List.of("0/10"), published);
+            verify(monitor, never()).currentPrimaryLsn();
+        } finally {
+            factoryBean.destroy();
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsFallBackToPrimary_WhileReplicaLags() {
+        lagMonitor.update(
+                new Snapshot(true, Duration.ofSeconds(30), 0L, Clock.systemUTC().instant()));
+
+        assertEquals("primary", readOnlyTx.execute(status -> whoAmI()));
+        assertEquals(1.0, routedCount("primary", "replica_unavailable"));
+        assertEquals(0.0, meterRegistry.get("datasource_replica_available").gauge().value());
+        assertEquals(30.0, meterRegistry.get("datasource_replica_lag_seconds").gauge().value());
+    }
+
+    @Test
+    void readOnlyTransactionsWaitForPinnedLsn() {
+        long replayed = ReplicaRoutingContext.parseLsn("0/3000000");
+        lagMonitor.update(new Snapshot(true, Duration.ZERO, replayed, Clock.systemUTC().instant()));
+
+        ReplicaRoutingContext.bind(ReplicaRoutingContext.parseLsn("0/3000100"), null);
+        assertEquals("primary", readOnlyTx.execute(status -> whoAmI()));
+        assertEquals(1.0, routedCount("primary", "read_your_writes"));
+
+        ReplicaRoutingContext.bind(ReplicaRoutingContext.parseLsn("0/2FFFF00"), null);
+        assertEquals("replica", readOnlyTx.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void staleOrFailedCheckMakesReplicaUnusable() throws SQLException {
+        lagMonitor.update(
+                new Snapshot(
+                        true,
+                        Duration.ZERO,
+                        Long.MAX_VALUE,
+                        Clock.systemUTC().instant().minusSeconds(60)));
+        assertFalse(lagMonitor.isReplicaUsable(0L));
+
+        DataSource unreachable = mock(DataSource.class);
+        when(unreachable.getConnection()).thenThrow(new SQLException("connection refused"));
+        ReplicationLagMonitor monitor =
+                new ReplicationLagMonitor(
+                        h2("routing_primary"),
+                        unreachable,
+                        Duration.ofSeconds(5),
+                        Duration.ofSeconds(1),
+                        new SimpleMeterRegistry(),
+                        Clock.systemUTC());
+        monitor.refresh();
+        assertFalse(monitor.getSnapshot().reachable());
+        assertFalse(monitor.isReplicaUsable(0L));
+    }
+
+    @Test
+    void recordWrite_RaisesPinnedLsnAndNotifiesListener() {
+        List<String> published = new ArrayList<>();
+        ReplicaRoutingContext.bind(ReplicaRoutingContext.parseLsn("16/B374D848"), published::add);
+
+        ReplicaRoutingContext.recordWrite(ReplicaRoutingContext.parseLsn("16/B374D800"));
+        ReplicaRoutingContext.recordWrite(ReplicaRoutingContext.parseLsn("17/10"));
+
+        assertEquals(List.of("17/10"), published);
+        assertEquals(0x1700000010L, ReplicaRoutingContext.getRequiredLsn());
+        assertEquals(0L, ReplicaRoutingContext.parseLsn("not-an-lsn"));
+    }
+
+    private String whoAmI() {
+        return jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    private double routedCount(String target, String reason) {
+        return meterRegistry
+                .get("datasource_routing_total")
+                .tag("target", target)
+                .tag("reason", reason)
+                .counter()
+                .count();
+    }
+
+    private static DataSource h2(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        new JdbcTemplate(dataSource)
+                .execute(
+                        "CREATE TABLE IF NOT EXISTS whoami AS SELECT '"
+                                + name.substring("routing_".length())
+                                + "' AS name");
+        return dataSource;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.backend.config;
+
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+
+class WebSocketConfigTest {
+
+    @Test
+    void relayMode_RelaysBrokerDestinationsAndBroadcastsUserRegistry() {
+        MessageBrokerRegistry registry = mock(MessageBrokerRegistry.class);
+        StompBrokerRelayRegistration relay =
+                mock(StompBrokerRelayRegistration.class, RETURNS_SELF);
+        when(registry.enableStompBrokerRelay("/topic", "/queue")).thenReturn(relay);
+
+        new WebSocketConfig(true, "broker", 61613, "user", "secret", "/", 10_000)
+                .configureMessageBroker(registry);
+
+        verify(relay).setRelayHost("broker");
+        verify(relay).setSystemLogin("user");
+        verify(relay).setUserDestinationBroadcast("/topic/unresolved-user-destination");
+        verify(relay).setUserRegistryBroadcast("/topic/simp-user-registry");
+        verify(registry, never()).enableSimpleBroker(any(String[].class));
+    }
+
+    @Test
+    void defaultMode_UsesTheInMemoryBroker() {
+        MessageBrokerRegistry registry = mock(MessageBrokerRegistry.class);
+
+        new WebSocketConfig(false, "broker", 61613, "user", "secret", "/", 10_000)
+                .configureMessageBroker(registry);
+
+        verify(registry).enableSimpleBroker("/topic", "/queue");
+        verify(registry, never()).enableStompBrokerRelay(any(String[].class));
+    }
+}
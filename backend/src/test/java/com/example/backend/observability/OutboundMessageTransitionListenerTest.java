@@ -0,0 +1,222 @@
+package com.example.backend.observability;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.transaction.support.TransactionSynchronization.STATUS_ROLLED_BACK;
+
+import com.example.backend.aspect.LeasedJob;
+import com.example.backend.entity.OutboundAttemptEntity;
+import com.example.backend.entity.OutboundMessageEntity;
+import com.example.backend.entity.enums.MessageChannel;
+import com.example.backend.entity.enums.OutboundAttemptStatus;
+import com.example.backend.entity.enums.OutboundMessageStatus;
+import com.example.backend.repository.OutboundMessageRepository;
+import com.example.backend.repository.WhatsAppRateLimitRepository;
+import com.example.backend.repository.WhatsAppSessionWindowRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class OutboundMessageTransitionListenerTest {
+
+    private OutboundMessageRepository outboundMessageRepository;
+    private SimpleMeterRegistry registry;
+    private OutboundMessageMetricsService metrics;
+    private OutboundMessageTransitionListener listener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        outboundMessageRepository = mock(OutboundMessageRepository.class);
+        when(outboundMessageRepository.countByStatusInGroupByStatusAndChannel(any()))
+                .thenReturn(List.of());
+        registry = new SimpleMeterRegistry();
+        metrics = metrics(registry, 60_000);
+        metrics.reconcileQueues();
+
+        ObjectProvider<OutboundMessageMetricsService> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(metrics);
+        listener = new OutboundMessageTransitionListener(provider);
+    }
+
+    @Test
+    void onWrite_InsertThenSend_MovesDepthAndRecordsSendLatencyOnce() {
+        OutboundMessageEntity message =
+                message(MessageChannel.WHATSAPP, OutboundMessageStatus.QUEUED);
+        listener.onWrite(message);
+        assertEquals(1.0, depth("queued"));
+
+        message.setStatus(OutboundMessageStatus.SENT);
+        message.setSentAt(LocalDateTime.now());
+        message.setAttemptCount(1);
+        listener.onWrite(message);
+        listener.onWrite(message);
+
+        assertEquals(0.0, depth("queued"));
+        assertEquals(1.0, depth("sent"));
+        assertEquals(
+                1.0,
+                registry.get("outbound_message_retry_count")
+                        .tag("channel", "whatsapp")
+                        .gauge()
+                        .value());
+        assertEquals(
+                1,
+                registry.get("outbound_message_send_latency_seconds")
+                        .tag("channel", "whatsapp")
+                        .summary()
+                        .count());
+    }
+
+    @Test
+    void onWrite_SendInTransaction_RecordsLatencyOnlyOnCommit() {
+        OutboundMessageEntity rolledBack =
+                message(MessageChannel.SMS, OutboundMessageStatus.SENDING);
+        rolledBack.markPersistedState();
+        OutboundMessageEntity committed =
+                message(MessageChannel.SMS, OutboundMessageStatus.SENDING);
+        committed.markPersistedState();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            send(rolledBack);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(0, sendLatency("sms").count());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            send(committed);
+            assertEquals(0, sendLatency("sms").count());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(1, sendLatency("sms").count());
+    }
+
+    @Test
+    void reconcileQueues_LeaseHeldForOneDefaultInterval() throws Exception {
+        Method reconcile = OutboundMessageMetricsService.class.getMethod("reconcileQueues");
+        Duration holdAtLeast =
+                Duration.parse(reconcile.getAnnotation(LeasedJob.class).holdAtLeast());
+
+        assertEquals(Duration.ofMillis(60_000), holdAtLeast);
+        assertTrue(
+                reconcile
+                        .getAnnotation(Scheduled.class)
+                        .fixedDelayString()
+                        .endsWith(":60000}"));
+    }
+
+    @Test
+    void onRemove_LoadedMessage_LeavesItsPersistedStatus() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] {OutboundMessageStatus.FAILED, MessageChannel.SMS, 1L, 1L});
+        when(outboundMessageRepository.countByStatusInGroupByStatusAndChannel(any()))
+                .thenReturn(rows);
+        metrics.reconcileQueues();
+        assertEquals(1.0, registry.get("outbound_message_dead_letter_queue_size").gauge().value());
+
+        OutboundMessageEntity message = message(MessageChannel.SMS, OutboundMessageStatus.FAILED);
+        message.setAttemptCount(3);
+        listener.onLoad(message);
+        // Edited in memory but deleted before any flush: the persisted status is what leaves
+        message.setStatus(OutboundMessageStatus.QUEUED);
+        listener.onRemove(message);
+
+        assertEquals(0.0, registry.get("outbound_message_dead_letter_queue_size").gauge().value());
+        assertEquals(0.0, depth("queued"));
+        assertEquals(
+                0.0,
+                registry.get("outbound_message_retry_count").tag("channel", "sms").gauge().value());
+    }
+
+    @Test
+    void onWrite_AttemptSucceeded_RecordsProviderLatencyOnlyOnTheTransition() {
+        OutboundAttemptEntity attempt = new OutboundAttemptEntity();
+        attempt.setOutboundMessage(message(MessageChannel.EMAIL, OutboundMessageStatus.SENDING));
+        attempt.setStatus(OutboundAttemptStatus.SUCCESS);
+        attempt.setCreatedAt(LocalDateTime.now().minusSeconds(2));
+        attempt.setUpdatedAt(LocalDateTime.now());
+
+        listener.onWrite(attempt);
+        listener.onWrite(attempt);
+
+        assertEquals(
+                1,
+                registry.get("outbound_message_delivery_latency_seconds")
+                        .tag("channel", "email")
+                        .summary()
+                        .count());
+    }
+
+    @Test
+    void queueGauges_PublishedOnlyByTheNodeThatReconciles() throws Exception {
+        SimpleMeterRegistry nodeRegistry = new SimpleMeterRegistry();
+        OutboundMessageMetricsService node = metrics(nodeRegistry, 1);
+        assertNull(nodeRegistry.find("outbound_message_queue_depth").gauge());
+
+        node.reconcileQueues();
+        assertNotNull(nodeRegistry.find("outbound_message_queue_depth").gauge());
+
+        // Another node holds the lease now: this one stops reconciling and withdraws
+        Thread.sleep(10);
+        node.withdrawStaleQueueGauges();
+        assertNull(nodeRegistry.find("outbound_message_queue_depth").gauge());
+        assertNull(nodeRegistry.find("outbound_message_total_queued").gauge());
+    }
+
+    private OutboundMessageMetricsService metrics(
+            MeterRegistry meterRegistry, long reconcileIntervalMillis) {
+        return new OutboundMessageMetricsService(
+                outboundMessageRepository,
+                mock(WhatsAppRateLimitRepository.class),
+                mock(WhatsAppSessionWindowRepository.class),
+                meterRegistry,
+                reconcileIntervalMillis,
+                3_600_000);
+    }
+
+    private void send(OutboundMessageEntity message) {
+        message.setStatus(OutboundMessageStatus.SENT);
+        message.setSentAt(LocalDateTime.now());
+        listener.onWrite(message);
+    }
+
+    private DistributionSummary sendLatency(String channel) {
+        return registry.get("outbound_message_send_latency_seconds")
+                .tag("channel", channel)
+                .summary();
+    }
+
+    private double depth(String status) {
+        return registry.get("outbound_message_queue_depth").tag("status", status).gauge().value();
+    }
+
+    private static OutboundMessageEntity message(
+            MessageChannel channel, OutboundMessageStatus status) {
+        OutboundMessageEntity message = new OutboundMessageEntity();
+        message.setChannel(channel);
+        message.setStatus(status);
+        message.setAttemptCount(0);
+        message.setCreatedAt(LocalDateTime.now().minusSeconds(10));
+        return message;
+    }
+}
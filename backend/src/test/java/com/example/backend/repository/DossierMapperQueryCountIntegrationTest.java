@@ -0,0 +1,137 @@
+package com.example.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.backend.dto.DossierMapper;
+import com.example.backend.dto.DossierResponse;
+import com.example.backend.dto.PartiePrenanteMapper;
+import com.example.backend.entity.Annonce;
+import com.example.backend.entity.Dossier;
+import com.example.backend.entity.PartiePrenanteEntity;
+import com.example.backend.entity.enums.AnnonceStatus;
+import com.example.backend.entity.enums.DossierStatus;
+import com.example.backend.entity.enums.PartiePrenanteRole;
+import java.math.BigDecimal;
+import java.util.List;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Verifies that mapping a page of dossiers runs a fixed number of queries, whatever the page size:
+ * parties and annonce titles are loaded in one batch each instead of once per dossier.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({DossierMapper.class, PartiePrenanteMapper.class})
+class DossierMapperQueryCountIntegrationTest {
+
+    @Autowired private DossierRepository dossierRepository;
+
+    @Autowired private DossierMapper dossierMapper;
+
+    @Autowired private TestEntityManager testEntityManager;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void setUp() {
+        dossierRepository.deleteAll();
+
+        for (int i = 0; i < 50; i++) {
+            Annonce annonce = createAnnonce("Annonce " + i);
+            testEntityManager.persist(annonce);
+
+            Dossier dossier = new Dossier();
+            dossier.setOrgId("org1");
+            dossier.setAnnonceId(annonce.getId());
+            dossier.setLeadPhone("+33612345" + String.format("%03d", i));
+            dossier.setLeadName("Lead " + i);
+            dossier.setStatus(DossierStatus.NEW);
+            dossier.addParty(createParty("Buyer " + i, PartiePrenanteRole.BUYER));
+            dossier.addParty(createParty("Seller " + i, PartiePrenanteRole.SELLER));
+            testEntityManager.persist(dossier);
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        Session session = testEntityManager.getEntityManager().unwrap(Session.class);
+        stats = session.getSessionFactory().getStatistics();
+        stats.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void toResponses_runsSameQueryCountForSmallAndLargePages() {
+        long smallPageQueries = mappingQueries(5);
+        testEntityManager.clear();
+        long largePageQueries = mappingQueries(50);
+
+        assertThat(smallPageQueries)
+                .as("One query for the parties and one for the annonce titles")
+                .isEqualTo(2);
+        assertThat(largePageQueries).isEqualTo(smallPageQueries);
+    }
+
+    @Test
+    void toResponses_mapsBatchedPartiesAndAnnonceTitles() {
+        List<Dossier> dossiers =
+                dossierRepository
+                        .findAll(PageRequest.of(0, 3, Sort.by(Sort.Direction.ASC, "id")))
+                        .getContent();
+
+        List<DossierResponse> responses = dossierMapper.toResponses(dossiers);
+
+        assertThat(responses).hasSize(3);
+        assertThat(responses.get(0).getAnnonceTitle()).isEqualTo("Annonce 0");
+        assertThat(responses.get(0).getParties())
+                .extracting("name")
+                .containsExactly("Buyer 0", "Seller 0");
+        assertThat(responses.get(2).getAnnonceTitle()).isEqualTo("Annonce 2");
+        assertThat(responses.get(2).getParties())
+                .extracting("name")
+                .containsExactly("Buyer 2", "Seller 2");
+    }
+
+    private long mappingQueries(int pageSize) {
+        List<Dossier> dossiers =
+                dossierRepository
+                        .findAll(PageRequest.of(0, pageSize, Sort.by(Sort.Direction.ASC, "id")))
+                        .getContent();
+        stats.clear();
+
+        List<DossierResponse> responses = dossierMapper.toResponses(dossiers);
+
+        assertThat(responses).hasSize(pageSize);
+        assertThat(responses).allSatisfy(response -> assertThat(response.getParties()).hasSize(2));
+        return stats.getPrepareStatementCount();
+    }
+
+    private Annonce createAnnonce(String title) {
+        Annonce annonce = new Annonce();
+        annonce.setOrgId("org1");
+        annonce.setTitle(title);
+        annonce.setDescription("Test description");
+        annonce.setCategory("Test category");
+        annonce.setCity("Test city");
+        annonce.setPrice(BigDecimal.valueOf(100.00));
+        annonce.setCurrency("EUR");
+        annonce.setStatus(AnnonceStatus.ACTIVE);
+        return annonce;
+    }
+
+    private PartiePrenanteEntity createParty(String name, PartiePrenanteRole role) {
+        PartiePrenanteEntity party = new PartiePrenanteEntity();
+        party.setOrgId("org1");
+        party.setName(name);
+        party.setRole(role);
+        return party;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.backend.entity.ReferentialEntity;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs the cacheable referential lookups with the query cache on, each call in its own
+ * transaction, so the second tenant's lookup is answered after the first tenant's result has been
+ * cached.
+ */
+@DataJpaTest(
+        properties = {
+            "spring.jpa.properties.hibernate.generate_statistics=true",
+            "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+            "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+            "spring.jpa.properties.hibernate.cache.region.factory_class="
+                    + "org.hibernate.cache.jcache.JCacheRegionFactory",
+            "spring.jpa.properties.hibernate.javax.cache.provider="
+                    + "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+            "spring.jpa.properties.hibernate.javax.cache.uri=classpath:hibernate-l2-cache.conf",
+            "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create-warn",
+            "spring.jpa.properties.jakarta.persistence.sharedCache.mode=ENABLE_SELECTIVE"
+        })
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferentialRepositoryQueryCacheTest {
+
+    private static final String CATEGORY = "QUERY_CACHE_TEST";
+
+    @Autowired private ReferentialRepository referentialRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private List<ReferentialEntity> saved;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        saved =
+                referentialRepository.saveAll(
+                        List.of(referential("org-a", "A_ONLY"), referential("org-b", "B_ONLY")));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        referentialRepository.deleteAll(saved);
+    }
+
+    @Test
+    void activeByCategory_CachedResultOfOneTenantIsNotServedToAnother() {
+        assertThat(activeCodes("org-a")).containsExactly("A_ONLY");
+        assertThat(activeCodes("org-a")).containsExactly("A_ONLY");
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        assertThat(activeCodes("org-b")).containsExactly("B_ONLY");
+    }
+
+    @Test
+    void byCategoryAndCode_CachedResultOfOneTenantIsNotServedToAnother() {
+        assertThat(
+                        referentialRepository.findByOrgIdAndCategoryAndCode(
+                                "org-a", CATEGORY, "A_ONLY"))
+                .isPresent();
+        assertThat(
+                        referentialRepository.findByOrgIdAndCategoryAndCode(
+                                "org-a", CATEGORY, "A_ONLY"))
+                .isPresent();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        assertThat(
+                        referentialRepository.findByOrgIdAndCategoryAndCode(
+                                "org-b", CATEGORY, "A_ONLY"))
+                .isEmpty();
+    }
+
+    private List<String> activeCodes(String orgId) {
+        return referentialRepository
+                .findByOrgIdAndCategoryAndIsActiveTrueOrderByDisplayOrderAsc(orgId, CATEGORY)
+                .stream()
+                .map(ReferentialEntity::getCode)
+                .toList();
+    }
+
+    private static ReferentialEntity referential(String orgId, String code) {
+        ReferentialEntity referential = new ReferentialEntity();
+        referential.setOrgId(orgId);
+        referential.setCategory(CATEGORY);
+        referential.setCode(code);
+        referential.setLabel(code);
+        referential.setDisplayOrder(1);
+        return referential;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.backend.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.backend.entity.WhatsAppTemplate;
+import com.example.backend.entity.enums.TemplateCategory;
+import com.example.backend.entity.enums.TemplateStatus;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs the cacheable template lookup with the query cache on, each call in its own transaction,
+ * with two tenants owning a template of the same name and language.
+ */
+@DataJpaTest(
+        properties = {
+            "spring.jpa.properties.hibernate.generate_statistics=true",
+            "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+            "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+            "spring.jpa.properties.hibernate.cache.region.factory_class="
+                    + "org.hibernate.cache.jcache.JCacheRegionFactory",
+            "spring.jpa.properties.hibernate.javax.cache.provider="
+                    + "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+            "spring.jpa.properties.hibernate.javax.cache.uri=classpath:hibernate-l2-cache.conf",
+            "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create-warn",
+            "spring.jpa.properties.jakarta.persistence.sharedCache.mode=ENABLE_SELECTIVE"
+        })
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WhatsAppTemplateRepositoryQueryCacheTest {
+
+    private static final String NAME = "query_cache_test_welcome";
+
+    @Autowired private WhatsAppTemplateRepository templateRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private List<WhatsAppTemplate> saved;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        saved =
+                templateRepository.saveAll(
+                        List.of(template("org-a", "Bonjour A"), template("org-b", "Bonjour B")));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        templateRepository.deleteAll(saved);
+    }
+
+    @Test
+    void byNameAndLanguage_CachedTemplateOfOneTenantIsNotServedToAnother() {
+        assertThat(description("org-a")).isEqualTo("Bonjour A");
+        assertThat(description("org-a")).isEqualTo("Bonjour A");
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+        assertThat(description("org-b")).isEqualTo("Bonjour B");
+        assertThat(templateRepository.findByOrgIdAndNameAndLanguage("org-c", NAME, "fr"))
+                .isEmpty();
+    }
+
+    private String description(String orgId) {
+        return templateRepository
+                .findByOrgIdAndNameAndLanguage(orgId, NAME, "fr")
+                .map(WhatsAppTemplate::getDescription)
+                .orElseThrow();
+    }
+
+    private static WhatsAppTemplate template(String orgId, String description) {
+        WhatsAppTemplate template = new WhatsAppTemplate();
+        template.setOrgId(orgId);
+        template.setName(NAME);
+        template.setLanguage("fr");
+        template.setCategory(TemplateCategory.UTILITY);
+        template.setStatus(TemplateStatus.values()[0]);
+        template.setDescription(description);
+        return template;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.backend.entity.AppointmentEntity;
+import com.example.backend.entity.enums.AppointmentStatus;
+import com.example.backend.service.AppointmentReminderQueue.ClaimResult;
+import com.example.backend.service.AppointmentReminderQueue.ReminderKind;
+import com.example.backend.service.AppointmentReminderQueue.WorkItem;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+class AppointmentReminderQueueTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private AppointmentReminderQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        SchedulerLeaseService leaseService = mock(SchedulerLeaseService.class);
+        when(leaseService.getNodeId()).thenReturn("node-1");
+        queue =
+                new AppointmentReminderQueue(
+                        jdbcTemplate,
+                        leaseService,
+                        24,
+                        2,
+                        Duration.ofMinutes(5),
+                        Duration.ofMinutes(30),
+                        3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void claim_SkipsOtherNodesOrgsAndCountsLostRaces() {
+        LocalDateTime now = LocalDateTime.now();
+        when(jdbcTemplate.query(
+                        contains("SELECT id, org_id"), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(
+                        List.of(
+                                item(1, "org-a", now),
+                                item(2, "org-b", now),
+                                item(3, "org-a", now)));
+        when(jdbcTemplate.batchUpdate(contains("SET status = 'CLAIMED'"), anyList()))
+                .thenReturn(new int[] {1, 0});
+
+        ClaimResult result =
+                queue.claim(
+                        ReminderKind.STANDARD, now, now.plusMinutes(15), 10, "org-a"::equals);
+
+        ArgumentCaptor<List<Object[]>> claims = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("SET status = 'CLAIMED'"), claims.capture());
+        assertEquals(List.of(1L, 3L), claims.getValue().stream().map(row -> row[3]).toList());
+        assertEquals(List.of(1L), result.items().stream().map(WorkItem::id).toList());
+        assertEquals(1, result.conflicts());
+    }
+
+    @Test
+    void schedule_CancelledAppointment_CancelsOpenItems() {
+        AppointmentEntity appointment = new AppointmentEntity();
+        appointment.setId(42L);
+        appointment.setStatus(AppointmentStatus.CANCELLED);
+        appointment.setStartTime(LocalDateTime.now().plusDays(1));
+
+        queue.schedule(appointment);
+
+        verify(jdbcTemplate).update(contains("SET status = 'CANCELLED'"), any(), eq(42L));
+        verify(jdbcTemplate, never()).update(contains("INSERT"), any(Object[].class));
+    }
+
+    @Test
+    void schedule_NewAppointment_InsertsOneItemPerKindDueAtItsOffset() {
+        LocalDateTime start = LocalDateTime.of(2030, 5, 10, 14, 30, 15, 123_456_789);
+        AppointmentEntity appointment = new AppointmentEntity();
+        appointment.setId(7L);
+        appointment.setStatus(AppointmentStatus.SCHEDULED);
+        appointment.setStartTime(start);
+
+        queue.schedule(appointment);
+
+        ArgumentCaptor<Object[]> inserts = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(2)).update(contains("INSERT"), inserts.capture());
+        Object[] standard = inserts.getAllValues().get(0);
+        Object[] aggressive = inserts.getAllValues().get(1);
+        assertEquals("STANDARD", standard[0]);
+        assertEquals(Timestamp.valueOf(LocalDateTime.of(2030, 5, 9, 14, 30, 15)), standard[3]);
+        assertEquals("AGGRESSIVE", aggressive[0]);
+        assertEquals(Timestamp.valueOf(LocalDateTime.of(2030, 5, 10, 12, 30, 15)), aggressive[3]);
+    }
+
+    private static WorkItem item(long id, String orgId, LocalDateTime now) {
+        return new WorkItem(id, orgId, id * 10, ReminderKind.STANDARD, now.plusDays(1), now);
+    }
+}
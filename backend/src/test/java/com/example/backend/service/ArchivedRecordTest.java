@@ -0,0 +1,135 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.backend.entity.ActivityEntity;
+import com.example.backend.entity.AuditEventEntity;
+import com.example.backend.entity.BaseEntity;
+import com.example.backend.entity.Dossier;
+import com.example.backend.entity.MessageEntity;
+import com.example.backend.entity.enums.ActivityType;
+import com.example.backend.entity.enums.ActivityVisibility;
+import com.example.backend.entity.enums.AuditAction;
+import com.example.backend.entity.enums.AuditEntityType;
+import com.example.backend.entity.enums.MessageChannel;
+import com.example.backend.entity.enums.MessageDirection;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.Column;
+import jakarta.persistence.JoinColumn;
+import java.lang.reflect.Field;
+import java.lang.reflect.RecordComponent;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Archiving deletes the hot row, so every mapped column of the entity must survive the trip
+ * through a segment file.
+ */
+class ArchivedRecordTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 3, 4, 10, 15, 30);
+
+    private final ObjectMapper objectMapper =
+            new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void message_RoundTripKeepsEveryColumn() throws Exception {
+        MessageEntity message = new MessageEntity();
+        message.setId(11L);
+        message.setDossier(dossier());
+        message.setDirection(MessageDirection.values()[0]);
+        message.setChannel(MessageChannel.values()[0]);
+        message.setContent("Bonjour");
+        message.setTimestamp(CREATED_AT.minusMinutes(1));
+        message.setProviderMessageId("wamid.1");
+        message.setFromAddress("+33600000001");
+        message.setToAddress("+33600000002");
+        message.setSubject("Visite");
+        message.setHtmlContent("<p>Bonjour</p>");
+        message.setTextContent("Bonjour");
+        message.setAttachmentsJson(Map.of("file", "plan.pdf"));
+        audit(message);
+
+        assertRoundTrip(message, ArchivedRecord.Message.of(message));
+    }
+
+    @Test
+    void activity_RoundTripKeepsEveryColumn() throws Exception {
+        ActivityEntity activity = new ActivityEntity();
+        activity.setId(12L);
+        activity.setDossier(dossier());
+        activity.setType(ActivityType.values()[0]);
+        activity.setContent("Appel");
+        activity.setVisibility(ActivityVisibility.values()[0]);
+        activity.setMetadata(Map.of("duration", "PT5M"));
+        audit(activity);
+
+        assertRoundTrip(activity, ArchivedRecord.Activity.of(activity));
+    }
+
+    @Test
+    void auditEvent_RoundTripKeepsEveryColumn() throws Exception {
+        AuditEventEntity event = new AuditEventEntity();
+        event.setId(13L);
+        event.setEntityType(AuditEntityType.values()[0]);
+        event.setEntityId(42L);
+        event.setAction(AuditAction.values()[0]);
+        event.setUserId("user-1");
+        event.setDiff(Map.of("status", "WON"));
+        audit(event);
+
+        assertRoundTrip(event, ArchivedRecord.AuditEvent.of(event));
+    }
+
+    private void assertRoundTrip(Object entity, ArchivedRecord record) throws Exception {
+        byte[] line = objectMapper.writeValueAsBytes(record);
+        ArchivedRecord decoded = objectMapper.readValue(line, record.getClass());
+
+        Map<String, Object> columns = columns(entity);
+        assertFalse(columns.containsValue(null), "fixture must set every column: " + columns);
+        assertEquals(columns, components((Record) decoded));
+    }
+
+    private static Dossier dossier() {
+        Dossier dossier = new Dossier();
+        dossier.setId(7L);
+        return dossier;
+    }
+
+    private static void audit(BaseEntity entity) {
+        entity.setOrgId("org-1");
+        entity.setCreatedAt(CREATED_AT);
+        entity.setUpdatedAt(CREATED_AT.plusHours(1));
+        entity.setCreatedBy("creator");
+        entity.setUpdatedBy("editor");
+    }
+
+    /** Mapped columns by attribute name; a join column is keyed by attribute name plus "Id". */
+    private static Map<String, Object> columns(Object entity) throws Exception {
+        Map<String, Object> columns = new HashMap<>();
+        for (Class<?> type = entity.getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                field.setAccessible(true);
+                Object value = field.get(entity);
+                if (field.isAnnotationPresent(Column.class)) {
+                    // A subclass field shadowing an inherited column wins
+                    columns.putIfAbsent(field.getName(), value);
+                } else if (field.isAnnotationPresent(JoinColumn.class)) {
+                    columns.putIfAbsent(field.getName() + "Id", ((Dossier) value).getId());
+                }
+            }
+        }
+        return columns;
+    }
+
+    private static Map<String, Object> components(Record record) throws Exception {
+        Map<String, Object> components = new HashMap<>();
+        for (RecordComponent component : record.getClass().getRecordComponents()) {
+            components.put(component.getName(), component.getAccessor().invoke(record));
+        }
+        return components;
+    }
+}
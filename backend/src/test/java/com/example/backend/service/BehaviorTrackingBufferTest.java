@@ -0,0 +1,122 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.backend.repository.UserBehaviorPatternRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class BehaviorTrackingBufferTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry meterRegistry;
+    private BehaviorTrackingBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        meterRegistry = new SimpleMeterRegistry();
+        buffer =
+                new BehaviorTrackingBuffer(
+                        jdbcTemplate,
+                        transactionManager,
+                        mock(UserBehaviorPatternRepository.class),
+                        meterRegistry,
+                        2,
+                        10,
+                        100,
+                        Duration.ofMinutes(30));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_FoldsRepeatedActionsIntoOneUpdateAndInsertsNewPatterns() {
+        buffer.record("org1", "u1", "CALL", "DOSSIER", 7L);
+        buffer.record("org1", "u1", "CALL", "DOSSIER", 7L);
+        buffer.record("org1", "u1", "CALL", "DOSSIER", 7L);
+        buffer.record("org1", "u1", "EMAIL", null, null);
+        when(jdbcTemplate.batchUpdate(contains("UPDATE"), anyList())).thenReturn(new int[] {1, 0});
+
+        buffer.flush();
+
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("UPDATE"), updates.capture());
+        assertEquals(2, updates.getValue().size());
+        int callDeltas =
+                updates.getValue().stream()
+                        .filter(row -> "CALL".equals(row[5]))
+                        .mapToInt(row -> (Integer) row[0])
+                        .sum();
+        assertEquals(3, callDeltas);
+
+        ArgumentCaptor<List<Object[]>> inserts = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT"), inserts.capture());
+        assertEquals(1, inserts.getValue().size());
+        assertEquals(0, buffer.pendingSize());
+    }
+
+    @Test
+    void record_BufferFull_DropsNewPatternsButKeepsCountingKnownOnes() {
+        assertTrue(buffer.record("org1", "u1", "A", null, null));
+        assertTrue(buffer.record("org1", "u1", "B", null, null));
+
+        assertFalse(buffer.record("org1", "u1", "C", null, null));
+        assertTrue(buffer.record("org1", "u1", "A", null, null));
+
+        assertEquals(1.0, meterRegistry.counter("behavior_events_dropped_total").count());
+        assertEquals(2, buffer.pendingSize());
+    }
+
+    @Test
+    void flush_WriteFails_RequeuesDeltas() {
+        buffer.record("org1", "u1", "A", null, null);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new org.springframework.dao.QueryTimeoutException("timeout"));
+
+        buffer.flush();
+
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+        assertEquals(1, buffer.pendingSize());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_RowViolatesConstraint_DropsThatRowAndWritesTheOthers() {
+        buffer.record("org1", "u1", "A", null, null);
+        buffer.record("org1", "u1", "B".repeat(101), null, null);
+        when(jdbcTemplate.batchUpdate(contains("UPDATE"), anyList()))
+                .thenAnswer(
+                        invocation -> {
+                            List<Object[]> rows = invocation.getArgument(1);
+                            for (Object[] row : rows) {
+                                if (((String) row[5]).length() > 100) {
+                                    throw new DataIntegrityViolationException("value too long");
+                                }
+                            }
+                            return new int[rows.size()];
+                        });
+
+        buffer.flush();
+
+        ArgumentCaptor<List<Object[]>> inserts = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT"), inserts.capture());
+        assertEquals("A", inserts.getValue().get(0)[2]);
+        assertEquals(1.0, meterRegistry.counter("behavior_rows_failed_total").count());
+        assertEquals(0, buffer.pendingSize());
+
+        buffer.flush();
+        verify(jdbcTemplate, times(1)).batchUpdate(contains("INSERT"), anyList());
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.backend.dto.MessageResponse;
+import com.example.backend.entity.Dossier;
+import com.example.backend.entity.MessageEntity;
+import com.example.backend.entity.OrganizationSettings;
+import com.example.backend.entity.enums.MessageChannel;
+import com.example.backend.entity.enums.MessageDirection;
+import com.example.backend.repository.ActivityRepository;
+import com.example.backend.repository.AuditEventRepository;
+import com.example.backend.repository.DossierRepository;
+import com.example.backend.repository.MessageRepository;
+import com.example.backend.repository.OrganizationSettingsRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+class ColdArchiveServiceTest {
+
+    private static final String ORG_ID = "org-1";
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 19, 3, 0);
+
+    private MessageRepository messageRepository;
+    private OrganizationSettingsRepository organizationSettingsRepository;
+    private JdbcTemplate jdbcTemplate;
+    private ColdArchiveReader reader;
+    private ColdArchiveReader otherNodeReader;
+    private ColdArchiveService service;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(
+                "jdbc:h2:mem:cold_archive_"
+                        + UUID.randomUUID()
+                        + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE");
+        dataSource.setUser("sa");
+        new ResourceDatabasePopulator(
+                        new ClassPathResource("db/migration/V156__Create_archive_segment.sql"))
+                .execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        messageRepository = mock(MessageRepository.class);
+        organizationSettingsRepository = mock(OrganizationSettingsRepository.class);
+        DossierRepository dossierRepository = mock(DossierRepository.class);
+        when(dossierRepository.findDistinctOrgIds()).thenReturn(List.of(ORG_ID));
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        FileStorageStrategy storage = inMemoryStorage();
+
+        reader =
+                new ColdArchiveReader(
+                        jdbcTemplate,
+                        storage,
+                        objectMapper,
+                        1000,
+                        Duration.ofMinutes(10),
+                        Duration.ofMinutes(1));
+        otherNodeReader =
+                new ColdArchiveReader(
+                        jdbcTemplate,
+                        storage,
+                        objectMapper,
+                        1000,
+                        Duration.ofMinutes(10),
+                        Duration.ofMinutes(1));
+        service =
+                new ColdArchiveService(
+                        messageRepository,
+                        mock(ActivityRepository.class),
+                        mock(AuditEventRepository.class),
+                        dossierRepository,
+                        organizationSettingsRepository,
+                        jdbcTemplate,
+                        storage,
+                        reader,
+                        objectMapper,
+                        new SimpleMeterRegistry(),
+                        transactionManager(dataSource),
+                        true,
+                        24,
+                        500,
+                        "archive/cold");
+    }
+
+    @Test
+    void archiveExpired_MovesOldMessagesToIndexedSegmentReadBackByTimeline() {
+        when(messageRepository.findArchivable(
+                        eq(ORG_ID), eq(NOW.minusMonths(24)), eq(0L), any(Pageable.class)))
+                .thenReturn(
+                        List.of(
+                                message(1L, MessageChannel.EMAIL, NOW.minusMonths(30)),
+                                message(2L, MessageChannel.SMS, NOW.minusMonths(28))));
+
+        service.archiveExpired(NOW);
+
+        verify(messageRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        Map<String, Object> segment =
+                jdbcTemplate.queryForMap("SELECT * FROM archive_segment WHERE org_id = ?", ORG_ID);
+        assertEquals("MESSAGE", segment.get("record_type"));
+        assertEquals(7L, ((Number) segment.get("dossier_id")).longValue());
+        assertEquals(2, ((Number) segment.get("record_count")).intValue());
+        assertEquals("archive/cold/org-1/message/7/1-2.ndjson.gz", segment.get("storage_path"));
+
+        List<MessageResponse> all = reader.messages(ORG_ID, 7L, null, null, null, null);
+        assertEquals(List.of(1L, 2L), all.stream().map(MessageResponse::getId).toList());
+        assertEquals(NOW.minusMonths(30), all.get(0).getTimestamp());
+        assertEquals(ORG_ID, all.get(0).getOrgId());
+
+        List<MessageResponse> sms =
+                reader.messages(ORG_ID, 7L, MessageChannel.SMS, null, null, null);
+        assertEquals(List.of(2L), sms.stream().map(MessageResponse::getId).toList());
+        assertTrue(
+                reader.messages(ORG_ID, 7L, null, null, NOW.minusMonths(12), null).isEmpty());
+        assertTrue(reader.messages(ORG_ID, 8L, null, null, null, null).isEmpty());
+    }
+
+    @Test
+    void archiveExpired_OtherNodeThatFoundNothingArchivedSeesNewSegments() {
+        assertTrue(otherNodeReader.messages(ORG_ID, 7L, null, null, null, null).isEmpty());
+        when(messageRepository.findArchivable(
+                        eq(ORG_ID), eq(NOW.minusMonths(24)), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(message(1L, MessageChannel.EMAIL, NOW.minusMonths(30))));
+
+        service.archiveExpired(NOW);
+
+        List<MessageResponse> archived =
+                otherNodeReader.messages(ORG_ID, 7L, null, null, null, null);
+        assertEquals(List.of(1L), archived.stream().map(MessageResponse::getId).toList());
+    }
+
+    @Test
+    void archiveExpired_HonoursOrganizationHorizonAndZeroDisables() {
+        OrganizationSettings settings = new OrganizationSettings();
+        settings.setSettings(Map.of("archive", Map.of("horizonMonths", 0)));
+        when(organizationSettingsRepository.findByOrgId(ORG_ID)).thenReturn(Optional.of(settings));
+
+        service.archiveExpired(NOW);
+
+        verifyNoInteractions(messageRepository);
+        assertEquals(
+                0L,
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM archive_segment", Long.class));
+
+        settings.setSettings(Map.of("archive", Map.of("horizonMonths", 6)));
+        assertEquals(6, service.horizonMonths(ORG_ID));
+    }
+
+    @Test
+    void concat_NewestFirst_FillsPagesWithArchivedAfterHot() {
+        List<Integer> hot = List.of(10, 9, 8);
+        List<Integer> archivedOldestFirst = List.of(1, 2, 3, 4);
+
+        Page<Integer> first =
+                ColdArchiveReader.concat(
+                        PageRequest.of(0, 2), archivedOldestFirst, true, pageOf(hot));
+        Page<Integer> second =
+                ColdArchiveReader.concat(
+                        PageRequest.of(1, 2), archivedOldestFirst, true, pageOf(hot));
+        Page<Integer> third =
+                ColdArchiveReader.concat(
+                        PageRequest.of(2, 2), archivedOldestFirst, true, pageOf(hot));
+
+        assertEquals(List.of(10, 9), first.getContent());
+        assertEquals(List.of(8, 4), second.getContent());
+        assertEquals(List.of(3, 2), third.getContent());
+        assertEquals(7, third.getTotalElements());
+    }
+
+    @Test
+    void concat_OldestFirst_PutsArchivedBeforeHot() {
+        List<Integer> hot = List.of(8, 9, 10);
+        List<Integer> archivedOldestFirst = List.of(1, 2, 3);
+        Pageable ascending = PageRequest.of(1, 2, Sort.by(Sort.Direction.ASC, "timestamp"));
+
+        Page<Integer> page =
+                ColdArchiveReader.concat(ascending, archivedOldestFirst, false, pageOf(hot));
+
+        assertEquals(List.of(3, 8), page.getContent());
+        assertEquals(6, page.getTotalElements());
+        assertFalse(ColdArchiveReader.newestFirst(ascending));
+        assertTrue(ColdArchiveReader.newestFirst(PageRequest.of(0, 20)));
+    }
+
+    private static Function<Pageable, Page<Integer>> pageOf(List<Integer> rows) {
+        return pageable -> {
+            int from = (int) Math.min(pageable.getOffset(), rows.size());
+            int to = Math.min(from + pageable.getPageSize(), rows.size());
+            return new PageImpl<>(rows.subList(from, to), pageable, rows.size());
+        };
+    }
+
+    private static MessageEntity message(Long id, MessageChannel channel, LocalDateTime at) {
+        Dossier dossier = new Dossier();
+        dossier.setId(7L);
+        MessageEntity message = new MessageEntity();
+        message.setId(id);
+        message.setOrgId(ORG_ID);
+        message.setDossier(dossier);
+        message.setChannel(channel);
+        message.setDirection(MessageDirection.INBOUND);
+        message.setContent("message " + id);
+        message.setTimestamp(at);
+        message.setCreatedAt(at);
+        message.setUpdatedAt(at);
+        return message;
+    }
+
+    private static JdbcTransactionManager transactionManager(DataSource dataSource) {
+        return new JdbcTransactionManager(dataSource);
+    }
+
+    private static FileStorageStrategy inMemoryStorage() {
+        Map<String, byte[]> objects = new HashMap<>();
+        FileStorageStrategy storage = mock(FileStorageStrategy.class);
+        when(storage.storeAt(anyString(), any(InputStream.class), anyLong(), anyString()))
+                .thenAnswer(
+                        invocation -> {
+                            String path = invocation.getArgument(0);
+                            objects.put(
+                                    path, ((InputStream) invocation.getArgument(1)).readAllBytes());
+                            return path;
+                        });
+        when(storage.retrieve(anyString()))
+                .thenAnswer(
+                        invocation ->
+                                new ByteArrayInputStream(objects.get(invocation.getArgument(0))));
+        return storage;
+    }
+}
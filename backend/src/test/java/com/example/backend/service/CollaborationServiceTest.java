@@ -0,0 +1,137 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.backend.dto.CollaborationCursorDto;
+import com.example.backend.dto.CollaborationPresenceDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+class CollaborationServiceTest {
+
+    private SimpMessagingTemplate messagingTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private CollaborationStateStore stateStore;
+    private CollaborationService service;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        stateStore = new CollaborationStateStore(null, Duration.ofSeconds(30));
+        service = new CollaborationService(messagingTemplate, stateStore, meterRegistry, 100);
+    }
+
+    @Test
+    void broadcastEdit_ConcurrentEdits_GetDistinctSequentialVersions() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 200; i++) {
+            pool.submit(() -> service.broadcastEdit(1L, "u1", "User", "title", "new", "old"));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(200, service.getCurrentVersion(1L));
+        assertEquals(0, service.getCurrentVersion(2L));
+    }
+
+    @Test
+    void offerCursor_WithinInterval_CoalescesToLatestAndFlushesWhenDue() {
+        service.offerCursor(cursor(1), 1_000);
+        service.offerCursor(cursor(2), 1_020);
+        service.offerCursor(cursor(3), 1_050);
+
+        service.flushCoalescedCursors(1_060);
+        service.flushCoalescedCursors(1_100);
+
+        ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(2))
+                .convertAndSend(eq("/topic/dossier/7/cursor"), sent.capture());
+        List<Integer> positions =
+                sent.getAllValues().stream()
+                        .map(c -> ((CollaborationCursorDto) c).getCursorPosition())
+                        .toList();
+        assertEquals(List.of(1, 3), positions);
+        assertEquals(
+                1.0, meterRegistry.counter("collaboration_cursor_events_coalesced_total").count());
+    }
+
+    @Test
+    void sweepExpiredViewers_HeartbeatKeepsViewerAndLapsedOneLeaves() {
+        long now = System.currentTimeMillis();
+        service.handleUserJoined(5L, "alice", "Alice");
+        service.handleUserJoined(5L, "bob", "Bob");
+        stateStore.touch(5L, "alice", now + 60_000);
+
+        service.sweepExpiredViewers(now + 45_000);
+
+        assertEquals(Set.of("alice"), stateStore.viewers(5L, now + 45_000));
+        ArgumentCaptor<Object> presence = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(3))
+                .convertAndSend(eq("/topic/dossier/5/presence"), presence.capture());
+        CollaborationPresenceDto left = (CollaborationPresenceDto) presence.getValue();
+        assertEquals("bob", left.getUserId());
+        assertEquals("left", left.getAction());
+    }
+
+    @Test
+    void sweepExpiredViewers_RelayMode_AnotherNodeAnnouncesViewersOfADeadNode() {
+        long now = System.currentTimeMillis();
+        SimpMessagingTemplate nodeBMessaging = mock(SimpMessagingTemplate.class);
+        CollaborationService nodeB =
+                new CollaborationService(nodeBMessaging, stateStore, meterRegistry, 100);
+
+        // Alice joins through this node, which then dies without sweeping
+        service.handleUserJoined(5L, "alice", "Alice");
+        nodeB.sweepExpiredViewers(now + 45_000);
+
+        assertEquals(Set.of(), stateStore.viewers(5L, now + 45_000));
+        ArgumentCaptor<Object> presence = ArgumentCaptor.forClass(Object.class);
+        verify(nodeBMessaging).convertAndSend(eq("/topic/dossier/5/presence"), presence.capture());
+        CollaborationPresenceDto left = (CollaborationPresenceDto) presence.getValue();
+        assertEquals("alice", left.getUserId());
+        assertEquals("left", left.getAction());
+        verify(nodeBMessaging).convertAndSend("/topic/dossier/5/viewers", (Object) Set.of());
+    }
+
+    @Test
+    void broadcastCursor_UsesTheColorCachedAtJoin() {
+        CollaborationStateStore store = spy(stateStore);
+        CollaborationService node =
+                new CollaborationService(messagingTemplate, store, meterRegistry, 0);
+        node.handleUserJoined(7L, "u1", "User");
+
+        node.broadcastCursor(7L, "u1", "User", "title", 1);
+        node.broadcastCursor(7L, "u1", "User", "title", 2);
+
+        verify(store, times(1)).color("u1");
+        ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(2))
+                .convertAndSend(eq("/topic/dossier/7/cursor"), sent.capture());
+        assertEquals(store.color("u1"), ((CollaborationCursorDto) sent.getValue()).getColor());
+    }
+
+    @Test
+    void getUserColor_AssignsOneStableColorPerUser() {
+        String alice = service.getUserColor("alice");
+        String bob = service.getUserColor("bob");
+
+        assertEquals(alice, service.getUserColor("alice"));
+        assertNotEquals(alice, bob);
+    }
+
+    private static CollaborationCursorDto cursor(int position) {
+        return new CollaborationCursorDto("u1", "User", 7L, "title", position, "#FF5733");
+    }
+}
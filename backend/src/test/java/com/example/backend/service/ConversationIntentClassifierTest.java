@@ -0,0 +1,129 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.backend.entity.OrganizationSettings;
+import com.example.backend.repository.OrganizationSettingsRepository;
+import com.example.backend.service.ConversationIntentClassifier.Classification;
+import com.example.backend.service.ConversationIntentClassifier.ConversationIntent;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConversationIntentClassifierTest {
+
+    private static final String[] ALL_LOCALES = {"fr", "en", "es", "ar"};
+
+    private OrganizationSettingsRepository organizationSettingsRepository;
+    private ConversationIntentClassifier classifier;
+
+    @BeforeEach
+    void setUp() {
+        organizationSettingsRepository = mock(OrganizationSettingsRepository.class);
+        when(organizationSettingsRepository.findByOrgId(anyString())).thenReturn(Optional.empty());
+        classifier =
+                new ConversationIntentClassifier(
+                        organizationSettingsRepository, ALL_LOCALES, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void classify_CorpusAccuracyInEveryLocale() throws IOException {
+        List<String[]> corpus = readCorpus();
+        List<String> failures = new ArrayList<>();
+        for (String[] sample : corpus) {
+            ConversationIntent actual = classifier.classifyIntent(sample[2], "org-1");
+            if (actual != ConversationIntent.valueOf(sample[1])) {
+                failures.add(sample[0] + " '" + sample[2] + "': " + actual);
+            }
+        }
+
+        for (String locale : ALL_LOCALES) {
+            assertTrue(
+                    corpus.stream().filter(s -> s[0].equals(locale)).count() >= 10,
+                    "corpus too small for " + locale);
+        }
+        double accuracy = 1.0 - (double) failures.size() / corpus.size();
+        assertTrue(accuracy >= 0.9, "accuracy " + accuracy + ", misclassified: " + failures);
+    }
+
+    @Test
+    void classify_MatchesOnWordBoundariesOnly() {
+        assertEquals(ConversationIntent.UNKNOWN, classifier.classifyIntent("nonobstant", "org-1"));
+        assertEquals(ConversationIntent.UNKNOWN, classifier.classifyIntent("nothing", "org-1"));
+        assertEquals(ConversationIntent.UNKNOWN, classifier.classifyIntent("Bookable?", "org-1"));
+        assertEquals(ConversationIntent.CANCEL, classifier.classifyIntent("non.", "org-1"));
+    }
+
+    @Test
+    void classify_IgnoresCaseAccentsAndTypographicApostrophes() {
+        assertEquals(ConversationIntent.RESCHEDULE, classifier.classifyIntent("DECALER", null));
+        assertEquals(ConversationIntent.CONFIRM, classifier.classifyIntent("d’accord", null));
+        assertEquals(ConversationIntent.CONFIRM, classifier.classifyIntent("  CONFIRMÉ ", null));
+    }
+
+    @Test
+    void classify_LongestMatchAndWeightsResolveConflicts() {
+        assertEquals(ConversationIntent.CANCEL, classifier.classifyIntent("pas d'accord", null));
+
+        Classification mixed = classifier.classify("Oui mais je voudrais reporter", null);
+        assertEquals(ConversationIntent.RESCHEDULE, mixed.intent());
+        assertEquals(
+                Map.of(ConversationIntent.CONFIRM, 1, ConversationIntent.RESCHEDULE, 3),
+                mixed.scores());
+    }
+
+    @Test
+    void classify_WholeReplyKeywordsNeedToStandAlone() {
+        assertEquals(ConversationIntent.CONFIRM, classifier.classifyIntent("¡Sí!", null));
+        assertEquals(ConversationIntent.UNKNOWN, classifier.classifyIntent("si possible", null));
+    }
+
+    @Test
+    void classify_UsesTenantLocalesAndKeywords() {
+        OrganizationSettings settings = new OrganizationSettings();
+        settings.setOrgId("org-2");
+        settings.setSettings(
+                Map.of(
+                        ConversationIntentClassifier.SETTINGS_KEY,
+                        Map.of(
+                                "locales", List.of("fr"),
+                                "keywords", Map.of("confirm", List.of("banco:2")))));
+        when(organizationSettingsRepository.findByOrgId("org-2")).thenReturn(Optional.of(settings));
+
+        assertEquals(ConversationIntent.CONFIRM, classifier.classifyIntent("Banco !", "org-2"));
+        assertEquals(ConversationIntent.UNKNOWN, classifier.classifyIntent("Banco !", "org-1"));
+        assertEquals(ConversationIntent.UNKNOWN, classifier.classifyIntent("postpone", "org-2"));
+        assertEquals(ConversationIntent.RESCHEDULE, classifier.classifyIntent("postpone", "org-1"));
+
+        classifier.classifyIntent("oui", "org-2");
+        verify(organizationSettingsRepository, times(1)).findByOrgId("org-2");
+    }
+
+    private static List<String[]> readCorpus() throws IOException {
+        List<String[]> corpus = new ArrayList<>();
+        try (InputStream in =
+                        ConversationIntentClassifierTest.class
+                                .getClassLoader()
+                                .getResourceAsStream("intents/intent-corpus.tsv");
+                BufferedReader reader =
+                        new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank() && !line.startsWith("#")) {
+                    corpus.add(line.split("\t", 3));
+                }
+            }
+        }
+        return corpus;
+    }
+}
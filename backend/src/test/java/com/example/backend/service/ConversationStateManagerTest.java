@@ -8,12 +8,12 @@
 import com.example.backend.entity.enums.AppointmentStatus;
 import com.example.backend.entity.enums.ConversationState;
 import com.example.backend.repository.*;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -28,7 +28,7 @@ class ConversationStateManagerTest {
     @Mock private SmartSuggestionsService smartSuggestionsService;
     @Mock private ConversationResponseService conversationResponseService;
 
-    @InjectMocks private ConversationStateManager conversationStateManager;
+    private ConversationStateManager conversationStateManager;
 
     private ConversationStateEntity mockConversation;
     private AppointmentEntity mockAppointment;
@@ -36,6 +36,18 @@ class ConversationStateManagerTest {
 
     @BeforeEach
     void setUp() {
+        conversationStateManager =
+                new ConversationStateManager(
+                        conversationStateRepository,
+                        inboundMessageRepository,
+                        appointmentRepository,
+                        activityRepository,
+                        dossierRepository,
+                        smartSuggestionsService,
+                        conversationResponseService,
+                        new ConversationIntentClassifier(
+                                null, new String[] {"fr", "en"}, Duration.ofMinutes(5)));
+
         mockConversation = new ConversationStateEntity();
         mockConversation.setId(1L);
         mockConversation.setOrgId("test-org");
@@ -115,6 +127,25 @@ void testProcessInboundMessage_RescheduleKeyword() {
         verify(conversationResponseService).sendRescheduleResponse(any());
     }
 
+    @Test
+    void testProcessInboundMessage_MixedReplyGoesToStrongestIntent() {
+        when(conversationStateRepository.findActiveConversation(anyString(), anyString(), any()))
+                .thenReturn(Optional.of(mockConversation));
+        when(appointmentRepository.findById(100L)).thenReturn(Optional.of(mockAppointment));
+        when(dossierRepository.findById(200L)).thenReturn(Optional.of(mockDossier));
+        when(inboundMessageRepository.save(any())).thenAnswer(i -> i.getArguments()[0]);
+        when(conversationStateRepository.save(any())).thenAnswer(i -> i.getArguments()[0]);
+        when(appointmentRepository.save(any())).thenAnswer(i -> i.getArguments()[0]);
+
+        conversationStateManager.processInboundMessage(
+                "test-org", "+33612345678", "Oui mais je voudrais reporter à jeudi", "msg-126");
+
+        verify(conversationStateRepository)
+                .save(argThat(conv -> conv.getState() == ConversationState.RESCHEDULED));
+        verify(conversationResponseService).sendRescheduleResponse(any());
+        verify(conversationResponseService, never()).sendConfirmationResponse(any());
+    }
+
     @Test
     void testProcessInboundMessage_NoActiveConversation() {
         when(conversationStateRepository.findActiveConversation(anyString(), anyString(), any()))
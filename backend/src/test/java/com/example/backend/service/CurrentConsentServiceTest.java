@@ -0,0 +1,142 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.backend.entity.ConsentementEntity;
+import com.example.backend.entity.Dossier;
+import com.example.backend.entity.enums.ConsentementChannel;
+import com.example.backend.entity.enums.ConsentementStatus;
+import com.example.backend.entity.enums.ConsentementType;
+import com.example.backend.repository.ConsentementRepository;
+import com.example.backend.service.CurrentConsentService.ConsentState;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+class CurrentConsentServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ConsentementRepository consentementRepository;
+    private CurrentConsentService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        consentementRepository = mock(ConsentementRepository.class);
+        service =
+                new CurrentConsentService(
+                        jdbcTemplate, consentementRepository, 10_000, Duration.ofMinutes(1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void current_LoadsMissesInChunksAndCachesOnlyStatesThatBlockSends() {
+        when(consentementRepository.findCurrentByDossierIds(
+                        anyCollection(), eq("SMS"), eq("MARKETING")))
+                .thenReturn(List.of(consent(7L, 70L, ConsentementStatus.GRANTED)));
+        List<Long> dossierIds = LongStream.rangeClosed(1, 2500).boxed().toList();
+
+        Map<Long, ConsentState> first =
+                service.current(dossierIds, ConsentementChannel.SMS, ConsentementType.MARKETING);
+        Map<Long, ConsentState> second =
+                service.current(
+                        List.of(7L, 8L), ConsentementChannel.SMS, ConsentementType.MARKETING);
+
+        ArgumentCaptor<Collection<Long>> chunks = ArgumentCaptor.forClass(Collection.class);
+        verify(consentementRepository, times(4))
+                .findCurrentByDossierIds(chunks.capture(), eq("SMS"), eq("MARKETING"));
+        assertEquals(
+                List.of(1000, 1000, 500),
+                chunks.getAllValues().subList(0, 3).stream().map(Collection::size).toList());
+        assertEquals(List.of(7L), List.copyOf(chunks.getAllValues().get(3)));
+        assertEquals(2500, first.size());
+        assertEquals(70L, second.get(7L).consentementId());
+        assertFalse(second.get(8L).exists());
+    }
+
+    @Test
+    void current_RevocationWrittenByAnotherNodeStopsTheNextSend() {
+        when(consentementRepository.findCurrentByDossierIds(
+                        anyCollection(), eq("SMS"), eq("MARKETING")))
+                .thenReturn(List.of(consent(7L, 70L, ConsentementStatus.GRANTED)))
+                .thenReturn(List.of(consent(7L, 71L, ConsentementStatus.REVOKED)));
+        LocalDateTime now = LocalDateTime.now();
+
+        assertTrue(
+                service.current(7L, ConsentementChannel.SMS, ConsentementType.MARKETING)
+                        .grantedAt(now));
+        assertFalse(
+                service.current(7L, ConsentementChannel.SMS, ConsentementType.MARKETING)
+                        .grantedAt(now));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refresh_RepointsOwnAndStaleKeysAndEvictsThem() {
+        when(consentementRepository.findCurrentByDossierIds(
+                        anyCollection(), anyString(), anyString()))
+                .thenReturn(new ArrayList<>());
+        assertFalse(
+                service.current(7L, ConsentementChannel.SMS, ConsentementType.MARKETING).exists());
+        when(jdbcTemplate.query(contains("WHERE consentement_id"), any(RowMapper.class), eq(70L)))
+                .thenReturn(
+                        List.of(
+                                new CurrentConsentService.ConsentKey(
+                                        7L,
+                                        ConsentementChannel.EMAIL,
+                                        ConsentementType.MARKETING)));
+        when(consentementRepository.findCurrentByDossierIds(
+                        anyCollection(), eq("SMS"), anyString()))
+                .thenReturn(List.of(consent(7L, 70L, ConsentementStatus.REVOKED)));
+        // The SMS key is re-pointed; the EMAIL key has no consent left to point at
+        when(jdbcTemplate.update(startsWith("MERGE"), eq(7L), eq("SMS"), eq("MARKETING")))
+                .thenReturn(1);
+
+        service.refresh(consent(7L, 70L, ConsentementStatus.REVOKED));
+
+        ArgumentCaptor<Object[]> merged = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate, times(2)).update(startsWith("MERGE"), merged.capture());
+        assertEquals(
+                List.of("SMS", "EMAIL"), merged.getAllValues().stream().map(a -> a[1]).toList());
+        verify(jdbcTemplate).update(startsWith("DELETE"), eq(7L), eq("EMAIL"), eq("MARKETING"));
+        verify(jdbcTemplate, never()).update(startsWith("DELETE"), eq(7L), eq("SMS"), any());
+        assertEquals(
+                ConsentementStatus.REVOKED,
+                service.current(7L, ConsentementChannel.SMS, ConsentementType.MARKETING).status());
+    }
+
+    @Test
+    void grantedAt_RejectsExpiredConsent() {
+        LocalDateTime now = LocalDateTime.now();
+        ConsentState expired =
+                new ConsentState(1L, ConsentementStatus.GRANTED, now.minusMinutes(1), null);
+        ConsentState open = new ConsentState(2L, ConsentementStatus.GRANTED, null, null);
+
+        assertFalse(expired.grantedAt(now));
+        assertTrue(open.grantedAt(now));
+        assertFalse(ConsentState.NONE.grantedAt(now));
+    }
+
+    private static ConsentementEntity consent(Long dossierId, Long id, ConsentementStatus status) {
+        Dossier dossier = new Dossier();
+        dossier.setId(dossierId);
+        ConsentementEntity consent = new ConsentementEntity();
+        consent.setId(id);
+        consent.setDossier(dossier);
+        consent.setChannel(ConsentementChannel.SMS);
+        consent.setConsentType(ConsentementType.MARKETING);
+        consent.setStatus(status);
+        return consent;
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.backend.config.PostgresTestcontainersConfiguration;
+import com.example.backend.dto.DossierFacetCountRequest;
+import com.example.backend.dto.DossierFacetCountResponse;
+import com.example.backend.dto.DossierFilterRequest;
+import com.example.backend.dto.DossierMapper;
+import com.example.backend.entity.Dossier;
+import com.example.backend.entity.FilterPresetEntity;
+import com.example.backend.entity.enums.DossierStatus;
+import com.example.backend.repository.DossierRepository;
+import com.example.backend.repository.FilterPresetRepository;
+import com.example.backend.util.TenantContext;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+/**
+ * Query-plan regression test for the advanced dossier filter: runs the SQL Hibernate actually
+ * generates for each filter shape through EXPLAIN on seeded PostgreSQL data, with sequential scans
+ * disabled, and checks that the V148 search indexes are used. A predicate change that hides the
+ * column from its index (a cast, a missing lower()) makes the planner fall back to a scan and
+ * fails here.
+ */
+@DataJpaTest(
+        properties =
+                "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                        + "com.example.backend.service.DossierAdvancedFilterPostgresIT$SqlCapture")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("backend-e2e-postgres")
+@Import({PostgresTestcontainersConfiguration.class, DossierAdvancedFilterService.class})
+class DossierAdvancedFilterPostgresIT {
+
+    @Autowired private DossierAdvancedFilterService filterService;
+
+    @Autowired private DossierRepository dossierRepository;
+
+    @Autowired private FilterPresetRepository filterPresetRepository;
+
+    @Autowired private EntityManager entityManager;
+
+    @MockitoBean private DossierMapper dossierMapper;
+
+    @BeforeEach
+    void seed() {
+        dossierRepository.deleteAll();
+        List<Dossier> dossiers = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Dossier dossier = new Dossier();
+            dossier.setOrgId("org-" + (i % 5));
+            dossier.setLeadName(i % 50 == 0 ? "Jean Dupont " + i : "Lead " + i);
+            dossier.setLeadEmail("lead" + i + "@example.com");
+            dossier.setLeadPhone("+336000" + String.format("%05d", i));
+            dossier.setLeadSource("Source " + (i % 7));
+            dossier.setStatus(DossierStatus.values()[i % DossierStatus.values().length]);
+            dossiers.add(dossier);
+        }
+        dossierRepository.saveAllAndFlush(dossiers);
+        entityManager.createNativeQuery("ANALYZE dossier").executeUpdate();
+        entityManager.clear();
+        SqlCapture.STATEMENTS.clear();
+    }
+
+    @Test
+    void contains_UsesTrigramIndexAndMatchesCaseInsensitively() {
+        long count =
+                filterService.countDossiers(
+                        request("AND", condition("leadName", "CONTAINS", "DUPONT")));
+
+        assertThat(count).isEqualTo(10);
+        assertThat(explainLastCount("%dupont%")).contains("idx_dossier_lead_name_trgm");
+    }
+
+    @Test
+    void startsWith_UsesLeadEmailIndex() {
+        filterService.countDossiers(request("AND", condition("leadEmail", "STARTS_WITH", "lead4")));
+
+        assertThat(explainLastCount("lead4%"))
+                .containsAnyOf("idx_dossier_lead_email_trgm", "idx_dossier_org_lower_lead_email");
+    }
+
+    @Test
+    void endsWith_UsesTrigramIndex() {
+        filterService.countDossiers(request("AND", condition("leadPhone", "ENDS_WITH", "00042")));
+
+        assertThat(explainLastCount("%00042")).contains("idx_dossier_lead_phone_trgm");
+    }
+
+    @Test
+    void orOfEquals_IsRewrittenToSingleInList() {
+        long count =
+                filterService.countDossiers(
+                        request(
+                                "OR",
+                                condition("status", "EQUALS", "NEW"),
+                                condition("status", "EQUALS", "QUALIFIED"),
+                                condition("status", "IN", List.of("NEW"))));
+
+        String sql = lastCountStatement();
+        assertThat(sql).containsPattern("status in ?\\(");
+        assertThat(sql).doesNotContain(" or ");
+        long expected =
+                dossierRepository.findAll().stream()
+                        .filter(
+                                d ->
+                                        d.getStatus() == DossierStatus.NEW
+                                                || d.getStatus() == DossierStatus.QUALIFIED)
+                        .count();
+        assertThat(count).isEqualTo(expected);
+    }
+
+    @Test
+    void likeWildcardsInValue_AreMatchedLiterally() {
+        long count =
+                filterService.countDossiers(request("AND", condition("leadName", "CONTAINS", "%")));
+        long withoutUnderscore =
+                filterService.countDossiers(
+                        request("AND", condition("leadName", "NOT_CONTAINS", "_")));
+
+        assertThat(count).isZero();
+        assertThat(withoutUnderscore).isEqualTo(500);
+        assertThat(SqlCapture.STATEMENTS)
+                .filteredOn(sql -> sql.contains(" like "))
+                .allMatch(sql -> sql.contains(" escape "));
+    }
+
+    @Test
+    void countFacets_ReturnsTotalPresetsAndFacetsFromOneStatement() {
+        TenantContext.setOrgId("org-0");
+        try {
+            FilterPresetEntity preset = new FilterPresetEntity();
+            preset.setOrgId("org-0");
+            preset.setName("Dupont");
+            preset.setFilterType("DOSSIER");
+            preset.setIsShared(true);
+            preset.setFilterConfig(
+                    Map.of(
+                            "logicOperator",
+                            "AND",
+                            "conditions",
+                            List.of(
+                                    Map.of(
+                                            "field", "leadName",
+                                            "operator", "CONTAINS",
+                                            "value", "dupont"))));
+            preset = filterPresetRepository.saveAndFlush(preset);
+            SqlCapture.STATEMENTS.clear();
+
+            DossierFacetCountRequest request = new DossierFacetCountRequest();
+            request.setPresetIds(List.of(preset.getId()));
+            request.setFacetFields(List.of("status"));
+            DossierFacetCountResponse counts = filterService.countFacets(request);
+
+            assertThat(counts.getTotal()).isEqualTo(500);
+            assertThat(counts.getPresets()).containsEntry(preset.getId(), 10L);
+            assertThat(counts.getFacets().get("status").values().stream().mapToLong(c -> c).sum())
+                    .isEqualTo(500);
+            List<String> dossierQueries =
+                    SqlCapture.STATEMENTS.stream()
+                            .filter(sql -> sql.toLowerCase().contains("from dossier"))
+                            .toList();
+            assertThat(dossierQueries).hasSize(1);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private String explainLastCount(String pattern) {
+        String sql = lastCountStatement();
+        entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+        Query explain = entityManager.createNativeQuery("EXPLAIN " + sql).setParameter(1, pattern);
+        if (sql.contains(" escape ?")) {
+            // The escape character is bound like any criteria literal
+            explain.setParameter(2, "\\");
+        }
+        @SuppressWarnings("unchecked")
+        List<Object> plan = explain.getResultList();
+        return plan.stream().map(String::valueOf).collect(Collectors.joining("\n"));
+    }
+
+    private static String lastCountStatement() {
+        for (int i = SqlCapture.STATEMENTS.size() - 1; i >= 0; i--) {
+            String sql = SqlCapture.STATEMENTS.get(i);
+            if (sql.toLowerCase().startsWith("select count")) {
+                return sql;
+            }
+        }
+        throw new AssertionError("No count statement captured: " + SqlCapture.STATEMENTS);
+    }
+
+    private static DossierFilterRequest request(
+            String logic, DossierFilterRequest.FilterCondition... conditions) {
+        DossierFilterRequest request = new DossierFilterRequest();
+        request.setLogicOperator(logic);
+        request.setConditions(List.of(conditions));
+        return request;
+    }
+
+    private static DossierFilterRequest.FilterCondition condition(
+            String field, String operator, Object value) {
+        DossierFilterRequest.FilterCondition condition =
+                new DossierFilterRequest.FilterCondition();
+        condition.setField(field);
+        condition.setOperator(operator);
+        condition.setValue(value);
+        return condition;
+    }
+
+    /** Records the SQL Hibernate sends, so the test explains exactly what the filter emitted. */
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.backend.entity.Dossier;
+import com.example.backend.entity.EmailProviderConfig;
+import com.example.backend.entity.LeadScoringConfig;
+import com.example.backend.entity.OutboundMessageEntity;
+import com.example.backend.entity.enums.DossierStatus;
+import com.example.backend.repository.EmailProviderConfigRepository;
+import com.example.backend.repository.LeadScoreRepository;
+import com.example.backend.repository.LeadScoringConfigRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class EmailDigestServiceTest {
+
+    private LeadScoreRepository leadScoreRepository;
+    private LeadScoringConfigRepository configRepository;
+    private EmailProviderConfigRepository emailConfigRepository;
+    private JavaMailEmailProvider emailProvider;
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private EmailDigestService service;
+
+    @BeforeEach
+    void setUp() {
+        leadScoreRepository = mock(LeadScoreRepository.class);
+        configRepository = mock(LeadScoringConfigRepository.class);
+        emailConfigRepository = mock(EmailProviderConfigRepository.class);
+        emailProvider = mock(JavaMailEmailProvider.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+        service =
+                new EmailDigestService(
+                        leadScoreRepository,
+                        configRepository,
+                        emailConfigRepository,
+                        emailProvider,
+                        jdbcTemplate,
+                        meterRegistry,
+                        2,
+                        2,
+                        20);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void sendDailyDigest_SkipsCheckpointedOrgsAndSendsTheRest() {
+        when(jdbcTemplate.queryForList(
+                        contains("email_digest_checkpoint"), eq(String.class), any()))
+                .thenReturn(List.of("org-a"));
+        when(configRepository.findActiveConfigsAfter(eq(""), any()))
+                .thenReturn(List.of(config("org-a"), config("org-b")));
+        when(configRepository.findActiveConfigsAfter(eq("org-b"), any()))
+                .thenReturn(List.of(config("org-c")));
+        when(leadScoreRepository.findTopScoredDossiers(
+                        anyString(), eq(70), anyCollection(), any()))
+                .thenReturn(leads(85));
+        when(emailConfigRepository.findByOrgId(anyString()))
+                .thenReturn(Optional.of(mailbox("agents@example.com")));
+        when(emailProvider.send(any(OutboundMessageEntity.class)))
+                .thenReturn(ProviderSendResult.success("msg-1", null));
+        when(jdbcTemplate.update(contains("UPDATE email_digest_checkpoint"), any(Object[].class)))
+                .thenReturn(0);
+
+        service.sendDailyDigest();
+
+        ArgumentCaptor<OutboundMessageEntity> sent =
+                ArgumentCaptor.forClass(OutboundMessageEntity.class);
+        verify(emailProvider, times(2)).send(sent.capture());
+        List<String> orgs =
+                sent.getAllValues().stream().map(OutboundMessageEntity::getOrgId).sorted().toList();
+        assertEquals(List.of("org-b", "org-c"), orgs);
+        assertEquals("agents@example.com", sent.getValue().getTo());
+        verify(leadScoreRepository, never())
+                .findTopScoredDossiers(eq("org-a"), any(), anyCollection(), any());
+        // Each sent org is claimed as SENDING, then checkpointed as SENT
+        verify(jdbcTemplate, times(4))
+                .update(contains("INSERT INTO email_digest_checkpoint"), any(Object[].class));
+        assertEquals(2.0, meterRegistry.counter("lead_digest_total", "outcome", "sent").count());
+    }
+
+    @Test
+    void sendDigestForOrganization_NoLeads_CheckpointsSkippedWithoutSending() {
+        when(leadScoreRepository.findTopScoredDossiers(anyString(), any(), anyCollection(), any()))
+                .thenReturn(List.of());
+        when(jdbcTemplate.update(contains("UPDATE email_digest_checkpoint"), any(Object[].class)))
+                .thenReturn(1);
+
+        service.sendDigestForOrganization("org-a", config("org-a"), LocalDate.now());
+
+        verify(emailProvider, never()).send(any());
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).update(contains("UPDATE email_digest_checkpoint"), args.capture());
+        assertEquals(EmailDigestService.STATUS_SKIPPED, args.getValue()[0]);
+        verify(jdbcTemplate, never()).update(contains("INSERT"), any(Object[].class));
+    }
+
+    @Test
+    void sendDigestForOrganization_ClaimsTheOrgBeforeHandingTheMailToTheProvider() {
+        when(leadScoreRepository.findTopScoredDossiers(anyString(), any(), anyCollection(), any()))
+                .thenReturn(leads(85));
+        when(emailConfigRepository.findByOrgId("org-a"))
+                .thenReturn(Optional.of(mailbox("agents@example.com")));
+        when(emailProvider.send(any(OutboundMessageEntity.class)))
+                .thenReturn(ProviderSendResult.success("msg-1", null));
+        when(jdbcTemplate.update(contains("UPDATE email_digest_checkpoint"), any(Object[].class)))
+                .thenReturn(1);
+
+        service.sendDigestForOrganization("org-a", config("org-a"), LocalDate.now());
+
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        InOrder inOrder = inOrder(jdbcTemplate, emailProvider);
+        inOrder.verify(jdbcTemplate)
+                .update(contains("UPDATE email_digest_checkpoint"), args.capture());
+        inOrder.verify(emailProvider).send(any(OutboundMessageEntity.class));
+        inOrder.verify(jdbcTemplate)
+                .update(contains("UPDATE email_digest_checkpoint"), args.capture());
+        assertEquals(EmailDigestService.STATUS_SENDING, args.getAllValues().get(0)[0]);
+        assertEquals(EmailDigestService.STATUS_SENT, args.getAllValues().get(1)[0]);
+        assertEquals(0.0, meterRegistry.counter("lead_digest_total", "outcome", "sending").count());
+    }
+
+    private static LeadScoringConfig config(String orgId) {
+        LeadScoringConfig config = new LeadScoringConfig();
+        config.setOrgId(orgId);
+        return config;
+    }
+
+    private static EmailProviderConfig mailbox(String replyTo) {
+        EmailProviderConfig config = new EmailProviderConfig();
+        config.setFromEmail("noreply@example.com");
+        config.setReplyToEmail(replyTo);
+        return config;
+    }
+
+    private static List<Object[]> leads(int score) {
+        Dossier dossier = new Dossier();
+        dossier.setLeadName("Jean Dupont");
+        dossier.setStatus(DossierStatus.QUALIFIED);
+        dossier.setCreatedAt(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] {dossier, score});
+        return rows;
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.backend.config.PartitioningConfig;
+import com.example.backend.config.PartitioningConfig.RetentionAction;
+import com.example.backend.config.PartitioningConfig.RetentionPolicy;
+import com.example.backend.service.PartitionMaintenanceService.Partition;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+class PartitionMaintenanceServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+    private JdbcTemplate jdbcTemplate;
+    private FileStorageStrategy fileStorageStrategy;
+    private PartitioningConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private PartitionMaintenanceService service;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        fileStorageStrategy = mock(FileStorageStrategy.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        config = new PartitioningConfig();
+        config.setRetentionEnabled(true);
+        meterRegistry = new SimpleMeterRegistry();
+        service =
+                new PartitionMaintenanceService(
+                        jdbcTemplate,
+                        config,
+                        fileStorageStrategy,
+                        meterRegistry,
+                        transactionManager,
+                        Duration.ofSeconds(5));
+    }
+
+    @Test
+    void upperBound_ParsesTimestampDateAndOpenBounds() {
+        assertEquals(
+                LocalDate.of(2026, 12, 1),
+                PartitionMaintenanceService.upperBound(
+                        "FOR VALUES FROM ('2026-11-01 00:00:00') TO ('2026-12-01 00:00:00')"));
+        assertEquals(
+                LocalDate.of(2025, 2, 1),
+                PartitionMaintenanceService.upperBound(
+                        "FOR VALUES FROM (MINVALUE) TO ('2025-02-01')"));
+        assertNull(
+                PartitionMaintenanceService.upperBound(
+                        "FOR VALUES FROM ('2026-11-01') TO (MAXVALUE)"));
+    }
+
+    @Test
+    void maintainPartitions_CreatesCurrentAndUpcomingMonths() {
+        config.setRetentionEnabled(false);
+        tables("message");
+        when(jdbcTemplate.queryForObject(
+                        eq(PartitionMaintenanceService.CREATE_MONTH_SQL),
+                        eq(String.class),
+                        eq("message"),
+                        any(LocalDate.class)))
+                .thenReturn(null);
+        when(jdbcTemplate.queryForObject(
+                        PartitionMaintenanceService.CREATE_MONTH_SQL,
+                        String.class,
+                        "message",
+                        LocalDate.of(2027, 1, 1)))
+                .thenReturn("message_p202701");
+
+        service.maintainPartitions(TODAY);
+
+        for (int i = 0; i <= 3; i++) {
+            verify(jdbcTemplate)
+                    .queryForObject(
+                            PartitionMaintenanceService.CREATE_MONTH_SQL,
+                            String.class,
+                            "message",
+                            LocalDate.of(2026, 10, 1).plusMonths(i));
+        }
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("db_partitions_created_total")
+                        .tag("table", "message")
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    void maintainPartitions_DropsOnlyPartitionsEntirelyPastRetention() {
+        config.setTables(Map.of("webhook_delivery", new RetentionPolicy(6, RetentionAction.DROP)));
+        tables("webhook_delivery");
+        partitions(
+                "webhook_delivery",
+                new Partition("webhook_delivery_history", LocalDate.of(2026, 3, 1)),
+                new Partition("webhook_delivery_p202603", LocalDate.of(2026, 4, 1)),
+                new Partition("webhook_delivery_p202604", LocalDate.of(2026, 5, 1)));
+
+        service.maintainPartitions(TODAY);
+
+        verify(jdbcTemplate)
+                .execute(
+                        "ALTER TABLE \"webhook_delivery\" DETACH PARTITION"
+                                + " \"webhook_delivery_history\"");
+        verify(jdbcTemplate).execute("DROP TABLE \"webhook_delivery_history\"");
+        verify(jdbcTemplate)
+                .execute(
+                        "ALTER TABLE \"webhook_delivery\" DETACH PARTITION"
+                                + " \"webhook_delivery_p202603\"");
+        verify(jdbcTemplate, never()).execute(contains("\"webhook_delivery_p202604\""));
+        verifyNoInteractions(fileStorageStrategy);
+    }
+
+    @Test
+    void maintainPartitions_DroppingMessagePartitionExpiresItsProviderMessageIds() {
+        config.setTables(Map.of("message", new RetentionPolicy(6, RetentionAction.DROP)));
+        tables("message");
+        partitions("message", new Partition("message_p202603", LocalDate.of(2026, 4, 1)));
+
+        service.maintainPartitions(TODAY);
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("DROP TABLE \"message_p202603\"");
+        inOrder.verify(jdbcTemplate)
+                .update(
+                        "DELETE FROM message_provider_message_id WHERE created_at < ?",
+                        LocalDate.of(2026, 4, 1));
+    }
+
+    @Test
+    void maintainPartitions_ArchivesBeforeDroppingAndExpiresIdempotencyKeys() throws Exception {
+        config.setTables(
+                Map.of("outbound_message", new RetentionPolicy(24, RetentionAction.ARCHIVE)));
+        tables("outbound_message");
+        partitions(
+                "outbound_message",
+                new Partition("outbound_message_p202409", LocalDate.of(2024, 10, 1)));
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(1)).thenReturn("{\"id\":1}", "{\"id\":2}");
+        doAnswer(
+                        invocation -> {
+                            RowCallbackHandler handler = invocation.getArgument(1);
+                            handler.processRow(rs);
+                            handler.processRow(rs);
+                            return null;
+                        })
+                .when(jdbcTemplate)
+                .query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        ByteArrayOutputStream stored = new ByteArrayOutputStream();
+        when(fileStorageStrategy.storeAt(anyString(), any(InputStream.class), anyLong(), any()))
+                .thenAnswer(
+                        invocation -> {
+                            ((InputStream) invocation.getArgument(1)).transferTo(stored);
+                            return invocation.getArgument(0);
+                        });
+
+        service.maintainPartitions(TODAY);
+
+        String archived = "archive/partitions/outbound_message/outbound_message_p202409.ndjson.gz";
+        InOrder inOrder = inOrder(fileStorageStrategy, jdbcTemplate);
+        inOrder.verify(fileStorageStrategy)
+                .storeAt(
+                        eq(archived),
+                        any(InputStream.class),
+                        eq((long) stored.size()),
+                        eq("application/gzip"));
+        inOrder.verify(jdbcTemplate)
+                .execute(
+                        "ALTER TABLE \"outbound_message\" DETACH PARTITION"
+                                + " \"outbound_message_p202409\"");
+        inOrder.verify(jdbcTemplate).execute("DROP TABLE \"outbound_message_p202409\"");
+        verify(jdbcTemplate)
+                .update(
+                        "DELETE FROM outbound_message_idempotency WHERE created_at < ?",
+                        LocalDate.of(2024, 10, 1));
+        assertEquals("{\"id\":1}\n{\"id\":2}\n", gunzip(stored.toByteArray()));
+    }
+
+    @Test
+    void maintainPartitions_KeepsPartitionWhenArchiveFails() {
+        config.setTables(Map.of("audit_event", new RetentionPolicy(12, RetentionAction.ARCHIVE)));
+        tables("audit_event");
+        partitions("audit_event", new Partition("audit_event_p202401", LocalDate.of(2024, 2, 1)));
+        when(fileStorageStrategy.storeAt(anyString(), any(InputStream.class), anyLong(), any()))
+                .thenThrow(new RuntimeException("bucket unavailable"));
+
+        service.maintainPartitions(TODAY);
+
+        verify(jdbcTemplate, never()).execute(contains("DETACH PARTITION"));
+        verify(jdbcTemplate, never()).execute(startsWith("DROP TABLE"));
+        assertEquals(
+                1.0,
+                meterRegistry
+                        .get("db_partition_maintenance_failures_total")
+                        .tag("table", "audit_event")
+                        .counter()
+                        .count());
+    }
+
+    private void tables(String... tables) {
+        when(jdbcTemplate.queryForList(
+                        PartitionMaintenanceService.PARTITIONED_TABLES_SQL, String.class))
+                .thenReturn(List.of(tables));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void partitions(String table, Partition... partitions) {
+        when(jdbcTemplate.query(
+                        eq(PartitionMaintenanceService.PARTITIONS_SQL),
+                        any(RowMapper.class),
+                        eq(table)))
+                .thenReturn(List.of(partitions));
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.backend.entity.Annonce;
+import com.example.backend.entity.enums.AnnonceType;
+import com.example.backend.repository.AnnonceRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class PropertyMatchIndexTest {
+
+    private final PropertyMatchIndex index = new PropertyMatchIndex(mock(AnnonceRepository.class));
+
+    private final PropertyMatchIndex.Snapshot snapshot =
+            PropertyMatchIndex.Snapshot.of(
+                    List.of(
+                            listing(1L, "Paris", AnnonceType.SALE, 500_000, 60),
+                            listing(2L, "paris", AnnonceType.SALE, 520_000, 65),
+                            listing(3L, "Paris", AnnonceType.RENT, 1_800, 60),
+                            listing(4L, "Lyon", AnnonceType.SALE, 500_000, 60),
+                            listing(5L, "Paris", AnnonceType.SALE, 900_000, 120),
+                            listing(6L, "Paris", AnnonceType.SALE, null, null)));
+
+    @Test
+    void topMatches_FiltersOnCityTypeAndRanges_BestFirst() {
+        PropertyMatchIndex.Criteria criteria = index.criteriaFor(reference(510_000, 62.0));
+
+        List<PropertyMatchIndex.Match> matches = snapshot.topMatches(criteria, 2, null);
+
+        assertEquals(List.of(1L, 2L), ids(matches));
+        assertTrue(matches.get(0).score() >= matches.get(1).score());
+    }
+
+    @Test
+    void topMatches_TooFewInRange_FallsBackToCityAndTypeOnly() {
+        PropertyMatchIndex.Criteria criteria = index.criteriaFor(reference(510_000, 62.0));
+
+        List<PropertyMatchIndex.Match> matches = snapshot.topMatches(criteria, 4, 2L);
+
+        assertEquals(List.of(1L, 5L, 6L), ids(matches));
+    }
+
+    @Test
+    void topMatches_WithoutReference_ReturnsEveryListingUpToK() {
+        List<PropertyMatchIndex.Match> matches =
+                snapshot.topMatches(PropertyMatchIndex.Criteria.ANY, 10, null);
+
+        assertEquals(6, matches.size());
+    }
+
+    private static Annonce reference(double price, Double surface) {
+        Annonce annonce = new Annonce();
+        annonce.setId(99L);
+        annonce.setCity("Paris");
+        annonce.setType(AnnonceType.SALE);
+        annonce.setPrice(BigDecimal.valueOf(price));
+        annonce.setSurface(surface);
+        return annonce;
+    }
+
+    private static PropertyMatchIndex.Listing listing(
+            Long id, String city, AnnonceType type, Integer price, Integer surface) {
+        return new PropertyMatchIndex.Listing(
+                id,
+                "Bien " + id,
+                city,
+                type,
+                price != null ? price.doubleValue() : null,
+                surface != null ? surface.doubleValue() : null);
+    }
+
+    private static List<Long> ids(List<PropertyMatchIndex.Match> matches) {
+        return matches.stream().map(m -> m.listing().id()).toList();
+    }
+}
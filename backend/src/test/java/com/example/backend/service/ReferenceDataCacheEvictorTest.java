@@ -0,0 +1,65 @@
+package com.example.backend.service;
+
+import static org.mockito.Mockito.*;
+
+import com.example.backend.config.SecondLevelCacheRegions;
+import com.example.backend.entity.WhatsAppTemplate;
+import com.example.backend.entity.WorkflowDefinition;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReferenceDataCacheEvictorTest {
+
+    private Cache cache;
+    private ReferenceDataCacheEvictor evictor;
+
+    @BeforeEach
+    void setUp() {
+        cache = mock(Cache.class);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(cache.unwrap(Cache.class)).thenReturn(cache);
+        evictor = new ReferenceDataCacheEvictor(entityManagerFactory);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evictWorkflowDefinition_EvictsNowAndAgainAfterCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        evictor.evictWorkflowDefinition(5L);
+
+        verify(cache).evictEntityData(WorkflowDefinition.class, 5L);
+        verify(cache).evictQueryRegion(SecondLevelCacheRegions.WORKFLOW_DEFINITION_QUERIES);
+
+        List<TransactionSynchronization> synchronizations =
+                TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(
+                s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        verify(cache, times(2)).evictEntityData(WorkflowDefinition.class, 5L);
+        verify(cache, times(2))
+                .evictQueryRegion(SecondLevelCacheRegions.WORKFLOW_DEFINITION_QUERIES);
+    }
+
+    @Test
+    void evictWhatsAppTemplate_AlsoEvictsItsVariables() {
+        evictor.evictWhatsAppTemplate(9L);
+
+        verify(cache).evictEntityData(WhatsAppTemplate.class, 9L);
+        verify(cache).evictCollectionData(WhatsAppTemplate.class.getName() + ".variables", 9L);
+        verify(cache).evictQueryRegion(SecondLevelCacheRegions.WHATSAPP_TEMPLATE_QUERIES);
+    }
+}
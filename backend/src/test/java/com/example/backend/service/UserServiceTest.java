@@ -0,0 +1,87 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import jakarta.ws.rs.NotFoundException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.keycloak.admin.client.Keycloak;
+import org.keycloak.admin.client.resource.UsersResource;
+import org.keycloak.representations.idm.UserRepresentation;
+
+class UserServiceTest {
+
+    private UsersResource usersResource;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        Keycloak keycloak = mock(Keycloak.class, RETURNS_DEEP_STUBS);
+        usersResource = mock(UsersResource.class, RETURNS_DEEP_STUBS);
+        when(keycloak.realm("test").users()).thenReturn(usersResource);
+
+        userService =
+                new UserService(
+                        keycloak,
+                        CircuitBreaker.ofDefaults("keycloak-test"),
+                        "test",
+                        100,
+                        Duration.ofHours(1),
+                        Duration.ofMinutes(10),
+                        Duration.ofMinutes(10),
+                        Duration.ofSeconds(30),
+                        4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userService.shutdown();
+    }
+
+    @Test
+    void getUserDisplayNames_ResolvesMissesInOneBatchAndCachesThem() {
+        when(usersResource.get("u1").toRepresentation()).thenReturn(user("Alice", "Martin"));
+        when(usersResource.get("u2").toRepresentation()).thenReturn(user("Bob", null));
+
+        Map<String, String> names = userService.getUserDisplayNames(List.of("u1", "u2", "u1"));
+
+        assertEquals("Alice Martin", names.get("u1"));
+        assertEquals("Bob", names.get("u2"));
+
+        userService.getUserDisplayNames(List.of("u1", "u2"));
+        verify(usersResource.get("u1"), times(1)).toRepresentation();
+        verify(usersResource.get("u2"), times(1)).toRepresentation();
+    }
+
+    @Test
+    void getUserDisplayName_UnknownUser_IsNegativelyCached() {
+        when(usersResource.get("ghost").toRepresentation()).thenThrow(new NotFoundException());
+
+        assertEquals("Utilisateur supprimé", userService.getUserDisplayName("ghost"));
+        assertEquals("Utilisateur supprimé", userService.getUserDisplayName("ghost"));
+
+        verify(usersResource.get("ghost"), times(1)).toRepresentation();
+    }
+
+    @Test
+    void getUserDisplayNames_SystemAndBlankIds_SkipKeycloak() {
+        Map<String, String> names = userService.getUserDisplayNames(List.of("system", ""));
+
+        assertEquals("Système", names.get("system"));
+        assertEquals("Système", names.get(""));
+        verifyNoInteractions(usersResource);
+    }
+
+    private static UserRepresentation user(String firstName, String lastName) {
+        UserRepresentation user = new UserRepresentation();
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        return user;
+    }
+}
@@ -6,9 +6,12 @@
 
 import com.example.backend.entity.OutboundMessageEntity;
 import com.example.backend.entity.WhatsAppProviderConfig;
+import com.example.backend.entity.WhatsAppTemplate;
 import com.example.backend.entity.enums.MessageChannel;
 import com.example.backend.entity.enums.OutboundMessageStatus;
+import com.example.backend.entity.enums.TemplateStatus;
 import com.example.backend.repository.WhatsAppProviderConfigRepository;
+import com.example.backend.repository.WhatsAppTemplateRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
@@ -36,6 +39,8 @@ class WhatsAppCloudApiProviderTest {
 
     @Mock private WhatsAppProviderConfigRepository providerConfigRepository;
 
+    @Mock private WhatsAppTemplateRepository templateRepository;
+
     @Mock private WhatsAppSessionWindowService sessionWindowService;
 
     @Mock private WhatsAppRateLimitService rateLimitService;
@@ -84,11 +89,13 @@ void setUp() {
 
         provider =
                 new WhatsAppCloudApiProvider(
-                        providerConfigRepository,
+                        new WhatsAppProviderContextCache(
+                                providerConfigRepository, templateRepository),
                         sessionWindowService,
                         rateLimitService,
                         errorMapper,
                         restTemplate,
+                        null,
                         objectMapper,
                         null,
                         retryByChannel,
@@ -233,6 +240,44 @@ void send_RateLimitError_HandlesAppropriately() throws Exception {
         assertTrue(result.isRetryable());
     }
 
+    @Test
+    void send_HttpErrorWithoutTimeLimiter_IsHandledAsHttpError() throws Exception {
+        timeLimiterByChannel.remove("whatsapp");
+
+        when(providerConfigRepository.findByOrgId("test-org")).thenReturn(Optional.of(config));
+        when(rateLimitService.checkAndConsumeQuota("test-org")).thenReturn(true);
+        when(sessionWindowService.isWithinSessionWindow("test-org", "+1234567890"))
+                .thenReturn(true);
+        when(restTemplate.exchange(
+                        anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Map.class)))
+                .thenThrow(
+                        HttpClientErrorException.create(
+                                HttpStatus.TOO_MANY_REQUESTS,
+                                "Too Many Requests",
+                                HttpHeaders.EMPTY,
+                                "{}".getBytes(),
+                                null));
+        when(objectMapper.readValue(anyString(), eq(Map.class)))
+                .thenReturn(
+                        Map.of(
+                                "error",
+                                Map.of(
+                                        "code",
+                                        130,
+                                        "message",
+                                        "Rate limit hit",
+                                        "error_data",
+                                        Map.of("retry_after", 300))));
+        when(errorMapper.getErrorInfo("130"))
+                .thenReturn(new WhatsAppErrorMapper.ErrorInfo("Rate limit hit", true, true));
+
+        ProviderSendResult result = provider.send(message);
+
+        assertFalse(result.isSuccess());
+        assertNotEquals("UNEXPECTED_ERROR", result.getErrorCode());
+        verify(rateLimitService).handleRateLimitError("test-org", 300);
+    }
+
     @Test
     void send_SessionExpiredError_ReturnsAppropriateMessage() throws Exception {
         when(providerConfigRepository.findByOrgId("test-org")).thenReturn(Optional.of(config));
@@ -297,6 +342,78 @@ void send_NormalizesPhoneNumber() {
         assertEquals("+1234567890", payload.get("to"));
     }
 
+    @Test
+    void send_TemplateWithoutLanguage_UsesApprovedTemplateLanguage() {
+        message.setTemplateCode("rdv_rappel");
+        WhatsAppTemplate template = new WhatsAppTemplate();
+        template.setName("rdv_rappel");
+        template.setLanguage("fr");
+
+        when(providerConfigRepository.findByOrgId("test-org")).thenReturn(Optional.of(config));
+        when(rateLimitService.checkAndConsumeQuota("test-org")).thenReturn(true);
+        when(sessionWindowService.isWithinSessionWindow("test-org", "+1234567890"))
+                .thenReturn(false);
+        when(templateRepository.findByOrgIdAndStatus("test-org", TemplateStatus.APPROVED))
+                .thenReturn(List.of(template));
+
+        ArgumentCaptor<HttpEntity> entityCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+        when(restTemplate.exchange(
+                        anyString(), eq(HttpMethod.POST), entityCaptor.capture(), eq(Map.class)))
+                .thenReturn(ResponseEntity.ok(Map.of("messages", List.of(Map.of("id", "m-1")))));
+
+        ProviderSendResult result = provider.send(message);
+
+        assertTrue(result.isSuccess());
+        @SuppressWarnings("unchecked")
+        Map<String, Object> payload = (Map<String, Object>) entityCaptor.getValue().getBody();
+        @SuppressWarnings("unchecked")
+        Map<String, Object> templatePayload = (Map<String, Object>) payload.get("template");
+        assertEquals(Map.of("code", "fr"), templatePayload.get("language"));
+    }
+
+    @Test
+    void send_ReusesCachedProviderConfig() {
+        when(providerConfigRepository.findByOrgId("test-org")).thenReturn(Optional.of(config));
+        when(rateLimitService.checkAndConsumeQuota("test-org")).thenReturn(true);
+        when(sessionWindowService.isWithinSessionWindow("test-org", "+1234567890"))
+                .thenReturn(true);
+        when(restTemplate.exchange(
+                        anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Map.class)))
+                .thenReturn(ResponseEntity.ok(Map.of("messages", List.of(Map.of("id", "m-1")))));
+
+        provider.send(message);
+        provider.send(message);
+
+        verify(providerConfigRepository, times(1)).findByOrgId("test-org");
+    }
+
+    @Test
+    void send_SlowProvider_TimesOutAtDeadline() {
+        timeLimiterByChannel.put("whatsapp", TimeLimiter.of(Duration.ofMillis(200)));
+
+        when(providerConfigRepository.findByOrgId("test-org")).thenReturn(Optional.of(config));
+        when(rateLimitService.checkAndConsumeQuota("test-org")).thenReturn(true);
+        when(sessionWindowService.isWithinSessionWindow("test-org", "+1234567890"))
+                .thenReturn(true);
+        when(restTemplate.exchange(
+                        anyString(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Map.class)))
+                .thenAnswer(
+                        invocation -> {
+                            Thread.sleep(2000);
+                            return ResponseEntity.ok(Map.of());
+                        });
+
+        long start = System.nanoTime();
+        ProviderSendResult result = provider.send(message);
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertFalse(result.isSuccess());
+        assertEquals("TIMEOUT", result.getErrorCode());
+        assertTrue(result.isRetryable());
+        assertTrue(elapsedMs < 1500, "send should return at the deadline, took " + elapsedMs);
+        verify(sessionWindowService, never()).recordOutboundMessage(anyString(), anyString());
+    }
+
     @Test
     void supports_ReturnsTrue_ForWhatsAppChannel() {
         assertTrue(provider.supports("WHATSAPP"));
@@ -0,0 +1,79 @@
+package com.example.backend.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.backend.entity.WhatsAppProviderConfig;
+import com.example.backend.repository.WhatsAppProviderConfigRepository;
+import com.example.backend.repository.WhatsAppTemplateRepository;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class WhatsAppProviderConfigListenerTest {
+
+    private WhatsAppProviderConfigRepository configRepository;
+    private WhatsAppProviderContextCache contextCache;
+    private WhatsAppProviderConfigListener listener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        configRepository = mock(WhatsAppProviderConfigRepository.class);
+        contextCache =
+                new WhatsAppProviderContextCache(
+                        configRepository, mock(WhatsAppTemplateRepository.class));
+        ObjectProvider<WhatsAppProviderContextCache> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(contextCache);
+        listener = new WhatsAppProviderConfigListener(provider);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void onWrite_DisabledProviderIsSeenByTheNextSend() {
+        WhatsAppProviderConfig config = config(true);
+        when(configRepository.findByOrgId("org-1")).thenReturn(Optional.of(config));
+        assertTrue(contextCache.get("org-1").orElseThrow().enabled());
+
+        config.setEnabled(false);
+        listener.onWrite(config);
+
+        assertFalse(contextCache.get("org-1").orElseThrow().enabled());
+    }
+
+    @Test
+    void onWrite_ContextReloadedBeforeCommitIsEvictedAgainAfterCommit() {
+        WhatsAppProviderConfig committed = config(true);
+        when(configRepository.findByOrgId("org-1")).thenReturn(Optional.of(committed));
+        contextCache.get("org-1");
+        TransactionSynchronizationManager.initSynchronization();
+
+        listener.onWrite(config(false));
+        // A concurrent send still reads the committed row and re-caches it
+        assertTrue(contextCache.get("org-1").orElseThrow().enabled());
+        when(configRepository.findByOrgId("org-1")).thenReturn(Optional.of(config(false)));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(TransactionSynchronization::afterCommit);
+
+        assertFalse(contextCache.get("org-1").orElseThrow().enabled());
+    }
+
+    private static WhatsAppProviderConfig config(boolean enabled) {
+        WhatsAppProviderConfig config = new WhatsAppProviderConfig();
+        config.setOrgId("org-1");
+        config.setPhoneNumberId("123456789");
+        config.setApiKeyEncrypted("token");
+        config.setEnabled(enabled);
+        return config;
+    }
+}
@@ -31,6 +31,8 @@
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @ExtendWith(MockitoExtension.class)
 class WhatsAppSessionWindowServiceTest {
@@ -87,6 +89,28 @@ void updateSessionWindow_UpdatesExistingSession() {
         assertEquals(inboundTime.plusHours(24), existing.getWindowExpiresAt());
     }
 
+    @Test
+    void updateSessionWindow_PublishesExpiryOnlyAfterCommit() {
+        when(sessionWindowRepository.findByOrgIdAndPhoneNumber(orgId, phoneNumber))
+                .thenReturn(Optional.empty());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.updateSessionWindow(orgId, phoneNumber, inboundTime);
+
+            // Not committed yet: the check still goes to the database, which has no window
+            assertFalse(service.isWithinSessionWindow(orgId, phoneNumber));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(service.isWithinSessionWindow(orgId, phoneNumber));
+        verify(sessionWindowRepository, times(2)).findByOrgIdAndPhoneNumber(orgId, phoneNumber);
+    }
+
     @Test
     void isWithinSessionWindow_ReturnsTrue_WhenSessionActive() {
         WhatsAppSessionWindow session = new WhatsAppSessionWindow();
@@ -135,6 +159,7 @@ void recordOutboundMessage_UpdatesLastOutboundTime() {
                 .thenReturn(Optional.of(session));
 
         service.recordOutboundMessage(orgId, phoneNumber);
+        service.flushPendingOutbound();
 
         verify(sessionWindowRepository).save(session);
         assertNotNull(session.getLastOutboundMessageAt());
@@ -285,6 +310,7 @@ void recordOutboundMessage_CreatesNewWindow_WhenNoneExists() {
                 .thenReturn(Optional.empty());
 
         service.recordOutboundMessage(orgId, phoneNumber);
+        service.flushPendingOutbound();
 
         verify(sessionWindowRepository, never()).save(any());
     }
@@ -304,6 +330,7 @@ void recordOutboundMessage_UpdatesExistingWindow() {
 
         LocalDateTime beforeCall = LocalDateTime.now();
         service.recordOutboundMessage(orgId, phoneNumber);
+        service.flushPendingOutbound();
         LocalDateTime afterCall = LocalDateTime.now();
 
         verify(sessionWindowRepository).save(session);
@@ -328,6 +355,7 @@ void recordOutboundMessage_UpdatesPreviousOutboundTime() {
                 .thenReturn(Optional.of(session));
 
         service.recordOutboundMessage(orgId, phoneNumber);
+        service.flushPendingOutbound();
 
         verify(sessionWindowRepository).save(session);
         assertNotNull(session.getLastOutboundMessageAt());
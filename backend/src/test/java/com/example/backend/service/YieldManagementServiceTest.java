@@ -2,6 +2,8 @@
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -10,14 +12,20 @@
 import com.example.backend.repository.AnnonceRepository;
 import com.example.backend.repository.DossierRepository;
 import com.example.backend.repository.LeadActivityRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 class YieldManagementServiceTest {
@@ -28,57 +36,77 @@ class YieldManagementServiceTest {
 
     @Mock private LeadActivityRepository leadActivityRepository;
 
-    @InjectMocks private YieldManagementService yieldManagementService;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private YieldManagementService yieldManagementService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        yieldManagementService =
+                new YieldManagementService(
+                        annonceRepository,
+                        dossierRepository,
+                        leadActivityRepository,
+                        transactionManager,
+                        meterRegistry,
+                        2,
+                        Duration.ofHours(20));
+        when(annonceRepository.findDistinctOrgIdsByStatus(AnnonceStatus.ACTIVE))
+                .thenReturn(List.of("org-1"));
+    }
 
     @Test
     void evaluateYield_HighInterest_IncreasesPrice() {
         // Arrange
-        Annonce annonce = new Annonce();
-        annonce.setId(1L);
-        annonce.setPrice(BigDecimal.valueOf(100000));
-        annonce.setStatus(AnnonceStatus.ACTIVE);
-
-        when(annonceRepository.findAll()).thenReturn(List.of(annonce));
+        Annonce annonce = annonce(1L, 100000);
+        givenPage(annonce);
         // Simulate high interest (dossierCount * 3 + activityCount > 15) -> 6 dossiers
         // * 3 = 18
-        when(dossierRepository.countByAnnonceIdAndCreatedAtAfter(eq(1L), any(LocalDateTime.class)))
-                .thenReturn(6L);
-        when(leadActivityRepository.countActivitiesByAnnonceIdAndCreatedAtAfter(
-                        eq(1L), any(LocalDateTime.class)))
-                .thenReturn(0L);
+        givenDossierCounts(row(1L, 6, 6));
 
         // Act
         yieldManagementService.evaluateYield();
 
         // Assert
-        verify(annonceRepository, times(1)).save(annonce);
+        verify(annonceRepository, times(1)).saveAll(List.of(annonce));
         // Price should be increased by 2% -> 100000 * 1.02 = 102000
         assertThat(annonce.getPrice().intValue()).isEqualTo(102000);
         assertThat(annonce.getAiScoreDetails()).contains("Yield Management: Fort intérêt (+2%)");
+        assertThat(annonce.getYieldAdjustedAt()).isNotNull();
+    }
+
+    @Test
+    void evaluateYield_HighInterestButRecentlyRepriced_KeepsPrice() {
+        Annonce annonce = annonce(1L, 100000);
+        annonce.setYieldAdjustedAt(LocalDateTime.now().minusHours(3));
+        givenPage(annonce);
+        givenDossierCounts(row(1L, 6, 6));
+
+        yieldManagementService.evaluateYield();
+
+        verify(annonceRepository, never()).saveAll(any());
+        assertThat(annonce.getPrice().intValue()).isEqualTo(100000);
     }
 
     @Test
     void evaluateYield_LowInterest_GeneratesAlert() {
         // Arrange
-        Annonce annonce = new Annonce();
-        annonce.setId(2L);
-        annonce.setPrice(BigDecimal.valueOf(200000));
-        annonce.setStatus(AnnonceStatus.ACTIVE);
-
-        when(annonceRepository.findAll()).thenReturn(List.of(annonce));
+        Annonce annonce = annonce(2L, 200000);
+        givenPage(annonce);
         // Simulate low interest (total interest < 3 in the last month) -> 0 dossiers, 1
         // activity
-        when(dossierRepository.countByAnnonceIdAndCreatedAtAfter(eq(2L), any(LocalDateTime.class)))
-                .thenReturn(0L);
-        when(leadActivityRepository.countActivitiesByAnnonceIdAndCreatedAtAfter(
-                        eq(2L), any(LocalDateTime.class)))
-                .thenReturn(1L);
+        givenDossierCounts();
+        when(leadActivityRepository.countRecentByAnnonceIds(anyCollection(), any(), any()))
+                .thenReturn(List.of(row(2L, 1, 1)));
 
         // Act
         yieldManagementService.evaluateYield();
 
         // Assert
-        verify(annonceRepository, times(1)).save(annonce);
+        verify(annonceRepository, times(1)).saveAll(List.of(annonce));
         assertThat(annonce.getPrice().intValue()).isEqualTo(200000); // Price shouldn't change
         assertThat(annonce.getAiScoreDetails())
                 .contains("Yield Management: Faible intérêt après 30 jours");
@@ -87,25 +115,108 @@ void evaluateYield_LowInterest_GeneratesAlert() {
     @Test
     void evaluateYield_ModerateInterest_NoChange() {
         // Arrange
-        Annonce annonce = new Annonce();
-        annonce.setId(3L);
-        annonce.setPrice(BigDecimal.valueOf(300000));
-        annonce.setStatus(AnnonceStatus.ACTIVE);
-
-        when(annonceRepository.findAll()).thenReturn(List.of(annonce));
+        Annonce annonce = annonce(3L, 300000);
+        givenPage(annonce);
         // Simulate moderate interest: weekly=10, monthly=10
-        when(dossierRepository.countByAnnonceIdAndCreatedAtAfter(eq(3L), any(LocalDateTime.class)))
-                .thenReturn(2L);
-        when(leadActivityRepository.countActivitiesByAnnonceIdAndCreatedAtAfter(
-                        eq(3L), any(LocalDateTime.class)))
-                .thenReturn(4L);
+        givenDossierCounts(row(3L, 2, 2));
+        when(leadActivityRepository.countRecentByAnnonceIds(anyCollection(), any(), any()))
+                .thenReturn(List.of(row(3L, 4, 4)));
 
         // Act
         yieldManagementService.evaluateYield();
 
         // Assert
-        verify(annonceRepository, never()).save(annonce);
+        verify(annonceRepository, never()).saveAll(any());
         assertThat(annonce.getPrice().intValue()).isEqualTo(300000);
         assertThat(annonce.getAiScoreDetails()).isNull();
     }
+
+    @Test
+    void evaluateYield_PagesByKeysetWithTwoAggregateQueriesPerPage() {
+        Annonce first = annonce(10L, 100000);
+        Annonce second = annonce(11L, 100000);
+        Annonce third = annonce(12L, 100000);
+        when(annonceRepository.findPageByOrgIdAndStatus(
+                        eq("org-1"), eq(AnnonceStatus.ACTIVE), eq(0L), any()))
+                .thenReturn(List.of(first, second));
+        when(annonceRepository.findPageByOrgIdAndStatus(
+                        eq("org-1"), eq(AnnonceStatus.ACTIVE), eq(11L), any()))
+                .thenReturn(List.of(third));
+        givenDossierCounts(row(10L, 1, 2), row(11L, 1, 2), row(12L, 1, 2));
+
+        yieldManagementService.evaluateYield();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Long>> ids = ArgumentCaptor.forClass(List.class);
+        verify(dossierRepository, times(2)).countRecentByAnnonceIds(ids.capture(), any(), any());
+        assertThat(ids.getAllValues()).containsExactly(List.of(10L, 11L), List.of(12L));
+        verify(leadActivityRepository, times(2))
+                .countRecentByAnnonceIds(anyCollection(), any(), any());
+        assertThat(
+                        meterRegistry
+                                .counter("yield_evaluation_annonces_total", "outcome", "evaluated")
+                                .count())
+                .isEqualTo(3.0);
+    }
+
+    @Test
+    void evaluateYield_FailingListing_SkipsOnlyThatListing() {
+        when(annonceRepository.findPageByOrgIdAndStatus(
+                        eq("org-1"), eq(AnnonceStatus.ACTIVE), eq(0L), any()))
+                .thenReturn(List.of(annonce(10L, 100000), annonce(11L, 100000)));
+        when(annonceRepository.findPageByOrgIdAndStatus(
+                        eq("org-1"), eq(AnnonceStatus.ACTIVE), eq(11L), any()))
+                .thenReturn(List.of());
+        givenDossierCounts(row(10L, 6, 6), row(11L, 6, 6));
+        // The failed page was rolled back, so each listing is re-read in its own transaction
+        Annonce healthy = annonce(11L, 100000);
+        when(annonceRepository.findById(10L)).thenReturn(Optional.of(annonce(10L, 100000)));
+        when(annonceRepository.findById(11L)).thenReturn(Optional.of(healthy));
+        when(annonceRepository.saveAll(anyList()))
+                .thenAnswer(
+                        invocation -> {
+                            List<Annonce> saved = invocation.getArgument(0);
+                            if (saved.stream().anyMatch(annonce -> annonce.getId() == 10L)) {
+                                throw new IllegalStateException("constraint violation");
+                            }
+                            return saved;
+                        });
+
+        yieldManagementService.evaluateYield();
+
+        assertThat(healthy.getPrice().intValue()).isEqualTo(102000);
+        assertThat(
+                        meterRegistry
+                                .counter("yield_evaluation_annonces_total", "outcome", "evaluated")
+                                .count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.counter("yield_evaluation_failed_annonces_total").count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.counter("yield_evaluation_failed_orgs_total").count()).isZero();
+    }
+
+    private void givenPage(Annonce annonce) {
+        when(annonceRepository.findPageByOrgIdAndStatus(
+                        eq("org-1"), eq(AnnonceStatus.ACTIVE), eq(0L), any()))
+                .thenReturn(List.of(annonce));
+    }
+
+    private void givenDossierCounts(Object[]... rows) {
+        List<Object[]> result = new ArrayList<>(List.of(rows));
+        when(dossierRepository.countRecentByAnnonceIds(anyCollection(), any(), any()))
+                .thenReturn(result);
+    }
+
+    private static Object[] row(long annonceId, long weekly, long monthly) {
+        return new Object[] {annonceId, weekly, monthly};
+    }
+
+    private static Annonce annonce(Long id, int price) {
+        Annonce annonce = new Annonce();
+        annonce.setId(id);
+        annonce.setOrgId("org-1");
+        annonce.setPrice(BigDecimal.valueOf(price));
+        annonce.setStatus(AnnonceStatus.ACTIVE);
+        return annonce;
+    }
 }
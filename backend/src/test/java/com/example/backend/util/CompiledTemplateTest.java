@@ -0,0 +1,49 @@
+package com.example.backend.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class CompiledTemplateTest {
+
+    @Test
+    void render_ReplacesTrimmedVariablesAndKeepsLiterals() {
+        CompiledTemplate template =
+                CompiledTemplate.compile("Bonjour {{ name }}, RDV le {{date}} à $5 {{date}}.");
+
+        String rendered = template.render(Map.of("name", "Alice", "date", "12/03"));
+
+        assertEquals("Bonjour Alice, RDV le 12/03 à $5 12/03.", rendered);
+        assertEquals(List.of("name", "date", "date"), template.variableNames());
+    }
+
+    @Test
+    void render_MissingVariableKeepsPlaceholder_NullValueRendersEmpty() {
+        CompiledTemplate template = CompiledTemplate.compile("{{a}}-{{b}}-{{c}}");
+        Map<String, String> values = new HashMap<>();
+        values.put("a", "1");
+        values.put("b", null);
+
+        assertEquals("1--{{c}}", template.render(values));
+    }
+
+    @Test
+    void compile_UnterminatedOrEmptyPlaceholdersStayLiteral() {
+        CompiledTemplate template = CompiledTemplate.compile("{{}} {x}} {{ok}} {{open");
+
+        assertEquals("{{}} {x}} yes {{open", template.render(Map.of("ok", "yes")));
+    }
+
+    @Test
+    void renderAll_RendersOneMessagePerValueSet() {
+        CompiledTemplate template = CompiledTemplate.compile("Hi {{n}}!");
+
+        List<String> rendered =
+                template.renderAll(List.of(Map.of("n", "A"), Map.of("n", "B"), Map.of()));
+
+        assertEquals(List.of("Hi A!", "Hi B!", "Hi {{n}}!"), rendered);
+    }
+}
@@ -0,0 +1,72 @@
+import { TestBed } from '@angular/core/testing';
+import { provideHttpClientTesting } from '@angular/common/http/testing';
+import { provideHttpClient, withInterceptorsFromDi } from '@angular/common/http';
+import { EMPTY } from 'rxjs';
+import { CollaborationService, PRESENCE_HEARTBEAT_INTERVAL_MS } from './collaboration.service';
+import { WebSocketService } from './websocket.service';
+
+describe('CollaborationService', () => {
+  let service: CollaborationService;
+  let webSocketService: {
+    connect: ReturnType<typeof vi.fn>;
+    disconnect: ReturnType<typeof vi.fn>;
+    subscribe: ReturnType<typeof vi.fn>;
+    send: ReturnType<typeof vi.fn>;
+  };
+
+  beforeEach(() => {
+    vi.useFakeTimers();
+    webSocketService = {
+      connect: vi.fn().mockResolvedValue(undefined),
+      disconnect: vi.fn(),
+      subscribe: vi.fn().mockReturnValue(EMPTY),
+      send: vi.fn(),
+    };
+
+    TestBed.configureTestingModule({
+      providers: [
+        CollaborationService,
+        { provide: WebSocketService, useValue: webSocketService },
+        provideHttpClient(withInterceptorsFromDi()),
+        provideHttpClientTesting(),
+      ],
+    });
+    service = TestBed.inject(CollaborationService);
+  });
+
+  afterEach(() => {
+    vi.useRealTimers();
+  });
+
+  function heartbeats(): unknown[][] {
+    return webSocketService.send.mock.calls.filter(([destination]) =>
+      String(destination).endsWith('/heartbeat')
+    );
+  }
+
+  it('should renew presence within the server presence TTL', async () => {
+    await service.initializeForDossier(42, 'user-1', 'Alice');
+
+    expect(PRESENCE_HEARTBEAT_INTERVAL_MS).toBeLessThan(30000 / 2);
+    await vi.advanceTimersByTimeAsync(PRESENCE_HEARTBEAT_INTERVAL_MS * 3);
+
+    expect(heartbeats().length).toBe(3);
+    expect(heartbeats()[0]).toEqual([
+      '/app/dossier/42/heartbeat',
+      { userId: 'user-1', username: 'Alice' },
+    ]);
+  });
+
+  it('should stop renewing presence after leaving the dossier', async () => {
+    await service.initializeForDossier(42, 'user-1', 'Alice');
+    service.leaveDossier();
+
+    await vi.advanceTimersByTimeAsync(PRESENCE_HEARTBEAT_INTERVAL_MS * 3);
+
+    expect(heartbeats().length).toBe(0);
+    expect(webSocketService.send).toHaveBeenCalledWith('/app/dossier/42/leave', {
+      userId: 'user-1',
+      username: 'Alice',
+    });
+  });
+});
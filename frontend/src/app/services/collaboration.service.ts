@@ -62,11 +62,18 @@ export interface ConflictResolution {
   version: number;
 }
 
+/**
+ * Presence expires on the server after collaboration.presence.ttl (30s by default) unless it is
+ * renewed, so viewers re-announce themselves well within it.
+ */
+export const PRESENCE_HEARTBEAT_INTERVAL_MS = 10000;
+
 @Injectable({
   providedIn: 'root'
 })
 export class CollaborationService implements OnDestroy {
   private currentDossierId: number | null = null;
+  private heartbeatTimer: ReturnType<typeof setInterval> | null = null;
   private currentUserId: string | null = null;
   private currentUsername: string | null = null;
 
@@ -95,6 +102,7 @@ export class CollaborationService implements OnDestroy {
 
     this.subscribeToChannels(dossierId);
     this.joinDossier(dossierId, userId, username);
+    this.startHeartbeat(dossierId, userId, username);
   }
 
   private subscribeToChannels(dossierId: number): void {
@@ -150,7 +158,25 @@ export class CollaborationService implements OnDestroy {
     });
   }
 
+  private startHeartbeat(dossierId: number, userId: string, username: string): void {
+    this.stopHeartbeat();
+    this.heartbeatTimer = setInterval(() => {
+      this.webSocketService.send(`/app/dossier/${dossierId}/heartbeat`, {
+        userId,
+        username
+      });
+    }, PRESENCE_HEARTBEAT_INTERVAL_MS);
+  }
+
+  private stopHeartbeat(): void {
+    if (this.heartbeatTimer !== null) {
+      clearInterval(this.heartbeatTimer);
+      this.heartbeatTimer = null;
+    }
+  }
+
   leaveDossier(): void {
+    this.stopHeartbeat();
     if (this.currentDossierId && this.currentUserId && this.currentUsername) {
       this.webSocketService.send(`/app/dossier/${this.currentDossierId}/leave`, {
         userId: this.currentUserId,